@@ -0,0 +1,53 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics;
+
+/**
+ * A distance that can stop early once the distance exceeds a maximum. This
+ * is useful when only distances up to a threshold are of interest, for
+ * example when searching for the nearest neighbours of a string.
+ * 
+ * @param <T>
+ *            type of the values to compare
+ * 
+ * @see Capability#BOUNDED_EVALUATION
+ */
+public interface BoundedDistance<T> extends Distance<T> {
+
+	/**
+	 * Measures the distance between a and b when it does not exceed
+	 * {@code max}. When the distance is larger than {@code max} any value
+	 * larger than {@code max} may be returned.
+	 * 
+	 * @param a
+	 *            value a to compare
+	 * @param b
+	 *            value b to compare
+	 * @param max
+	 *            the maximum distance of interest
+	 * @return the distance between a and b when at most {@code max},
+	 *         otherwise a value larger than {@code max}
+	 * @throws NullPointerException
+	 *             when either a or b is null
+	 */
+	float distance(T a, T b, float max);
+
+}
@@ -0,0 +1,53 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics;
+
+/**
+ * A metric that can stop early once the similarity drops below a minimum.
+ * This is useful when only similarities above a threshold are of interest,
+ * for example when searching for the nearest neighbours of a string.
+ * 
+ * @param <T>
+ *            type of the values to compare
+ * 
+ * @see Capability#BOUNDED_EVALUATION
+ */
+public interface BoundedMetric<T> extends Metric<T> {
+
+	/**
+	 * Measures the similarity between a and b when it is at least
+	 * {@code minimum}. When the similarity is less than {@code minimum} any
+	 * value less than {@code minimum} may be returned.
+	 * 
+	 * @param a
+	 *            value a to compare
+	 * @param b
+	 *            value b to compare
+	 * @param minimum
+	 *            the minimum similarity of interest
+	 * @return the similarity of a and b when at least {@code minimum},
+	 *         otherwise a value less than {@code minimum}
+	 * @throws NullPointerException
+	 *             when either a or b is null
+	 */
+	float compare(T a, T b, float minimum);
+
+}
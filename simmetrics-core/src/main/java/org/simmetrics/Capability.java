@@ -0,0 +1,142 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics;
+
+import static com.google.common.collect.Sets.immutableEnumSet;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Properties of a metric or distance that can be used to optimize its use.
+ * For example a symmetric metric only has to be evaluated for half the pairs
+ * in a matrix and a distance that satisfies the triangle inequality can be
+ * used to prune a search.
+ * <p>
+ * Capabilities describe the {@code distance} method of a {@link Distance}.
+ * For a {@link Metric} that is not a distance they describe the distance
+ * {@code 1 - compare(a, b)}. A metric or distance declares its capabilities
+ * by implementing {@link HasCapabilities}. Capabilities that are not declared
+ * are unknown and should not be assumed.
+ * 
+ * @see HasCapabilities
+ */
+public enum Capability {
+
+	/**
+	 * The distance is symmetric such that
+	 * {@code distance(a, b) == distance(b, a)}. When the object is also a
+	 * metric then {@code compare(a, b) == compare(b, a)}.
+	 */
+	SYMMETRIC,
+
+	/**
+	 * The distance satisfies the triangle inequality such that
+	 * {@code distance(a, c) <= distance(a, b) + distance(b, c)}.
+	 */
+	TRIANGLE_INEQUALITY,
+
+	/**
+	 * The distance only takes integer values.
+	 */
+	INTEGER_DISTANCE,
+
+	/**
+	 * The distance is the complement of the similarity such that
+	 * {@code distance(a, b) == 1 - compare(a, b)}. Capabilities of the
+	 * distance then also hold for the similarity.
+	 */
+	NORMALIZED_DISTANCE,
+
+	/**
+	 * The distance can stop early once it exceeds a maximum. When the object
+	 * is also a metric the similarity can stop early once it drops below a
+	 * minimum.
+	 * 
+	 * @see BoundedDistance
+	 * @see BoundedMetric
+	 */
+	BOUNDED_EVALUATION;
+
+	private static final Set<Capability> NONE = immutableEnumSet(EnumSet
+			.noneOf(Capability.class));
+
+	private static final Set<Capability> OF_METRIC = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY);
+
+	private static final Set<Capability> OF_DISTANCE = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY, INTEGER_DISTANCE);
+
+	/**
+	 * Returns the capabilities declared by a metric or distance. Returns an
+	 * empty set when the object does not declare any capabilities.
+	 * 
+	 * @param metric
+	 *            a metric or distance
+	 * @return the declared capabilities
+	 */
+	public static Set<Capability> of(Object metric) {
+		if (metric instanceof HasCapabilities) {
+			return ((HasCapabilities) metric).getCapabilities();
+		}
+		return NONE;
+	}
+
+	/**
+	 * Returns the capabilities of the distance {@code 1 - compare(a, b)} of
+	 * a metric. When the metric is also a distance that is not normalized,
+	 * its capabilities only hold for the similarity when they do not depend
+	 * on the scale of the distance.
+	 * <p>
+	 * Composite metrics that apply a simplifier or tokenizer before the
+	 * metric retain these capabilities.
+	 * 
+	 * @param metric
+	 *            a metric
+	 * @return the capabilities of the similarity of the metric
+	 */
+	public static Set<Capability> ofMetric(Metric<?> metric) {
+		final Set<Capability> capabilities = EnumSet.noneOf(Capability.class);
+		capabilities.addAll(of(metric));
+		if (metric instanceof Distance
+				&& !capabilities.contains(NORMALIZED_DISTANCE)) {
+			capabilities.remove(TRIANGLE_INEQUALITY);
+		}
+		capabilities.retainAll(OF_METRIC);
+		return immutableEnumSet(capabilities);
+	}
+
+	/**
+	 * Returns the capabilities of a distance that are retained by composite
+	 * distances that apply a simplifier or tokenizer before the distance.
+	 * 
+	 * @param distance
+	 *            a distance
+	 * @return the capabilities of the distance
+	 */
+	public static Set<Capability> ofDistance(Distance<?> distance) {
+		final Set<Capability> capabilities = EnumSet.noneOf(Capability.class);
+		capabilities.addAll(of(distance));
+		capabilities.retainAll(OF_DISTANCE);
+		return immutableEnumSet(capabilities);
+	}
+
+}
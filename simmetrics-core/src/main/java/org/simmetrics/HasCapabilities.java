@@ -0,0 +1,39 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics;
+
+import java.util.Set;
+
+/**
+ * A metric or distance that declares its capabilities.
+ * 
+ * @see Capability
+ */
+public interface HasCapabilities {
+
+	/**
+	 * Returns the capabilities of this metric or distance.
+	 * 
+	 * @return an immutable set of capabilities
+	 */
+	Set<Capability> getCapabilities();
+
+}
@@ -0,0 +1,131 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A string metric that can prepare its input ahead of time. Composite metrics
+ * simplify and tokenize both strings on every comparison. When a string is
+ * compared many times it can be prepared once and the prepared forms compared
+ * instead.
+ * <p>
+ * For any strings a and b
+ * {@code compare(prepare(a), prepare(b)) == compare(a, b)}.
+ * 
+ * @see org.simmetrics.builders.StringMetricBuilder
+ */
+public interface PreparableStringMetric extends StringMetric {
+
+	/**
+	 * Prepares a string for comparison by this metric.
+	 * 
+	 * @param input
+	 *            the string to prepare
+	 * @return the prepared string
+	 * @throws NullPointerException
+	 *             when input is null
+	 */
+	Prepared prepare(String input);
+
+	/**
+	 * Measures the similarity between prepared strings a and b. Both strings
+	 * must have been prepared by this metric.
+	 * 
+	 * @param a
+	 *            prepared string a to compare
+	 * @param b
+	 *            prepared string b to compare
+	 * @return a value between 0 and 1 inclusive indicating similarity
+	 * @throws NullPointerException
+	 *             when either a or b is null
+	 * @throws IllegalArgumentException
+	 *             when either a or b was prepared by a different metric
+	 */
+	float compare(Prepared a, Prepared b);
+
+	/**
+	 * The simplified and tokenized form of a string. Holds the original input
+	 * and the value the metric compares, e.g. an immutable list, set or
+	 * multiset of tokens.
+	 * <p>
+	 * This class is immutable and thread-safe.
+	 */
+	final class Prepared {
+
+		private final PreparableStringMetric metric;
+		private final String input;
+		private final Object value;
+
+		/**
+		 * Constructs a new prepared string. Should only be used by
+		 * implementations of {@link PreparableStringMetric}. The value must be
+		 * immutable.
+		 * 
+		 * @param metric
+		 *            the metric that prepared the input
+		 * @param input
+		 *            the original input
+		 * @param value
+		 *            the prepared form of the input
+		 */
+		public Prepared(PreparableStringMetric metric, String input,
+				Object value) {
+			this.metric = checkNotNull(metric);
+			this.input = checkNotNull(input);
+			this.value = checkNotNull(value);
+		}
+
+		/**
+		 * Returns the metric that prepared this string.
+		 * 
+		 * @return the metric that prepared this string
+		 */
+		public PreparableStringMetric getMetric() {
+			return metric;
+		}
+
+		/**
+		 * Returns the original input.
+		 * 
+		 * @return the original input
+		 */
+		public String getInput() {
+			return input;
+		}
+
+		/**
+		 * Returns the prepared form of the input.
+		 * 
+		 * @return the prepared form of the input
+		 */
+		public Object getValue() {
+			return value;
+		}
+
+		@Override
+		public String toString() {
+			return "Prepared [" + input + " -> " + value + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.builders;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A bounded store of scores for pairs of strings.
+ * <p>
+ * Pairs are located by 64-bit fingerprints of both strings. For a symmetric
+ * metric the fingerprints are ordered so that {@code (a, b)} and
+ * {@code (b, a)} share an entry, otherwise each order has its own entry. An
+ * entry also holds both strings, so pairs whose fingerprints collide are
+ * told apart. The store is a direct mapped table, a new pair replaces the pair
+ * that occupied its slot. Entries are immutable and published through a plain
+ * array so reads neither lock nor allocate.
+ * <p>
+ * This class is thread-safe.
+ */
+final class ScoreCache {
+
+	private static final class Entry {
+		final long fingerprintA;
+		final long fingerprintB;
+		final String a;
+		final String b;
+		final float score;
+
+		Entry(long fingerprintA, long fingerprintB, String a, String b,
+				float score) {
+			this.fingerprintA = fingerprintA;
+			this.fingerprintB = fingerprintB;
+			this.a = a;
+			this.b = b;
+			this.score = score;
+		}
+
+		boolean matches(long fingerprintA, long fingerprintB, String a,
+				String b) {
+			return this.fingerprintA == fingerprintA
+					&& this.fingerprintB == fingerprintB && this.a.equals(a)
+					&& this.b.equals(b);
+		}
+	}
+
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/**
+	 * Returns a 64-bit fingerprint of a string.
+	 * 
+	 * @param s
+	 *            the string to fingerprint
+	 * @return a 64-bit fingerprint
+	 */
+	static long fingerprint(String s) {
+		long h = FNV_OFFSET ^ s.length();
+		for (int i = 0; i < s.length(); i++) {
+			h = (h ^ s.charAt(i)) * FNV_PRIME;
+		}
+		// Finalize so all bits depend on all characters
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	private final Entry[] entries;
+	private final int mask;
+	private final boolean symmetric;
+
+	ScoreCache(int maximumSize, boolean symmetric) {
+		checkArgument(maximumSize > 0, "maximumSize must be positive");
+		this.symmetric = symmetric;
+		final int capacity = Integer.highestOneBit(Math.min(MAXIMUM_CAPACITY,
+				maximumSize));
+		this.entries = new Entry[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Returns the score of a pair, or {@code NaN} when the pair is not cached.
+	 * 
+	 * @param a
+	 *            the first string
+	 * @param fingerprintA
+	 *            fingerprint of the first string
+	 * @param b
+	 *            the second string
+	 * @param fingerprintB
+	 *            fingerprint of the second string
+	 * @return the score or NaN
+	 */
+	float get(String a, long fingerprintA, String b, long fingerprintB) {
+		final Entry entry;
+		if (symmetric && fingerprintB < fingerprintA) {
+			entry = entries[index(fingerprintB, fingerprintA)];
+			if (entry != null && entry.matches(fingerprintB, fingerprintA, b, a)) {
+				return entry.score;
+			}
+		} else {
+			entry = entries[index(fingerprintA, fingerprintB)];
+			if (entry != null && entry.matches(fingerprintA, fingerprintB, a, b)) {
+				return entry.score;
+			}
+		}
+		return Float.NaN;
+	}
+
+	void put(String a, long fingerprintA, String b, long fingerprintB,
+			float score) {
+		if (symmetric && fingerprintB < fingerprintA) {
+			entries[index(fingerprintB, fingerprintA)] = new Entry(
+					fingerprintB, fingerprintA, b, a, score);
+		} else {
+			entries[index(fingerprintA, fingerprintB)] = new Entry(
+					fingerprintA, fingerprintB, a, b, score);
+		}
+	}
+
+	int capacity() {
+		return entries.length;
+	}
+
+	private int index(long first, long second) {
+		final long h = first * 0x9E3779B97F4A7C15L + second;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+}
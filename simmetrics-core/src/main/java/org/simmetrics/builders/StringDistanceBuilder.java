@@ -20,7 +20,9 @@
 
 package org.simmetrics.builders;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.simmetrics.builders.ScoreCache.fingerprint;
 import static org.simmetrics.builders.StringDistances.create;
 import static org.simmetrics.builders.StringDistances.createForListDistance;
 import static org.simmetrics.builders.StringDistances.createForMultisetDistance;
@@ -33,6 +35,8 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.ListDistance;
 import org.simmetrics.Distance;
 import org.simmetrics.MultisetDistance;
@@ -122,6 +126,20 @@ public final class StringDistanceBuilder {
 		 */
 		StringDistance build();
 
+		/**
+		 * Sets a cache for the distance. The cache will store the result of
+		 * comparing a pair of strings. When the distance declares
+		 * {@link Capability#SYMMETRIC} a pair is cached regardless of the
+		 * order of its strings, otherwise each order is cached separately.
+		 * Cached pairs are compared by their strings, a fingerprint
+		 * collision does not return the score of another pair.
+		 * 
+		 * @param maximumSize
+		 *            the maximum number of pairs to cache
+		 * @return this for fluent chaining
+		 */
+		BuildStep cacheScores(int maximumSize);
+
 	}
 
 	@SuppressWarnings("javadoc")
@@ -308,6 +326,8 @@ public final class StringDistanceBuilder {
 
 		private final List<Simplifier> simplifiers = new ArrayList<>();
 
+		private int scoreCacheSize;
+
 		CompositeStringDistanceBuilder(Distance<String> distance) {
 			checkNotNull(distance);
 			this.distance = distance;
@@ -315,13 +335,23 @@ public final class StringDistanceBuilder {
 
 		@Override
 		public StringDistance build() {
+			return cache(buildDistance(), scoreCacheSize);
+		}
 
+		private StringDistance buildDistance() {
 			if (simplifiers.isEmpty()) {
 				return create(distance);
 			}
 			return create(distance, chainSimplifiers());
 		}
 
+		@Override
+		public BuildStep cacheScores(int maximumSize) {
+			checkArgument(maximumSize > 0, "maximumSize must be positive");
+			this.scoreCacheSize = maximumSize;
+			return this;
+		}
+
 		private Simplifier chainSimplifiers() {
 			final Simplifier simplifier = Simplifiers.chain(simplifiers);
 			simplifiers.clear();
@@ -354,6 +384,8 @@ public final class StringDistanceBuilder {
 		private final List<Simplifier> simplifiers = new ArrayList<>();
 		private final List<Tokenizer> tokenizers = new ArrayList<>();
 
+		private int scoreCacheSize;
+
 		CompositeCollectionDistanceBuilder(Distance<T> distance) {
 			checkNotNull(distance);
 			this.distance = distance;
@@ -361,7 +393,10 @@ public final class StringDistanceBuilder {
 
 		@Override
 		public final StringDistance build() {
+			return cache(buildDistance(), scoreCacheSize);
+		}
 
+		private StringDistance buildDistance() {
 			Tokenizer tokenizer = chainTokenizers();
 
 			if (simplifiers.isEmpty()) {
@@ -371,6 +406,13 @@ public final class StringDistanceBuilder {
 			return build(distance, chainSimplifiers(), tokenizer);
 		}
 
+		@Override
+		public final BuildStep cacheScores(int maximumSize) {
+			checkArgument(maximumSize > 0, "maximumSize must be positive");
+			this.scoreCacheSize = maximumSize;
+			return this;
+		}
+
 		abstract StringDistance build(Distance<T> distance, Simplifier simplifier, Tokenizer tokenizer);
 
 		abstract StringDistance build(Distance<T> distance, Tokenizer tokenizer);
@@ -512,6 +554,54 @@ public final class StringDistanceBuilder {
 
 	}
 
+	private static StringDistance cache(StringDistance distance, int maximumSize) {
+		if (maximumSize == 0) {
+			return distance;
+		}
+		return new CachingStringDistance(distance, maximumSize);
+	}
+
+	static final class CachingStringDistance implements StringDistance,
+			HasCapabilities {
+
+		private final ScoreCache cache;
+		private final Set<Capability> capabilities;
+		final StringDistance distance;
+
+		CachingStringDistance(StringDistance distance, int maximumSize) {
+			this.distance = distance;
+			this.capabilities = Capability.ofDistance(distance);
+			this.cache = new ScoreCache(maximumSize,
+					capabilities.contains(Capability.SYMMETRIC));
+		}
+
+		@Override
+		public float distance(String a, String b) {
+			final long fingerprintA = fingerprint(a);
+			final long fingerprintB = fingerprint(b);
+
+			final float cached = cache.get(a, fingerprintA, b, fingerprintB);
+			if (!Float.isNaN(cached)) {
+				return cached;
+			}
+
+			final float score = distance.distance(a, b);
+			cache.put(a, fingerprintA, b, fingerprintB, score);
+			return score;
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
+		@Override
+		public String toString() {
+			return "CachingStringDistance [" + distance + "]";
+		}
+
+	}
+
 	static final class CachingSimplifier implements Simplifier {
 
 		private final Cache<String, String> cache;
@@ -524,6 +614,12 @@ public final class StringDistanceBuilder {
 
 		@Override
 		public String simplify(final String input) {
+			// Hits do not allocate a loader
+			final String cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<String>() {
 
@@ -568,6 +664,12 @@ public final class StringDistanceBuilder {
 
 		@Override
 		public Multiset<String> tokenizeToMultiset(final String input) {
+			// Hits do not allocate a loader
+			final Multiset<String> cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<Multiset<String>>() {
 
@@ -605,6 +707,12 @@ public final class StringDistanceBuilder {
 
 		@Override
 		public Set<String> tokenizeToSet(final String input) {
+			// Hits do not allocate a loader
+			final Set<String> cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<Set<String>>() {
 
@@ -642,6 +750,12 @@ public final class StringDistanceBuilder {
 
 		@Override
 		public List<String> tokenizeToList(final String input) {
+			// Hits do not allocate a loader
+			final List<String> cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<List<String>>() {
 
@@ -26,7 +26,9 @@ import static org.simmetrics.simplifiers.Simplifiers.chain;
 import java.util.List;
 import java.util.Set;
 
+import org.simmetrics.Capability;
 import org.simmetrics.Distance;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.StringDistance;
 import org.simmetrics.simplifiers.Simplifier;
 import org.simmetrics.tokenizers.Tokenizer;
@@ -94,9 +96,10 @@ final class StringDistances {
 		return new ForMultiset(distance, tokenizer);
 	}
 	
-	static final class ForList implements StringDistance {
+	static final class ForList implements StringDistance, HasCapabilities {
 		private final Distance<List<String>> distance;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForList(Distance<List<String>> distance, Tokenizer tokenizer) {
 
@@ -105,6 +108,7 @@ final class StringDistances {
 
 			this.distance = distance;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -120,16 +124,23 @@ final class StringDistances {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance + " [" + tokenizer + "]";
 		}
 	}
 
-	static final class ForListWithSimplifier implements StringDistance {
+	static final class ForListWithSimplifier implements StringDistance,
+			HasCapabilities {
 		private final Distance<List<String>> distance;
 		private final Simplifier simplifier;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForListWithSimplifier(Distance<List<String>> distance, Simplifier simplifier, Tokenizer tokenizer) {
 
@@ -140,6 +151,7 @@ final class StringDistances {
 			this.distance = distance;
 			this.simplifier = simplifier;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -160,16 +172,22 @@ final class StringDistances {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance + " [" + simplifier + " -> " + tokenizer + "]";
 		}
 	}
 
-	static final class ForSet implements StringDistance {
+	static final class ForSet implements StringDistance, HasCapabilities {
 
 		private final Distance<Set<String>> distance;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForSet(Distance<Set<String>> distance, Tokenizer tokenizer) {
 			checkNotNull(distance);
@@ -177,6 +195,7 @@ final class StringDistances {
 
 			this.distance = distance;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -192,6 +211,11 @@ final class StringDistances {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance + " [" + tokenizer + "]";
@@ -199,11 +223,13 @@ final class StringDistances {
 
 	}
 
-	static final class ForSetWithSimplifier implements StringDistance {
+	static final class ForSetWithSimplifier implements StringDistance,
+			HasCapabilities {
 
 		private final Distance<Set<String>> distance;
 		private final Simplifier simplifier;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForSetWithSimplifier(Distance<Set<String>> distance, Simplifier simplifier, Tokenizer tokenizer) {
 			checkNotNull(distance);
@@ -213,6 +239,7 @@ final class StringDistances {
 			this.distance = distance;
 			this.simplifier = simplifier;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -233,16 +260,22 @@ final class StringDistances {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance + " [" + simplifier + " -> " + tokenizer + "]";
 		}
 
 	}
-	static final class ForMultiset implements StringDistance {
+	static final class ForMultiset implements StringDistance, HasCapabilities {
 
 		private final Distance<Multiset<String>> distance;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForMultiset(Distance<Multiset<String>> distance, Tokenizer tokenizer) {
 			checkNotNull(distance);
@@ -250,6 +283,7 @@ final class StringDistances {
 
 			this.distance = distance;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -265,6 +299,11 @@ final class StringDistances {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance + " [" + tokenizer + "]";
@@ -272,11 +311,13 @@ final class StringDistances {
 
 	}
 
-	static final class ForMultisetWithSimplifier implements StringDistance {
+	static final class ForMultisetWithSimplifier implements StringDistance,
+			HasCapabilities {
 
 		private final Distance<Multiset<String>> distance;
 		private final Simplifier simplifier;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForMultisetWithSimplifier(Distance<Multiset<String>> distance, Simplifier simplifier, Tokenizer tokenizer) {
 			checkNotNull(distance);
@@ -286,6 +327,7 @@ final class StringDistances {
 			this.distance = distance;
 			this.simplifier = simplifier;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -306,17 +348,24 @@ final class StringDistances {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance + " [" + simplifier + " -> " + tokenizer + "]";
 		}
 
 	}
-	static final class ForString implements StringDistance {
+	static final class ForString implements StringDistance, HasCapabilities {
 		private final Distance<String> distance;
+		private final Set<Capability> capabilities;
 
 		ForString(Distance<String> distance) {
 			this.distance = distance;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -324,6 +373,11 @@ final class StringDistances {
 			return distance.distance(a, b);
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance.toString();
@@ -335,11 +389,13 @@ final class StringDistances {
 
 	}
 
-	static final class ForStringWithSimplifier implements StringDistance {
+	static final class ForStringWithSimplifier implements StringDistance,
+			HasCapabilities {
 
 		private final Distance<String> distance;
 
 		private final Simplifier simplifier;
+		private final Set<Capability> capabilities;
 
 		ForStringWithSimplifier(Distance<String> distance, Simplifier simplifier) {
 			checkNotNull(distance);
@@ -347,6 +403,7 @@ final class StringDistances {
 
 			this.distance = distance;
 			this.simplifier = simplifier;
+			this.capabilities = Capability.ofDistance(distance);
 		}
 
 		@Override
@@ -362,6 +419,11 @@ final class StringDistances {
 			return simplifier;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return distance + " [" + simplifier + "]";
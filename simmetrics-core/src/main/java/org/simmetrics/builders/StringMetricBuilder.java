@@ -20,11 +20,14 @@
 
 package org.simmetrics.builders;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.simmetrics.builders.ScoreCache.fingerprint;
 import static org.simmetrics.builders.StringMetrics.create;
 import static org.simmetrics.builders.StringMetrics.createForListMetric;
 import static org.simmetrics.builders.StringMetrics.createForMultisetMetric;
 import static org.simmetrics.builders.StringMetrics.createForSetMetric;
+import static org.simmetrics.builders.StringMetrics.preparable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -33,9 +36,13 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.ListMetric;
 import org.simmetrics.Metric;
 import org.simmetrics.MultisetMetric;
+import org.simmetrics.PreparableStringMetric;
+import org.simmetrics.PreparableStringMetric.Prepared;
 import org.simmetrics.SetMetric;
 import org.simmetrics.StringMetric;
 import org.simmetrics.simplifiers.Simplifier;
@@ -125,6 +132,29 @@ public final class StringMetricBuilder {
 		 */
 		StringMetric build();
 
+		/**
+		 * Builds a metric with the given steps that can prepare strings ahead
+		 * of comparison. Returns the same metric as {@link #build()} when it
+		 * can already prepare strings, otherwise an adapter for it.
+		 * 
+		 * @return a preparable metric
+		 */
+		PreparableStringMetric buildPreparable();
+
+		/**
+		 * Sets a cache for the metric. The cache will store the result of
+		 * comparing a pair of strings. When the metric declares
+		 * {@link Capability#SYMMETRIC} a pair is cached regardless of the
+		 * order of its strings, otherwise each order is cached separately.
+		 * Cached pairs are compared by their strings, a fingerprint
+		 * collision does not return the score of another pair.
+		 * 
+		 * @param maximumSize
+		 *            the maximum number of pairs to cache
+		 * @return this for fluent chaining
+		 */
+		BuildStep cacheScores(int maximumSize);
+
 	}
 
 	@SuppressWarnings("javadoc")
@@ -315,6 +345,8 @@ public final class StringMetricBuilder {
 
 		private final List<Simplifier> simplifiers = new ArrayList<>();
 
+		private int scoreCacheSize;
+
 		CompositeStringMetricBuilder(Metric<String> metric) {
 			checkNotNull(metric);
 			this.metric = metric;
@@ -322,13 +354,28 @@ public final class StringMetricBuilder {
 
 		@Override
 		public StringMetric build() {
+			return cache(buildMetric(), scoreCacheSize);
+		}
 
+		@Override
+		public PreparableStringMetric buildPreparable() {
+			return preparable(build());
+		}
+
+		private StringMetric buildMetric() {
 			if (simplifiers.isEmpty()) {
 				return create(metric);
 			}
 			return create(metric, chainSimplifiers());
 		}
 
+		@Override
+		public BuildStep cacheScores(int maximumSize) {
+			checkArgument(maximumSize > 0, "maximumSize must be positive");
+			this.scoreCacheSize = maximumSize;
+			return this;
+		}
+
 		private Simplifier chainSimplifiers() {
 			final Simplifier simplifier = Simplifiers.chain(simplifiers);
 			simplifiers.clear();
@@ -363,6 +410,8 @@ public final class StringMetricBuilder {
 		private final List<Simplifier> simplifiers = new ArrayList<>();
 		private final List<Tokenizer> tokenizers = new ArrayList<>();
 
+		private int scoreCacheSize;
+
 		CompositeCollectionMetricBuilder(Metric<T> metric) {
 			checkNotNull(metric);
 			this.metric = metric;
@@ -370,7 +419,15 @@ public final class StringMetricBuilder {
 
 		@Override
 		public final StringMetric build() {
+			return cache(buildMetric(), scoreCacheSize);
+		}
+
+		@Override
+		public final PreparableStringMetric buildPreparable() {
+			return preparable(build());
+		}
 
+		private StringMetric buildMetric() {
 			Tokenizer tokenizer = chainTokenizers();
 
 			if (simplifiers.isEmpty()) {
@@ -380,10 +437,18 @@ public final class StringMetricBuilder {
 			return build(metric, chainSimplifiers(), tokenizer);
 		}
 
-		abstract StringMetric build(Metric<T> metric, Simplifier simplifier,
-				Tokenizer tokenizer);
+		@Override
+		public final BuildStep cacheScores(int maximumSize) {
+			checkArgument(maximumSize > 0, "maximumSize must be positive");
+			this.scoreCacheSize = maximumSize;
+			return this;
+		}
 
-		abstract StringMetric build(Metric<T> metric, Tokenizer tokenizer);
+		abstract StringMetric build(Metric<T> metric,
+				Simplifier simplifier, Tokenizer tokenizer);
+
+		abstract StringMetric build(Metric<T> metric,
+				Tokenizer tokenizer);
 
 		@Override
 		public final BuildStep cacheTokens(Cache<String, T> cache) {
@@ -469,13 +534,14 @@ public final class StringMetricBuilder {
 		}
 
 		@Override
-		StringMetric build(Metric<List<String>> metric, Simplifier simplifier,
-				Tokenizer tokenizer) {
+		StringMetric build(Metric<List<String>> metric,
+				Simplifier simplifier, Tokenizer tokenizer) {
 			return createForListMetric(metric, simplifier, tokenizer);
 		}
 
 		@Override
-		StringMetric build(Metric<List<String>> metric, Tokenizer tokenizer) {
+		StringMetric build(Metric<List<String>> metric,
+				Tokenizer tokenizer) {
 			return createForListMetric(metric, tokenizer);
 		}
 
@@ -495,13 +561,14 @@ public final class StringMetricBuilder {
 		}
 
 		@Override
-		StringMetric build(Metric<Set<String>> metric, Simplifier simplifier,
-				Tokenizer tokenizer) {
+		StringMetric build(Metric<Set<String>> metric,
+				Simplifier simplifier, Tokenizer tokenizer) {
 			return createForSetMetric(metric, simplifier, tokenizer);
 		}
 
 		@Override
-		StringMetric build(Metric<Set<String>> metric, Tokenizer tokenizer) {
+		StringMetric build(Metric<Set<String>> metric,
+				Tokenizer tokenizer) {
 			return createForSetMetric(metric, tokenizer);
 		}
 
@@ -527,7 +594,8 @@ public final class StringMetricBuilder {
 		}
 
 		@Override
-		StringMetric build(Metric<Multiset<String>> metric, Tokenizer tokenizer) {
+		StringMetric build(Metric<Multiset<String>> metric,
+				Tokenizer tokenizer) {
 			return createForMultisetMetric(metric, tokenizer);
 		}
 
@@ -539,6 +607,98 @@ public final class StringMetricBuilder {
 
 	}
 
+	private static StringMetric cache(StringMetric metric, int maximumSize) {
+		if (maximumSize == 0) {
+			return metric;
+		}
+		return new CachingStringMetric(preparable(metric), maximumSize);
+	}
+
+	static final class CachingStringMetric implements PreparableStringMetric,
+			HasCapabilities {
+
+		private final ScoreCache cache;
+		private final Set<Capability> capabilities;
+		final PreparableStringMetric metric;
+
+		CachingStringMetric(PreparableStringMetric metric, int maximumSize) {
+			this.metric = metric;
+			this.capabilities = Capability.ofMetric(metric);
+			this.cache = new ScoreCache(maximumSize,
+					capabilities.contains(Capability.SYMMETRIC));
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			final long fingerprintA = fingerprint(a);
+			final long fingerprintB = fingerprint(b);
+
+			final float cached = cache.get(a, fingerprintA, b, fingerprintB);
+			if (!Float.isNaN(cached)) {
+				return cached;
+			}
+
+			final float score = metric.compare(a, b);
+			cache.put(a, fingerprintA, b, fingerprintB, score);
+			return score;
+		}
+
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, new Fingerprinted(
+					metric.prepare(input), fingerprint(input)));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			checkArgument(a.getMetric() == this,
+					"%s was not prepared by %s", a, this);
+			checkArgument(b.getMetric() == this,
+					"%s was not prepared by %s", b, this);
+
+			final Fingerprinted valueA = (Fingerprinted) a.getValue();
+			final Fingerprinted valueB = (Fingerprinted) b.getValue();
+
+			final float cached = cache.get(a.getInput(), valueA.fingerprint,
+					b.getInput(), valueB.fingerprint);
+			if (!Float.isNaN(cached)) {
+				return cached;
+			}
+
+			final float score = metric.compare(valueA.prepared,
+					valueB.prepared);
+			cache.put(a.getInput(), valueA.fingerprint, b.getInput(),
+					valueB.fingerprint, score);
+			return score;
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
+		@Override
+		public String toString() {
+			return "CachingStringMetric [" + metric + "]";
+		}
+
+		private static final class Fingerprinted {
+			final Prepared prepared;
+			final long fingerprint;
+
+			Fingerprinted(Prepared prepared, long fingerprint) {
+				this.prepared = prepared;
+				this.fingerprint = fingerprint;
+			}
+
+			@Override
+			public String toString() {
+				return prepared.getValue().toString();
+			}
+		}
+
+	}
+
 	static final class CachingSimplifier implements Simplifier {
 
 		private final Cache<String, String> cache;
@@ -551,6 +711,12 @@ public final class StringMetricBuilder {
 
 		@Override
 		public String simplify(final String input) {
+			// Hits do not allocate a loader
+			final String cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<String>() {
 
@@ -596,6 +762,12 @@ public final class StringMetricBuilder {
 
 		@Override
 		public Multiset<String> tokenizeToMultiset(final String input) {
+			// Hits do not allocate a loader
+			final Multiset<String> cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<Multiset<String>>() {
 
@@ -635,6 +807,12 @@ public final class StringMetricBuilder {
 
 		@Override
 		public Set<String> tokenizeToSet(final String input) {
+			// Hits do not allocate a loader
+			final Set<String> cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<Set<String>>() {
 
@@ -673,6 +851,12 @@ public final class StringMetricBuilder {
 
 		@Override
 		public List<String> tokenizeToList(final String input) {
+			// Hits do not allocate a loader
+			final List<String> cached = cache.getIfPresent(input);
+			if (cached != null) {
+				return cached;
+			}
+
 			try {
 				return cache.get(input, new Callable<List<String>>() {
 
@@ -20,10 +20,17 @@
 
 package org.simmetrics.builders;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.List;
 import java.util.Set;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.Metric;
+import org.simmetrics.PreparableStringMetric;
+import org.simmetrics.PreparableStringMetric.Prepared;
 import org.simmetrics.StringMetric;
 import org.simmetrics.simplifiers.Simplifier;
 import org.simmetrics.tokenizers.Tokenizer;
@@ -77,6 +84,58 @@ final class StringMetrics {
 		return org.simmetrics.metrics.StringMetrics.createForMultisetMetric(metric, tokenizer);
 	}
 
+	/**
+	 * Returns the metric when it can prepare strings, otherwise an adapter
+	 * that prepares a string as itself and compares it with the metric.
+	 */
+	public static PreparableStringMetric preparable(StringMetric metric) {
+		if (metric instanceof PreparableStringMetric) {
+			return (PreparableStringMetric) metric;
+		}
+		return new ForPreparable(metric);
+	}
+
+	static final class ForPreparable implements PreparableStringMetric,
+			HasCapabilities {
+
+		private final StringMetric metric;
+		private final Set<Capability> capabilities;
+
+		ForPreparable(StringMetric metric) {
+			this.metric = checkNotNull(metric);
+			this.capabilities = Capability.ofMetric(metric);
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			return metric.compare(a, b);
+		}
+
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, input);
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			checkArgument(a.getMetric() == this,
+					"%s was not prepared by %s", a, this);
+			checkArgument(b.getMetric() == this,
+					"%s was not prepared by %s", b, this);
+			return metric.compare(a.getInput(), b.getInput());
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
+		@Override
+		public String toString() {
+			return metric.toString();
+		}
+
+	}
 
 	private StringMetrics() {
 		// Utility class.
@@ -0,0 +1,542 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.builders;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A bounded cache with lock-free reads and W-TinyLFU admission. Can be used
+ * with {@link StringMetricBuilder} and {@link StringDistanceBuilder} to cache
+ * strings and tokens.
+ * <p>
+ * New entries are placed in a small window region. Entries evicted from the
+ * window are only admitted to the main region when they have been accessed
+ * more often than the entry they would replace. Access frequencies are
+ * estimated with a count-min sketch of 4-bit counters that is periodically
+ * halved to age old accesses. A miss is counted by the {@code put} or
+ * {@code get} that loads the entry, so checking {@code getIfPresent} first
+ * does not count it twice. The main region is evicted in clock order.
+ * <p>
+ * Reads do not lock and do not allocate. A read only writes to shared state
+ * the first time an entry is accessed after it was passed over by the clock.
+ * Writes and evictions are serialized by a single lock.
+ * <p>
+ * The cache is bounded by the total weight of its entries. Entries heavier
+ * than the maximum weight are not cached. Frequencies are approximate and
+ * updated without synchronization, concurrent updates may be lost.
+ * <p>
+ * Only {@code getIfPresent}, {@code get}, {@code put}, {@code invalidate},
+ * {@code invalidateAll} and {@code size} are supported. Unlike other Guava
+ * caches, concurrent calls to {@code get} for the same absent key are not
+ * coalesced. Each call invokes its loader and the last value loaded is kept.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @param <K>
+ *            the type of keys
+ * @param <V>
+ *            the type of values
+ * 
+ * @see <a href="https://arxiv.org/abs/1512.00727">TinyLFU: A Highly Efficient
+ *      Cache Admission Policy</a>
+ */
+public final class TinyLfuCache<K, V> extends AbstractCache<K, V> {
+
+	/**
+	 * Creates a new cache bounded by the total weight of its entries.
+	 * 
+	 * @param maximumWeight
+	 *            the maximum total weight
+	 * @param weigher
+	 *            the weigher of entries, weights may not be negative
+	 * @return a new cache
+	 */
+	public static <K, V> TinyLfuCache<K, V> create(long maximumWeight,
+			Weigher<? super K, ? super V> weigher) {
+		return new TinyLfuCache<>(maximumWeight, weigher);
+	}
+
+	/**
+	 * Creates a new cache for simplified strings bounded by the estimated
+	 * memory use of its keys and values.
+	 * 
+	 * @param maximumBytes
+	 *            the maximum estimated memory use in bytes
+	 * @return a new cache
+	 */
+	public static TinyLfuCache<String, String> forStrings(long maximumBytes) {
+		return create(maximumBytes, new Weigher<String, String>() {
+			@Override
+			public int weigh(String key, String value) {
+				return ENTRY_BYTES + bytes(key) + bytes(value);
+			}
+		});
+	}
+
+	/**
+	 * Creates a new cache for tokens bounded by the estimated memory use of its
+	 * keys and values.
+	 * 
+	 * @param maximumBytes
+	 *            the maximum estimated memory use in bytes
+	 * @return a new cache
+	 */
+	public static <T extends Collection<String>> TinyLfuCache<String, T> forTokens(
+			long maximumBytes) {
+		return create(maximumBytes, new Weigher<String, T>() {
+			@Override
+			public int weigh(String key, T tokens) {
+				int weight = ENTRY_BYTES + COLLECTION_BYTES + bytes(key);
+				for (String token : tokens) {
+					weight += REFERENCE_BYTES + bytes(token);
+				}
+				return weight;
+			}
+		});
+	}
+
+	// Estimates for a 64-bit JVM with compressed references
+	private static final int ENTRY_BYTES = 64;
+	private static final int COLLECTION_BYTES = 48;
+	private static final int REFERENCE_BYTES = 24;
+	private static final int STRING_BYTES = 40;
+
+	private static int bytes(String s) {
+		return STRING_BYTES + 2 * s.length();
+	}
+
+	// Fraction of the maximum weight used for the window
+	private static final int WINDOW_DIVISOR = 100;
+
+	private static final class Node<K, V> {
+		final K key;
+		final V value;
+		final int weight;
+
+		// Set by readers, cleared by the clock
+		boolean referenced;
+
+		// Guarded by the lock
+		boolean window;
+		Node<K, V> previous;
+		Node<K, V> next;
+
+		Node(K key, V value, int weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * Doubly linked queue of nodes. Nodes are linked through their own fields
+	 * so a replaced or invalidated node is unlinked in constant time.
+	 */
+	private static final class Queue<K, V> {
+
+		private Node<K, V> head;
+		private Node<K, V> tail;
+		private int size;
+
+		Node<K, V> peekFirst() {
+			return head;
+		}
+
+		Node<K, V> pollFirst() {
+			final Node<K, V> node = head;
+			if (node != null) {
+				unlink(node);
+			}
+			return node;
+		}
+
+		void addLast(Node<K, V> node) {
+			node.previous = tail;
+			node.next = null;
+			if (tail == null) {
+				head = node;
+			} else {
+				tail.next = node;
+			}
+			tail = node;
+			size++;
+		}
+
+		void unlink(Node<K, V> node) {
+			if (node.previous == null) {
+				head = node.next;
+			} else {
+				node.previous.next = node.next;
+			}
+			if (node.next == null) {
+				tail = node.previous;
+			} else {
+				node.next.previous = node.previous;
+			}
+			node.previous = null;
+			node.next = null;
+			size--;
+		}
+
+		int size() {
+			return size;
+		}
+
+		void clear() {
+			head = null;
+			tail = null;
+			size = 0;
+		}
+	}
+
+	private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+	// Replaced under the lock when the cache grows
+	private volatile FrequencySketch sketch = new FrequencySketch(0);
+	private final Weigher<? super K, ? super V> weigher;
+	private final long maximumWeight;
+	private final long maximumWindowWeight;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Queue<K, V> window = new Queue<>();
+	private final Queue<K, V> main = new Queue<>();
+	private long windowWeight;
+	private long mainWeight;
+
+	private TinyLfuCache(long maximumWeight,
+			Weigher<? super K, ? super V> weigher) {
+		checkArgument(maximumWeight >= 0, "maximumWeight may not be negative");
+		checkNotNull(weigher);
+		this.maximumWeight = maximumWeight;
+		this.maximumWindowWeight = maximumWeight / WINDOW_DIVISOR;
+		this.weigher = weigher;
+	}
+
+	@Override
+	public V getIfPresent(Object key) {
+		final Node<K, V> node = map.get(key);
+		if (node == null) {
+			// Misses are counted once, by the put that follows them
+			return null;
+		}
+		// Hot entries stay referenced and are not counted again until the
+		// clock passes them
+		if (!node.referenced) {
+			node.referenced = true;
+			sketch.increment(key.hashCode());
+		}
+		return node.value;
+	}
+
+	@Override
+	public V get(K key, Callable<? extends V> loader)
+			throws ExecutionException {
+		final V cached = getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		final V value;
+		try {
+			value = loader.call();
+		} catch (RuntimeException e) {
+			throw new UncheckedExecutionException(e);
+		} catch (Exception e) {
+			throw new ExecutionException(e);
+		} catch (Error e) {
+			throw new ExecutionError(e);
+		}
+		checkNotNull(value, "loader may not return null");
+		put(key, value);
+		return value;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		checkNotNull(key);
+		checkNotNull(value);
+		final int weight = weigher.weigh(key, value);
+		checkArgument(weight >= 0, "weight may not be negative");
+
+		lock.lock();
+		try {
+			sketch.increment(key.hashCode());
+			final Node<K, V> old;
+			if (weight > maximumWeight) {
+				old = map.remove(key);
+			} else {
+				final Node<K, V> node = new Node<>(key, value, weight);
+				old = map.put(key, node);
+				node.window = true;
+				window.addLast(node);
+				windowWeight += weight;
+			}
+
+			if (old != null) {
+				remove(old);
+			}
+			evict();
+			ensureSketchCapacity();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void invalidate(Object key) {
+		checkNotNull(key);
+		lock.lock();
+		try {
+			final Node<K, V> old = map.remove(key);
+			if (old != null) {
+				remove(old);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void invalidateAll() {
+		lock.lock();
+		try {
+			map.clear();
+			window.clear();
+			main.clear();
+			windowWeight = 0;
+			mainWeight = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public long size() {
+		return map.size();
+	}
+
+	private void ensureSketchCapacity() {
+		// Frequencies are lost when the sketch is replaced, so it grows in
+		// large steps
+		final int size = map.size();
+		if (sketch.isTooSmall(size)) {
+			sketch = new FrequencySketch(2L * size);
+		}
+	}
+
+	private void remove(Node<K, V> node) {
+		if (node.window) {
+			window.unlink(node);
+			windowWeight -= node.weight;
+		} else {
+			main.unlink(node);
+			mainWeight -= node.weight;
+		}
+	}
+
+	private void evict(Node<K, V> node) {
+		map.remove(node.key, node);
+	}
+
+	private void evict() {
+		// Move the oldest entries of the window to the main region when they
+		// are more frequent than the victim they would replace
+		while (windowWeight > maximumWindowWeight) {
+			final Node<K, V> candidate = window.pollFirst();
+			windowWeight -= candidate.weight;
+			candidate.window = false;
+
+			if (windowWeight + mainWeight + candidate.weight > maximumWeight) {
+				final Node<K, V> victim = peekVictim();
+				if (victim != null
+						&& sketch.frequency(candidate.key.hashCode()) <= sketch
+								.frequency(victim.key.hashCode())) {
+					evict(candidate);
+					continue;
+				}
+			}
+
+			main.addLast(candidate);
+			mainWeight += candidate.weight;
+		}
+
+		while (windowWeight + mainWeight > maximumWeight) {
+			final Node<K, V> victim = peekVictim();
+			if (victim != null) {
+				main.pollFirst();
+				mainWeight -= victim.weight;
+				evict(victim);
+			} else {
+				final Node<K, V> oldest = window.pollFirst();
+				windowWeight -= oldest.weight;
+				evict(oldest);
+			}
+		}
+	}
+
+	/**
+	 * Returns the first unreferenced entry in clock order, or the head of the
+	 * main region after a full rotation. Referenced entries are given a second
+	 * chance.
+	 */
+	private Node<K, V> peekVictim() {
+		for (int rotations = main.size(); rotations >= 0; rotations--) {
+			final Node<K, V> node = main.peekFirst();
+			if (node == null) {
+				return null;
+			}
+			if (!node.referenced) {
+				return node;
+			}
+			node.referenced = false;
+			main.addLast(main.pollFirst());
+		}
+
+		// Readers keep referencing entries, settle for the head
+		return main.peekFirst();
+	}
+
+	/**
+	 * Returns the number of nodes in the window and main regions.
+	 */
+	int queuedNodes() {
+		lock.lock();
+		try {
+			return window.size() + main.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the estimated access frequency of a key.
+	 */
+	int frequency(Object key) {
+		return sketch.frequency(key.hashCode());
+	}
+
+	/**
+	 * Returns the total weight of the window and main regions.
+	 */
+	long weight() {
+		lock.lock();
+		try {
+			return windowWeight + mainWeight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TinyLfuCache [maximumWeight=" + maximumWeight + "]";
+	}
+
+	/**
+	 * A count-min sketch with four 4-bit counters per key. Counters are
+	 * halved after a sample of increments so the sketch favors recent
+	 * accesses.
+	 */
+	static final class FrequencySketch {
+
+		private static final int[] SEEDS = { 0x97CB3127, 0xB492B66F,
+				0x9AE16A3B, 0xC2B2AE35 };
+
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private static final int MAXIMUM_COUNT = 15;
+
+		private static final int MINIMUM_LENGTH = 16;
+		private static final int MAXIMUM_LENGTH = 1 << 22;
+
+		private final long[] table;
+		private final int mask;
+		private final int sampleSize;
+		private int additions;
+
+		FrequencySketch(long expectedEntries) {
+			final int length = (int) Long.highestOneBit(Math.max(
+					MINIMUM_LENGTH, Math.min(MAXIMUM_LENGTH, expectedEntries)) * 2 - 1);
+			this.table = new long[length];
+			this.mask = length - 1;
+			this.sampleSize = 10 * length;
+		}
+
+		boolean isTooSmall(int entries) {
+			return entries > table.length && table.length < MAXIMUM_LENGTH;
+		}
+
+		int frequency(int hash) {
+			int frequency = MAXIMUM_COUNT;
+			for (int i = 0; i < SEEDS.length; i++) {
+				final int h = spread(hash, i);
+				final int count = (int) (table[h & mask] >>> offset(h)) & 0xF;
+				frequency = Math.min(frequency, count);
+			}
+			return frequency;
+		}
+
+		void increment(int hash) {
+			boolean added = false;
+			for (int i = 0; i < SEEDS.length; i++) {
+				final int h = spread(hash, i);
+				final int index = h & mask;
+				final int offset = offset(h);
+				if (((table[index] >>> offset) & 0xF) < MAXIMUM_COUNT) {
+					table[index] += 1L << offset;
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) {
+				reset();
+			}
+		}
+
+		private void reset() {
+			for (int i = 0; i < table.length; i++) {
+				table[i] = (table[i] >>> 1) & RESET_MASK;
+			}
+			additions /= 2;
+		}
+
+		private static int spread(int hash, int i) {
+			int h = hash * SEEDS[i];
+			return h ^ (h >>> 16);
+		}
+
+		private static int offset(int h) {
+			// One of 16 counters in a long, chosen by the high bits
+			return (h >>> 28) << 2;
+		}
+	}
+
+}
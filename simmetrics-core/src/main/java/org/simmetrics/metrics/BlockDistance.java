@@ -19,9 +19,15 @@
  */
 package org.simmetrics.metrics;
 
-import static java.lang.Math.abs;
-import static org.simmetrics.metrics.Math.union;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.MultisetDistance;
 import org.simmetrics.MultisetMetric;
 
@@ -44,7 +50,11 @@ import com.google.common.collect.Multiset;
  * @param <T>
  *            type of token
  */
-public final class BlockDistance<T> implements MultisetMetric<T>, MultisetDistance<T> {
+public final class BlockDistance<T> implements MultisetMetric<T>, MultisetDistance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY, INTEGER_DISTANCE);
 
 	@Override
 	public float compare(Multiset<T> a, Multiset<T> b) {
@@ -63,15 +73,12 @@ public final class BlockDistance<T> implements MultisetMetric<T>, MultisetDistan
 	@Override
 	public float distance(Multiset<T> a, Multiset<T> b) {
 
-		float distance = 0;
-
-		for (T token : union(a, b).elementSet()) {
-			float frequencyInA = a.count(token);
-			float frequencyInB = b.count(token);
+		return MultisetStatistics.of(a, b).blockDistance();
+	}
 
-			distance += abs(frequencyInA - frequencyInB);
-		}
-		return distance;
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
 	}
 
 	@Override
@@ -0,0 +1,374 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.simmetrics.tokenizers.Tokenizer;
+
+/**
+ * Token statistics of a corpus of documents. Maps each token in the corpus to
+ * its inverse document frequency (IDF).
+ * <p>
+ * <code>
+ * idf(t) = ln((N + 1) / (df(t) + 1)) + 1
+ * </code>
+ * <p>
+ * Where {@code N} is the number of documents and {@code df(t)} the number of
+ * documents containing token {@code t}. Tokens that do not occur in the corpus
+ * have a document frequency of 0.
+ * <p>
+ * The statistics are stored as an open addressing hash table in a single
+ * buffer. The same layout is used in memory and on disk so a table written
+ * with {@link #writeTo(WritableByteChannel)} can be memory-mapped with
+ * {@link #map(Path)} without deserialization.
+ * <p>
+ * The statistics should be compiled with the same tokenizer that is used to
+ * tokenize the strings that are compared.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @see TfIdf
+ * @see SoftTfIdf
+ */
+public final class CorpusStatistics {
+
+	private static final int MAGIC = 0x534D4353; // SMCS
+	private static final int VERSION = 1;
+
+	// magic, version, documents, tokens, slots
+	private static final int HEADER_SIZE = 5 * 4;
+
+	/**
+	 * Compiles the statistics of a corpus of documents.
+	 * 
+	 * @param documents
+	 *            the documents in the corpus
+	 * @param tokenizer
+	 *            the tokenizer to split documents into tokens
+	 * @return the statistics of the corpus
+	 */
+	public static CorpusStatistics create(Iterable<String> documents,
+			Tokenizer tokenizer) {
+		checkNotNull(documents);
+		checkNotNull(tokenizer);
+
+		final Map<String, int[]> frequencies = new LinkedHashMap<>();
+		int count = 0;
+		for (String document : documents) {
+			for (String token : tokenizer.tokenizeToSet(document)) {
+				int[] frequency = frequencies.get(token);
+				if (frequency == null) {
+					frequency = new int[1];
+					frequencies.put(token, frequency);
+				}
+				frequency[0]++;
+			}
+			count++;
+		}
+
+		return new CorpusStatistics(compile(count, frequencies));
+	}
+
+	private static ByteBuffer compile(int documents,
+			Map<String, int[]> frequencies) {
+		final int tokens = frequencies.size();
+		final int slots = slots(tokens);
+
+		long chars = 0;
+		for (String token : frequencies.keySet()) {
+			chars += token.length();
+		}
+
+		final long capacity = HEADER_SIZE + 4L * slots + 4L * (tokens + 1)
+				+ 4L * tokens + 2L * chars;
+		checkArgument(capacity <= Integer.MAX_VALUE, "corpus too large");
+
+		final ByteBuffer buffer = ByteBuffer.allocate((int) capacity);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(documents).putInt(tokens)
+				.putInt(slots);
+
+		final int slotBase = HEADER_SIZE;
+		final int offsetBase = slotBase + 4 * slots;
+		final int idfBase = offsetBase + 4 * (tokens + 1);
+		final int charBase = idfBase + 4 * tokens;
+
+		int id = 0;
+		int offset = 0;
+		for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+			final String token = entry.getKey();
+
+			int slot = hash(token) & (slots - 1);
+			while (buffer.getInt(slotBase + 4 * slot) != 0) {
+				slot = (slot + 1) & (slots - 1);
+			}
+			buffer.putInt(slotBase + 4 * slot, id + 1);
+
+			buffer.putInt(offsetBase + 4 * id, offset);
+			buffer.putFloat(idfBase + 4 * id,
+					idf(documents, entry.getValue()[0]));
+			for (int i = 0; i < token.length(); i++) {
+				buffer.putChar(charBase + 2 * (offset + i), token.charAt(i));
+			}
+
+			offset += token.length();
+			id++;
+		}
+		buffer.putInt(offsetBase + 4 * tokens, offset);
+
+		buffer.clear();
+		return buffer;
+	}
+
+	private static int slots(int tokens) {
+		// Power of two with a load factor of at most 0.5
+		int slots = 2;
+		while (slots < 2L * tokens) {
+			slots <<= 1;
+		}
+		return slots;
+	}
+
+	private static int hash(String token) {
+		// String.hashCode is specified and thus stable across JVMs
+		final int h = token.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static float idf(int documents, int frequency) {
+		return (float) (log((documents + 1.0) / (frequency + 1.0)) + 1.0);
+	}
+
+	/**
+	 * Wraps a buffer containing statistics written by
+	 * {@link #writeTo(WritableByteChannel)}. The buffer is not copied.
+	 * 
+	 * @param buffer
+	 *            the buffer to wrap
+	 * @return the statistics in the buffer
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when the buffer does not contain corpus statistics
+	 */
+	public static CorpusStatistics wrap(ByteBuffer buffer) {
+		final ByteBuffer table = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+		checkArgument(table.capacity() >= HEADER_SIZE
+				&& table.getInt(0) == MAGIC, "not a corpus statistics table");
+		checkArgument(table.getInt(4) == VERSION,
+				"unsupported corpus statistics version %s", table.getInt(4));
+
+		final int documents = table.getInt(8);
+		final int tokens = table.getInt(12);
+		final int slots = table.getInt(16);
+		checkArgument(documents >= 0 && tokens >= 0,
+				"corrupt corpus statistics header");
+		checkArgument(slots >= 2 && Integer.bitCount(slots) == 1
+				&& slots >= 2L * tokens, "corrupt corpus statistics header");
+
+		// Offsets are validated before the number of chars is read
+		final long offsetBase = HEADER_SIZE + 4L * slots;
+		final long charBase = offsetBase + 4L * (tokens + 1) + 4L * tokens;
+		checkArgument(charBase <= table.capacity(),
+				"corrupt corpus statistics header");
+		final int chars = table.getInt((int) (offsetBase + 4L * tokens));
+		checkArgument(chars >= 0 && charBase + 2L * chars == table.capacity(),
+				"corrupt corpus statistics header");
+		return new CorpusStatistics(table);
+	}
+
+	/**
+	 * Memory-maps statistics written by {@link #writeTo(WritableByteChannel)}
+	 * from a file.
+	 * 
+	 * @param path
+	 *            the file to map
+	 * @return the statistics in the file
+	 * @throws IOException
+	 *             when the file could not be mapped
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when the file does not contain corpus statistics
+	 */
+	public static CorpusStatistics map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.READ)) {
+			return wrap(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	private final ByteBuffer table;
+	private final int documents;
+	private final int tokens;
+	private final int slots;
+	private final int slotBase;
+	private final int offsetBase;
+	private final int idfBase;
+	private final int charBase;
+	private final float unseenIdf;
+
+	private CorpusStatistics(ByteBuffer table) {
+		this.table = table;
+		this.documents = table.getInt(8);
+		this.tokens = table.getInt(12);
+		this.slots = table.getInt(16);
+		this.slotBase = HEADER_SIZE;
+		this.offsetBase = slotBase + 4 * slots;
+		this.idfBase = offsetBase + 4 * (tokens + 1);
+		this.charBase = idfBase + 4 * tokens;
+		this.unseenIdf = idf(documents, 0);
+	}
+
+	/**
+	 * Returns the id of a token in the corpus.
+	 * 
+	 * @param token
+	 *            the token to look up
+	 * @return the id of the token, or -1 if the token does not occur in the
+	 *         corpus
+	 */
+	public int id(String token) {
+		int slot = hash(token) & (slots - 1);
+		int id;
+		while ((id = table.getInt(slotBase + 4 * slot) - 1) >= 0) {
+			if (matches(id, token)) {
+				return id;
+			}
+			slot = (slot + 1) & (slots - 1);
+		}
+		return -1;
+	}
+
+	private boolean matches(int id, String token) {
+		final int start = table.getInt(offsetBase + 4 * id);
+		final int end = table.getInt(offsetBase + 4 * (id + 1));
+		if (end - start != token.length()) {
+			return false;
+		}
+		for (int i = 0; i < token.length(); i++) {
+			if (table.getChar(charBase + 2 * (start + i)) != token.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the inverse document frequency of a token.
+	 * 
+	 * @param token
+	 *            the token to look up
+	 * @return the inverse document frequency of the token
+	 */
+	public float idf(String token) {
+		final int id = id(token);
+		return id < 0 ? unseenIdf : idf(id);
+	}
+
+	float unseenIdf() {
+		return unseenIdf;
+	}
+
+	/**
+	 * Returns the inverse document frequency of the token with the given id.
+	 * 
+	 * @param id
+	 *            the id of a token
+	 * @return the inverse document frequency of the token
+	 */
+	public float idf(int id) {
+		checkElementIndex(id, tokens);
+		return table.getFloat(idfBase + 4 * id);
+	}
+
+	/**
+	 * Returns the token with the given id.
+	 * 
+	 * @param id
+	 *            the id of a token
+	 * @return the token
+	 */
+	public String token(int id) {
+		checkElementIndex(id, tokens);
+		final int start = table.getInt(offsetBase + 4 * id);
+		final int end = table.getInt(offsetBase + 4 * (id + 1));
+		final char[] chars = new char[end - start];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = table.getChar(charBase + 2 * (start + i));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Returns the number of documents in the corpus.
+	 * 
+	 * @return the number of documents
+	 */
+	public int getDocumentCount() {
+		return documents;
+	}
+
+	/**
+	 * Returns the number of distinct tokens in the corpus.
+	 * 
+	 * @return the number of tokens
+	 */
+	public int size() {
+		return tokens;
+	}
+
+	/**
+	 * Writes these statistics to a channel. The written statistics can be read
+	 * with {@link #wrap(ByteBuffer)} or {@link #map(Path)}.
+	 * 
+	 * @param channel
+	 *            the channel to write to
+	 * @throws IOException
+	 *             when the statistics could not be written
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		final ByteBuffer duplicate = table.duplicate();
+		duplicate.clear();
+		while (duplicate.hasRemaining()) {
+			channel.write(duplicate);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "CorpusStatistics [documents=" + documents + ", tokens="
+				+ tokens + "]";
+	}
+
+}
@@ -19,9 +19,15 @@
  */
 
 package org.simmetrics.metrics;
-import static org.simmetrics.metrics.Math.union;
+import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.lang.Math.sqrt;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.MultisetDistance;
 import org.simmetrics.MultisetMetric;
 
@@ -45,16 +51,23 @@ import com.google.common.collect.Multiset;
  * identical when compared with Tanimoto but are dissimilar when the cosine
  * similarity is used.
  * <p>
+ * Pre-vectorized input can be compared as a {@link SparseVector}.
+ * <p>
  * This class is immutable and thread-safe.
  * 
  * @see TanimotoCoefficient
+ * @see SparseVector
  * @see <a href="http://en.wikipedia.org/wiki/Cosine_similarity">Wikipedia
  *      Cosine similarity</a>
  * 
  * @param <T>
  *            type of the token
  */
-public final class CosineSimilarity<T> implements MultisetMetric<T>, MultisetDistance<T> {
+public final class CosineSimilarity<T> implements MultisetMetric<T>, MultisetDistance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, NORMALIZED_DISTANCE);
 
 	@Override
 	public float compare(Multiset<T> a, Multiset<T> b) {
@@ -67,27 +80,61 @@ public final class CosineSimilarity<T> implements MultisetMetric<T>, MultisetDis
 			return 0.0f;
 		}
 
-		float dotProduct = 0;
-		float magnitudeA = 0;
-		float magnitudeB = 0;
+		final MultisetStatistics statistics = MultisetStatistics.of(a, b);
 
-		for (T entry : union(a, b).elementSet()) {
-			float aCount = a.count(entry);
-			float bCount = b.count(entry);
+		//  a·b / (||a|| * ||b||)
+		return (float) (statistics.dotProduct / (sqrt(statistics.squaredNormA) * sqrt(statistics.squaredNormB)));
+	}
+
+	/**
+	 * Calculates the cosine similarity of two sparse vectors. The norms of the
+	 * vectors are precomputed, only the dot product is calculated. A vector
+	 * with a norm of 0 has no direction and is not similar to any other
+	 * non-empty vector.
+	 * 
+	 * @param a
+	 *            vector a
+	 * @param b
+	 *            vector b
+	 * @return the cosine similarity of a and b
+	 */
+	public float compare(SparseVector a, SparseVector b) {
+
+		if (a.isEmpty() && b.isEmpty()) {
+			return 1.0f;
+		}
 
-			dotProduct += aCount * bCount;
-			magnitudeA += aCount * aCount;
-			magnitudeB += bCount * bCount;
+		if (a.norm() == 0.0 || b.norm() == 0.0) {
+			return 0.0f;
 		}
 
 		//  a·b / (||a|| * ||b||)
-		return (float) (dotProduct / (sqrt(magnitudeA) * sqrt(magnitudeB)));
+		return (float) (a.dot(b) / (a.norm() * b.norm()));
 	}
+
 	@Override
 	public float distance(Multiset<T> a, Multiset<T> b) {
 		return 1.0f - compare(a, b);
 	}
+
+	/**
+	 * Calculates the cosine distance of two sparse vectors.
+	 * 
+	 * @param a
+	 *            vector a
+	 * @param b
+	 *            vector b
+	 * @return the cosine distance of a and b
+	 */
+	public float distance(SparseVector a, SparseVector b) {
+		return 1.0f - compare(a, b);
+	}
 	
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "CosineSimilarity";
@@ -21,10 +21,27 @@
 package org.simmetrics.metrics;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static java.lang.Float.POSITIVE_INFINITY;
+import static java.lang.Math.abs;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Arrays.fill;
+import static org.simmetrics.Capability.BOUNDED_EVALUATION;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.metrics.Levenshtein.BOUND_MARGIN;
+import static org.simmetrics.metrics.Levenshtein.band;
 import static org.simmetrics.metrics.Math.max;
 import static org.simmetrics.metrics.Math.min;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.simmetrics.BoundedDistance;
+import org.simmetrics.BoundedMetric;
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.StringDistance;
 import org.simmetrics.StringMetric;
 
@@ -44,12 +61,15 @@ import org.simmetrics.StringMetric;
  * @see Levenshtein
  * 
  */
-public final class DamerauLevenshtein implements StringMetric, StringDistance {
+public final class DamerauLevenshtein implements StringMetric,
+		StringDistance, BoundedMetric<String>, BoundedDistance<String>,
+		HasCapabilities {
 
 	private final float maxCost;
 	private final float insertDelete;
 	private final float substitute;
 	private final float transpose;
+	private final Set<Capability> capabilities;
 
 	/**
 	 * Constructs a new Damerau-Levenshtein metric.
@@ -80,6 +100,21 @@ public final class DamerauLevenshtein implements StringMetric, StringDistance {
 		this.insertDelete = insertDelete;
 		this.substitute = substitute;
 		this.transpose = transpose;
+		this.capabilities = capabilities(insertDelete, substitute, transpose);
+	}
+
+	private static Set<Capability> capabilities(float insertDelete,
+			float substitute, float transpose) {
+		// Restricted edit distance, a substring is not edited twice. This
+		// violates the triangle inequality.
+		final Set<Capability> capabilities = EnumSet.of(SYMMETRIC,
+				BOUNDED_EVALUATION);
+		if (insertDelete == (int) insertDelete
+				&& substitute == (int) substitute
+				&& transpose == (int) transpose) {
+			capabilities.add(INTEGER_DISTANCE);
+		}
+		return immutableEnumSet(capabilities);
 	}
 
 	@Override
@@ -146,6 +181,137 @@ public final class DamerauLevenshtein implements StringMetric, StringDistance {
 		return v1[tLength];
 	}
 
+	@Override
+	public float compare(String a, String b, float minimum) {
+		if (a.isEmpty() && b.isEmpty()) {
+			return 1.0f;
+		}
+
+		final float maxDistance = maxCost * max(a.length(), b.length());
+		// Rounding can not lift a similarity over the minimum from beyond
+		// this margin
+		final float bound = (1.0f - minimum + BOUND_MARGIN) * maxDistance;
+		return 1.0f - (distance(a, b, bound) / maxDistance);
+	}
+
+	/**
+	 * Measures the distance between strings s and t when it does not exceed
+	 * {@code max}.
+	 * <p>
+	 * Every cell of the dynamic programming matrix further from the diagonal
+	 * than {@code max / insertDelete} costs more than {@code max}. Only the
+	 * band around the diagonal is computed and the computation stops once two
+	 * consecutive rows exceed {@code max}. This takes {@code O(n * max)} time.
+	 */
+	@Override
+	public float distance(final String s, final String t, final float max) {
+
+		if (s.isEmpty())
+			return t.length() * insertDelete;
+		if (t.isEmpty())
+			return s.length() * insertDelete;
+		if (s.equals(t))
+			return 0;
+
+		final int tLength = t.length();
+		final int sLength = s.length();
+
+		final int band = band(sLength, tLength, max, insertDelete);
+		final int lengthDifference = abs(sLength - tLength);
+		if (lengthDifference > band) {
+			return lengthDifference * insertDelete;
+		}
+
+		float[] swap;
+		float[] v0 = new float[tLength + 1];
+		float[] v1 = new float[tLength + 1];
+		float[] v2 = new float[tLength + 1];
+
+		// cells outside the band are never computed
+		fill(v0, POSITIVE_INFINITY);
+		fill(v1, POSITIVE_INFINITY);
+		fill(v2, POSITIVE_INFINITY);
+
+		for (int i = 0; i <= min(tLength, band); i++) {
+			v1[i] = i * insertDelete;
+		}
+
+		float previousRowMin = 0.0f;
+		for (int i = 0; i < sLength; i++) {
+			final int from = max(0, i - band);
+			final int to = min(tLength - 1, i + band);
+
+			v2[from] = from == 0 && i < band ? (i + 1) * insertDelete
+					: POSITIVE_INFINITY;
+			float rowMin = v2[from];
+
+			for (int j = from; j <= to; j++) {
+				if (j > 0 && i > 0 && s.charAt(i - 1) == t.charAt(j)
+						&& s.charAt(i) == t.charAt(j - 1)) {
+					v2[j + 1] = min(v2[j] + insertDelete, v1[j + 1]
+							+ insertDelete, v1[j]
+							+ (s.charAt(i) == t.charAt(j) ? 0.0f : substitute),
+							v0[j - 1] + transpose);
+				} else {
+					v2[j + 1] = min(v2[j] + insertDelete, v1[j + 1]
+							+ insertDelete, v1[j]
+							+ (s.charAt(i) == t.charAt(j) ? 0.0f : substitute));
+				}
+				rowMin = min(rowMin, v2[j + 1]);
+			}
+
+			// The next row reads one cell past the band
+			if (to + 2 <= tLength) {
+				v2[to + 2] = POSITIVE_INFINITY;
+			}
+
+			// A transposition skips a row but no path skips two rows
+			if (rowMin > max && previousRowMin > max) {
+				return min(rowMin, previousRowMin);
+			}
+			previousRowMin = rowMin;
+
+			swap = v0;
+			v0 = v1;
+			v1 = v2;
+			v2 = swap;
+		}
+
+		return v1[tLength];
+	}
+
+	/**
+	 * Returns the cost of an insert or delete operation.
+	 * 
+	 * @return the cost of an insert or delete operation
+	 */
+	public float getInsertDelete() {
+		return insertDelete;
+	}
+
+	/**
+	 * Returns the cost of a substitute operation.
+	 * 
+	 * @return the cost of a substitute operation
+	 */
+	public float getSubstitute() {
+		return substitute;
+	}
+
+	/**
+	 * Returns the cost of a transpose operation.
+	 * 
+	 * @return the cost of a transpose operation
+	 */
+	public float getTranspose() {
+		return transpose;
+	}
+
+	@Override
+	public Set<Capability> getCapabilities() {
+		return capabilities;
+	}
+
 	@Override
 	public String toString() {
 		return "DamerauLevenshtein [insertDelete=" + insertDelete
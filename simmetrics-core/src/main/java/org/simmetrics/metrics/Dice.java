@@ -20,10 +20,15 @@
 
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
 import static org.simmetrics.metrics.Math.intersection;
 
 import java.util.Set;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.SetDistance;
 import org.simmetrics.SetMetric;
 
@@ -63,7 +68,11 @@ import org.simmetrics.SetMetric;
  * @param <T>
  *            type of the token
  */
-public final class Dice<T> implements SetMetric<T>, SetDistance<T> {
+public final class Dice<T> implements SetMetric<T>, SetDistance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, NORMALIZED_DISTANCE);
 
 	@Override
 	public float compare(Set<T> a, Set<T> b) {
@@ -85,6 +94,11 @@ public final class Dice<T> implements SetMetric<T>, SetDistance<T> {
 		return 1.0f - compare(a, b);
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "Dice";
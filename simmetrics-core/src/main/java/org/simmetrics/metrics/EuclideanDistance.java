@@ -20,9 +20,16 @@
 
 package org.simmetrics.metrics;
 
-import static org.simmetrics.metrics.Math.union;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static java.lang.Math.max;
 import static java.lang.Math.sqrt;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.MultisetDistance;
 import org.simmetrics.MultisetMetric;
 
@@ -37,14 +44,21 @@ import com.google.common.collect.Multiset;
  * distance(a,b) = ∣∣a - b∣∣  
  * </code>
  * <p>
+ * Pre-vectorized input can be compared as a {@link SparseVector}.
+ * <p>
  * This class is immutable and thread-safe.
  * 
+ * @see SparseVector
  * @see <a href="https://en.wikipedia.org/wiki/Euclidean_distance">Wikipedia - Euclidean Distance</a>
  * @param <T>
  *            type of the token
  * 
  */
-public final class EuclideanDistance<T> implements MultisetMetric<T>, MultisetDistance<T> {
+public final class EuclideanDistance<T> implements MultisetMetric<T>, MultisetDistance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY);
 
 	@Override
 	public float compare(Multiset<T> a, Multiset<T> b) {
@@ -60,16 +74,29 @@ public final class EuclideanDistance<T> implements MultisetMetric<T>, MultisetDi
 	@Override
 	public float distance(Multiset<T> a, Multiset<T> b) {
 
-		float distance = 0.0f;
-
-		for (T token : union(a, b).elementSet()) {
-			float frequencyInA = a.count(token);
-			float frequencyInB = b.count(token);
+		return (float) sqrt(MultisetStatistics.of(a, b).squaredEuclideanDistance());
+	}
 
-			distance += ((frequencyInA - frequencyInB) * (frequencyInA - frequencyInB));
-		}
+	/**
+	 * Calculates the Euclidean distance between two sparse vectors. The norms
+	 * of the vectors are precomputed, only the dot product is calculated.
+	 * 
+	 * @param a
+	 *            vector a
+	 * @param b
+	 *            vector b
+	 * @return the Euclidean distance between a and b
+	 */
+	public float distance(SparseVector a, SparseVector b) {
+		// ||a - b||² = ||a||² + ||b||² - 2 * a·b
+		final double squaredDistance = a.squaredNorm() + b.squaredNorm() - 2 * a.dot(b);
+		// Guard against rounding errors for near identical vectors
+		return (float) sqrt(max(0.0, squaredDistance));
+	}
 
-		return (float) sqrt(distance);
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
 	}
 
 	@Override
@@ -20,8 +20,16 @@
 
 package org.simmetrics.metrics;
 
-import static org.simmetrics.metrics.Math.intersection;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
+import static org.simmetrics.metrics.MultisetStatistics.intersectionSize;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.MultisetDistance;
 import org.simmetrics.MultisetMetric;
 
@@ -58,7 +66,10 @@ import com.google.common.collect.Multiset;
  * 
  */
 public final class GeneralizedJaccard<T> implements MultisetMetric<T>,
-		MultisetDistance<T> {
+		MultisetDistance<T>, HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY, NORMALIZED_DISTANCE);
 	@Override
 	public float compare(Multiset<T> a, Multiset<T> b) {
 
@@ -70,7 +81,7 @@ public final class GeneralizedJaccard<T> implements MultisetMetric<T>,
 			return 0.0f;
 		}
 
-		final int intersection = intersection(a, b).size();
+		final int intersection = intersectionSize(a, b);
 
 		// ∣a ∩ b∣ / ∣a ∪ b∣
 		// Implementation note: The size of the union of two sets is equal to
@@ -83,6 +94,11 @@ public final class GeneralizedJaccard<T> implements MultisetMetric<T>,
 		return 1.0f - compare(a, b);
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "GeneralizedJaccard";
@@ -20,9 +20,15 @@
 
 package org.simmetrics.metrics;
 
-import static org.simmetrics.metrics.Math.intersection;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.metrics.MultisetStatistics.intersectionSize;
 import static java.lang.Math.min;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.MultisetMetric;
 import com.google.common.collect.Multiset;
 
@@ -51,7 +57,10 @@ import com.google.common.collect.Multiset;
  *      Overlap Coefficient</a>
  */
 public final class GeneralizedOverlapCoefficient<T> implements
-		MultisetMetric<T> {
+		MultisetMetric<T>, HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC);
 
 	@Override
 	public float compare(Multiset<T> a, Multiset<T> b) {
@@ -65,7 +74,12 @@ public final class GeneralizedOverlapCoefficient<T> implements
 		}
 
 		// ∣q ∩ r∣ / min{∣q∣, ∣r∣}
-		return intersection(a, b).size() / (float) min(a.size(), b.size());
+		return intersectionSize(a, b) / (float) min(a.size(), b.size());
+	}
+
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
 	}
 
 	@Override
@@ -22,10 +22,19 @@
 package org.simmetrics.metrics;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.BOUNDED_EVALUATION;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
+import org.simmetrics.BoundedDistance;
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.ListDistance;
 import org.simmetrics.StringDistance;
 
@@ -41,7 +50,10 @@ import com.google.common.base.Objects;
  * 
  */
 public final class HammingDistance {
-	
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY, INTEGER_DISTANCE, BOUNDED_EVALUATION);
+
 	private HammingDistance() {
 		//Don't construct
 	}
@@ -57,7 +69,7 @@ public final class HammingDistance {
 	 * 
 	 */
 	private static final class HammingListDistance<T> implements
-			ListDistance<T> {
+			ListDistance<T>, BoundedDistance<List<T>>, HasCapabilities {
 
 		HammingListDistance() {
 			// avoid synthetics
@@ -99,7 +111,30 @@ public final class HammingDistance {
 
 			return distance;
 		}
-		
+
+		@Override
+		public float distance(List<T> a, List<T> b, float max) {
+			checkArgument(a.size() == b.size());
+
+			int distance = 0;
+
+			Iterator<T> aItt = a.iterator();
+			Iterator<T> bItt = b.iterator();
+
+			while (aItt.hasNext() && distance <= max) {
+				if (!Objects.equal(aItt.next(), bItt.next())) {
+					distance++;
+				}
+			}
+
+			return distance;
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return CAPABILITIES;
+		}
+
 		@Override
 		public String toString() {
 			return "HammingListDistance";
@@ -114,7 +149,8 @@ public final class HammingDistance {
 	 * This class is immutable and thread-safe.
 	 * 
 	 */
-	private static final class HammingStringDistance implements StringDistance {
+	private static final class HammingStringDistance implements
+			StringDistance, BoundedDistance<String>, HasCapabilities {
 
 		HammingStringDistance() {
 			// avoid synthetics
@@ -152,7 +188,25 @@ public final class HammingDistance {
 			}
 			return distance;
 		}
-		
+
+		@Override
+		public float distance(String a, String b, float max) {
+			checkArgument(a.length() == b.length());
+
+			int distance = 0;
+			for (int i = 0, length = a.length(); i < length && distance <= max; i++) {
+				if (a.charAt(i) != b.charAt(i)) {
+					distance++;
+				}
+			}
+			return distance;
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return CAPABILITIES;
+		}
+
 		@Override
 		public String toString() {
 			return "HammingStringDistance";
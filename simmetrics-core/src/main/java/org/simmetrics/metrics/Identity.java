@@ -20,8 +20,17 @@
 package org.simmetrics.metrics;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
 import org.simmetrics.Distance;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.Metric;
 
 /**
@@ -39,7 +48,11 @@ import org.simmetrics.Metric;
  * @param <T>
  *            type of token
  */
-public final class Identity<T> implements Metric<T>, Distance<T> {
+public final class Identity<T> implements Metric<T>, Distance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY, INTEGER_DISTANCE, NORMALIZED_DISTANCE);
 
 	@Override
 	public float compare(T a, T b) {
@@ -55,6 +68,11 @@ public final class Identity<T> implements Metric<T>, Distance<T> {
 		return a.equals(b) ? 0.0f : 1.0f;
 	}
 	
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "Identity";
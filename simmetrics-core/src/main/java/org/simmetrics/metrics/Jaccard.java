@@ -20,10 +20,16 @@
 
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
 import static org.simmetrics.metrics.Math.intersection;
 
 import java.util.Set;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.SetDistance;
 import org.simmetrics.SetMetric;
 
@@ -65,7 +71,11 @@ import org.simmetrics.SetMetric;
  *            type of the token
  * 
  */
-public final class Jaccard<T> implements SetMetric<T>, SetDistance<T> {
+public final class Jaccard<T> implements SetMetric<T>, SetDistance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY, NORMALIZED_DISTANCE);
 
 	@Override
 	public float compare(Set<T> a, Set<T> b) {
@@ -91,6 +101,11 @@ public final class Jaccard<T> implements SetMetric<T>, SetDistance<T> {
 		return 1.0f - compare(a, b);
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "Jaccard";
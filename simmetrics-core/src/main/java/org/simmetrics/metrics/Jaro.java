@@ -20,9 +20,16 @@
 
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.StringDistance;
 import org.simmetrics.StringMetric;
 
@@ -45,7 +52,11 @@ import org.simmetrics.StringMetric;
  *
  *
  */
-public final class Jaro implements StringMetric, StringDistance {
+public final class Jaro implements StringMetric, StringDistance,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, NORMALIZED_DISTANCE);
 	
 	@Override
 	public float distance(String a, String b) {
@@ -148,6 +159,11 @@ public final class Jaro implements StringMetric, StringDistance {
 		return -1;
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "Jaro";
@@ -22,8 +22,15 @@ package org.simmetrics.metrics;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.commonPrefix;
+import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.lang.Math.min;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.StringDistance;
 import org.simmetrics.StringMetric;
 
@@ -49,7 +56,11 @@ import org.simmetrics.StringMetric;
  * 
  * 
  */
-public final class JaroWinkler implements StringMetric, StringDistance {
+public final class JaroWinkler implements StringMetric, StringDistance,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, NORMALIZED_DISTANCE);
 
 	private final Jaro jaro = new Jaro();
 
@@ -121,6 +132,11 @@ public final class JaroWinkler implements StringMetric, StringDistance {
 		return jaroScore + (prefixLength * prefixScale * (1.0f - jaroScore));
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "JaroWinkler [boostThreshold=" + boostThreshold
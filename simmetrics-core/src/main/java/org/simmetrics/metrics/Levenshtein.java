@@ -21,9 +21,25 @@
 package org.simmetrics.metrics;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static java.lang.Float.POSITIVE_INFINITY;
+import static java.lang.Math.abs;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Arrays.fill;
+import static org.simmetrics.Capability.BOUNDED_EVALUATION;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
 import static org.simmetrics.metrics.Math.min;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.simmetrics.BoundedDistance;
+import org.simmetrics.BoundedMetric;
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.StringDistance;
 import org.simmetrics.StringMetric;
 
@@ -40,11 +56,15 @@ import org.simmetrics.StringMetric;
  * @see DamerauLevenshtein
  * 
  */
-public final class Levenshtein implements StringMetric, StringDistance {
+public final class Levenshtein implements StringMetric, StringDistance,
+		BoundedMetric<String>, BoundedDistance<String>, HasCapabilities {
+
+	static final float BOUND_MARGIN = 1.0e-6f;
 
 	private final float maxCost;
 	private final float insertDelete;
 	private final float substitute;
+	private final Set<Capability> capabilities;
 
 	/**
 	 * Constructs a new weighted Levenshtein metric. When the cost for
@@ -62,6 +82,22 @@ public final class Levenshtein implements StringMetric, StringDistance {
 		this.maxCost = max(insertDelete, substitute);
 		this.insertDelete = insertDelete;
 		this.substitute = substitute;
+		this.capabilities = capabilities(insertDelete, substitute);
+	}
+
+	private static Set<Capability> capabilities(float insertDelete,
+			float substitute) {
+		final Set<Capability> capabilities = EnumSet.of(SYMMETRIC,
+				BOUNDED_EVALUATION);
+		// The distance to an empty string is its length regardless of the
+		// cost of deletion. Only with unit cost is this a true edit distance.
+		if (insertDelete == 1.0f) {
+			capabilities.add(TRIANGLE_INEQUALITY);
+			if (substitute == (int) substitute) {
+				capabilities.add(INTEGER_DISTANCE);
+			}
+		}
+		return immutableEnumSet(capabilities);
 	}
 
 	/**
@@ -127,6 +163,124 @@ public final class Levenshtein implements StringMetric, StringDistance {
 		return v0[tLength];
 	}
 
+	@Override
+	public float compare(String a, String b, float minimum) {
+		if (a.isEmpty() && b.isEmpty()) {
+			return 1.0f;
+		}
+
+		final float maxDistance = maxCost * max(a.length(), b.length());
+		// Rounding can not lift a similarity over the minimum from beyond
+		// this margin
+		final float bound = (1.0f - minimum + BOUND_MARGIN) * maxDistance;
+		return 1.0f - (distance(a, b, bound) / maxDistance);
+	}
+
+	/**
+	 * Measures the distance between strings s and t when it does not exceed
+	 * {@code max}.
+	 * <p>
+	 * Every cell of the dynamic programming matrix further from the diagonal
+	 * than {@code max / insertDelete} costs more than {@code max}. Only the
+	 * band around the diagonal is computed and the computation stops once a
+	 * row exceeds {@code max}. This takes {@code O(n * max)} time.
+	 */
+	@Override
+	public float distance(final String s, final String t, final float max) {
+
+		if (s.isEmpty())
+			return t.length();
+		if (t.isEmpty())
+			return s.length();
+		if (s.equals(t))
+			return 0;
+
+		final int tLength = t.length();
+		final int sLength = s.length();
+
+		final int band = band(sLength, tLength, max, insertDelete);
+		final int lengthDifference = abs(sLength - tLength);
+		if (lengthDifference > band) {
+			return lengthDifference * insertDelete;
+		}
+
+		float[] swap;
+		float[] v0 = new float[tLength + 1];
+		float[] v1 = new float[tLength + 1];
+
+		// cells outside the band are never computed
+		fill(v0, POSITIVE_INFINITY);
+		fill(v1, POSITIVE_INFINITY);
+
+		for (int i = 0; i <= min(tLength, band); i++) {
+			v0[i] = i * insertDelete;
+		}
+
+		for (int i = 0; i < sLength; i++) {
+			final int from = max(0, i - band);
+			final int to = min(tLength - 1, i + band);
+
+			v1[from] = from == 0 && i < band ? (i + 1) * insertDelete
+					: POSITIVE_INFINITY;
+			float rowMin = v1[from];
+
+			for (int j = from; j <= to; j++) {
+				v1[j + 1] = min(v1[j] + insertDelete,
+						v0[j + 1] + insertDelete,
+						v0[j]
+								+ (s.charAt(i) == t.charAt(j) ? 0.0f
+										: substitute));
+				rowMin = min(rowMin, v1[j + 1]);
+			}
+
+			// The next row reads one cell past the band
+			if (to + 2 <= tLength) {
+				v1[to + 2] = POSITIVE_INFINITY;
+			}
+
+			// Every path crosses every row
+			if (rowMin > max) {
+				return rowMin;
+			}
+
+			swap = v0;
+			v0 = v1;
+			v1 = swap;
+		}
+
+		return v0[tLength];
+	}
+
+	static int band(int sLength, int tLength, float max, float insertDelete) {
+		final int longest = max(sLength, tLength);
+		final float cells = max / insertDelete;
+		// One extra diagonal guards against rounding of the costs
+		return cells < longest ? (int) cells + 1 : longest;
+	}
+
+	/**
+	 * Returns the cost of an insert or delete operation.
+	 * 
+	 * @return the cost of an insert or delete operation
+	 */
+	public float getInsertDelete() {
+		return insertDelete;
+	}
+
+	/**
+	 * Returns the cost of a substitute operation.
+	 * 
+	 * @return the cost of a substitute operation
+	 */
+	public float getSubstitute() {
+		return substitute;
+	}
+
+	@Override
+	public Set<Capability> getCapabilities() {
+		return capabilities;
+	}
+
 	@Override
 	public String toString() {
 		return "Levenshtein [insertDelete=" + insertDelete + ", substitute="
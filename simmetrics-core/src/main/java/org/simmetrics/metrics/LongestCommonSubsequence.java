@@ -19,7 +19,15 @@
  */
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.lang.Math.max;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
+
+import java.util.Set;
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.StringDistance;
 import org.simmetrics.StringMetric;
 
@@ -40,7 +48,10 @@ import org.simmetrics.StringMetric;
  *      - Longest common subsequence problem</a>
  */
 public final class LongestCommonSubsequence implements StringMetric,
-		StringDistance {
+		StringDistance, HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, TRIANGLE_INEQUALITY, INTEGER_DISTANCE);
 
 	@Override
 	public float compare(String a, String b) {
@@ -97,6 +108,11 @@ public final class LongestCommonSubsequence implements StringMetric,
 		return v0[m];
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "LongestCommonSubsequence";
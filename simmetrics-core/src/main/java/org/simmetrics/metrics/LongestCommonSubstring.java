@@ -19,8 +19,15 @@
  */
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.lang.Math.max;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.StringDistance;
 import org.simmetrics.StringMetric;
 
@@ -41,7 +48,10 @@ import org.simmetrics.StringMetric;
  *      - Longest common substring problem</a>
  */
 public final class LongestCommonSubstring implements StringMetric,
-		StringDistance {
+		StringDistance, HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, INTEGER_DISTANCE);
 
 	@Override
 	public float compare(String a, String b) {
@@ -101,6 +111,11 @@ public final class LongestCommonSubstring implements StringMetric,
 		return z;
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "LongestCommonSubstring";
@@ -21,14 +21,23 @@
 package org.simmetrics.metrics;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.lang.Math.max;
 import static java.lang.Math.sqrt;
+import static org.simmetrics.Capability.SYMMETRIC;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.ListMetric;
 import org.simmetrics.StringMetric;
 
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+
 /**
  * Calculates the normalized Monge-Elkan distance (similarity) over two strings.
  * The normalized Monge-Elkan distance is used because the the unnormalized
@@ -40,12 +49,20 @@ import org.simmetrics.StringMetric;
  * </code>
  * </p>
  * <p>
+ * The metric is assumed to be reflexive, identical tokens are not compared.
+ * When the metric declares {@link Capability#SYMMETRIC} the score of each pair
+ * of distinct tokens is computed once and used for both directions. Otherwise
+ * each direction is scored separately. Scores that can not improve a maximum
+ * are skipped.
+ * <p>
  * This class is immutable and thread-safe.
  * 
  */
-public final class MongeElkan implements ListMetric<String> {
+public final class MongeElkan implements ListMetric<String>, HasCapabilities {
 
 	private final StringMetric metric;
+	private final Set<Capability> capabilities;
+	private final boolean symmetric;
 
 	/**
 	 * Constructs a Monge-Elkan metric with metric.
@@ -55,6 +72,16 @@ public final class MongeElkan implements ListMetric<String> {
 	 */
 	public MongeElkan(final StringMetric metric) {
 		this.metric = metric;
+		this.capabilities = capabilities(metric);
+		this.symmetric = capabilities.contains(SYMMETRIC);
+	}
+
+	private static Set<Capability> capabilities(StringMetric metric) {
+		// Tokens of a are always the first argument of the metric
+		if (Capability.ofMetric(metric).contains(SYMMETRIC)) {
+			return immutableEnumSet(SYMMETRIC);
+		}
+		return immutableEnumSet(EnumSet.noneOf(Capability.class));
 	}
 
 	@Override
@@ -70,22 +97,63 @@ public final class MongeElkan implements ListMetric<String> {
 			return 0.0f;
 		}
 
+		final Multiset<String> distinctA = HashMultiset.create(a);
+		final Multiset<String> distinctB = HashMultiset.create(b);
+
+		final String[] tokensA = distinctA.elementSet().toArray(new String[0]);
+		final String[] tokensB = distinctB.elementSet().toArray(new String[0]);
+
+		// Row and column maxima of the score matrix. When the metric is
+		// symmetric each pair of distinct tokens is scored once for both
+		// directions.
+		final float[] maxA = new float[tokensA.length];
+		final float[] maxB = new float[tokensB.length];
+
+		for (int i = 0; i < tokensA.length; i++) {
+			final String s = tokensA[i];
+			for (int j = 0; j < tokensB.length; j++) {
+				if (maxA[i] == 1.0f && maxB[j] == 1.0f) {
+					// Neither maximum can improve
+					continue;
+				}
+
+				final String q = tokensB[j];
+				if (s.equals(q)) {
+					maxA[i] = 1.0f;
+					maxB[j] = 1.0f;
+				} else if (symmetric) {
+					final float score = metric.compare(s, q);
+					maxA[i] = max(maxA[i], score);
+					maxB[j] = max(maxB[j], score);
+				} else {
+					if (maxA[i] < 1.0f) {
+						maxA[i] = max(maxA[i], metric.compare(s, q));
+					}
+					if (maxB[j] < 1.0f) {
+						maxB[j] = max(maxB[j], metric.compare(q, s));
+					}
+				}
+			}
+		}
+
 		// calculates normalized_similarity(a,b)
-		return (float) sqrt(mongeElkan(a, b) * mongeElkan(b, a));
+		return (float) sqrt(average(distinctA, tokensA, maxA)
+				* average(distinctB, tokensB, maxB));
 	}
 
-	private float mongeElkan(List<String> a, List<String> b) {
+	private static float average(Multiset<String> tokens, String[] distinct,
+			float[] max) {
 		// calculates average( for s in a | max( for q in b | metric(s,q))
 		float sum = 0.0f;
-
-		for (String s : a) {
-			float max = 0.0f;
-			for (String q : b) {
-				max = max(max, metric.compare(s, q));
-			}
-			sum += max;
+		for (int i = 0; i < distinct.length; i++) {
+			sum += tokens.count(distinct[i]) * max[i];
 		}
-		return sum / a.size();
+		return sum / tokens.size();
+	}
+
+	@Override
+	public Set<Capability> getCapabilities() {
+		return capabilities;
 	}
 
 	@Override
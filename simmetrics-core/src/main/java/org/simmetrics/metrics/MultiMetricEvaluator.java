@@ -0,0 +1,374 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.simmetrics.Metric;
+import org.simmetrics.MultisetMetric;
+import org.simmetrics.SetMetric;
+import org.simmetrics.simplifiers.Simplifier;
+import org.simmetrics.tokenizers.Tokenizer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multiset;
+
+/**
+ * Evaluates multiple set and multiset metrics on the same pair of strings.
+ * <p>
+ * Metrics with equal simplifiers and tokenizers are grouped. Each string is
+ * simplified and tokenized once per group, rather than once per metric. Set
+ * metrics are compared on the element set of the tokenized multiset.
+ * <p>
+ * The simplifiers and tokenizers created by
+ * {@link org.simmetrics.simplifiers.Simplifiers} and
+ * {@link org.simmetrics.tokenizers.Tokenizers} with the same arguments are
+ * equal, e.g. the results of two calls to {@code Tokenizers.whitespace()}.
+ * Other simplifiers and tokenizers are grouped by identity unless they
+ * override {@code equals}.
+ * <p>
+ * The scores of {@link Jaccard}, {@link Dice}, {@link OverlapCoefficient},
+ * {@link CosineSimilarity}, {@link BlockDistance} and {@link SimonWhite} in a
+ * group are all derived from a single merge pass over the tokens. Other
+ * metrics are compared directly on the shared tokens.
+ * <p>
+ * The scores are identical to those of the metrics created by
+ * {@link org.simmetrics.builders.StringMetricBuilder} with the same
+ * simplifier and tokenizer.
+ * <p>
+ * This class is immutable and thread-safe provided all its components are
+ * also immutable and thread-safe.
+ */
+public final class MultiMetricEvaluator {
+
+	/**
+	 * Builder for multi-metric evaluators.
+	 */
+	public static final class Builder {
+
+		private final Map<List<Object>, Group> groups = new LinkedHashMap<>();
+		private int size;
+
+		Builder() {
+		}
+
+		/**
+		 * Adds a set metric. The metric compares the sets of tokens of the
+		 * strings.
+		 * 
+		 * @param metric
+		 *            the metric to add
+		 * @param tokenizer
+		 *            the tokenizer to create the tokens
+		 * @return this builder
+		 */
+		public Builder add(SetMetric<String> metric, Tokenizer tokenizer) {
+			checkNotNull(metric);
+			return add(metric, kindOf(metric), null, tokenizer);
+		}
+
+		/**
+		 * Adds a set metric. The metric compares the sets of tokens of the
+		 * simplified strings.
+		 * 
+		 * @param metric
+		 *            the metric to add
+		 * @param simplifier
+		 *            the simplifier to apply before tokenization
+		 * @param tokenizer
+		 *            the tokenizer to create the tokens
+		 * @return this builder
+		 */
+		public Builder add(SetMetric<String> metric, Simplifier simplifier,
+				Tokenizer tokenizer) {
+			checkNotNull(metric);
+			checkNotNull(simplifier);
+			return add(metric, kindOf(metric), simplifier, tokenizer);
+		}
+
+		/**
+		 * Adds a multiset metric. The metric compares the multisets of tokens
+		 * of the strings.
+		 * 
+		 * @param metric
+		 *            the metric to add
+		 * @param tokenizer
+		 *            the tokenizer to create the tokens
+		 * @return this builder
+		 */
+		public Builder add(MultisetMetric<String> metric, Tokenizer tokenizer) {
+			checkNotNull(metric);
+			return add(metric, kindOf(metric), null, tokenizer);
+		}
+
+		/**
+		 * Adds a multiset metric. The metric compares the multisets of tokens
+		 * of the simplified strings.
+		 * 
+		 * @param metric
+		 *            the metric to add
+		 * @param simplifier
+		 *            the simplifier to apply before tokenization
+		 * @param tokenizer
+		 *            the tokenizer to create the tokens
+		 * @return this builder
+		 */
+		public Builder add(MultisetMetric<String> metric,
+				Simplifier simplifier, Tokenizer tokenizer) {
+			checkNotNull(metric);
+			checkNotNull(simplifier);
+			return add(metric, kindOf(metric), simplifier, tokenizer);
+		}
+
+		private Builder add(Metric<?> metric, Kind kind,
+				Simplifier simplifier, Tokenizer tokenizer) {
+			checkNotNull(tokenizer);
+
+			final List<Object> key = Arrays.<Object> asList(simplifier,
+					tokenizer);
+			Group group = groups.get(key);
+			if (group == null) {
+				group = new Group(simplifier, tokenizer);
+				groups.put(key, group);
+			}
+			group.metrics.add(metric);
+			group.kinds.add(kind);
+			group.slots.add(size++);
+			return this;
+		}
+
+		/**
+		 * Builds an evaluator for the added metrics.
+		 * 
+		 * @return a new multi-metric evaluator
+		 */
+		public MultiMetricEvaluator build() {
+			checkState(size > 0, "at least one metric is required");
+			final Group[] copies = new Group[groups.size()];
+			int i = 0;
+			for (Group group : groups.values()) {
+				copies[i++] = new Group(group);
+			}
+			return new MultiMetricEvaluator(copies, size);
+		}
+	}
+
+	/**
+	 * Returns a builder for multi-metric evaluators.
+	 * 
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private enum Kind {
+		JACCARD, DICE, OVERLAP_COEFFICIENT, SET,
+		COSINE_SIMILARITY, BLOCK_DISTANCE, SIMON_WHITE, MULTISET
+	}
+
+	private static Kind kindOf(SetMetric<String> metric) {
+		if (metric instanceof Jaccard) {
+			return Kind.JACCARD;
+		} else if (metric instanceof Dice) {
+			return Kind.DICE;
+		} else if (metric instanceof OverlapCoefficient) {
+			return Kind.OVERLAP_COEFFICIENT;
+		}
+		return Kind.SET;
+	}
+
+	private static Kind kindOf(MultisetMetric<String> metric) {
+		if (metric instanceof CosineSimilarity) {
+			return Kind.COSINE_SIMILARITY;
+		} else if (metric instanceof BlockDistance) {
+			return Kind.BLOCK_DISTANCE;
+		} else if (metric instanceof SimonWhite) {
+			return Kind.SIMON_WHITE;
+		}
+		return Kind.MULTISET;
+	}
+
+	private static final class Group {
+
+		private final Simplifier simplifier;
+		private final Tokenizer tokenizer;
+
+		final List<Metric<?>> metrics;
+		final List<Kind> kinds;
+		final List<Integer> slots;
+
+		Group(Simplifier simplifier, Tokenizer tokenizer) {
+			this.simplifier = simplifier;
+			this.tokenizer = tokenizer;
+			this.metrics = new ArrayList<>();
+			this.kinds = new ArrayList<>();
+			this.slots = new ArrayList<>();
+		}
+
+		Group(Group group) {
+			this.simplifier = group.simplifier;
+			this.tokenizer = group.tokenizer;
+			this.metrics = ImmutableList.copyOf(group.metrics);
+			this.kinds = ImmutableList.copyOf(group.kinds);
+			this.slots = ImmutableList.copyOf(group.slots);
+		}
+
+		private Multiset<String> tokenize(String input) {
+			if (simplifier == null) {
+				return tokenizer.tokenizeToMultiset(input);
+			}
+			return tokenizer.tokenizeToMultiset(simplifier.simplify(input));
+		}
+
+		@SuppressWarnings("unchecked")
+		void compare(String a, String b, float[] scores) {
+			final Multiset<String> tokensA = tokenize(a);
+			final Multiset<String> tokensB = tokenize(b);
+
+			// Computed at most once and only when needed
+			MultisetStatistics statistics = null;
+
+			for (int i = 0; i < metrics.size(); i++) {
+				final Kind kind = kinds.get(i);
+				final int slot = slots.get(i);
+
+				if (kind == Kind.SET) {
+					scores[slot] = ((SetMetric<String>) metrics.get(i)).compare(
+							tokensA.elementSet(), tokensB.elementSet());
+				} else if (kind == Kind.MULTISET) {
+					scores[slot] = ((MultisetMetric<String>) metrics.get(i))
+							.compare(tokensA, tokensB);
+				} else if (tokensA.isEmpty() && tokensB.isEmpty()) {
+					scores[slot] = 1.0f;
+				} else if (tokensA.isEmpty() || tokensB.isEmpty()) {
+					scores[slot] = 0.0f;
+				} else {
+					if (statistics == null) {
+						statistics = MultisetStatistics.of(tokensA, tokensB);
+					}
+					scores[slot] = score(kind, statistics);
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			final String tokens = simplifier == null ? tokenizer.toString()
+					: simplifier + " -> " + tokenizer;
+			return metrics + " [" + tokens + "]";
+		}
+	}
+
+	// Mirrors the computations of the metrics themselves so scores are equal
+	private static float score(Kind kind, MultisetStatistics s) {
+		switch (kind) {
+		case JACCARD:
+			// ∣a ∩ b∣ / ∣a ∪ b∣
+			return s.distinctIntersection / (float) (s.distinctSizeA
+					+ s.distinctSizeB - s.distinctIntersection);
+		case DICE:
+			// 2 * ∣a ∩ b∣ / (∣a∣ + ∣b∣)
+			return (2.0f * s.distinctIntersection)
+					/ (s.distinctSizeA + s.distinctSizeB);
+		case OVERLAP_COEFFICIENT:
+			// ∣a ∩ b∣ / min{∣a∣, ∣b∣}
+			return s.distinctIntersection
+					/ (float) min(s.distinctSizeA, s.distinctSizeB);
+		case COSINE_SIMILARITY:
+			// a·b / (||a|| * ||b||)
+			return (float) (s.dotProduct
+					/ (sqrt(s.squaredNormA) * sqrt(s.squaredNormB)));
+		case BLOCK_DISTANCE:
+			return 1.0f - (float) s.blockDistance() / (s.sizeA + s.sizeB);
+		case SIMON_WHITE:
+			// 2 * ∣a ∩ b∣ / (∣a∣ + ∣b∣)
+			return (2.0f * s.intersection) / (s.sizeA + s.sizeB);
+		default:
+			throw new IllegalStateException("unsupported kind " + kind);
+		}
+	}
+
+	private final Group[] groups;
+	private final int size;
+
+	private MultiMetricEvaluator(Group[] groups, int size) {
+		this.groups = groups;
+		this.size = size;
+	}
+
+	/**
+	 * Measures the similarity between strings a and b with every metric. The
+	 * scores are returned in the order the metrics were added.
+	 * 
+	 * @param a
+	 *            string a to compare
+	 * @param b
+	 *            string b to compare
+	 * @return the similarity of a and b for each metric
+	 * @throws NullPointerException
+	 *             when either a or b is null
+	 */
+	public float[] compare(String a, String b) {
+		checkNotNull(a);
+		checkNotNull(b);
+
+		final float[] scores = new float[size];
+		for (Group group : groups) {
+			group.compare(a, b, scores);
+		}
+		return scores;
+	}
+
+	/**
+	 * Returns the number of metrics in this evaluator.
+	 * 
+	 * @return the number of metrics
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of groups of metrics that share a simplifier and
+	 * tokenizer. Each string is tokenized once per group.
+	 * 
+	 * @return the number of groups
+	 */
+	public int getGroupCount() {
+		return groups.length;
+	}
+
+	@Override
+	public String toString() {
+		return "MultiMetricEvaluator " + Arrays.toString(groups);
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static java.lang.Math.min;
+
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multiset.Entry;
+
+/**
+ * Statistics over a pair of multisets, computed in a single merge pass.
+ * <p>
+ * The entries of the smaller multiset are iterated once and each entry is
+ * looked up once in the larger multiset. The squared norm of the larger
+ * multiset is accumulated from its own entries without any lookups. No
+ * intermediate union or intersection views are created.
+ * <p>
+ * The same pass counts the distinct elements shared by both multisets. This
+ * is the size of the intersection of their element sets, from which set
+ * measures can be computed without tokenizing the input into sets.
+ * <p>
+ * All derived measures are computed from these sums:
+ * <code>
+ * <br>
+ * ∣∣a - b∣∣₁ = ∣a∣ + ∣b∣ - 2 * ∣a ∩ b∣
+ * <br>
+ * ∣∣a - b∣∣₂² = ∣∣a∣∣₂² + ∣∣b∣∣₂² - 2 * a·b
+ * </code>
+ */
+final class MultisetStatistics {
+
+	/**
+	 * Computes the statistics of multisets {@code a} and {@code b}.
+	 *
+	 * @param a
+	 *            multiset a
+	 * @param b
+	 *            multiset b
+	 * @return the statistics of a and b
+	 */
+	static <T> MultisetStatistics of(Multiset<T> a, Multiset<T> b) {
+		if (a.elementSet().size() <= b.elementSet().size()) {
+			return merge(a, b, false);
+		}
+		return merge(b, a, true);
+	}
+
+	private static <T> MultisetStatistics merge(Multiset<T> smaller,
+			Multiset<T> larger, boolean swapped) {
+		long intersection = 0;
+		int distinctIntersection = 0;
+		long dotProduct = 0;
+		long squaredNormSmaller = 0;
+		long squaredNormLarger = 0;
+
+		for (Entry<T> entry : smaller.entrySet()) {
+			final long s = entry.getCount();
+			final long l = larger.count(entry.getElement());
+
+			intersection += min(s, l);
+			if (l > 0) {
+				distinctIntersection++;
+			}
+			dotProduct += s * l;
+			squaredNormSmaller += s * s;
+		}
+
+		for (Entry<T> entry : larger.entrySet()) {
+			final long l = entry.getCount();
+			squaredNormLarger += l * l;
+		}
+
+		final int distinctSmaller = smaller.elementSet().size();
+		final int distinctLarger = larger.elementSet().size();
+
+		if (swapped) {
+			return new MultisetStatistics(larger.size(), smaller.size(),
+					distinctLarger, distinctSmaller, intersection,
+					distinctIntersection, dotProduct, squaredNormLarger,
+					squaredNormSmaller);
+		}
+		return new MultisetStatistics(smaller.size(), larger.size(),
+				distinctSmaller, distinctLarger, intersection,
+				distinctIntersection, dotProduct, squaredNormSmaller,
+				squaredNormLarger);
+	}
+
+	/**
+	 * Computes the size of the intersection of multisets {@code a} and
+	 * {@code b} without creating an intersection view.
+	 *
+	 * @param a
+	 *            multiset a
+	 * @param b
+	 *            multiset b
+	 * @return the size of the intersection of a and b
+	 */
+	static <T> int intersectionSize(Multiset<T> a, Multiset<T> b) {
+		if (a.elementSet().size() > b.elementSet().size()) {
+			return intersectionSize(b, a);
+		}
+
+		int intersection = 0;
+		for (Entry<T> entry : a.entrySet()) {
+			intersection += min(entry.getCount(), b.count(entry.getElement()));
+		}
+		return intersection;
+	}
+
+	final int sizeA;
+	final int sizeB;
+	final int distinctSizeA;
+	final int distinctSizeB;
+	final long intersection;
+	final int distinctIntersection;
+	final long dotProduct;
+	final long squaredNormA;
+	final long squaredNormB;
+
+	private MultisetStatistics(int sizeA, int sizeB, int distinctSizeA,
+			int distinctSizeB, long intersection, int distinctIntersection,
+			long dotProduct, long squaredNormA, long squaredNormB) {
+		this.sizeA = sizeA;
+		this.sizeB = sizeB;
+		this.distinctSizeA = distinctSizeA;
+		this.distinctSizeB = distinctSizeB;
+		this.intersection = intersection;
+		this.distinctIntersection = distinctIntersection;
+		this.dotProduct = dotProduct;
+		this.squaredNormA = squaredNormA;
+		this.squaredNormB = squaredNormB;
+	}
+
+	/**
+	 * Returns the L1 distance between the multisets.
+	 *
+	 * @return the L1 distance
+	 */
+	long blockDistance() {
+		return sizeA + sizeB - 2 * intersection;
+	}
+
+	/**
+	 * Returns the squared L2 distance between the multisets.
+	 *
+	 * @return the squared L2 distance
+	 */
+	long squaredEuclideanDistance() {
+		return squaredNormA + squaredNormB - 2 * dotProduct;
+	}
+
+}
@@ -20,11 +20,16 @@
 
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
 import static org.simmetrics.metrics.Math.intersection;
 import static java.lang.Math.min;
 
 import java.util.Set;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.SetDistance;
 import org.simmetrics.SetMetric;
 
@@ -61,7 +66,11 @@ import org.simmetrics.SetMetric;
  * @see <a href="http://en.wikipedia.org/wiki/Overlap_coefficient">Wikipedia -
  *      Overlap Coefficient</a>
  */
-public final class OverlapCoefficient<T> implements SetMetric<T>, SetDistance<T> {
+public final class OverlapCoefficient<T> implements SetMetric<T>, SetDistance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, NORMALIZED_DISTANCE);
 
 	@Override
 	public float distance(Set<T> a, Set<T> b) {
@@ -83,6 +92,11 @@ public final class OverlapCoefficient<T> implements SetMetric<T>, SetDistance<T>
 		return intersection(a, b).size() / (float) min(a.size(), b.size());
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "OverlapCoefficient";
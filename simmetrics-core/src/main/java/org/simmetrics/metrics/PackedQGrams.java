@@ -0,0 +1,318 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static java.lang.Character.charCount;
+import static java.lang.Character.codePointAt;
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Math.max;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
+import org.simmetrics.StringMetric;
+
+/**
+ * Q-gram engine that encodes each q-gram into a {@code long} rather then a
+ * string.
+ * <p>
+ * Every code point is stored as {@code codePoint + 1} in a fixed number of
+ * bits. The width is chosen per comparison from the largest code point in
+ * either string so q-grams of both strings share an encoding. Because no code
+ * point is encoded as zero, short tokens of fewer then {@code q} code points
+ * can not collide with full q-grams. A q-gram is packed by shifting the
+ * previous q-gram and masking off the oldest code point, so the string is
+ * scanned once and no objects are created per q-gram.
+ * <p>
+ * ASCII strings fit up to 8 code points per q-gram, Latin-1 strings 7 and
+ * all other strings 3. When the q-grams do not fit the metrics defer to
+ * an equivalent metric over string tokens.
+ */
+final class PackedQGrams {
+
+	/**
+	 * Block distance over padded q-grams. Equivalent to
+	 * {@code with(new BlockDistance<String>()).tokenize(qGramWithPadding(q))}.
+	 */
+	static final class QGramBlockDistance implements StringMetric,
+			HasCapabilities {
+
+		private final int q;
+		private final int[] startPadding;
+		private final int[] endPadding;
+		private final int paddingMax;
+		private final StringMetric fallback;
+		private final Set<Capability> capabilities;
+
+		QGramBlockDistance(int q, String startPadding, String endPadding,
+				StringMetric fallback) {
+			this.q = q;
+			this.startPadding = repeat(startPadding, q - 1);
+			this.endPadding = repeat(endPadding, q - 1);
+			this.paddingMax = max(maxOf(this.startPadding),
+					maxOf(this.endPadding));
+			this.fallback = fallback;
+			this.capabilities = Capability.ofMetric(fallback);
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			if (a.isEmpty() && b.isEmpty()) {
+				return 1.0f;
+			}
+
+			if (a.isEmpty() || b.isEmpty()) {
+				return 0.0f;
+			}
+
+			final int bits = bits(q, max(paddingMax, max(maxCodePoint(a),
+					maxCodePoint(b))));
+			if (bits < 0) {
+				return fallback.compare(a, b);
+			}
+
+			final long[] qGramsA = qGrams(a, bits);
+			final long[] qGramsB = qGrams(b, bits);
+			final int size = qGramsA.length + qGramsB.length;
+
+			// ∣∣a - b∣∣₁ = ∣a∣ + ∣b∣ - 2 * ∣a ∩ b∣
+			final float distance = size - 2 * intersectionSize(qGramsA, qGramsB);
+			return 1.0f - distance / size;
+		}
+
+		private long[] qGrams(String input, int bits) {
+			final int[] codePoints = codePoints(input, startPadding, endPadding);
+			final long[] qGrams = new long[codePoints.length - q + 1];
+			encode(codePoints, 0, codePoints.length, q, bits, qGrams, 0);
+			Arrays.sort(qGrams);
+			return qGrams;
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
+		@Override
+		public String toString() {
+			return fallback.toString();
+		}
+	}
+
+	/**
+	 * Simon White over q-grams of whitespace separated words. Equivalent to
+	 * {@code with(new SimonWhite<String>()).tokenize(whitespace()).tokenize(qGram(q))}.
+	 */
+	static final class QGramSimonWhite implements StringMetric, HasCapabilities {
+
+		private static final int[] NO_PADDING = new int[0];
+
+		private final int q;
+		private final StringMetric fallback;
+		private final Set<Capability> capabilities;
+
+		QGramSimonWhite(int q, StringMetric fallback) {
+			this.q = q;
+			this.fallback = fallback;
+			this.capabilities = Capability.ofMetric(fallback);
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			final int bits = bits(q, max(maxCodePoint(a), maxCodePoint(b)));
+			if (bits < 0) {
+				return fallback.compare(a, b);
+			}
+
+			final long[] qGramsA = qGrams(a, bits);
+			final long[] qGramsB = qGrams(b, bits);
+
+			if (qGramsA.length == 0 && qGramsB.length == 0) {
+				return 1.0f;
+			}
+
+			if (qGramsA.length == 0 || qGramsB.length == 0) {
+				return 0.0f;
+			}
+
+			// 2 * ∣a ∩ b∣ / (∣a∣ + ∣b∣)
+			return (2.0f * intersectionSize(qGramsA, qGramsB))
+					/ (qGramsA.length + qGramsB.length);
+		}
+
+		private long[] qGrams(String input, int bits) {
+			final int[] codePoints = codePoints(input, NO_PADDING, NO_PADDING);
+			// Each word yields at most as many q-grams as it has code points
+			final long[] qGrams = new long[codePoints.length];
+
+			int n = 0;
+			int start = -1;
+			for (int i = 0; i < codePoints.length; i++) {
+				if (isWhitespace(codePoints[i])) {
+					if (start >= 0) {
+						n = encode(codePoints, start, i, q, bits, qGrams, n);
+						start = -1;
+					}
+				} else if (start < 0) {
+					start = i;
+				}
+			}
+			if (start >= 0) {
+				n = encode(codePoints, start, codePoints.length, q, bits,
+						qGrams, n);
+			}
+
+			final long[] trimmed = Arrays.copyOf(qGrams, n);
+			Arrays.sort(trimmed);
+			return trimmed;
+		}
+
+		private static boolean isWhitespace(int c) {
+			// Same characters as \s in java.util.regex
+			return c == ' ' || c == '\t' || c == '\n' || c == 0x0B
+					|| c == '\f' || c == '\r';
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
+		@Override
+		public String toString() {
+			return fallback.toString();
+		}
+	}
+
+	/**
+	 * Returns the number of bits used to encode each code point or -1 when q
+	 * code points do not fit in a long.
+	 */
+	static int bits(int q, int maxCodePoint) {
+		final int bits = 32 - numberOfLeadingZeros(maxCodePoint + 1);
+		return q * bits <= 64 ? bits : -1;
+	}
+
+	/**
+	 * Encodes the q-grams of {@code codePoints[start, end)} into {@code out}
+	 * starting at {@code n}. A sequence shorter then {@code q} is encoded as a
+	 * single token.
+	 * 
+	 * @return the number of codes in {@code out}
+	 */
+	static int encode(int[] codePoints, int start, int end, int q, int bits,
+			long[] out, int n) {
+		final int length = end - start;
+		if (length < q) {
+			out[n++] = pack(codePoints, start, end, bits);
+			return n;
+		}
+
+		final long mask = q * bits == 64 ? -1L : (1L << (q * bits)) - 1;
+		long qGram = pack(codePoints, start, start + q - 1, bits);
+		for (int i = start + q - 1; i < end; i++) {
+			qGram = ((qGram << bits) | (codePoints[i] + 1)) & mask;
+			out[n++] = qGram;
+		}
+		return n;
+	}
+
+	private static long pack(int[] codePoints, int start, int end, int bits) {
+		long code = 0;
+		for (int i = start; i < end; i++) {
+			code = (code << bits) | (codePoints[i] + 1);
+		}
+		return code;
+	}
+
+	/**
+	 * Returns the size of the intersection of two sorted arrays of q-grams.
+	 */
+	static int intersectionSize(long[] a, long[] b) {
+		int intersection = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				intersection++;
+				i++;
+				j++;
+			}
+		}
+		return intersection;
+	}
+
+	static int maxCodePoint(String input) {
+		int max = 0;
+		for (int i = 0; i < input.length(); i++) {
+			max = max(max, input.charAt(i));
+		}
+		// Surrogates exceed the basic multilingual plane
+		return max >= Character.MIN_SURROGATE ? Character.MAX_CODE_POINT : max;
+	}
+
+	private static int[] codePoints(String input, int[] startPadding,
+			int[] endPadding) {
+		final int[] codePoints = new int[startPadding.length + input.length()
+				+ endPadding.length];
+		System.arraycopy(startPadding, 0, codePoints, 0, startPadding.length);
+
+		int n = startPadding.length;
+		for (int i = 0; i < input.length(); n++) {
+			final int codePoint = codePointAt(input, i);
+			codePoints[n] = codePoint;
+			i += charCount(codePoint);
+		}
+
+		System.arraycopy(endPadding, 0, codePoints, n, endPadding.length);
+		n += endPadding.length;
+		return n == codePoints.length ? codePoints : Arrays.copyOf(codePoints, n);
+	}
+
+	private static int[] repeat(String padding, int times) {
+		final int[] codePoints = codePoints(padding, new int[0], new int[0]);
+		final int[] repeated = new int[codePoints.length * times];
+		for (int i = 0; i < times; i++) {
+			System.arraycopy(codePoints, 0, repeated, i * codePoints.length,
+					codePoints.length);
+		}
+		return repeated;
+	}
+
+	private static int maxOf(int[] codePoints) {
+		int max = 0;
+		for (int codePoint : codePoints) {
+			max = max(max, codePoint);
+		}
+		return max;
+	}
+
+	private PackedQGrams() {
+		// Utility class
+	}
+
+}
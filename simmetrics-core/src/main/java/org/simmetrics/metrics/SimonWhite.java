@@ -20,8 +20,15 @@
 
 package org.simmetrics.metrics;
 
-import static org.simmetrics.metrics.Math.intersection;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.metrics.MultisetStatistics.intersectionSize;
 
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.MultisetDistance;
 import org.simmetrics.MultisetMetric;
 
@@ -73,7 +80,11 @@ import com.google.common.collect.Multiset;
  *            type of the token
  * 
  */
-public final class SimonWhite<T> implements MultisetMetric<T>, MultisetDistance<T> {
+public final class SimonWhite<T> implements MultisetMetric<T>, MultisetDistance<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, NORMALIZED_DISTANCE);
 
 	@Override
 	public float compare(Multiset<T> a, Multiset<T> b) {
@@ -87,7 +98,7 @@ public final class SimonWhite<T> implements MultisetMetric<T>, MultisetDistance<
 		}
 
 		// 2 * ∣a ∩ b∣ / (∣a∣ + ∣b∣)
-		return (2.0f * intersection(a, b).size()) / (a.size() + b.size());
+		return (2.0f * intersectionSize(a, b)) / (a.size() + b.size());
 
 	}
 	
@@ -95,6 +106,12 @@ public final class SimonWhite<T> implements MultisetMetric<T>, MultisetDistance<
 	public float distance(Multiset<T> a, Multiset<T> b) {
 		return 1.0f - compare(a, b);
 	}
+
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "SimonWhite";
@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static org.simmetrics.metrics.TfIdf.tf;
+
+import org.simmetrics.MultisetMetric;
+import org.simmetrics.StringMetric;
+
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multiset.Entry;
+
+/**
+ * Calculates the SoftTF-IDF similarity over two multisets. Like
+ * {@link TfIdf} tokens are weighted by their frequency in the multiset and
+ * their inverse document frequency in a corpus. Unlike TF-IDF tokens need not
+ * be identical to contribute. Each token in {@code a} is paired with the most
+ * similar token in {@code b} according to a secondary metric, provided the
+ * similarity is at least the threshold.
+ * <p>
+ * <code>
+ * similarity(a,b) = Σ for s in close(a,b) | weight(s,a) * weight(q,b) * metric(s,q)
+ * </code>
+ * <p>
+ * Where {@code q} is the token in {@code b} most similar to {@code s} and
+ * weights are normalized TF-IDF weights. Identical tokens are assumed to have
+ * a similarity of 1. The similarity is not symmetric.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @see TfIdf
+ * @see CorpusStatistics
+ * @see <a href="https://www.cs.cmu.edu/~wcohen/postscript/ijcai-ws-2003.pdf">
+ *      Cohen, Ravikumar, Fienberg - A Comparison of String Distance Metrics
+ *      for Name-Matching Tasks</a>
+ */
+public final class SoftTfIdf implements MultisetMetric<String> {
+
+	private static final float DEFAULT_THRESHOLD = 0.9f;
+
+	private final CorpusStatistics statistics;
+	private final StringMetric metric;
+	private final float threshold;
+
+	/**
+	 * Constructs a new SoftTF-IDF metric using Jaro-Winkler as the secondary
+	 * metric with a threshold of 0.9.
+	 * 
+	 * @param statistics
+	 *            the statistics of the corpus
+	 */
+	public SoftTfIdf(CorpusStatistics statistics) {
+		this(statistics, new JaroWinkler(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Constructs a new SoftTF-IDF metric.
+	 * 
+	 * @param statistics
+	 *            the statistics of the corpus
+	 * @param metric
+	 *            the secondary metric to compare tokens with
+	 * @param threshold
+	 *            the minimum similarity for two tokens to be paired
+	 */
+	public SoftTfIdf(CorpusStatistics statistics, StringMetric metric,
+			float threshold) {
+		checkArgument(0 <= threshold && threshold <= 1,
+				"threshold must be in range [0,1]");
+		this.statistics = checkNotNull(statistics);
+		this.metric = checkNotNull(metric);
+		this.threshold = threshold;
+	}
+
+	@Override
+	public float compare(Multiset<String> a, Multiset<String> b) {
+		checkArgument(!a.contains(null), "a may not contain null");
+		checkArgument(!b.contains(null), "b may not contain null");
+
+		if (a.isEmpty() && b.isEmpty()) {
+			return 1.0f;
+		}
+
+		if (a.isEmpty() || b.isEmpty()) {
+			return 0.0f;
+		}
+
+		// Weigh each distinct token once
+		final String[] tokensB = new String[b.elementSet().size()];
+		final double[] weightsB = weights(b, tokensB);
+		final String[] tokensA = new String[a.elementSet().size()];
+		final double[] weightsA = weights(a, tokensA);
+
+		double similarity = 0;
+		for (int i = 0; i < tokensA.length; i++) {
+			final String s = tokensA[i];
+
+			float best = 0;
+			int bestIndex = -1;
+			for (int j = 0; j < tokensB.length; j++) {
+				if (s.equals(tokensB[j])) {
+					// No token can be more similar
+					best = 1.0f;
+					bestIndex = j;
+					break;
+				}
+				final float score = metric.compare(s, tokensB[j]);
+				if (score > best) {
+					best = score;
+					bestIndex = j;
+				}
+			}
+
+			if (bestIndex >= 0 && best >= threshold) {
+				similarity += weightsA[i] * weightsB[bestIndex] * best;
+			}
+		}
+
+		return (float) min(1.0, similarity);
+	}
+
+	private double[] weights(Multiset<String> tokens, String[] elements) {
+		final double[] weights = new double[elements.length];
+
+		double squaredNorm = 0;
+		int i = 0;
+		for (Entry<String> entry : tokens.entrySet()) {
+			elements[i] = entry.getElement();
+			weights[i] = tf(entry.getCount())
+					* statistics.idf(entry.getElement());
+			squaredNorm += weights[i] * weights[i];
+			i++;
+		}
+
+		final double norm = sqrt(squaredNorm);
+		for (i = 0; i < weights.length; i++) {
+			weights[i] /= norm;
+		}
+		return weights;
+	}
+
+	@Override
+	public String toString() {
+		return "SoftTfIdf [statistics=" + statistics + ", metric=" + metric
+				+ ", threshold=" + threshold + "]";
+	}
+
+}
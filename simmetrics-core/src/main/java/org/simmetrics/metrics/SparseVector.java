@@ -0,0 +1,323 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.max;
+import static java.lang.Math.sqrt;
+
+import java.util.Arrays;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multiset.Entry;
+
+/**
+ * Sparse vector of weights indexed by token id. The ids are stored in
+ * ascending order with their weights in a parallel array. The L2 norm is
+ * computed once at construction.
+ * <p>
+ * Sparse vectors can be compared with {@link CosineSimilarity} and
+ * {@link EuclideanDistance} using a merge-join over the sorted ids. This
+ * avoids recomputing the norm of vectors that are compared repeatedly, e.g.
+ * documents in a corpus that are each compared against many queries.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class SparseVector {
+
+	private static final SparseVector EMPTY = new SparseVector(new int[0],
+			new float[0], 0);
+
+	/**
+	 * Creates a sparse vector from token ids and their weights. Weights of
+	 * duplicate ids are summed. The arrays are copied.
+	 * 
+	 * @param ids
+	 *            the ids of the tokens
+	 * @param weights
+	 *            the weights of the tokens
+	 * @return a new sparse vector
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when ids and weights differ in length
+	 */
+	public static SparseVector of(int[] ids, float[] weights) {
+		checkArgument(ids.length == weights.length,
+				"ids and weights must have the same length");
+
+		final Builder builder = new Builder(ids.length);
+		for (int i = 0; i < ids.length; i++) {
+			builder.add(ids[i], weights[i]);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Creates a sparse vector from a multiset of tokens. The weight of each
+	 * token is its count in the multiset. Tokens are mapped to their id using
+	 * the given function.
+	 * 
+	 * @param tokens
+	 *            the tokens to vectorize
+	 * @param ids
+	 *            a function mapping each token to its id
+	 * @return a new sparse vector
+	 */
+	public static <T> SparseVector of(Multiset<T> tokens,
+			Function<? super T, Integer> ids) {
+		checkNotNull(ids);
+
+		final Builder builder = new Builder(tokens.elementSet().size());
+		for (Entry<T> entry : tokens.entrySet()) {
+			builder.add(ids.apply(entry.getElement()), entry.getCount());
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns a builder for sparse vectors.
+	 * 
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder(16);
+	}
+
+	/**
+	 * Builder for sparse vectors. Ids may be added in any order. Weights of
+	 * duplicate ids are summed.
+	 */
+	public static final class Builder {
+
+		private int[] ids;
+		private float[] weights;
+		private int size;
+
+		Builder(int capacity) {
+			this.ids = new int[capacity];
+			this.weights = new float[capacity];
+		}
+
+		/**
+		 * Adds a weight for the token with the given id.
+		 * 
+		 * @param id
+		 *            the id of the token
+		 * @param weight
+		 *            the weight of the token
+		 * @return this builder for chaining
+		 */
+		public Builder add(int id, float weight) {
+			if (size == ids.length) {
+				final int capacity = max(16, size * 2);
+				ids = Arrays.copyOf(ids, capacity);
+				weights = Arrays.copyOf(weights, capacity);
+			}
+			ids[size] = id;
+			weights[size] = weight;
+			size++;
+			return this;
+		}
+
+		/**
+		 * Builds the sparse vector.
+		 * 
+		 * @return a new sparse vector
+		 */
+		public SparseVector build() {
+			if (size == 0) {
+				return EMPTY;
+			}
+
+			// Sort ids and weights together by packing them into longs. The
+			// id in the high bits determines the order.
+			final long[] packed = new long[size];
+			for (int i = 0; i < size; i++) {
+				packed[i] = ((long) ids[i] << 32)
+						| (Float.floatToRawIntBits(weights[i]) & 0xFFFFFFFFL);
+			}
+			Arrays.sort(packed);
+
+			final int[] sortedIds = new int[size];
+			final float[] sortedWeights = new float[size];
+			int n = -1;
+			for (long p : packed) {
+				final int id = (int) (p >> 32);
+				final float weight = Float.intBitsToFloat((int) p);
+				if (n >= 0 && sortedIds[n] == id) {
+					sortedWeights[n] += weight;
+				} else {
+					n++;
+					sortedIds[n] = id;
+					sortedWeights[n] = weight;
+				}
+			}
+			n++;
+
+			double squaredNorm = 0;
+			for (int i = 0; i < n; i++) {
+				squaredNorm += (double) sortedWeights[i] * sortedWeights[i];
+			}
+
+			return new SparseVector(Arrays.copyOf(sortedIds, n),
+					Arrays.copyOf(sortedWeights, n), squaredNorm);
+		}
+	}
+
+	private final int[] ids;
+	private final float[] weights;
+	private final double squaredNorm;
+	private final double norm;
+
+	private SparseVector(int[] ids, float[] weights, double squaredNorm) {
+		this.ids = ids;
+		this.weights = weights;
+		this.squaredNorm = squaredNorm;
+		this.norm = sqrt(squaredNorm);
+	}
+
+	/**
+	 * Returns the dot product of this vector and {@code other}. The product is
+	 * computed by merging the sorted ids of both vectors. When one vector is
+	 * much smaller than the other the ids of the larger vector are skipped
+	 * using a binary search.
+	 * 
+	 * @param other
+	 *            the other vector
+	 * @return the dot product of the vectors
+	 */
+	public double dot(SparseVector other) {
+		if (ids.length > other.ids.length) {
+			return other.dot(this);
+		}
+
+		final int[] ids2 = other.ids;
+		final float[] weights2 = other.weights;
+		final boolean gallop = ids.length * 8 < ids2.length;
+
+		double dot = 0;
+		int i = 0;
+		int j = 0;
+		while (i < ids.length && j < ids2.length) {
+			final int id = ids[i];
+			if (gallop) {
+				j = Arrays.binarySearch(ids2, j, ids2.length, id);
+				if (j >= 0) {
+					dot += (double) weights[i] * weights2[j];
+					j++;
+				} else {
+					j = -j - 1;
+				}
+				i++;
+			} else if (id < ids2[j]) {
+				i++;
+			} else if (id > ids2[j]) {
+				j++;
+			} else {
+				dot += (double) weights[i] * weights2[j];
+				i++;
+				j++;
+			}
+		}
+		return dot;
+	}
+
+	/**
+	 * Returns the L2 norm of this vector.
+	 * 
+	 * @return the L2 norm
+	 */
+	public double norm() {
+		return norm;
+	}
+
+	/**
+	 * Returns the squared L2 norm of this vector.
+	 * 
+	 * @return the squared L2 norm
+	 */
+	public double squaredNorm() {
+		return squaredNorm;
+	}
+
+	/**
+	 * Returns the number of entries in this vector.
+	 * 
+	 * @return the number of entries
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Returns true if this vector has no entries.
+	 * 
+	 * @return true if this vector has no entries
+	 */
+	public boolean isEmpty() {
+		return ids.length == 0;
+	}
+
+	/**
+	 * Returns the weight of the token with the given id.
+	 * 
+	 * @param id
+	 *            the id of a token
+	 * @return the weight of the token or 0 when absent
+	 */
+	public float weight(int id) {
+		final int i = Arrays.binarySearch(ids, id);
+		return i >= 0 ? weights[i] : 0.0f;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SparseVector)) {
+			return false;
+		}
+		final SparseVector other = (SparseVector) obj;
+		return Arrays.equals(ids, other.ids)
+				&& Arrays.equals(weights, other.weights);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(ids) + Arrays.hashCode(weights);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("SparseVector [");
+		for (int i = 0; i < ids.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(ids[i]).append('=').append(weights[i]);
+		}
+		return builder.append(']').toString();
+	}
+
+}
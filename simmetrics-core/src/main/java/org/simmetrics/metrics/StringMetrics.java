@@ -20,6 +20,7 @@
 
 package org.simmetrics.metrics;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.simmetrics.builders.StringMetricBuilder.with;
 import static org.simmetrics.simplifiers.Simplifiers.chain;
@@ -30,13 +31,20 @@ import static org.simmetrics.tokenizers.Tokenizers.whitespace;
 import java.util.List;
 import java.util.Set;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.Metric;
+import org.simmetrics.PreparableStringMetric;
+import org.simmetrics.PreparableStringMetric.Prepared;
 import org.simmetrics.StringMetric;
 import org.simmetrics.builders.StringMetricBuilder;
 import org.simmetrics.simplifiers.Simplifier;
 import org.simmetrics.simplifiers.Soundex;
 import org.simmetrics.tokenizers.Tokenizer;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multiset;
 
 /**
@@ -245,8 +253,10 @@ public final class StringMetrics {
 	 * @see BlockDistance
 	 */
 	public static StringMetric qGramsDistance() {
-		return with(new BlockDistance<String>()).tokenize(qGramWithPadding(3))
-				.build();
+		return new PackedQGrams.QGramBlockDistance(3, "#", "#",
+				with(new BlockDistance<String>())
+					.tokenize(qGramWithPadding(3))
+					.build());
 	}
 
 	/**
@@ -264,8 +274,11 @@ public final class StringMetrics {
 	 * @see SimonWhite
 	 */
 	public static StringMetric simonWhite() {
-		return with(new SimonWhite<String>()).tokenize(whitespace())
-				.tokenize(qGram(2)).build();
+		return new PackedQGrams.QGramSimonWhite(2,
+				with(new SimonWhite<String>())
+					.tokenize(whitespace())
+					.tokenize(qGram(2))
+					.build());
 	}
 
 	/**
@@ -550,9 +563,10 @@ public final class StringMetrics {
 		return new ForMultiset(metric, tokenizer);
 	}
 
-	static final class ForList implements StringMetric {
+	static final class ForList implements PreparableStringMetric, HasCapabilities {
 		private final Metric<List<String>> metric;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForList(Metric<List<String>> metric, Tokenizer tokenizer) {
 
@@ -561,6 +575,7 @@ public final class StringMetrics {
 
 			this.metric = metric;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -569,6 +584,19 @@ public final class StringMetrics {
 					tokenizer.tokenizeToList(b));
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input,
+					ImmutableList.copyOf(tokenizer.tokenizeToList(input)));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final List<String> valueA = valueOf(this, a);
+			final List<String> valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
 		Metric<List<String>> getMetric() {
 			return metric;
 		}
@@ -577,16 +605,23 @@ public final class StringMetrics {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric + " [" + tokenizer + "]";
 		}
 	}
 
-	static final class ForListWithSimplifier implements StringMetric {
+	static final class ForListWithSimplifier implements PreparableStringMetric,
+			HasCapabilities {
 		private final Metric<List<String>> metric;
 		private final Simplifier simplifier;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForListWithSimplifier(Metric<List<String>> metric,
 				Simplifier simplifier, Tokenizer tokenizer) {
@@ -598,6 +633,7 @@ public final class StringMetrics {
 			this.metric = metric;
 			this.simplifier = simplifier;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -607,6 +643,19 @@ public final class StringMetrics {
 					tokenizer.tokenizeToList(simplifier.simplify(b)));
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, ImmutableList.copyOf(tokenizer
+					.tokenizeToList(simplifier.simplify(input))));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final List<String> valueA = valueOf(this, a);
+			final List<String> valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
 		Metric<List<String>> getMetric() {
 			return metric;
 		}
@@ -619,16 +668,22 @@ public final class StringMetrics {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric + " [" + simplifier + " -> " + tokenizer + "]";
 		}
 	}
 
-	static final class ForSet implements StringMetric {
+	static final class ForSet implements PreparableStringMetric, HasCapabilities {
 
 		private final Metric<Set<String>> metric;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForSet(Metric<Set<String>> metric, Tokenizer tokenizer) {
 			checkNotNull(metric);
@@ -636,6 +691,7 @@ public final class StringMetrics {
 
 			this.metric = metric;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -644,6 +700,19 @@ public final class StringMetrics {
 					tokenizer.tokenizeToSet(b));
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input,
+					ImmutableSet.copyOf(tokenizer.tokenizeToSet(input)));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final Set<String> valueA = valueOf(this, a);
+			final Set<String> valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
 		Metric<Set<String>> getMetric() {
 			return metric;
 		}
@@ -652,6 +721,11 @@ public final class StringMetrics {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric + " [" + tokenizer + "]";
@@ -659,11 +733,13 @@ public final class StringMetrics {
 
 	}
 
-	static final class ForSetWithSimplifier implements StringMetric {
+	static final class ForSetWithSimplifier implements PreparableStringMetric,
+			HasCapabilities {
 
 		private final Metric<Set<String>> metric;
 		private final Simplifier simplifier;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForSetWithSimplifier(Metric<Set<String>> metric, Simplifier simplifier,
 				Tokenizer tokenizer) {
@@ -674,6 +750,7 @@ public final class StringMetrics {
 			this.metric = metric;
 			this.simplifier = simplifier;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -683,6 +760,19 @@ public final class StringMetrics {
 					tokenizer.tokenizeToSet(simplifier.simplify(b)));
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, ImmutableSet.copyOf(tokenizer
+					.tokenizeToSet(simplifier.simplify(input))));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final Set<String> valueA = valueOf(this, a);
+			final Set<String> valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
 		Metric<Set<String>> getMetric() {
 			return metric;
 		}
@@ -695,6 +785,11 @@ public final class StringMetrics {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric + " [" + simplifier + " -> " + tokenizer + "]";
@@ -702,10 +797,12 @@ public final class StringMetrics {
 
 	}
 
-	static final class ForMultiset implements StringMetric {
+	static final class ForMultiset implements PreparableStringMetric,
+			HasCapabilities {
 
 		private final Metric<Multiset<String>> metric;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForMultiset(Metric<Multiset<String>> metric, Tokenizer tokenizer) {
 			checkNotNull(metric);
@@ -713,6 +810,7 @@ public final class StringMetrics {
 
 			this.metric = metric;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -721,6 +819,19 @@ public final class StringMetrics {
 					tokenizer.tokenizeToMultiset(b));
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, ImmutableMultiset.copyOf(tokenizer
+					.tokenizeToMultiset(input)));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final Multiset<String> valueA = valueOf(this, a);
+			final Multiset<String> valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
 		Metric<Multiset<String>> getMetric() {
 			return metric;
 		}
@@ -729,6 +840,11 @@ public final class StringMetrics {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric + " [" + tokenizer + "]";
@@ -736,11 +852,13 @@ public final class StringMetrics {
 
 	}
 
-	static final class ForMultisetWithSimplifier implements StringMetric {
+	static final class ForMultisetWithSimplifier implements PreparableStringMetric,
+			HasCapabilities {
 
 		private final Metric<Multiset<String>> metric;
 		private final Simplifier simplifier;
 		private final Tokenizer tokenizer;
+		private final Set<Capability> capabilities;
 
 		ForMultisetWithSimplifier(Metric<Multiset<String>> metric,
 				Simplifier simplifier, Tokenizer tokenizer) {
@@ -751,6 +869,7 @@ public final class StringMetrics {
 			this.metric = metric;
 			this.simplifier = simplifier;
 			this.tokenizer = tokenizer;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -760,6 +879,19 @@ public final class StringMetrics {
 					tokenizer.tokenizeToMultiset(simplifier.simplify(b)));
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, ImmutableMultiset.copyOf(tokenizer
+					.tokenizeToMultiset(simplifier.simplify(input))));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final Multiset<String> valueA = valueOf(this, a);
+			final Multiset<String> valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
 		Metric<Multiset<String>> getMetric() {
 			return metric;
 		}
@@ -772,6 +904,11 @@ public final class StringMetrics {
 			return tokenizer;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric + " [" + simplifier + " -> " + tokenizer + "]";
@@ -779,11 +916,14 @@ public final class StringMetrics {
 
 	}
 
-	static final class ForString implements StringMetric {
+	static final class ForString implements PreparableStringMetric,
+			HasCapabilities {
 		private final Metric<String> metric;
+		private final Set<Capability> capabilities;
 
 		ForString(Metric<String> metric) {
 			this.metric = metric;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -791,6 +931,23 @@ public final class StringMetrics {
 			return metric.compare(a, b);
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, input);
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final String valueA = valueOf(this, a);
+			final String valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric.toString();
@@ -802,11 +959,13 @@ public final class StringMetrics {
 
 	}
 
-	static final class ForStringWithSimplifier implements StringMetric {
+	static final class ForStringWithSimplifier implements PreparableStringMetric,
+			HasCapabilities {
 
 		private final Metric<String> metric;
 
 		private final Simplifier simplifier;
+		private final Set<Capability> capabilities;
 
 		ForStringWithSimplifier(Metric<String> metric, Simplifier simplifier) {
 			checkNotNull(metric);
@@ -814,6 +973,7 @@ public final class StringMetrics {
 
 			this.metric = metric;
 			this.simplifier = simplifier;
+			this.capabilities = Capability.ofMetric(metric);
 		}
 
 		@Override
@@ -822,6 +982,18 @@ public final class StringMetrics {
 					simplifier.simplify(b));
 		}
 
+		@Override
+		public Prepared prepare(String input) {
+			return new Prepared(this, input, simplifier.simplify(input));
+		}
+
+		@Override
+		public float compare(Prepared a, Prepared b) {
+			final String valueA = valueOf(this, a);
+			final String valueB = valueOf(this, b);
+			return metric.compare(valueA, valueB);
+		}
+
 		Metric<String> getMetric() {
 			return metric;
 		}
@@ -830,6 +1002,11 @@ public final class StringMetrics {
 			return simplifier;
 		}
 
+		@Override
+		public Set<Capability> getCapabilities() {
+			return capabilities;
+		}
+
 		@Override
 		public String toString() {
 			return metric + " [" + simplifier + "]";
@@ -837,6 +1014,14 @@ public final class StringMetrics {
 
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <T> T valueOf(PreparableStringMetric metric,
+			Prepared prepared) {
+		checkArgument(prepared.getMetric() == metric,
+				"%s was not prepared by %s", prepared, metric);
+		return (T) prepared.getValue();
+	}
+
 	private StringMetrics() {
 		// Utility class.
 	}
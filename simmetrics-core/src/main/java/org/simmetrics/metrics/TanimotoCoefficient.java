@@ -20,11 +20,15 @@
 
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static org.simmetrics.Capability.SYMMETRIC;
 import static org.simmetrics.metrics.Math.intersection;
 import static java.lang.Math.sqrt;
 
 import java.util.Set;
 
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.SetMetric;
 
 /**
@@ -51,7 +55,11 @@ import org.simmetrics.SetMetric;
  * @param <T>
  *            type of the token
  */
-public final class TanimotoCoefficient<T> implements SetMetric<T> {
+public final class TanimotoCoefficient<T> implements SetMetric<T>,
+		HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC);
 
 	@Override
 	public float compare(Set<T> a, Set<T> b) {
@@ -70,6 +78,11 @@ public final class TanimotoCoefficient<T> implements SetMetric<T> {
 		return (float) (intersection(a, b).size() / (sqrt(a.size()) * sqrt(b.size())));
 	}
 
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
 	@Override
 	public String toString() {
 		return "TanimotoCoefficient";
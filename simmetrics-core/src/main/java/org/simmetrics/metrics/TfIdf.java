@@ -0,0 +1,218 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static java.lang.Math.log;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static org.simmetrics.Capability.NORMALIZED_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+
+import java.util.Set;
+
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
+import org.simmetrics.MultisetDistance;
+import org.simmetrics.MultisetMetric;
+
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multiset.Entry;
+
+/**
+ * Calculates the TF-IDF cosine similarity over two multisets. Each token is
+ * weighted by its frequency in the multiset and its inverse document frequency
+ * in a corpus. Rare tokens contribute more to the similarity then common
+ * tokens.
+ * <p>
+ * <code>
+ * weight(t,a) = ln(count(t,a) + 1) * idf(t)
+ * <br>
+ * similarity(a,b) = a·b / (||a|| * ||b||)
+ * <br>
+ * distance(a,b) = 1 - similarity(a,b)
+ * </code>
+ * <p>
+ * Documents that are compared repeatedly can be converted to a normalized
+ * {@link SparseVector} once using {@link #vector(Multiset)}. Tokens that do
+ * not occur in the corpus are weighted by the IDF of an unseen token and
+ * stored under a negative id derived from their hash code. Distinct unseen
+ * tokens with the same hash code are treated as the same token.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @see CorpusStatistics
+ * @see CosineSimilarity
+ * @see <a href="https://en.wikipedia.org/wiki/Tf%E2%80%93idf">Wikipedia -
+ *      tf-idf</a>
+ */
+public final class TfIdf implements MultisetMetric<String>,
+		MultisetDistance<String>, HasCapabilities {
+
+	private static final Set<Capability> CAPABILITIES = immutableEnumSet(
+			SYMMETRIC, NORMALIZED_DISTANCE);
+
+	private final CorpusStatistics statistics;
+
+	/**
+	 * Constructs a new TF-IDF metric.
+	 * 
+	 * @param statistics
+	 *            the statistics of the corpus
+	 */
+	public TfIdf(CorpusStatistics statistics) {
+		this.statistics = checkNotNull(statistics);
+	}
+
+	@Override
+	public float compare(Multiset<String> a, Multiset<String> b) {
+		checkArgument(!a.contains(null), "a may not contain null");
+		checkArgument(!b.contains(null), "b may not contain null");
+
+		if (a.isEmpty() && b.isEmpty()) {
+			return 1.0f;
+		}
+
+		if (a.isEmpty() || b.isEmpty()) {
+			return 0.0f;
+		}
+
+		final double squaredNormA = squaredNorm(a);
+		final double squaredNormB = squaredNorm(b);
+
+		// Merge over the smaller multiset
+		final Multiset<String> smaller = a.elementSet().size() <= b
+				.elementSet().size() ? a : b;
+		final Multiset<String> larger = smaller == a ? b : a;
+
+		double dotProduct = 0;
+		for (Entry<String> entry : smaller.entrySet()) {
+			final int count = larger.count(entry.getElement());
+			if (count > 0) {
+				final float idf = statistics.idf(entry.getElement());
+				dotProduct += tf(entry.getCount()) * tf(count) * idf * idf;
+			}
+		}
+
+		// a·b / (||a|| * ||b||)
+		return (float) min(1.0,
+				dotProduct / (sqrt(squaredNormA) * sqrt(squaredNormB)));
+	}
+
+	/**
+	 * Calculates the similarity of two vectors created by
+	 * {@link #vector(Multiset)}.
+	 * 
+	 * @param a
+	 *            vector a
+	 * @param b
+	 *            vector b
+	 * @return the similarity of a and b
+	 */
+	public float compare(SparseVector a, SparseVector b) {
+
+		if (a.isEmpty() && b.isEmpty()) {
+			return 1.0f;
+		}
+
+		// Vectors are already normalized
+		return (float) min(1.0, a.dot(b));
+	}
+
+	@Override
+	public float distance(Multiset<String> a, Multiset<String> b) {
+		return 1.0f - compare(a, b);
+	}
+
+	/**
+	 * Calculates the distance of two vectors created by
+	 * {@link #vector(Multiset)}.
+	 * 
+	 * @param a
+	 *            vector a
+	 * @param b
+	 *            vector b
+	 * @return the distance of a and b
+	 */
+	public float distance(SparseVector a, SparseVector b) {
+		return 1.0f - compare(a, b);
+	}
+
+	/**
+	 * Converts a multiset of tokens to a normalized TF-IDF vector. The ids of
+	 * the tokens in the vector are the ids in the corpus statistics. Tokens
+	 * that do not occur in the corpus have a negative id.
+	 * 
+	 * @param tokens
+	 *            the tokens to convert
+	 * @return a normalized TF-IDF vector
+	 */
+	public SparseVector vector(Multiset<String> tokens) {
+		final double norm = sqrt(squaredNorm(tokens));
+		final SparseVector.Builder builder = SparseVector.builder();
+
+		for (Entry<String> entry : tokens.entrySet()) {
+			final int id = statistics.id(entry.getElement());
+			if (id >= 0) {
+				builder.add(id, (float) (tf(entry.getCount())
+						* statistics.idf(id) / norm));
+			} else {
+				builder.add(unseenId(entry.getElement()),
+						(float) (tf(entry.getCount())
+								* statistics.unseenIdf() / norm));
+			}
+		}
+		return builder.build();
+	}
+
+	private static int unseenId(String token) {
+		// String.hashCode is specified and thus stable across JVMs
+		final int h = token.hashCode() * 0x9E3779B9;
+		return -1 - ((h ^ (h >>> 16)) & Integer.MAX_VALUE);
+	}
+
+	private double squaredNorm(Multiset<String> tokens) {
+		double squaredNorm = 0;
+		for (Entry<String> entry : tokens.entrySet()) {
+			final double weight = tf(entry.getCount())
+					* statistics.idf(entry.getElement());
+			squaredNorm += weight * weight;
+		}
+		return squaredNorm;
+	}
+
+	static double tf(int count) {
+		return log(count + 1.0);
+	}
+
+	@Override
+	public Set<Capability> getCapabilities() {
+		return CAPABILITIES;
+	}
+
+	@Override
+	public String toString() {
+		return "TfIdf [statistics=" + statistics + "]";
+	}
+
+}
@@ -0,0 +1,497 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.simmetrics.StringMetric;
+import org.simmetrics.simplifiers.Simplifier;
+import org.simmetrics.tokenizers.Tokenizer;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+
+/**
+ * Blocking index for record linkage. Records are grouped into blocks by one or
+ * more keys, for example phonetic codes. Only records that share a block are
+ * compared with each other.
+ * <p>
+ * Each key is produced by a simplifier, optionally followed by a tokenizer
+ * when a simplifier produces multiple codes at once. Keys from different
+ * simplifiers never share a block.
+ * <p>
+ * Blocks are stored as compact posting lists of record ids. A pair of records
+ * that shares multiple blocks is only generated from the first block they
+ * share. Blocks larger than the maximum block size are not used to generate
+ * candidates. This avoids a quadratic number of comparisons for keys that
+ * are too common to be useful.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @see <a href="https://en.wikipedia.org/wiki/Record_linkage">Wikipedia -
+ *      Record linkage</a>
+ */
+public final class BlockingIndex {
+
+	/**
+	 * A pair of records and their similarity.
+	 * <p>
+	 * This class is immutable and thread-safe.
+	 */
+	public static final class Match {
+
+		private final int first;
+		private final int second;
+		private final float similarity;
+
+		Match(int first, int second, float similarity) {
+			this.first = first;
+			this.second = second;
+			this.similarity = similarity;
+		}
+
+		/**
+		 * Returns the id of the first record. The id of the first record is
+		 * always smaller than the id of the second.
+		 * 
+		 * @return the id of the first record
+		 */
+		public int getFirst() {
+			return first;
+		}
+
+		/**
+		 * Returns the id of the second record.
+		 * 
+		 * @return the id of the second record
+		 */
+		public int getSecond() {
+			return second;
+		}
+
+		/**
+		 * Returns the similarity of the records.
+		 * 
+		 * @return the similarity of the records
+		 */
+		public float getSimilarity() {
+			return similarity;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * first + second) + Float.floatToIntBits(similarity);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Match)) {
+				return false;
+			}
+			final Match other = (Match) obj;
+			return first == other.first
+					&& second == other.second
+					&& Float.floatToIntBits(similarity) == Float
+							.floatToIntBits(other.similarity);
+		}
+
+		@Override
+		public String toString() {
+			return "Match [first=" + first + ", second=" + second
+					+ ", similarity=" + similarity + "]";
+		}
+	}
+
+	/**
+	 * Builder for blocking indexes.
+	 */
+	public static final class Builder {
+
+		private final List<Simplifier> simplifiers = new ArrayList<>();
+		private final List<Tokenizer> tokenizers = new ArrayList<>();
+		private int maxBlockSize = Integer.MAX_VALUE;
+
+		Builder() {
+		}
+
+		/**
+		 * Adds a key. Each record is placed in the block of its simplified
+		 * form.
+		 * 
+		 * @param simplifier
+		 *            the simplifier that produces the key
+		 * @return this builder
+		 */
+		public Builder key(Simplifier simplifier) {
+			checkNotNull(simplifier);
+			simplifiers.add(simplifier);
+			tokenizers.add(null);
+			return this;
+		}
+
+		/**
+		 * Adds a key that produces multiple codes. Each record is placed in
+		 * the block of every token of its simplified form.
+		 * 
+		 * @param simplifier
+		 *            the simplifier that produces the codes
+		 * @param tokenizer
+		 *            the tokenizer that splits the codes
+		 * @return this builder
+		 */
+		public Builder key(Simplifier simplifier, Tokenizer tokenizer) {
+			checkNotNull(simplifier);
+			checkNotNull(tokenizer);
+			simplifiers.add(simplifier);
+			tokenizers.add(tokenizer);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of a block. Larger blocks are not used to
+		 * generate candidates.
+		 * 
+		 * @param maxBlockSize
+		 *            the maximum number of records in a block
+		 * @return this builder
+		 */
+		public Builder maxBlockSize(int maxBlockSize) {
+			checkArgument(maxBlockSize >= 2,
+					"maxBlockSize must be at least 2");
+			this.maxBlockSize = maxBlockSize;
+			return this;
+		}
+
+		/**
+		 * Builds an index over the records. Records are identified by their
+		 * position in the list.
+		 * 
+		 * @param records
+		 *            the records to index
+		 * @return a new blocking index
+		 */
+		public BlockingIndex build(List<String> records) {
+			checkNotNull(records);
+			checkState(!simplifiers.isEmpty(), "at least one key is required");
+			return new BlockingIndex(records, simplifiers, tokenizers,
+					maxBlockSize);
+		}
+	}
+
+	// Number of blocks handled by a single task
+	private static final int BLOCKS_PER_TASK = 256;
+
+	private static final Comparator<Match> BY_IDS = new Comparator<Match>() {
+		@Override
+		public int compare(Match o1, Match o2) {
+			final int c = Integer.compare(o1.first, o2.first);
+			return c != 0 ? c : Integer.compare(o1.second, o2.second);
+		}
+	};
+
+	/**
+	 * Returns a builder for blocking indexes.
+	 * 
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private final List<String> records;
+
+	// Record ids of each block, only blocks that generate candidates
+	private final int[][] blocks;
+
+	// Sorted block ids of each record
+	private final int[][] recordBlocks;
+
+	private final int skippedBlocks;
+
+	private final String keys;
+
+	private BlockingIndex(List<String> records, List<Simplifier> simplifiers,
+			List<Tokenizer> tokenizers, int maxBlockSize) {
+		this.records = ImmutableList.copyOf(records);
+		this.keys = simplifiers.toString();
+
+		// Keys are qualified by the simplifier that produced them
+		final List<Map<String, List<Integer>>> postings = new ArrayList<>();
+		for (int k = 0; k < simplifiers.size(); k++) {
+			postings.add(new HashMap<String, List<Integer>>());
+		}
+
+		for (int id = 0; id < this.records.size(); id++) {
+			final String record = this.records.get(id);
+			for (int k = 0; k < simplifiers.size(); k++) {
+				final String simplified = simplifiers.get(k).simplify(record);
+				final Tokenizer tokenizer = tokenizers.get(k);
+				if (tokenizer == null) {
+					add(postings.get(k), simplified, id);
+				} else {
+					for (String key : tokenizer.tokenizeToSet(simplified)) {
+						add(postings.get(k), key, id);
+					}
+				}
+			}
+		}
+
+		final List<int[]> retained = new ArrayList<>();
+		final List<List<Integer>> blocksOfRecord = new ArrayList<>(
+				this.records.size());
+		for (int id = 0; id < this.records.size(); id++) {
+			blocksOfRecord.add(new ArrayList<Integer>(simplifiers.size()));
+		}
+
+		int skipped = 0;
+		for (Map<String, List<Integer>> posting : postings) {
+			for (List<Integer> ids : posting.values()) {
+				if (ids.size() < 2) {
+					continue;
+				}
+				if (ids.size() > maxBlockSize) {
+					skipped++;
+					continue;
+				}
+				final int block = retained.size();
+				retained.add(Ints.toArray(ids));
+				for (int id : ids) {
+					blocksOfRecord.get(id).add(block);
+				}
+			}
+		}
+
+		this.blocks = retained.toArray(new int[retained.size()][]);
+		this.skippedBlocks = skipped;
+		this.recordBlocks = new int[this.records.size()][];
+		for (int id = 0; id < this.records.size(); id++) {
+			// Blocks are added in increasing order
+			recordBlocks[id] = Ints.toArray(blocksOfRecord.get(id));
+		}
+	}
+
+	private static void add(Map<String, List<Integer>> posting, String key,
+			int id) {
+		if (key.isEmpty()) {
+			return;
+		}
+		List<Integer> ids = posting.get(key);
+		if (ids == null) {
+			ids = new ArrayList<>(1);
+			posting.put(key, ids);
+		}
+		// Keys may be repeated within a record
+		if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+			ids.add(id);
+		}
+	}
+
+	/**
+	 * Returns the number of candidate pairs generated by this index. Each
+	 * pair is counted once.
+	 * 
+	 * @return the number of candidate pairs
+	 */
+	public long getCandidateCount() {
+		long count = 0;
+		for (int block = 0; block < blocks.length; block++) {
+			final int[] ids = blocks[block];
+			for (int i = 0; i < ids.length; i++) {
+				for (int j = i + 1; j < ids.length; j++) {
+					if (isFirstSharedBlock(ids[i], ids[j], block)) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Compares every candidate pair with the metric and returns the pairs
+	 * with a similarity of at least {@code threshold}. The matches are ordered
+	 * by the ids of the first and second record.
+	 * 
+	 * @param metric
+	 *            the metric used to verify candidates
+	 * @param threshold
+	 *            the minimum similarity, inclusive
+	 * @return the matching pairs
+	 */
+	public List<Match> match(StringMetric metric, float threshold) {
+		checkNotNull(metric);
+		final List<Match> matches = match(metric, threshold, 0, blocks.length);
+		Collections.sort(matches, BY_IDS);
+		return matches;
+	}
+
+	/**
+	 * Compares every candidate pair with the metric and returns the pairs
+	 * with a similarity of at least {@code threshold}. Blocks are compared in
+	 * parallel on the executor. The matches are ordered by the ids of the
+	 * first and second record.
+	 * <p>
+	 * The metric must be thread-safe.
+	 * 
+	 * @param metric
+	 *            the metric used to verify candidates
+	 * @param threshold
+	 *            the minimum similarity, inclusive
+	 * @param executor
+	 *            the executor to compare blocks on
+	 * @return the matching pairs
+	 * @throws InterruptedException
+	 *             when interrupted while waiting for the comparisons
+	 */
+	public List<Match> match(final StringMetric metric, final float threshold,
+			ExecutorService executor) throws InterruptedException {
+		checkNotNull(metric);
+		checkNotNull(executor);
+
+		final List<Callable<List<Match>>> tasks = new ArrayList<>();
+		for (int start = 0; start < blocks.length; start += BLOCKS_PER_TASK) {
+			final int from = start;
+			final int to = Math.min(blocks.length, start + BLOCKS_PER_TASK);
+			tasks.add(new Callable<List<Match>>() {
+				@Override
+				public List<Match> call() {
+					return match(metric, threshold, from, to);
+				}
+			});
+		}
+
+		final List<Match> matches = new ArrayList<>();
+		for (Future<List<Match>> future : executor.invokeAll(tasks)) {
+			try {
+				matches.addAll(future.get());
+			} catch (ExecutionException e) {
+				throw Throwables.propagate(e.getCause());
+			}
+		}
+
+		Collections.sort(matches, BY_IDS);
+		return matches;
+	}
+
+	private List<Match> match(StringMetric metric, float threshold, int from,
+			int to) {
+		final List<Match> matches = new ArrayList<>();
+		for (int block = from; block < to; block++) {
+			final int[] ids = blocks[block];
+			for (int i = 0; i < ids.length; i++) {
+				final String a = records.get(ids[i]);
+				for (int j = i + 1; j < ids.length; j++) {
+					if (!isFirstSharedBlock(ids[i], ids[j], block)) {
+						continue;
+					}
+					final float similarity = metric.compare(a,
+							records.get(ids[j]));
+					if (similarity >= threshold) {
+						matches.add(new Match(ids[i], ids[j], similarity));
+					}
+				}
+			}
+		}
+		return matches;
+	}
+
+	private boolean isFirstSharedBlock(int a, int b, int block) {
+		final int[] blocksA = recordBlocks[a];
+		final int[] blocksB = recordBlocks[b];
+		// Merge the sorted block ids until the first shared block
+		int i = 0;
+		int j = 0;
+		while (i < blocksA.length && j < blocksB.length) {
+			if (blocksA[i] < blocksB[j]) {
+				i++;
+			} else if (blocksA[i] > blocksB[j]) {
+				j++;
+			} else {
+				return blocksA[i] == block;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the record with the given id.
+	 * 
+	 * @param id
+	 *            the id of the record
+	 * @return the record
+	 */
+	public String get(int id) {
+		return records.get(id);
+	}
+
+	/**
+	 * Returns the number of records in this index.
+	 * 
+	 * @return the number of records
+	 */
+	public int size() {
+		return records.size();
+	}
+
+	/**
+	 * Returns the number of blocks used to generate candidates. Blocks with a
+	 * single record are not counted.
+	 * 
+	 * @return the number of blocks
+	 */
+	public int getBlockCount() {
+		return blocks.length;
+	}
+
+	/**
+	 * Returns the number of blocks that exceeded the maximum block size.
+	 * 
+	 * @return the number of skipped blocks
+	 */
+	public int getSkippedBlockCount() {
+		return skippedBlocks;
+	}
+
+	@Override
+	public String toString() {
+		return "BlockingIndex [keys=" + keys + ", size=" + records.size()
+				+ ", blocks=" + blocks.length + ", skippedBlocks="
+				+ skippedBlocks + "]";
+	}
+
+}
@@ -0,0 +1,491 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.simmetrics.StringMetric;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Jaro;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.simplifiers.Simplifier;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Cascade of increasingly expensive stages in front of a string metric. A
+ * pair of strings is only compared by the final metric when it passes every
+ * earlier stage. Each stage rejects a pair when its score is below the
+ * threshold of the stage.
+ * <p>
+ * A stage is either a bound or a filter. A bound is an upper bound on the
+ * similarity of the final metric and uses the threshold of the final metric.
+ * It never rejects a pair the final metric would accept. A filter has its own
+ * threshold and may reject pairs the final metric would accept. Cheap bounds
+ * are provided for {@link Levenshtein}, {@link DamerauLevenshtein} and
+ * {@link Jaro}.
+ * <p>
+ * Each stage counts the pairs it evaluated and passed. Stages should be added
+ * from cheapest to most expensive.
+ * <p>
+ * This class is thread-safe provided all its components are also
+ * thread-safe.
+ * 
+ * <pre>
+ * {@code
+ * Cascade cascade = Cascade.builder()
+ * 		.bound(Cascade.lengthBound())
+ * 		.bound(Cascade.bagDistanceBound())
+ * 		.filter(new Jaro(), 0.5f)
+ * 		.build(new Levenshtein(), 0.8f);
+ * }
+ * </pre>
+ */
+public final class Cascade {
+
+	/**
+	 * A stage of a cascade and the number of pairs it evaluated and passed.
+	 * <p>
+	 * This class is thread-safe.
+	 */
+	public static final class Stage {
+
+		private final StringMetric metric;
+		private final float threshold;
+		private final boolean bound;
+
+		private final AtomicLong evaluated = new AtomicLong();
+		private final AtomicLong passed = new AtomicLong();
+
+		Stage(StringMetric metric, float threshold, boolean bound) {
+			this.metric = metric;
+			this.threshold = threshold;
+			this.bound = bound;
+		}
+
+		float evaluate(String a, String b) {
+			evaluated.incrementAndGet();
+			final float score = metric.compare(a, b);
+			if (score >= threshold) {
+				passed.incrementAndGet();
+			}
+			return score;
+		}
+
+		/**
+		 * Returns the metric of this stage.
+		 * 
+		 * @return the metric of this stage
+		 */
+		public StringMetric getMetric() {
+			return metric;
+		}
+
+		/**
+		 * Returns the threshold of this stage.
+		 * 
+		 * @return the threshold of this stage
+		 */
+		public float getThreshold() {
+			return threshold;
+		}
+
+		/**
+		 * Returns true if this stage is an upper bound on the final metric.
+		 * 
+		 * @return true if this stage is an upper bound on the final metric
+		 */
+		public boolean isBound() {
+			return bound;
+		}
+
+		/**
+		 * Returns the number of pairs evaluated by this stage.
+		 * 
+		 * @return the number of pairs evaluated
+		 */
+		public long getEvaluated() {
+			return evaluated.get();
+		}
+
+		/**
+		 * Returns the number of pairs that passed this stage.
+		 * 
+		 * @return the number of pairs that passed
+		 */
+		public long getPassed() {
+			return passed.get();
+		}
+
+		/**
+		 * Returns the fraction of evaluated pairs that passed this stage, or
+		 * 1 when no pairs were evaluated.
+		 * 
+		 * @return the fraction of evaluated pairs that passed
+		 */
+		public float getPassRate() {
+			final long e = evaluated.get();
+			return e == 0 ? 1.0f : passed.get() / (float) e;
+		}
+
+		@Override
+		public String toString() {
+			return (bound ? "Bound" : "Filter") + " [metric=" + metric
+					+ ", threshold=" + threshold + ", evaluated="
+					+ evaluated.get() + ", passed=" + passed.get() + "]";
+		}
+	}
+
+	/**
+	 * Builder for cascades.
+	 */
+	public static final class Builder {
+
+		private final List<StringMetric> metrics = new ArrayList<>();
+		private final List<Float> thresholds = new ArrayList<>();
+
+		Builder() {
+		}
+
+		/**
+		 * Adds a bound. The bound must be an upper bound on the similarity of
+		 * the final metric. It uses the threshold of the final metric.
+		 * 
+		 * @param bound
+		 *            an upper bound on the final metric
+		 * @return this builder
+		 */
+		public Builder bound(StringMetric bound) {
+			checkNotNull(bound);
+			metrics.add(bound);
+			thresholds.add(null);
+			return this;
+		}
+
+		/**
+		 * Adds a filter. Pairs that score below the threshold are rejected.
+		 * 
+		 * @param metric
+		 *            the metric of the filter
+		 * @param threshold
+		 *            the minimum score to pass the filter
+		 * @return this builder
+		 */
+		public Builder filter(StringMetric metric, float threshold) {
+			checkNotNull(metric);
+			checkThreshold(threshold);
+			metrics.add(metric);
+			thresholds.add(threshold);
+			return this;
+		}
+
+		/**
+		 * Adds a filter that rejects pairs with different keys. For example a
+		 * first letter or phonetic key.
+		 * 
+		 * @param simplifier
+		 *            the simplifier that produces the key
+		 * @return this builder
+		 */
+		public Builder key(Simplifier simplifier) {
+			return filter(new Key(simplifier), 1.0f);
+		}
+
+		/**
+		 * Builds a cascade in front of the given metric.
+		 * 
+		 * @param metric
+		 *            the final metric
+		 * @param threshold
+		 *            the minimum similarity of a match
+		 * @return a new cascade
+		 */
+		public Cascade build(StringMetric metric, float threshold) {
+			checkNotNull(metric);
+			checkThreshold(threshold);
+
+			final Stage[] stages = new Stage[metrics.size() + 1];
+			for (int i = 0; i < metrics.size(); i++) {
+				final Float t = thresholds.get(i);
+				stages[i] = t == null ? new Stage(metrics.get(i), threshold, true)
+						: new Stage(metrics.get(i), t, false);
+			}
+			stages[metrics.size()] = new Stage(metric, threshold, false);
+			return new Cascade(stages);
+		}
+
+		private static void checkThreshold(float threshold) {
+			checkArgument(0.0f <= threshold && threshold <= 1.0f,
+					"threshold must be in range [0,1]");
+		}
+	}
+
+	/**
+	 * Returns a builder for cascades.
+	 * 
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns an upper bound on the similarity of {@link Levenshtein} and
+	 * {@link DamerauLevenshtein} with their default costs. The edit distance
+	 * of two strings is at least the difference in their lengths. This bound
+	 * takes constant time.
+	 * 
+	 * @return an upper bound on the Levenshtein similarity
+	 */
+	public static StringMetric lengthBound() {
+		return new LengthBound();
+	}
+
+	/**
+	 * Returns an upper bound on the similarity of {@link Levenshtein} and
+	 * {@link DamerauLevenshtein} with their default costs. The edit distance
+	 * of two strings is at least their bag distance, the number of
+	 * characters that remain after removing their common characters from the
+	 * longest string. This bound takes linear time.
+	 * 
+	 * @return an upper bound on the Levenshtein similarity
+	 */
+	public static StringMetric bagDistanceBound() {
+		return new BagDistanceBound();
+	}
+
+	/**
+	 * Returns an upper bound on the similarity of {@link Jaro}. The number of
+	 * matching characters of two strings is at most the number of characters
+	 * they have in common, regardless of position. This bound takes linear
+	 * time.
+	 * 
+	 * @return an upper bound on the Jaro similarity
+	 */
+	public static StringMetric jaroBound() {
+		return new JaroBound();
+	}
+
+	private final Stage[] stages;
+
+	private Cascade(Stage[] stages) {
+		this.stages = stages;
+	}
+
+	/**
+	 * Returns true if a and b pass every stage, including the threshold of
+	 * the final metric.
+	 * 
+	 * @param a
+	 *            string a to compare
+	 * @param b
+	 *            string b to compare
+	 * @return true if a and b match
+	 * @throws NullPointerException
+	 *             when either a or b is null
+	 */
+	public boolean matches(String a, String b) {
+		return compare(a, b) >= stages[stages.length - 1].threshold;
+	}
+
+	/**
+	 * Measures the similarity between strings a and b with the final metric.
+	 * Returns {@code NaN} when the pair is rejected by an earlier stage.
+	 * 
+	 * @param a
+	 *            string a to compare
+	 * @param b
+	 *            string b to compare
+	 * @return the similarity of a and b or {@code NaN} when rejected early
+	 * @throws NullPointerException
+	 *             when either a or b is null
+	 */
+	public float compare(String a, String b) {
+		checkNotNull(a);
+		checkNotNull(b);
+
+		final int last = stages.length - 1;
+		for (int i = 0; i < last; i++) {
+			if (stages[i].evaluate(a, b) < stages[i].threshold) {
+				return Float.NaN;
+			}
+		}
+		return stages[last].evaluate(a, b);
+	}
+
+	/**
+	 * Returns the stages of this cascade. The final metric is the last stage.
+	 * 
+	 * @return the stages of this cascade
+	 */
+	public List<Stage> getStages() {
+		return ImmutableList.copyOf(stages);
+	}
+
+	@Override
+	public String toString() {
+		return "Cascade " + Arrays.toString(stages);
+	}
+
+	// Number of characters a and b have in common, regardless of position
+	static int commonCharacters(String a, String b) {
+		final int[] counts = new int[256];
+		for (int i = 0; i < a.length(); i++) {
+			final char c = a.charAt(i);
+			if (c >= counts.length) {
+				return commonCharactersSorted(a, b);
+			}
+			counts[c]++;
+		}
+
+		int common = 0;
+		for (int i = 0; i < b.length(); i++) {
+			final char c = b.charAt(i);
+			if (c < counts.length && counts[c] > 0) {
+				counts[c]--;
+				common++;
+			}
+		}
+		return common;
+	}
+
+	private static int commonCharactersSorted(String a, String b) {
+		final char[] charsA = a.toCharArray();
+		final char[] charsB = b.toCharArray();
+		Arrays.sort(charsA);
+		Arrays.sort(charsB);
+
+		int common = 0;
+		for (int i = 0, j = 0; i < charsA.length && j < charsB.length;) {
+			if (charsA[i] == charsB[j]) {
+				common++;
+				i++;
+				j++;
+			} else if (charsA[i] < charsB[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return common;
+	}
+
+	private static final class LengthBound implements StringMetric {
+
+		LengthBound() {
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			if (a.isEmpty() && b.isEmpty()) {
+				return 1.0f;
+			}
+			final int longest = max(a.length(), b.length());
+			final int difference = longest - min(a.length(), b.length());
+			// Same expression as Levenshtein so rounding is identical
+			return 1.0f - (difference / (1.0f * longest));
+		}
+
+		@Override
+		public String toString() {
+			return "LengthBound";
+		}
+	}
+
+	private static final class BagDistanceBound implements StringMetric {
+
+		BagDistanceBound() {
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			if (a.isEmpty() && b.isEmpty()) {
+				return 1.0f;
+			}
+			final int longest = max(a.length(), b.length());
+			final int bagDistance = longest - commonCharacters(a, b);
+			return 1.0f - (bagDistance / (1.0f * longest));
+		}
+
+		@Override
+		public String toString() {
+			return "BagDistanceBound";
+		}
+	}
+
+	private static final class JaroBound implements StringMetric {
+
+		JaroBound() {
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			if (a.isEmpty() && b.isEmpty()) {
+				return 1.0f;
+			}
+			if (a.isEmpty() || b.isEmpty()) {
+				return 0.0f;
+			}
+			final int common = commonCharacters(a, b);
+			if (common == 0) {
+				return 0.0f;
+			}
+			// Same expression as Jaro without transpositions
+			final float aCommonRatio = common / (float) a.length();
+			final float bCommonRatio = common / (float) b.length();
+			return (aCommonRatio + bCommonRatio + 1.0f) / 3.0f;
+		}
+
+		@Override
+		public String toString() {
+			return "JaroBound";
+		}
+	}
+
+	private static final class Key implements StringMetric {
+
+		private final Simplifier simplifier;
+
+		Key(Simplifier simplifier) {
+			this.simplifier = checkNotNull(simplifier);
+		}
+
+		@Override
+		public float compare(String a, String b) {
+			return simplifier.simplify(a).equals(simplifier.simplify(b)) ? 1.0f
+					: 0.0f;
+		}
+
+		@Override
+		public String toString() {
+			return "Key [" + simplifier + "]";
+		}
+	}
+
+}
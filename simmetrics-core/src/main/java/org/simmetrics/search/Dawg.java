@@ -0,0 +1,519 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.search.LevenshteinAutomaton.State;
+import org.simmetrics.search.LevenshteinAutomaton.Transition;
+
+/**
+ * Directed acyclic word graph. A minimal deterministic automaton that accepts
+ * exactly the terms of a dictionary.
+ * <p>
+ * Terms that share a prefix share a path from the start state and terms that
+ * share a suffix share a path to an accepting state. The automaton is built
+ * incrementally from sorted terms. Each time a term is added, the states that
+ * no later term can reach are replaced by an equivalent state if one exists.
+ * The finished automaton is stored in flat arrays. The transitions of a state
+ * are stored consecutively and sorted by character.
+ * <p>
+ * Fuzzy lookups intersect the dictionary with a
+ * {@link LevenshteinAutomaton}. Both automata are walked in parallel and a
+ * path is abandoned as soon as the Levenshtein automaton fails, so only
+ * prefixes that can still be completed to a match are visited.
+ * <p>
+ * Weighted lookups with {@link Levenshtein} or {@link DamerauLevenshtein}
+ * compute the dynamic programming matrix one row per character while walking
+ * the dictionary. Terms that share a prefix share the rows of that prefix. A
+ * path is abandoned once no cell in its last row is within the maximum
+ * distance.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * <pre>
+ * {@code
+ * Dawg dictionary = Dawg.create(sortedTerms);
+ * LevenshteinAutomaton automaton = LevenshteinAutomaton.create(2);
+ * 
+ * List<String> terms = dictionary.within("chapman", automaton);
+ * }
+ * </pre>
+ * 
+ * @see <a href="http://www.aclweb.org/anthology/J00-1002.pdf">Daciuk et al. -
+ *      Incremental Construction of Minimal Acyclic Finite-State Automata</a>
+ */
+public final class Dawg {
+
+	/**
+	 * Creates a new dictionary. The terms must be sorted in ascending order
+	 * as defined by {@link String#compareTo(String)}. Duplicate terms are
+	 * stored once.
+	 * 
+	 * @param terms
+	 *            the sorted terms
+	 * @return a new dictionary
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when the terms are not sorted
+	 */
+	public static Dawg create(Iterable<String> terms) {
+		checkNotNull(terms);
+		return new Builder().addAll(terms).build();
+	}
+
+	/**
+	 * State of an automaton under construction. Once registered a state is
+	 * never modified again.
+	 */
+	private static final class Node {
+
+		private static final char[] NO_LABELS = new char[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		boolean terminal;
+		char[] labels = NO_LABELS;
+		Node[] children = NO_CHILDREN;
+		int size;
+		int hash;
+		int id = -1;
+
+		void add(char label, Node child) {
+			if (size == labels.length) {
+				labels = Arrays.copyOf(labels, max(2, 2 * size));
+				children = Arrays.copyOf(children, max(2, 2 * size));
+			}
+			labels[size] = label;
+			children[size] = child;
+			size++;
+		}
+
+		Node last() {
+			return children[size - 1];
+		}
+
+		void seal() {
+			int h = terminal ? 1 : 0;
+			for (int i = 0; i < size; i++) {
+				h = 31 * (31 * h + labels[i])
+						+ System.identityHashCode(children[i]);
+			}
+			hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Node)) {
+				return false;
+			}
+			final Node other = (Node) obj;
+			if (terminal != other.terminal || size != other.size) {
+				return false;
+			}
+			for (int i = 0; i < size; i++) {
+				// Children are registered so equivalent children are identical
+				if (labels[i] != other.labels[i]
+						|| children[i] != other.children[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class Builder {
+
+		private final Map<Node, Node> register = new HashMap<>();
+		private final Node root = new Node();
+
+		// Nodes on the path of the previous term, path[0] is the root
+		private Node[] path = { root };
+		private String previous = "";
+		private int terms;
+		private int maxLength;
+
+		Builder addAll(Iterable<String> values) {
+			for (String term : values) {
+				add(checkNotNull(term));
+			}
+			return this;
+		}
+
+		private void add(String term) {
+			final int order = term.compareTo(previous);
+			checkArgument(terms == 0 || order >= 0, "terms must be sorted");
+			if (terms > 0 && order == 0) {
+				return;
+			}
+
+			final int prefix = commonPrefix(previous, term);
+			minimize(prefix);
+
+			if (path.length <= term.length()) {
+				path = Arrays.copyOf(path, max(term.length() + 1,
+						2 * path.length));
+			}
+			for (int i = prefix; i < term.length(); i++) {
+				final Node child = new Node();
+				path[i].add(term.charAt(i), child);
+				path[i + 1] = child;
+			}
+			path[term.length()].terminal = true;
+
+			previous = term;
+			maxLength = max(maxLength, term.length());
+			terms++;
+		}
+
+		/**
+		 * Replaces the nodes on the path of the previous term below
+		 * {@code depth} by their registered equivalents.
+		 */
+		private void minimize(int depth) {
+			for (int i = previous.length(); i > depth; i--) {
+				final Node node = path[i];
+				node.seal();
+				final Node registered = register.get(node);
+				if (registered == null) {
+					register.put(node, node);
+				} else {
+					path[i - 1].children[path[i - 1].size - 1] = registered;
+				}
+			}
+		}
+
+		private static int commonPrefix(String a, String b) {
+			final int length = min(a.length(), b.length());
+			int i = 0;
+			while (i < length && a.charAt(i) == b.charAt(i)) {
+				i++;
+			}
+			return i;
+		}
+
+		Dawg build() {
+			minimize(0);
+
+			// Number the states depth first from the root
+			final List<Node> nodes = new ArrayList<>(register.size() + 1);
+			final List<Node> stack = new ArrayList<>();
+			root.id = 0;
+			stack.add(root);
+			int arcs = 0;
+			while (!stack.isEmpty()) {
+				final Node node = stack.remove(stack.size() - 1);
+				nodes.add(node);
+				arcs += node.size;
+				for (int i = node.size - 1; i >= 0; i--) {
+					final Node child = node.children[i];
+					if (child.id < 0) {
+						// Mark as visited, numbered below
+						child.id = 0;
+						stack.add(child);
+					}
+				}
+			}
+			for (int i = 0; i < nodes.size(); i++) {
+				nodes.get(i).id = i;
+			}
+
+			final int[] arcStart = new int[nodes.size() + 1];
+			final char[] labels = new char[arcs];
+			final int[] targets = new int[arcs];
+			final boolean[] terminal = new boolean[nodes.size()];
+			int arc = 0;
+			for (int i = 0; i < nodes.size(); i++) {
+				final Node node = nodes.get(i);
+				arcStart[i] = arc;
+				terminal[i] = node.terminal;
+				for (int j = 0; j < node.size; j++) {
+					labels[arc] = node.labels[j];
+					targets[arc] = node.children[j].id;
+					arc++;
+				}
+			}
+			arcStart[nodes.size()] = arc;
+
+			return new Dawg(arcStart, labels, targets, terminal, terms,
+					maxLength);
+		}
+	}
+
+	// The transitions of state s are [arcStart[s], arcStart[s + 1])
+	private final int[] arcStart;
+	private final char[] labels;
+	private final int[] targets;
+	private final boolean[] terminal;
+	private final int size;
+	private final int maxLength;
+
+	private Dawg(int[] arcStart, char[] labels, int[] targets,
+			boolean[] terminal, int size, int maxLength) {
+		this.arcStart = arcStart;
+		this.labels = labels;
+		this.targets = targets;
+		this.terminal = terminal;
+		this.size = size;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Returns true if the dictionary contains the term.
+	 * 
+	 * @param term
+	 *            the term to look up
+	 * @return true if the dictionary contains the term
+	 */
+	public boolean contains(String term) {
+		checkNotNull(term);
+		int state = 0;
+		for (int i = 0; i < term.length(); i++) {
+			state = next(state, term.charAt(i));
+			if (state < 0) {
+				return false;
+			}
+		}
+		return terminal[state];
+	}
+
+	private int next(int state, char label) {
+		final int from = arcStart[state];
+		final int to = arcStart[state + 1];
+		final int arc = Arrays.binarySearch(labels, from, to, label);
+		return arc < 0 ? -1 : targets[arc];
+	}
+
+	/**
+	 * Returns all terms accepted by the automaton for the query. These are
+	 * the terms within the distance of the automaton from the query. Terms
+	 * are returned in ascending order.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param automaton
+	 *            the automaton that defines the distance
+	 * @return the terms within the distance of the automaton
+	 */
+	public List<String> within(String query, LevenshteinAutomaton automaton) {
+		checkNotNull(query);
+		checkNotNull(automaton);
+		final List<String> matches = new ArrayList<>();
+		if (size > 0) {
+			within(query, automaton, 0, automaton.initial(), 0,
+					new char[maxLength], 0, matches);
+		}
+		return matches;
+	}
+
+	private void within(String query, LevenshteinAutomaton automaton,
+			int state, State position, int base, char[] term, int depth,
+			List<String> matches) {
+		if (terminal[state] && automaton.accepts(position, query, base)) {
+			matches.add(new String(term, 0, depth));
+		}
+
+		for (int arc = arcStart[state]; arc < arcStart[state + 1]; arc++) {
+			final Transition transition = automaton.step(position, query,
+					base, labels[arc]);
+			if (transition.next != null) {
+				term[depth] = labels[arc];
+				within(query, automaton, targets[arc], transition.next, base
+						+ transition.shift, term, depth + 1, matches);
+			}
+		}
+	}
+
+	/**
+	 * Returns all terms within distance {@code max} of the query as measured
+	 * by the Levenshtein metric. Terms are returned in ascending order.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param metric
+	 *            the metric that defines the distance
+	 * @param max
+	 *            the maximum distance, inclusive
+	 * @return the terms within distance {@code max}
+	 */
+	public List<String> within(String query, Levenshtein metric, float max) {
+		checkNotNull(metric);
+		return new Walk(query, metric.getInsertDelete(), metric
+				.getSubstitute(), 0.0f, false, max).run();
+	}
+
+	/**
+	 * Returns all terms within distance {@code max} of the query as measured
+	 * by the Damerau-Levenshtein metric. Terms are returned in ascending
+	 * order.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param metric
+	 *            the metric that defines the distance
+	 * @param max
+	 *            the maximum distance, inclusive
+	 * @return the terms within distance {@code max}
+	 */
+	public List<String> within(String query, DamerauLevenshtein metric,
+			float max) {
+		checkNotNull(metric);
+		return new Walk(query, metric.getInsertDelete(), metric
+				.getSubstitute(), metric.getTranspose(), true, max).run();
+	}
+
+	/**
+	 * Computes the edit distance matrix between the terms and the query one
+	 * row per term character. Row {@code d} holds the distances of the
+	 * current term prefix of length {@code d}.
+	 */
+	private final class Walk {
+
+		private final String query;
+		private final float insertDelete;
+		private final float substitute;
+		private final float transpose;
+		private final boolean transpositions;
+		private final float max;
+
+		private final float[][] rows;
+		private final float[] rowMin;
+		private final char[] term;
+		private final List<String> matches = new ArrayList<>();
+
+		Walk(String query, float insertDelete, float substitute,
+				float transpose, boolean transpositions, float max) {
+			this.query = checkNotNull(query);
+			this.insertDelete = insertDelete;
+			this.substitute = substitute;
+			this.transpose = transpose;
+			this.transpositions = transpositions;
+			this.max = max;
+			this.rows = new float[maxLength + 1][query.length() + 1];
+			this.rowMin = new float[maxLength + 1];
+			this.term = new char[maxLength];
+		}
+
+		List<String> run() {
+			if (size == 0) {
+				return matches;
+			}
+
+			final float[] row = rows[0];
+			for (int j = 0; j < row.length; j++) {
+				row[j] = j * insertDelete;
+			}
+			rowMin[0] = 0.0f;
+			visit(0, 0);
+			return matches;
+		}
+
+		private void visit(int state, int depth) {
+			if (terminal[state] && distance(depth) <= max) {
+				matches.add(new String(term, 0, depth));
+			}
+
+			for (int arc = arcStart[state]; arc < arcStart[state + 1]; arc++) {
+				term[depth] = labels[arc];
+				computeRow(depth + 1);
+
+				// A transposition skips a row but no path skips two rows
+				if (rowMin[depth + 1] <= max
+						|| (transpositions && rowMin[depth] <= max)) {
+					visit(targets[arc], depth + 1);
+				}
+			}
+		}
+
+		private float distance(int depth) {
+			// Levenshtein measures the distance to an empty string in
+			// characters regardless of the cost of deletion
+			if (!transpositions && depth == 0) {
+				return query.length();
+			}
+			if (!transpositions && query.isEmpty()) {
+				return depth;
+			}
+			return rows[depth][query.length()];
+		}
+
+		private void computeRow(int depth) {
+			final int i = depth - 1;
+			final char c = term[i];
+			final float[] v0 = i > 0 ? rows[i - 1] : null;
+			final float[] v1 = rows[i];
+			final float[] v2 = rows[depth];
+
+			v2[0] = depth * insertDelete;
+			float minimum = v2[0];
+			for (int j = 0; j < query.length(); j++) {
+				final float cost = c == query.charAt(j) ? 0.0f : substitute;
+				if (transpositions && j > 0 && i > 0
+						&& term[i - 1] == query.charAt(j)
+						&& c == query.charAt(j - 1)) {
+					v2[j + 1] = min(min(v2[j] + insertDelete, v1[j + 1]
+							+ insertDelete), min(v1[j] + cost, v0[j - 1]
+							+ transpose));
+				} else {
+					v2[j + 1] = min(min(v2[j] + insertDelete, v1[j + 1]
+							+ insertDelete), v1[j] + cost);
+				}
+				minimum = min(minimum, v2[j + 1]);
+			}
+
+			rowMin[depth] = !transpositions && query.isEmpty() ? depth
+					: minimum;
+		}
+	}
+
+	/**
+	 * Returns the number of terms in the dictionary.
+	 * 
+	 * @return the number of terms
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return "Dawg [size=" + size + ", states=" + terminal.length + "]";
+	}
+
+}
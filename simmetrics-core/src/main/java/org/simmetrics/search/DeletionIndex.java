@@ -0,0 +1,597 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.abs;
+import static java.lang.Math.min;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.simmetrics.metrics.DamerauLevenshtein;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Symmetric delete index for spelling correction under the
+ * Damerau-Levenshtein distance.
+ * <p>
+ * Two strings within distance {@code k} of each other can both be reduced to
+ * a common string by deleting at most {@code k} characters from each. A
+ * substitution deletes a character from both strings, a transposition one of
+ * the two transposed characters. Each term is expanded into all strings
+ * obtained by deleting up to {@code k} of its characters. A query looks up its
+ * own deletions and only the terms that share a deletion are verified with a
+ * bounded {@link DamerauLevenshtein} distance.
+ * <p>
+ * Deletions are stored as 32 bit hashes in an open addressing hash table that
+ * maps each hash to a list of term ids. A hash collision only adds a
+ * candidate that fails verification. To bound the number of deletions only
+ * the first {@code prefixLength} characters of each term and query are
+ * expanded. This does not affect the result: when two strings are within
+ * distance {@code k} their prefixes still share a deletion.
+ * <p>
+ * The index is stored in a single buffer. The same layout is used in memory
+ * and on disk so an index written with {@link #writeTo(WritableByteChannel)}
+ * can be memory-mapped with {@link #map(Path)} without deserialization.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * <pre>
+ * {@code
+ * DeletionIndex index = DeletionIndex.create(words, 2, 7);
+ * 
+ * List<DeletionIndex.Match> corrections = index.within("chapmna", 2);
+ * }
+ * </pre>
+ * 
+ * @see <a href="https://github.com/wolfgarbe/SymSpell">SymSpell</a>
+ */
+public final class DeletionIndex {
+
+	private static final int MAGIC = 0x534D4458; // SMDX
+	private static final int VERSION = 1;
+
+	// magic, version, max distance, prefix length, terms, chars, keys, slots,
+	// postings
+	private static final int HEADER_SIZE = 9 * 4;
+
+	private static final DamerauLevenshtein METRIC = new DamerauLevenshtein();
+
+	/**
+	 * A term in the index and its distance to the query.
+	 * <p>
+	 * This class is immutable and thread-safe.
+	 */
+	public static final class Match {
+
+		private final int id;
+		private final String value;
+		private final int distance;
+
+		Match(int id, String value, int distance) {
+			this.id = id;
+			this.value = value;
+			this.distance = distance;
+		}
+
+		/**
+		 * Returns the id of the term. Terms are numbered in the order they
+		 * were first added to the index.
+		 * 
+		 * @return the id of the term
+		 */
+		public int getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the term.
+		 * 
+		 * @return the term
+		 */
+		public String getValue() {
+			return value;
+		}
+
+		/**
+		 * Returns the distance of the term to the query.
+		 * 
+		 * @return the distance of the term to the query
+		 */
+		public int getDistance() {
+			return distance;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * id + value.hashCode()) + distance;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Match)) {
+				return false;
+			}
+			final Match other = (Match) obj;
+			return id == other.id && value.equals(other.value)
+					&& distance == other.distance;
+		}
+
+		@Override
+		public String toString() {
+			return "Match [id=" + id + ", value=" + value + ", distance="
+					+ distance + "]";
+		}
+	}
+
+	private static final Comparator<Match> BY_DISTANCE = new Comparator<Match>() {
+		@Override
+		public int compare(Match o1, Match o2) {
+			final int c = Integer.compare(o1.distance, o2.distance);
+			return c != 0 ? c : Integer.compare(o1.id, o2.id);
+		}
+	};
+
+	/**
+	 * Growable array of ints.
+	 */
+	private static final class IntList {
+
+		int[] values = new int[16];
+		int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			values[size++] = value;
+		}
+
+		/**
+		 * Sorts the values and removes duplicates.
+		 */
+		void distinct() {
+			Arrays.sort(values, 0, size);
+			int n = 0;
+			for (int i = 0; i < size; i++) {
+				if (n == 0 || values[n - 1] != values[i]) {
+					values[n++] = values[i];
+				}
+			}
+			size = n;
+		}
+	}
+
+	/**
+	 * Creates a new index over the given terms. Duplicate terms are stored
+	 * once. All characters of each term are expanded.
+	 * 
+	 * @param terms
+	 *            the terms to index
+	 * @param maxDistance
+	 *            the largest distance that can be searched for
+	 * @return a new index
+	 */
+	public static DeletionIndex create(Iterable<String> terms, int maxDistance) {
+		return create(terms, maxDistance, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a new index over the given terms. Duplicate terms are stored
+	 * once. Only the first {@code prefixLength} characters of each term are
+	 * expanded.
+	 * 
+	 * @param terms
+	 *            the terms to index
+	 * @param maxDistance
+	 *            the largest distance that can be searched for
+	 * @param prefixLength
+	 *            the number of characters to expand
+	 * @return a new index
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when the max distance is negative or when the prefix length
+	 *             does not exceed the max distance
+	 */
+	public static DeletionIndex create(Iterable<String> terms,
+			int maxDistance, int prefixLength) {
+		checkNotNull(terms);
+		checkArgument(maxDistance >= 0, "maxDistance may not be negative");
+		checkArgument(prefixLength > maxDistance,
+				"prefixLength must be greater than maxDistance");
+		return new DeletionIndex(compile(ImmutableSet.copyOf(terms),
+				maxDistance, prefixLength));
+	}
+
+	private static ByteBuffer compile(Set<String> terms, int maxDistance,
+			int prefixLength) {
+
+		// Pairs of deletion hash and term id, sorted by hash
+		long[] pairs = new long[16];
+		int n = 0;
+		long chars = 0;
+		int id = 0;
+		for (String term : terms) {
+			final IntList hashes = deletions(term, maxDistance, prefixLength);
+			hashes.distinct();
+			if (n + hashes.size > pairs.length) {
+				pairs = Arrays.copyOf(pairs,
+						Math.max(n + hashes.size, 2 * pairs.length));
+			}
+			for (int i = 0; i < hashes.size; i++) {
+				pairs[n++] = (long) hashes.values[i] << 32 | id;
+			}
+			chars += term.length();
+			id++;
+		}
+		Arrays.sort(pairs, 0, n);
+
+		int keys = 0;
+		for (int i = 0; i < n; i++) {
+			if (i == 0 || key(pairs[i]) != key(pairs[i - 1])) {
+				keys++;
+			}
+		}
+
+		final int slots = slots(keys);
+		final long capacity = HEADER_SIZE + 4L * slots + 4L * keys + 4L
+				* (keys + 1) + 4L * n + 4L * (terms.size() + 1) + 2L * chars;
+		checkArgument(capacity <= Integer.MAX_VALUE, "dictionary too large");
+
+		final ByteBuffer buffer = ByteBuffer.allocate((int) capacity);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(maxDistance)
+				.putInt(prefixLength).putInt(terms.size()).putInt((int) chars)
+				.putInt(keys).putInt(slots).putInt(n);
+
+		final Layout layout = new Layout(slots, keys, n, terms.size());
+
+		int key = -1;
+		for (int i = 0; i < n; i++) {
+			final int hash = key(pairs[i]);
+			if (i == 0 || hash != key(pairs[i - 1])) {
+				key++;
+				int slot = mix(hash) & (slots - 1);
+				while (buffer.getInt(layout.slotBase + 4 * slot) != 0) {
+					slot = (slot + 1) & (slots - 1);
+				}
+				buffer.putInt(layout.slotBase + 4 * slot, key + 1);
+				buffer.putInt(layout.hashBase + 4 * key, hash);
+				buffer.putInt(layout.postingOffsetBase + 4 * key, i);
+			}
+			buffer.putInt(layout.postingBase + 4 * i, (int) pairs[i]);
+		}
+		buffer.putInt(layout.postingOffsetBase + 4 * keys, n);
+
+		int offset = 0;
+		id = 0;
+		for (String term : terms) {
+			buffer.putInt(layout.termOffsetBase + 4 * id, offset);
+			for (int i = 0; i < term.length(); i++) {
+				buffer.putChar(layout.charBase + 2 * (offset + i),
+						term.charAt(i));
+			}
+			offset += term.length();
+			id++;
+		}
+		buffer.putInt(layout.termOffsetBase + 4 * id, offset);
+
+		buffer.clear();
+		return buffer;
+	}
+
+	private static int key(long pair) {
+		return (int) (pair >> 32);
+	}
+
+	private static int slots(int keys) {
+		// Power of two with a load factor of at most 0.5
+		int slots = 2;
+		while (slots < 2L * keys) {
+			slots <<= 1;
+		}
+		return slots;
+	}
+
+	private static int mix(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Returns the hashes of all strings obtained by deleting up to
+	 * {@code maxDistance} characters from the prefix of {@code value}.
+	 */
+	private static IntList deletions(String value, int maxDistance,
+			int prefixLength) {
+		final char[] chars = value.substring(0,
+				min(value.length(), prefixLength)).toCharArray();
+		final IntList hashes = new IntList();
+		deletions(chars, new boolean[chars.length], 0, maxDistance, hashes);
+		return hashes;
+	}
+
+	private static void deletions(char[] chars, boolean[] deleted, int from,
+			int remaining, IntList hashes) {
+		// String.hashCode is specified and thus stable across JVMs
+		int hash = 0;
+		for (int i = 0; i < chars.length; i++) {
+			if (!deleted[i]) {
+				hash = 31 * hash + chars[i];
+			}
+		}
+		hashes.add(hash);
+
+		if (remaining == 0) {
+			return;
+		}
+		for (int i = from; i < chars.length; i++) {
+			deleted[i] = true;
+			deletions(chars, deleted, i + 1, remaining - 1, hashes);
+			deleted[i] = false;
+		}
+	}
+
+	/**
+	 * Offsets of the sections of the buffer.
+	 */
+	private static final class Layout {
+
+		final int slotBase;
+		final int hashBase;
+		final int postingOffsetBase;
+		final int postingBase;
+		final int termOffsetBase;
+		final int charBase;
+
+		Layout(int slots, int keys, int postings, int terms) {
+			this.slotBase = HEADER_SIZE;
+			this.hashBase = slotBase + 4 * slots;
+			this.postingOffsetBase = hashBase + 4 * keys;
+			this.postingBase = postingOffsetBase + 4 * (keys + 1);
+			this.termOffsetBase = postingBase + 4 * postings;
+			this.charBase = termOffsetBase + 4 * (terms + 1);
+		}
+	}
+
+	/**
+	 * Wraps a buffer containing an index written by
+	 * {@link #writeTo(WritableByteChannel)}. The buffer is not copied.
+	 * 
+	 * @param buffer
+	 *            the buffer to wrap
+	 * @return the index in the buffer
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when the buffer does not contain a deletion index
+	 */
+	public static DeletionIndex wrap(ByteBuffer buffer) {
+		final ByteBuffer table = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+		checkArgument(table.capacity() >= HEADER_SIZE
+				&& table.getInt(0) == MAGIC, "not a deletion index");
+		checkArgument(table.getInt(4) == VERSION,
+				"unsupported deletion index version %s", table.getInt(4));
+
+		final int maxDistance = table.getInt(8);
+		final int prefixLength = table.getInt(12);
+		final int terms = table.getInt(16);
+		final int chars = table.getInt(20);
+		final int keys = table.getInt(24);
+		final int slots = table.getInt(28);
+		final int postings = table.getInt(32);
+		checkArgument(maxDistance >= 0 && prefixLength > maxDistance
+				&& terms >= 0 && chars >= 0 && keys >= 0 && postings >= 0,
+				"corrupt deletion index header");
+		checkArgument(slots >= 2 && Integer.bitCount(slots) == 1
+				&& slots >= 2L * keys, "corrupt deletion index header");
+
+		final long capacity = HEADER_SIZE + 4L * slots + 4L * keys + 4L
+				* (keys + 1L) + 4L * postings + 4L * (terms + 1L) + 2L * chars;
+		checkArgument(table.capacity() == capacity,
+				"truncated deletion index");
+		return new DeletionIndex(table);
+	}
+
+	/**
+	 * Memory-maps an index written by {@link #writeTo(WritableByteChannel)}
+	 * from a file.
+	 * 
+	 * @param path
+	 *            the file to map
+	 * @return the index in the file
+	 * @throws IOException
+	 *             when the file could not be mapped
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when the file does not contain a deletion index
+	 */
+	public static DeletionIndex map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.READ)) {
+			return wrap(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	private final ByteBuffer table;
+	private final int maxDistance;
+	private final int prefixLength;
+	private final int terms;
+	private final int slots;
+	private final Layout layout;
+
+	private DeletionIndex(ByteBuffer table) {
+		this.table = table;
+		this.maxDistance = table.getInt(8);
+		this.prefixLength = table.getInt(12);
+		this.terms = table.getInt(16);
+		this.slots = table.getInt(28);
+		this.layout = new Layout(slots, table.getInt(24), table.getInt(32),
+				terms);
+	}
+
+	/**
+	 * Returns all terms within Damerau-Levenshtein distance {@code k} of the
+	 * query. Matches are ordered by ascending distance and then by id.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param k
+	 *            the maximum distance, inclusive
+	 * @return the terms within distance {@code k}
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when k is negative or exceeds the max distance of the index
+	 */
+	public List<Match> within(String query, int k) {
+		checkNotNull(query);
+		checkArgument(k >= 0 && k <= maxDistance,
+				"k must be in the range [0, %s]", maxDistance);
+
+		final IntList hashes = deletions(query, k, prefixLength);
+		hashes.distinct();
+
+		final IntList candidates = new IntList();
+		for (int i = 0; i < hashes.size; i++) {
+			final int key = key(hashes.values[i]);
+			if (key < 0) {
+				continue;
+			}
+			final int from = table.getInt(layout.postingOffsetBase + 4 * key);
+			final int to = table.getInt(layout.postingOffsetBase + 4 * key + 4);
+			for (int j = from; j < to; j++) {
+				candidates.add(table.getInt(layout.postingBase + 4 * j));
+			}
+		}
+		candidates.distinct();
+
+		final List<Match> matches = new ArrayList<>();
+		for (int i = 0; i < candidates.size; i++) {
+			final int id = candidates.values[i];
+			final int start = table.getInt(layout.termOffsetBase + 4 * id);
+			final int end = table.getInt(layout.termOffsetBase + 4 * id + 4);
+			if (abs(end - start - query.length()) > k) {
+				continue;
+			}
+
+			final String term = term(start, end);
+			final float distance = METRIC.distance(query, term, k);
+			if (distance <= k) {
+				matches.add(new Match(id, term, (int) distance));
+			}
+		}
+
+		Collections.sort(matches, BY_DISTANCE);
+		return matches;
+	}
+
+	/**
+	 * Returns the index of the hash in the table or -1 if no deletion has
+	 * this hash.
+	 */
+	private int key(int hash) {
+		int slot = mix(hash) & (slots - 1);
+		int key;
+		while ((key = table.getInt(layout.slotBase + 4 * slot) - 1) >= 0) {
+			if (table.getInt(layout.hashBase + 4 * key) == hash) {
+				return key;
+			}
+			slot = (slot + 1) & (slots - 1);
+		}
+		return -1;
+	}
+
+	private String term(int start, int end) {
+		final char[] chars = new char[end - start];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = table.getChar(layout.charBase + 2 * (start + i));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Returns the number of distinct terms in the index.
+	 * 
+	 * @return the number of terms
+	 */
+	public int size() {
+		return terms;
+	}
+
+	/**
+	 * Returns the largest distance that can be searched for.
+	 * 
+	 * @return the largest distance that can be searched for
+	 */
+	public int getMaxDistance() {
+		return maxDistance;
+	}
+
+	/**
+	 * Returns the number of characters of each term and query that are
+	 * expanded into deletions.
+	 * 
+	 * @return the number of characters that are expanded
+	 */
+	public int getPrefixLength() {
+		return prefixLength;
+	}
+
+	/**
+	 * Writes this index to a channel. The written index can be read with
+	 * {@link #wrap(ByteBuffer)} or {@link #map(Path)}.
+	 * 
+	 * @param channel
+	 *            the channel to write to
+	 * @throws IOException
+	 *             when the index could not be written
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		final ByteBuffer duplicate = table.duplicate();
+		duplicate.clear();
+		while (duplicate.hasRemaining()) {
+			channel.write(duplicate);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DeletionIndex [terms=" + terms + ", maxDistance="
+				+ maxDistance + ", prefixLength=" + prefixLength + "]";
+	}
+
+}
@@ -0,0 +1,269 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.simmetrics.metrics.HammingDistance;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Ints;
+
+/**
+ * Multi-index hashing search structure for fixed-length codes under the
+ * Hamming distance.
+ * <p>
+ * Each code is split into {@code m} disjoint substrings and every substring is
+ * stored in its own hash table. By the pigeonhole principle two codes within
+ * Hamming distance {@code r} have at least one substring within distance
+ * {@code r / m} of each other. A range query only visits the codes that share
+ * such a substring and verifies them against the full code.
+ * <p>
+ * For {@code r < m} candidates are found with a single exact hash lookup per
+ * substring. For larger radii the distinct substrings of each table are
+ * scanned instead of the codes themselves.
+ * <p>
+ * Codes are stored back to back in a single {@code char} array. Verification
+ * compares the query against this array directly and stops as soon as the
+ * radius is exceeded.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @see HammingDistance
+ * @see <a href="https://www.cs.toronto.edu/~norouzi/research/papers/multi_index_hashing.pdf">
+ *      Norouzi et al. - Fast Search in Hamming Space with Multi-Index Hashing</a>
+ */
+public final class HammingIndex {
+
+	/**
+	 * Creates a new index over the given codes. All codes must have the same
+	 * length. Duplicate codes are stored once.
+	 *
+	 * @param codes
+	 *            the codes to index
+	 * @param substrings
+	 *            the number of substrings to split each code into
+	 * @return a new index
+	 *
+	 * @throws IllegalArgumentException
+	 *             when the codes differ in length or when substrings is not in
+	 *             the range {@code [1, length]}
+	 */
+	public static HammingIndex create(Collection<String> codes, int substrings) {
+		checkNotNull(codes);
+		final Set<String> unique = ImmutableSet.copyOf(codes);
+		final int length = unique.isEmpty() ? 0 : unique.iterator().next()
+				.length();
+
+		checkArgument(substrings > 0, "substrings must be greater then 0");
+		checkArgument(unique.isEmpty() || substrings <= length,
+				"substrings may not exceed the code length");
+
+		return new HammingIndex(unique, length, substrings);
+	}
+
+	private final char[] codes;
+	private final int length;
+	private final int size;
+
+	// Substring i spans [bounds[i], bounds[i + 1])
+	private final int[] bounds;
+	private final List<Map<String, int[]>> tables;
+
+	private HammingIndex(Set<String> unique, int length, int substrings) {
+		this.length = length;
+		this.size = unique.size();
+		this.codes = new char[size * length];
+		this.bounds = new int[substrings + 1];
+
+		for (int i = 0; i <= substrings; i++) {
+			bounds[i] = (int) ((long) length * i / substrings);
+		}
+
+		final List<Map<String, List<Integer>>> postings = new ArrayList<>(
+				substrings);
+		for (int i = 0; i < substrings; i++) {
+			postings.add(new HashMap<String, List<Integer>>());
+		}
+
+		int id = 0;
+		for (String code : unique) {
+			checkArgument(code.length() == length,
+					"all codes must have the same length");
+			code.getChars(0, length, codes, id * length);
+
+			for (int i = 0; i < substrings; i++) {
+				final String key = code.substring(bounds[i], bounds[i + 1]);
+				List<Integer> posting = postings.get(i).get(key);
+				if (posting == null) {
+					posting = new ArrayList<>(1);
+					postings.get(i).put(key, posting);
+				}
+				posting.add(id);
+			}
+			id++;
+		}
+
+		// Compact posting lists into primitive arrays
+		this.tables = new ArrayList<>(substrings);
+		for (Map<String, List<Integer>> posting : postings) {
+			final Map<String, int[]> table = new HashMap<>(posting.size() * 2);
+			for (Entry<String, List<Integer>> e : posting.entrySet()) {
+				table.put(e.getKey(), Ints.toArray(e.getValue()));
+			}
+			tables.add(table);
+		}
+	}
+
+	/**
+	 * Returns all indexed codes within Hamming distance {@code r} of the
+	 * given code.
+	 *
+	 * @param code
+	 *            the code to search for
+	 * @param r
+	 *            the maximum Hamming distance, inclusive
+	 * @return the codes within distance {@code r}
+	 *
+	 * @throws IllegalArgumentException
+	 *             when the code differs in length from the indexed codes or
+	 *             when r is negative
+	 */
+	public List<String> within(String code, int r) {
+		checkNotNull(code);
+		checkArgument(r >= 0, "r may not be negative");
+
+		final List<String> matches = new ArrayList<>();
+		if (size == 0) {
+			return matches;
+		}
+		checkArgument(code.length() == length,
+				"code must have the same length as the indexed codes");
+
+		final int substrings = tables.size();
+		final int subRadius = r / substrings;
+
+		for (int i = 0; i < substrings; i++) {
+			final Map<String, int[]> table = tables.get(i);
+			final int start = bounds[i];
+			final int end = bounds[i + 1];
+
+			if (subRadius == 0) {
+				final int[] posting = table.get(code.substring(start, end));
+				if (posting != null) {
+					collect(code, r, i, subRadius, posting, matches);
+				}
+			} else {
+				for (Entry<String, int[]> e : table.entrySet()) {
+					if (distance(e.getKey(), code, start, subRadius) <= subRadius) {
+						collect(code, r, i, subRadius, e.getValue(), matches);
+					}
+				}
+			}
+		}
+
+		return matches;
+	}
+
+	private void collect(String code, int r, int substring, int subRadius,
+			int[] posting, List<String> matches) {
+		for (int id : posting) {
+			// A code is found through every substring within the sub radius.
+			// Only report it from the first one to avoid duplicates.
+			if (!foundEarlier(code, id, substring, subRadius)
+					&& distance(code, id, r) <= r) {
+				matches.add(new String(codes, id * length, length));
+			}
+		}
+	}
+
+	private boolean foundEarlier(String code, int id, int substring,
+			int subRadius) {
+		final int offset = id * length;
+		for (int i = 0; i < substring; i++) {
+			int distance = 0;
+			for (int j = bounds[i]; j < bounds[i + 1] && distance <= subRadius; j++) {
+				if (codes[offset + j] != code.charAt(j)) {
+					distance++;
+				}
+			}
+			if (distance <= subRadius) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int distance(String code, int id, int max) {
+		final int offset = id * length;
+		int distance = 0;
+		for (int i = 0; i < length && distance <= max; i++) {
+			if (codes[offset + i] != code.charAt(i)) {
+				distance++;
+			}
+		}
+		return distance;
+	}
+
+	private static int distance(String key, String code, int offset, int max) {
+		int distance = 0;
+		for (int i = 0, length = key.length(); i < length && distance <= max; i++) {
+			if (key.charAt(i) != code.charAt(offset + i)) {
+				distance++;
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * Returns the number of distinct codes in this index.
+	 *
+	 * @return the number of codes
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the length of the indexed codes.
+	 *
+	 * @return the length of the codes
+	 */
+	public int getCodeLength() {
+		return length;
+	}
+
+	@Override
+	public String toString() {
+		return "HammingIndex [size=" + size + ", length=" + length
+				+ ", substrings=" + tables.size() + "]";
+	}
+
+}
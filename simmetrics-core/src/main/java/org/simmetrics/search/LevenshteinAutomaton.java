@@ -0,0 +1,334 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.abs;
+import static java.lang.Math.min;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Levenshtein;
+
+import com.google.common.primitives.Ints;
+
+/**
+ * Universal Levenshtein automaton. Accepts all strings within edit distance
+ * {@code k} of a word without computing a dynamic programming matrix.
+ * <p>
+ * A state is a set of positions {@code i#e}: {@code i} characters of the word
+ * have been consumed with {@code e} edits. Positions that accept a subset of
+ * the strings accepted by another position are removed. Positions are stored
+ * relative to the smallest position in the state, so states do not depend on
+ * the word. A transition on a character only depends on the state and on a
+ * characteristic vector that marks where the character occurs in a small
+ * window of the word. Transitions are computed once per state and
+ * characteristic vector and shared by all words.
+ * <p>
+ * With transpositions the automaton accepts strings within the optimal string
+ * alignment distance of {@link DamerauLevenshtein}. Without transpositions it
+ * accepts strings within the distance of {@link Levenshtein}. Both use unit
+ * costs.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @see Dawg#within(String, LevenshteinAutomaton)
+ * @see <a href="http://www.cis.uni-muenchen.de/people/Schulz/Pub/dictle5.ps">
+ *      Schulz and Mihov - Fast String Correction with Levenshtein-Automata</a>
+ */
+public final class LevenshteinAutomaton {
+
+	private static final int MAX_DISTANCE = 3;
+
+	/**
+	 * Creates an automaton for Levenshtein distance {@code k}.
+	 * 
+	 * @param k
+	 *            the maximum distance, in the range {@code [1, 3]}
+	 * @return a new automaton
+	 */
+	public static LevenshteinAutomaton create(int k) {
+		return new LevenshteinAutomaton(k, false);
+	}
+
+	/**
+	 * Creates an automaton for Damerau-Levenshtein distance {@code k}. An
+	 * adjacent transposition counts as a single edit.
+	 * 
+	 * @param k
+	 *            the maximum distance, in the range {@code [1, 3]}
+	 * @return a new automaton
+	 */
+	public static LevenshteinAutomaton withTranspositions(int k) {
+		return new LevenshteinAutomaton(k, true);
+	}
+
+	/**
+	 * Result of a transition. A failed transition has no next state.
+	 */
+	static final class Transition {
+
+		final State next;
+		final int shift;
+
+		Transition(State next, int shift) {
+			this.next = next;
+			this.shift = shift;
+		}
+	}
+
+	private static final Transition FAILED = new Transition(null, 0);
+
+	/**
+	 * Set of positions relative to the smallest position. A position is
+	 * encoded as {@code offset << 8 | errors << 1 | transposed}.
+	 */
+	static final class State {
+
+		final int[] positions;
+
+		// Number of characters of the word the transitions depend on
+		final int width;
+
+		final ConcurrentMap<Integer, Transition> transitions = new ConcurrentHashMap<>();
+
+		State(int[] positions, int k) {
+			this.positions = positions;
+			this.width = offset(positions[positions.length - 1]) + k + 2;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(positions);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof State
+					&& Arrays.equals(positions, ((State) obj).positions);
+		}
+	}
+
+	private final int k;
+	private final boolean transpositions;
+	private final State initial;
+
+	// Guarded by this
+	private final Map<State, State> states = new HashMap<>();
+
+	private LevenshteinAutomaton(int k, boolean transpositions) {
+		checkArgument(k >= 1 && k <= MAX_DISTANCE,
+				"k must be in the range [1, %s]", MAX_DISTANCE);
+		this.k = k;
+		this.transpositions = transpositions;
+		this.initial = intern(new int[] { position(0, 0, false) });
+	}
+
+	private static int position(int offset, int errors, boolean transposed) {
+		return offset << 8 | errors << 1 | (transposed ? 1 : 0);
+	}
+
+	private static int offset(int position) {
+		return position >>> 8;
+	}
+
+	private static int errors(int position) {
+		return (position >>> 1) & 0x7F;
+	}
+
+	private static boolean transposed(int position) {
+		return (position & 1) != 0;
+	}
+
+	State initial() {
+		return initial;
+	}
+
+	/**
+	 * Returns the transition of a state on a character. The state is
+	 * positioned at {@code base} in the word.
+	 */
+	Transition step(State state, String word, int base, char c) {
+		final int remaining = min(word.length() - base, state.width);
+		int vector = 0;
+		for (int i = 0; i < remaining; i++) {
+			if (word.charAt(base + i) == c) {
+				vector |= 1 << i;
+			}
+		}
+
+		final Integer key = remaining << 16 | vector;
+		Transition transition = state.transitions.get(key);
+		if (transition == null) {
+			transition = transition(state, vector, remaining);
+			state.transitions.putIfAbsent(key, transition);
+		}
+		return transition;
+	}
+
+	/**
+	 * Returns true if a state positioned at {@code base} accepts the word.
+	 */
+	boolean accepts(State state, String word, int base) {
+		final int remaining = word.length() - base;
+		for (int position : state.positions) {
+			if (!transposed(position)
+					&& remaining - offset(position) + errors(position) <= k) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Transition transition(State state, int vector, int remaining) {
+		final int[] next = new int[state.positions.length * (k + 3)];
+		int n = 0;
+
+		for (int position : state.positions) {
+			final int i = offset(position);
+			final int e = errors(position);
+			final boolean matches = i < remaining && (vector & 1 << i) != 0;
+
+			if (transposed(position)) {
+				// Second half of a transposition
+				if (matches) {
+					next[n++] = position(i + 2, e, false);
+				}
+				continue;
+			}
+
+			if (matches) {
+				// Any other edit is subsumed by the match
+				next[n++] = position(i + 1, e, false);
+				continue;
+			}
+
+			if (e == k) {
+				continue;
+			}
+
+			// Insertion and substitution
+			next[n++] = position(i, e + 1, false);
+			if (i < remaining) {
+				next[n++] = position(i + 1, e + 1, false);
+			}
+
+			// Delete j - 1 characters then match
+			for (int j = 2; j <= k - e + 1 && i + j - 1 < remaining; j++) {
+				if ((vector & 1 << (i + j - 1)) != 0) {
+					next[n++] = position(i + j, e + j - 1, false);
+					break;
+				}
+			}
+
+			// First half of a transposition
+			if (transpositions && i + 1 < remaining
+					&& (vector & 1 << (i + 1)) != 0) {
+				next[n++] = position(i, e + 1, true);
+			}
+		}
+
+		final int[] reduced = reduce(Arrays.copyOf(next, n));
+		if (reduced.length == 0) {
+			return FAILED;
+		}
+
+		final int shift = offset(Ints.min(reduced));
+		for (int i = 0; i < reduced.length; i++) {
+			reduced[i] -= shift << 8;
+		}
+		return new Transition(intern(reduced), shift);
+	}
+
+	/**
+	 * Removes duplicate positions and positions subsumed by other positions.
+	 * Position {@code i#e} subsumes {@code j#f} when {@code e < f} and
+	 * {@code |i - j| <= f - e}. Transposed positions are never subsumed.
+	 */
+	private static int[] reduce(int[] positions) {
+		Arrays.sort(positions);
+		final int[] reduced = new int[positions.length];
+		int n = 0;
+		for (int p = 0; p < positions.length; p++) {
+			final int q = positions[p];
+			if (p > 0 && positions[p - 1] == q) {
+				continue;
+			}
+			if (!transposed(q) && subsumed(q, positions)) {
+				continue;
+			}
+			reduced[n++] = q;
+		}
+		return Arrays.copyOf(reduced, n);
+	}
+
+	private static boolean subsumed(int q, int[] positions) {
+		for (int p : positions) {
+			if (!transposed(p) && errors(p) < errors(q)
+					&& abs(offset(p) - offset(q)) <= errors(q) - errors(p)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized State intern(int[] positions) {
+		final State state = new State(positions, k);
+		checkState(state.width <= 16, "state is too wide");
+		final State existing = states.get(state);
+		if (existing != null) {
+			return existing;
+		}
+		states.put(state, state);
+		return state;
+	}
+
+	/**
+	 * Returns the maximum distance of this automaton.
+	 * 
+	 * @return the maximum distance
+	 */
+	public int getDistance() {
+		return k;
+	}
+
+	/**
+	 * Returns true if this automaton counts transpositions as a single edit.
+	 * 
+	 * @return true if this automaton counts transpositions as a single edit
+	 */
+	public boolean hasTranspositions() {
+		return transpositions;
+	}
+
+	@Override
+	public String toString() {
+		return "LevenshteinAutomaton [k=" + k + ", transpositions="
+				+ transpositions + "]";
+	}
+
+}
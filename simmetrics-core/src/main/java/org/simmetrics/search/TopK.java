@@ -0,0 +1,495 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Float.NEGATIVE_INFINITY;
+import static java.lang.Float.floatToIntBits;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.max;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.simmetrics.BoundedMetric;
+import org.simmetrics.StringMetric;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Levenshtein;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Finds the {@code k} strings in a corpus that are most similar to a query.
+ * <p>
+ * The best matches are kept in a min-heap of primitive arrays. Once the heap
+ * holds {@code k} matches the similarity of its worst match is a threshold
+ * that any new match must reach. Candidates whose bounds fall below the
+ * threshold are skipped. When the metric is a {@link BoundedMetric}, such as
+ * {@link Levenshtein} or {@link DamerauLevenshtein}, the threshold is passed to
+ * the metric which can then stop early.
+ * <p>
+ * Matches are ordered by descending similarity. Matches with equal similarity
+ * are ordered by their position in the corpus. A parallel search splits the
+ * corpus into parts that share the highest threshold found so far and merges
+ * their heaps. It returns the same matches as a sequential search.
+ * <p>
+ * This class is immutable and thread-safe provided all its components are
+ * also immutable and thread-safe.
+ * 
+ * <pre>
+ * {@code
+ * TopK topK = TopK.builder()
+ * 		.bound(Cascade.lengthBound())
+ * 		.bound(Cascade.bagDistanceBound())
+ * 		.build(new Levenshtein(), 10);
+ * 
+ * List<TopK.Match> matches = topK.search("Sam J Chapman", names);
+ * }
+ * </pre>
+ * 
+ * @see Cascade
+ */
+public final class TopK {
+
+	private static final int CANDIDATES_PER_TASK = 4096;
+
+	/**
+	 * A string from the corpus and its similarity to the query.
+	 * <p>
+	 * This class is immutable and thread-safe.
+	 */
+	public static final class Match {
+
+		private final int id;
+		private final String value;
+		private final float similarity;
+
+		Match(int id, String value, float similarity) {
+			this.id = id;
+			this.value = value;
+			this.similarity = similarity;
+		}
+
+		/**
+		 * Returns the position of the string in the corpus.
+		 * 
+		 * @return the position of the string in the corpus
+		 */
+		public int getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the string.
+		 * 
+		 * @return the string
+		 */
+		public String getValue() {
+			return value;
+		}
+
+		/**
+		 * Returns the similarity of the string to the query.
+		 * 
+		 * @return the similarity of the string to the query
+		 */
+		public float getSimilarity() {
+			return similarity;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * id + value.hashCode())
+					+ Float.floatToIntBits(similarity);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Match)) {
+				return false;
+			}
+			final Match other = (Match) obj;
+			return id == other.id
+					&& value.equals(other.value)
+					&& Float.floatToIntBits(similarity) == Float
+							.floatToIntBits(other.similarity);
+		}
+
+		@Override
+		public String toString() {
+			return "Match [id=" + id + ", value=" + value + ", similarity="
+					+ similarity + "]";
+		}
+	}
+
+	/**
+	 * Builder for top-k searches.
+	 */
+	public static final class Builder {
+
+		private final List<StringMetric> bounds = new ArrayList<>();
+
+		Builder() {
+		}
+
+		/**
+		 * Adds a bound. The bound must be an upper bound on the similarity of
+		 * the metric. Bounds are evaluated in the order they were added,
+		 * before the metric.
+		 * 
+		 * @param bound
+		 *            an upper bound on the metric
+		 * @return this builder
+		 * 
+		 * @see Cascade#lengthBound()
+		 * @see Cascade#bagDistanceBound()
+		 * @see Cascade#jaroBound()
+		 */
+		public Builder bound(StringMetric bound) {
+			bounds.add(checkNotNull(bound));
+			return this;
+		}
+
+		/**
+		 * Builds a search for the {@code k} most similar strings.
+		 * 
+		 * @param metric
+		 *            the metric to compare strings with
+		 * @param k
+		 *            the number of matches to find
+		 * @return a new top-k search
+		 */
+		public TopK build(StringMetric metric, int k) {
+			checkNotNull(metric);
+			checkArgument(k > 0, "k must be greater than 0");
+			return new TopK(metric, bounds.toArray(new StringMetric[0]), k);
+		}
+	}
+
+	/**
+	 * Returns a builder for top-k searches.
+	 * 
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates a search for the {@code k} most similar strings without bounds.
+	 * 
+	 * @param metric
+	 *            the metric to compare strings with
+	 * @param k
+	 *            the number of matches to find
+	 * @return a new top-k search
+	 */
+	public static TopK create(StringMetric metric, int k) {
+		return builder().build(metric, k);
+	}
+
+	private final StringMetric metric;
+	private final BoundedMetric<String> boundedMetric;
+	private final StringMetric[] bounds;
+	private final int k;
+
+	@SuppressWarnings("unchecked")
+	private TopK(StringMetric metric, StringMetric[] bounds, int k) {
+		this.metric = metric;
+		this.boundedMetric = metric instanceof BoundedMetric
+				? (BoundedMetric<String>) metric : null;
+		this.bounds = bounds;
+		this.k = k;
+	}
+
+	/**
+	 * Returns the {@code k} strings in the corpus most similar to the query.
+	 * Returns fewer matches when the corpus has fewer strings.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param corpus
+	 *            the strings to search
+	 * @return the best matches, most similar first
+	 */
+	public List<Match> search(String query, List<String> corpus) {
+		checkNotNull(query);
+		checkNotNull(corpus);
+		return search(query, corpus, 0, corpus.size(), new Threshold())
+				.toMatches();
+	}
+
+	/**
+	 * Returns the {@code k} strings in the corpus most similar to the query.
+	 * Returns fewer matches when the corpus has fewer strings. Parts of the
+	 * corpus are searched in parallel on the executor.
+	 * <p>
+	 * The metric and bounds must be thread-safe.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param corpus
+	 *            the strings to search
+	 * @param executor
+	 *            the executor to search parts of the corpus on
+	 * @return the best matches, most similar first
+	 * @throws InterruptedException
+	 *             when interrupted while waiting for the search
+	 */
+	public List<Match> search(final String query, final List<String> corpus,
+			ExecutorService executor) throws InterruptedException {
+		checkNotNull(query);
+		checkNotNull(corpus);
+		checkNotNull(executor);
+
+		final Threshold threshold = new Threshold();
+		final List<Callable<Heap>> tasks = new ArrayList<>();
+		for (int start = 0; start < corpus.size(); start += CANDIDATES_PER_TASK) {
+			final int from = start;
+			final int to = Math.min(corpus.size(), start + CANDIDATES_PER_TASK);
+			tasks.add(new Callable<Heap>() {
+				@Override
+				public Heap call() {
+					return search(query, corpus, from, to, threshold);
+				}
+			});
+		}
+
+		final Heap merged = new Heap(k);
+		for (Future<Heap> future : executor.invokeAll(tasks)) {
+			try {
+				merged.offerAll(future.get());
+			} catch (ExecutionException e) {
+				throw Throwables.propagate(e.getCause());
+			}
+		}
+		return merged.toMatches();
+	}
+
+	private Heap search(String query, List<String> corpus, int from, int to,
+			Threshold shared) {
+		final Heap heap = new Heap(k);
+		int id = from;
+		for (String candidate : corpus.subList(from, to)) {
+			final float threshold = max(heap.threshold(), shared.get());
+			if (withinBounds(query, candidate, threshold)) {
+				final float similarity = boundedMetric == null ? metric
+						.compare(query, candidate) : boundedMetric.compare(
+						query, candidate, threshold);
+				// Also rejects NaN
+				if (similarity >= threshold
+						&& heap.offer(id, candidate, similarity)
+						&& heap.isFull()) {
+					shared.raise(heap.threshold());
+				}
+			}
+			id++;
+		}
+		return heap;
+	}
+
+	private boolean withinBounds(String query, String candidate,
+			float threshold) {
+		if (threshold == NEGATIVE_INFINITY) {
+			return true;
+		}
+		for (StringMetric bound : bounds) {
+			if (bound.compare(query, candidate) < threshold) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the metric strings are compared with.
+	 * 
+	 * @return the metric strings are compared with
+	 */
+	public StringMetric getMetric() {
+		return metric;
+	}
+
+	/**
+	 * Returns the number of matches to find.
+	 * 
+	 * @return the number of matches to find
+	 */
+	public int getK() {
+		return k;
+	}
+
+	@Override
+	public String toString() {
+		return "TopK [metric=" + metric + ", bounds=" + Arrays.toString(bounds)
+				+ ", k=" + k + "]";
+	}
+
+	/**
+	 * Highest threshold found by any part of a search.
+	 */
+	private static final class Threshold {
+
+		private final AtomicInteger bits = new AtomicInteger(
+				floatToIntBits(NEGATIVE_INFINITY));
+
+		Threshold() {
+		}
+
+		float get() {
+			return intBitsToFloat(bits.get());
+		}
+
+		void raise(float threshold) {
+			for (;;) {
+				final int current = bits.get();
+				if (intBitsToFloat(current) >= threshold
+						|| bits.compareAndSet(current, floatToIntBits(threshold))) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bounded min-heap of matches. The root is the worst match: the least
+	 * similar and, among equally similar matches, the last in the corpus.
+	 */
+	private static final class Heap {
+
+		private final int[] ids;
+		private final String[] values;
+		private final float[] similarities;
+		private int size;
+
+		Heap(int capacity) {
+			ids = new int[capacity];
+			values = new String[capacity];
+			similarities = new float[capacity];
+		}
+
+		boolean isFull() {
+			return size == ids.length;
+		}
+
+		float threshold() {
+			return isFull() ? similarities[0] : NEGATIVE_INFINITY;
+		}
+
+		boolean offer(int id, String value, float similarity) {
+			if (!isFull()) {
+				set(size, id, value, similarity);
+				siftUp(size++);
+				return true;
+			}
+			if (!worse(similarities[0], ids[0], similarity, id)) {
+				return false;
+			}
+			set(0, id, value, similarity);
+			siftDown(0);
+			return true;
+		}
+
+		void offerAll(Heap heap) {
+			for (int i = 0; i < heap.size; i++) {
+				offer(heap.ids[i], heap.values[i], heap.similarities[i]);
+			}
+		}
+
+		List<Match> toMatches() {
+			// Polling the worst match first fills the array from the back
+			final Match[] matches = new Match[size];
+			while (size > 0) {
+				matches[size - 1] = new Match(ids[0], values[0],
+						similarities[0]);
+				size--;
+				set(0, ids[size], values[size], similarities[size]);
+				values[size] = null;
+				siftDown(0);
+			}
+			return ImmutableList.copyOf(matches);
+		}
+
+		private void siftUp(int i) {
+			while (i > 0) {
+				final int parent = (i - 1) >>> 1;
+				if (!worse(i, parent)) {
+					return;
+				}
+				swap(i, parent);
+				i = parent;
+			}
+		}
+
+		private void siftDown(int i) {
+			for (;;) {
+				final int left = 2 * i + 1;
+				if (left >= size) {
+					return;
+				}
+				final int right = left + 1;
+				final int child = right < size && worse(right, left) ? right
+						: left;
+				if (!worse(child, i)) {
+					return;
+				}
+				swap(i, child);
+				i = child;
+			}
+		}
+
+		private boolean worse(int i, int j) {
+			return worse(similarities[i], ids[i], similarities[j], ids[j]);
+		}
+
+		private static boolean worse(float similarityA, int idA,
+				float similarityB, int idB) {
+			return similarityA < similarityB
+					|| (similarityA == similarityB && idA > idB);
+		}
+
+		private void set(int i, int id, String value, float similarity) {
+			ids[i] = id;
+			values[i] = value;
+			similarities[i] = similarity;
+		}
+
+		private void swap(int i, int j) {
+			final int id = ids[i];
+			final String value = values[i];
+			final float similarity = similarities[i];
+			set(i, ids[j], values[j], similarities[j]);
+			set(j, id, value, similarity);
+		}
+	}
+
+}
@@ -0,0 +1,710 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Float.POSITIVE_INFINITY;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.simmetrics.StringDistance;
+
+/**
+ * Vantage-point tree for range and nearest neighbor queries under a distance
+ * that satisfies the triangle inequality.
+ * <p>
+ * Each node picks a vantage point and splits the remaining strings at the
+ * median of their distance to it. Strings closer then the median go to the
+ * inside subtree, the others to the outside subtree. For each node the
+ * largest inside distance and the smallest outside distance are kept. A
+ * query at distance {@code d} from the vantage point only visits the inside
+ * subtree when {@code d - r} does not exceed the largest inside distance and
+ * only visits the outside subtree when {@code d + r} reaches the smallest
+ * outside distance. Unlike a BK-tree the distance does not have to be integer
+ * valued.
+ * <p>
+ * The tree is stored in flat arrays. A node covering positions
+ * {@code [start, end)} keeps its vantage point at {@code start}, its inside
+ * subtree at {@code [start + 1, split)} and its outside subtree at
+ * {@code [split, end)}. The node bounds are stored at the position of its
+ * vantage point, so no node objects or child pointers are needed. Small nodes
+ * are scanned linearly.
+ * <p>
+ * The distance must be symmetric and satisfy the triangle inequality, see
+ * {@link org.simmetrics.Capability#TRIANGLE_INEQUALITY}. Examples are
+ * {@link org.simmetrics.metrics.Levenshtein} with unit insert and delete
+ * costs, {@link org.simmetrics.metrics.Jaccard} and
+ * {@link org.simmetrics.metrics.EuclideanDistance} over tokens. Note that
+ * the Levenshtein distance divided by the length of the longest string is not
+ * a metric. Distances are compared with a small relative tolerance so
+ * rounding errors do not prune matches.
+ * <p>
+ * This class is immutable and thread-safe provided the distance is also
+ * immutable and thread-safe.
+ * 
+ * <pre>
+ * {@code
+ * VpTree tree = VpTree.create(names, StringDistances.levenshtein());
+ * 
+ * List<VpTree.Match> within = tree.within("Sam J Chapman", 2);
+ * List<VpTree.Match> nearest = tree.nearest("Sam J Chapman", 10);
+ * }
+ * </pre>
+ * 
+ * @see <a href="http://web.cs.iastate.edu/~honavar/nndatastructures.pdf">
+ *      Yianilos - Data Structures and Algorithms for Nearest Neighbor Search
+ *      in General Metric Spaces</a>
+ */
+public final class VpTree {
+
+	private static final int MAGIC = 0x534D5650; // SMVP
+	private static final int VERSION = 1;
+
+	// magic, version, size, chars
+	private static final int HEADER_SIZE = 4 * 4;
+
+	private static final int LEAF_SIZE = 8;
+
+	private static final int NODES_PER_TASK = 1024;
+
+	private static final float TOLERANCE = 1.0e-5f;
+
+	/**
+	 * A string in the tree and its distance to the query.
+	 * <p>
+	 * This class is immutable and thread-safe.
+	 */
+	public static final class Match {
+
+		private final int id;
+		private final String value;
+		private final float distance;
+
+		Match(int id, String value, float distance) {
+			this.id = id;
+			this.value = value;
+			this.distance = distance;
+		}
+
+		/**
+		 * Returns the position of the string in the indexed list.
+		 * 
+		 * @return the position of the string in the indexed list
+		 */
+		public int getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the string.
+		 * 
+		 * @return the string
+		 */
+		public String getValue() {
+			return value;
+		}
+
+		/**
+		 * Returns the distance of the string to the query.
+		 * 
+		 * @return the distance of the string to the query
+		 */
+		public float getDistance() {
+			return distance;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * id + value.hashCode())
+					+ Float.floatToIntBits(distance);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Match)) {
+				return false;
+			}
+			final Match other = (Match) obj;
+			return id == other.id
+					&& value.equals(other.value)
+					&& Float.floatToIntBits(distance) == Float
+							.floatToIntBits(other.distance);
+		}
+
+		@Override
+		public String toString() {
+			return "Match [id=" + id + ", value=" + value + ", distance="
+					+ distance + "]";
+		}
+	}
+
+	private static final Comparator<Match> BY_DISTANCE = new Comparator<Match>() {
+		@Override
+		public int compare(Match o1, Match o2) {
+			final int c = Float.compare(o1.distance, o2.distance);
+			return c != 0 ? c : Integer.compare(o1.id, o2.id);
+		}
+	};
+
+	/**
+	 * Creates a new tree over the given strings. Duplicate strings are kept,
+	 * each match is identified by its position in the list.
+	 * 
+	 * @param values
+	 *            the strings to index
+	 * @param distance
+	 *            a distance that satisfies the triangle inequality
+	 * @return a new tree
+	 */
+	public static VpTree create(List<String> values, StringDistance distance) {
+		final VpTree tree = new VpTree(values, distance);
+		new Build(tree, 0, tree.size).compute();
+		return tree;
+	}
+
+	/**
+	 * Creates a new tree over the given strings. Subtrees are built in
+	 * parallel in the given pool. The tree is identical to the one created
+	 * by {@link #create(List, StringDistance)}.
+	 * 
+	 * @param values
+	 *            the strings to index
+	 * @param distance
+	 *            a distance that satisfies the triangle inequality
+	 * @param pool
+	 *            the pool to build the tree in
+	 * @return a new tree
+	 */
+	public static VpTree create(List<String> values, StringDistance distance,
+			ForkJoinPool pool) {
+		checkNotNull(pool);
+		final VpTree tree = new VpTree(values, distance);
+		pool.invoke(new Build(tree, 0, tree.size));
+		return tree;
+	}
+
+	/**
+	 * Reads a tree written by {@link #writeTo(WritableByteChannel)}. The tree
+	 * must be read with the same distance it was created with.
+	 * 
+	 * @param buffer
+	 *            the buffer to read from
+	 * @param distance
+	 *            the distance the tree was created with
+	 * @return the tree in the buffer
+	 * 
+	 * @throws IllegalArgumentException
+	 *             when the buffer does not contain a tree
+	 */
+	public static VpTree read(ByteBuffer buffer, StringDistance distance) {
+		checkNotNull(distance);
+		final ByteBuffer in = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+		checkArgument(in.capacity() >= HEADER_SIZE && in.getInt(0) == MAGIC,
+				"not a vantage-point tree");
+		checkArgument(in.getInt(4) == VERSION,
+				"unsupported vantage-point tree version %s", in.getInt(4));
+
+		final int size = in.getInt(8);
+		final int chars = in.getInt(12);
+		checkArgument(size >= 0 && chars >= 0,
+				"corrupt vantage-point tree header");
+		checkArgument(in.capacity() == HEADER_SIZE + 16L * size + 4L + 2L
+				* chars, "truncated vantage-point tree");
+
+		in.position(HEADER_SIZE);
+		final int[] ids = new int[size];
+		in.asIntBuffer().get(ids);
+		in.position(in.position() + 4 * size);
+
+		final int[] offsets = new int[size + 1];
+		in.asIntBuffer().get(offsets);
+		in.position(in.position() + 4 * (size + 1));
+
+		final float[] insideMax = new float[size];
+		in.asFloatBuffer().get(insideMax);
+		in.position(in.position() + 4 * size);
+
+		final float[] outsideMin = new float[size];
+		in.asFloatBuffer().get(outsideMin);
+		in.position(in.position() + 4 * size);
+
+		final char[] text = new char[chars];
+		in.asCharBuffer().get(text);
+
+		checkArgument(offsets[0] == 0 && offsets[size] == chars,
+				"corrupt vantage-point tree offsets");
+		for (int i = 0; i < size; i++) {
+			checkArgument(offsets[i] <= offsets[i + 1],
+					"corrupt vantage-point tree offsets");
+			checkArgument(ids[i] >= 0 && ids[i] < size,
+					"corrupt vantage-point tree ids");
+		}
+
+		final String[] values = new String[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = new String(text, offsets[i], offsets[i + 1] - offsets[i]);
+		}
+
+		return new VpTree(distance, values, ids, insideMax, outsideMin);
+	}
+
+	private final StringDistance distance;
+	private final int size;
+
+	// Strings in tree order and their position in the indexed list
+	private final String[] values;
+	private final int[] ids;
+
+	// Bounds of the node whose vantage point is at each position
+	private final float[] insideMax;
+	private final float[] outsideMin;
+
+	private VpTree(List<String> values, StringDistance distance) {
+		this.distance = checkNotNull(distance);
+		this.size = values.size();
+		this.values = values.toArray(new String[size]);
+		this.ids = new int[size];
+		this.insideMax = new float[size];
+		this.outsideMin = new float[size];
+
+		for (int i = 0; i < size; i++) {
+			checkNotNull(this.values[i]);
+			ids[i] = i;
+		}
+	}
+
+	private VpTree(StringDistance distance, String[] values, int[] ids,
+			float[] insideMax, float[] outsideMin) {
+		this.distance = distance;
+		this.size = values.length;
+		this.values = values;
+		this.ids = ids;
+		this.insideMax = insideMax;
+		this.outsideMin = outsideMin;
+	}
+
+	private static int split(int start, int end) {
+		return start + 1 + (end - start - 1) / 2;
+	}
+
+	private static final class Build extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final VpTree tree;
+		private final int start;
+		private final int end;
+
+		Build(VpTree tree, int start, int end) {
+			this.tree = tree;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= LEAF_SIZE) {
+				return;
+			}
+
+			final int split = tree.partition(start, end);
+			final Build inside = new Build(tree, start + 1, split);
+			final Build outside = new Build(tree, split, end);
+
+			if (end - start <= NODES_PER_TASK || getPool() == null) {
+				inside.compute();
+				outside.compute();
+			} else {
+				invokeAll(inside, outside);
+			}
+		}
+	}
+
+	/**
+	 * Selects a vantage point for the node {@code [start, end)} and moves the
+	 * closest half of the remaining strings to the inside subtree.
+	 * 
+	 * @return the start of the outside subtree
+	 */
+	private int partition(int start, int end) {
+		// Deterministic so parallel and sequential builds are identical
+		swap(start, start + (int) ((mix(start, end) & 0x7FFFFFFFL) % (end - start)));
+
+		final String vantage = values[start];
+		final float[] distances = new float[end - start];
+		for (int i = start + 1; i < end; i++) {
+			distances[i - start] = distance.distance(vantage, values[i]);
+		}
+
+		final int split = split(start, end);
+		select(distances, start, start + 1, end, split);
+
+		float inside = 0.0f;
+		for (int i = start + 1; i < split; i++) {
+			inside = max(inside, distances[i - start]);
+		}
+		float outside = POSITIVE_INFINITY;
+		for (int i = split; i < end; i++) {
+			outside = min(outside, distances[i - start]);
+		}
+
+		insideMax[start] = inside;
+		outsideMin[start] = outside;
+		return split;
+	}
+
+	private static long mix(int start, int end) {
+		long h = ((long) start << 32 | end) * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 29);
+	}
+
+	/**
+	 * Quick select on {@code [from, to)} such that positions before {@code k}
+	 * are no further from the vantage point then those from {@code k} on.
+	 * Distances are stored at {@code position - offset}.
+	 */
+	private void select(float[] distances, int offset, int from, int to, int k) {
+		int lo = from;
+		int hi = to - 1;
+		while (lo < hi) {
+			final float pivot = distances[(lo + hi) / 2 - offset];
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (distances[i - offset] < pivot) {
+					i++;
+				}
+				while (distances[j - offset] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(distances, offset, i, j);
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				hi = j;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private void swap(float[] distances, int offset, int i, int j) {
+		final float d = distances[i - offset];
+		distances[i - offset] = distances[j - offset];
+		distances[j - offset] = d;
+		swap(i, j);
+	}
+
+	private void swap(int i, int j) {
+		final String value = values[i];
+		values[i] = values[j];
+		values[j] = value;
+		final int id = ids[i];
+		ids[i] = ids[j];
+		ids[j] = id;
+	}
+
+	/**
+	 * Returns all strings within distance {@code r} of the query. Matches are
+	 * ordered by ascending distance and then by their position in the indexed
+	 * list.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param r
+	 *            the maximum distance, inclusive
+	 * @return the strings within distance {@code r}
+	 */
+	public List<Match> within(String query, float r) {
+		checkNotNull(query);
+		checkArgument(r >= 0, "r may not be negative");
+
+		final List<Match> matches = new ArrayList<>();
+		within(query, r, 0, size, matches);
+		Collections.sort(matches, BY_DISTANCE);
+		return matches;
+	}
+
+	private void within(String query, float r, int start, int end,
+			List<Match> matches) {
+		if (end - start <= LEAF_SIZE) {
+			for (int i = start; i < end; i++) {
+				final float d = distance.distance(query, values[i]);
+				if (d <= r) {
+					matches.add(new Match(ids[i], values[i], d));
+				}
+			}
+			return;
+		}
+
+		final float d = distance.distance(query, values[start]);
+		if (d <= r) {
+			matches.add(new Match(ids[start], values[start], d));
+		}
+
+		final int split = split(start, end);
+		if (d - r <= insideMax[start] + tolerance(d, insideMax[start])) {
+			within(query, r, start + 1, split, matches);
+		}
+		if (d + r >= outsideMin[start] - tolerance(d, outsideMin[start])) {
+			within(query, r, split, end, matches);
+		}
+	}
+
+	/**
+	 * Returns the {@code k} strings nearest to the query. Matches are ordered
+	 * by ascending distance. Matches at equal distance are ordered by their
+	 * position in the indexed list.
+	 * 
+	 * @param query
+	 *            the string to search for
+	 * @param k
+	 *            the number of matches to find
+	 * @return the {@code k} nearest strings, fewer when the tree holds less
+	 *         then {@code k} strings
+	 */
+	public List<Match> nearest(String query, int k) {
+		checkNotNull(query);
+		checkArgument(k > 0, "k must be greater than 0");
+
+		final Heap heap = new Heap(min(k, size));
+		nearest(query, 0, size, heap);
+		return heap.toMatches(this);
+	}
+
+	private void nearest(String query, int start, int end, Heap heap) {
+		if (end - start <= LEAF_SIZE) {
+			for (int i = start; i < end; i++) {
+				heap.offer(i, ids[i], distance.distance(query, values[i]));
+			}
+			return;
+		}
+
+		final float d = distance.distance(query, values[start]);
+		heap.offer(start, ids[start], d);
+
+		final int split = split(start, end);
+		final float inside = insideMax[start];
+		final float outside = outsideMin[start];
+
+		// Descend into the side that contains the query first to tighten the
+		// threshold early
+		if (d <= inside) {
+			if (d - inside <= heap.threshold() + tolerance(d, inside)) {
+				nearest(query, start + 1, split, heap);
+			}
+			if (outside - d <= heap.threshold() + tolerance(d, outside)) {
+				nearest(query, split, end, heap);
+			}
+		} else {
+			if (outside - d <= heap.threshold() + tolerance(d, outside)) {
+				nearest(query, split, end, heap);
+			}
+			if (d - inside <= heap.threshold() + tolerance(d, inside)) {
+				nearest(query, start + 1, split, heap);
+			}
+		}
+	}
+
+	private static float tolerance(float a, float b) {
+		return TOLERANCE * (a + b);
+	}
+
+	/**
+	 * Max-heap of the best matches. The root is the worst match: the match
+	 * with the largest distance and of those the largest id.
+	 */
+	private static final class Heap {
+
+		private final int[] positions;
+		private final int[] ids;
+		private final float[] distances;
+		private int size;
+
+		Heap(int capacity) {
+			this.positions = new int[capacity];
+			this.ids = new int[capacity];
+			this.distances = new float[capacity];
+		}
+
+		float threshold() {
+			return size < ids.length ? POSITIVE_INFINITY : distances[0];
+		}
+
+		void offer(int position, int id, float distance) {
+			if (ids.length == 0) {
+				return;
+			}
+			if (size < ids.length) {
+				int i = size++;
+				while (i > 0) {
+					final int parent = (i - 1) / 2;
+					if (!worse(distance, id, distances[parent], ids[parent])) {
+						break;
+					}
+					set(i, parent);
+					i = parent;
+				}
+				set(i, position, id, distance);
+			} else if (worse(distances[0], ids[0], distance, id)) {
+				int i = 0;
+				while (true) {
+					final int left = 2 * i + 1;
+					if (left >= size) {
+						break;
+					}
+					int child = left;
+					final int right = left + 1;
+					if (right < size
+							&& worse(distances[right], ids[right],
+									distances[left], ids[left])) {
+						child = right;
+					}
+					if (!worse(distances[child], ids[child], distance, id)) {
+						break;
+					}
+					set(i, child);
+					i = child;
+				}
+				set(i, position, id, distance);
+			}
+		}
+
+		private static boolean worse(float distance, int id,
+				float otherDistance, int otherId) {
+			final int c = Float.compare(distance, otherDistance);
+			return c != 0 ? c > 0 : id > otherId;
+		}
+
+		private void set(int i, int from) {
+			set(i, positions[from], ids[from], distances[from]);
+		}
+
+		private void set(int i, int position, int id, float distance) {
+			positions[i] = position;
+			ids[i] = id;
+			distances[i] = distance;
+		}
+
+		List<Match> toMatches(VpTree tree) {
+			final List<Match> matches = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				matches.add(new Match(ids[i], tree.values[positions[i]],
+						distances[i]));
+			}
+			Collections.sort(matches, BY_DISTANCE);
+			return matches;
+		}
+	}
+
+	/**
+	 * Writes this tree to a channel. The written tree can be read with
+	 * {@link #read(ByteBuffer, StringDistance)}. The distance is not written.
+	 * 
+	 * @param channel
+	 *            the channel to write to
+	 * @throws IOException
+	 *             when the tree could not be written
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		long chars = 0;
+		for (String value : values) {
+			chars += value.length();
+		}
+
+		final long capacity = HEADER_SIZE + 16L * size + 4L + 2L * chars;
+		checkState(capacity <= Integer.MAX_VALUE, "tree too large to write");
+
+		final ByteBuffer out = ByteBuffer.allocate((int) capacity)
+				.order(ByteOrder.BIG_ENDIAN);
+		out.putInt(MAGIC).putInt(VERSION).putInt(size).putInt((int) chars);
+		for (int id : ids) {
+			out.putInt(id);
+		}
+		int offset = 0;
+		out.putInt(offset);
+		for (String value : values) {
+			offset += value.length();
+			out.putInt(offset);
+		}
+		for (float inside : insideMax) {
+			out.putFloat(inside);
+		}
+		for (float outside : outsideMin) {
+			out.putFloat(outside);
+		}
+		for (String value : values) {
+			for (int i = 0; i < value.length(); i++) {
+				out.putChar(value.charAt(i));
+			}
+		}
+
+		out.flip();
+		while (out.hasRemaining()) {
+			channel.write(out);
+		}
+	}
+
+	/**
+	 * Returns the number of strings in this tree.
+	 * 
+	 * @return the number of strings
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the distance of this tree.
+	 * 
+	 * @return the distance of this tree
+	 */
+	public StringDistance getDistance() {
+		return distance;
+	}
+
+	@Override
+	public String toString() {
+		return "VpTree [distance=" + distance + ", size=" + size + "]";
+	}
+
+}
@@ -43,6 +43,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public final class DaitchMokotoffSoundex implements Simplifier {
 
 	private final org.apache.commons.codec.language.DaitchMokotoffSoundex simplifier;
+	private final boolean branching;
+
 	/**
 	 * Creates a new instance with ASCII-folding enabled.
 	 */
@@ -61,19 +63,42 @@ public final class DaitchMokotoffSoundex implements Simplifier {
 	 *            if ASCII-folding shall be performed before encoding
 	 */
 	public DaitchMokotoffSoundex(boolean folding) {
+		this(folding, false);
+	}
+
+	/**
+	 * Creates a new DaitchMokotoffSoundex simplifier.
+	 * <p>
+	 * With branching enabled, all codes for the input are returned separated
+	 * by a {@code |}. Otherwise only the first code is returned.
+	 * </p>
+	 * 
+	 * @param folding
+	 *            if ASCII-folding shall be performed before encoding
+	 * @param branching
+	 *            if all branches shall be encoded
+	 */
+	public DaitchMokotoffSoundex(boolean folding, boolean branching) {
 		this.simplifier = new org.apache.commons.codec.language.DaitchMokotoffSoundex(
 				folding);
+		this.branching = branching;
 	}
 
 	@Override
 	public String simplify(String input) {
 		checkNotNull(input);
 
+		if (branching) {
+			return simplifier.soundex(input);
+		}
 		return simplifier.encode(input);
 	}
 
 	@Override
 	public String toString() {
+		if (branching) {
+			return "DaitchMokotoffSoundex [branching=true]";
+		}
 		return "DaitchMokotoffSoundex";
 	}
 	
@@ -27,6 +27,10 @@ import static org.apache.commons.codec.language.RefinedSoundex.US_ENGLISH;
  * optimized for spell checking words. Soundex method originally developed by
  * <cite>Margaret Odell</cite> and <cite>Robert Russell</cite>.
  * <p>
+ * ASCII input is encoded with a lookup table into a single buffer. Input that
+ * contains other letters is encoded by
+ * {@link org.apache.commons.codec.language.RefinedSoundex}.
+ * <p>
  * This class is immutable and thread-safe.
  *
  * @see org.apache.commons.codec.language.RefinedSoundex
@@ -36,10 +40,42 @@ import static org.apache.commons.codec.language.RefinedSoundex.US_ENGLISH;
 @Deprecated
 public final class RefinedSoundex implements Simplifier {
 
+	// Codes for A-Z
+	private static final char[] MAPPING = "01360240043788015936020505"
+			.toCharArray();
+
 	@Override
 	public String simplify(String input) {
 		checkNotNull(input);
-		return US_ENGLISH.soundex(input);
+
+		// The first letter is followed by at most one code per letter
+		final char[] code = new char[input.length() + 1];
+		int length = 0;
+		char last = '*';
+
+		for (int i = 0; i < input.length(); i++) {
+			char c = input.charAt(i);
+			if ('a' <= c && c <= 'z') {
+				c -= 'a' - 'A';
+			} else if (c < 'A' || 'Z' < c) {
+				if (c > 0x7F && Character.isLetter(c)) {
+					return US_ENGLISH.soundex(input);
+				}
+				continue;
+			}
+
+			if (length == 0) {
+				code[length++] = c;
+			}
+
+			final char mapped = MAPPING[c - 'A'];
+			if (mapped != last) {
+				code[length++] = mapped;
+				last = mapped;
+			}
+		}
+
+		return new String(code, 0, length);
 	}
 
 	@Override
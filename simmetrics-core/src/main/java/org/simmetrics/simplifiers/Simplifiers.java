@@ -29,8 +29,13 @@ import static java.util.Arrays.asList;
 import java.text.Normalizer;
 import java.text.Normalizer.Form;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,9 +56,12 @@ public final class Simplifiers {
 
 		private final List<Simplifier> simplifiers;
 
+		private final Simplifier[] steps;
+
 		ChainSimplifier(List<Simplifier> simplifiers) {
 			checkArgument(!simplifiers.contains(null));
 			this.simplifiers = ImmutableList.copyOf(simplifiers);
+			this.steps = FusedSimplifier.fuse(this.simplifiers);
 		}
 
 		List<Simplifier> getSimplifiers() {
@@ -64,7 +72,7 @@ public final class Simplifiers {
 		public String simplify(String input) {
 			checkNotNull(input);
 			String output = input;
-			for (Simplifier s : simplifiers) {
+			for (Simplifier s : steps) {
 				output = s.simplify(output);
 			}
 
@@ -76,10 +84,365 @@ public final class Simplifiers {
 		public String toString() {
 			return on(" -> ").join(simplifiers);
 		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ChainSimplifier)) {
+				return false;
+			}
+			final ChainSimplifier other = (ChainSimplifier) obj;
+			return simplifiers.equals(other.simplifiers);
+		}
+
+		@Override
+		public int hashCode() {
+			return simplifiers.hashCode();
+		}
 		
 		
 	}
 
+	/**
+	 * Applies a sequence of built-in simplifiers in a single pass over the
+	 * input.
+	 * <p>
+	 * Each character is pushed through the steps in order. A step may change
+	 * the character, drop it or replace it with the characters of a
+	 * replacement which are then pushed through the remaining steps. This
+	 * produces the same result as applying the steps one after the other.
+	 * Characters are case mapped with {@link Character} and folded with the
+	 * table of {@link RemoveDiacritics}. Input containing a character that
+	 * can not be mapped on its own, e.g. a surrogate, a character that
+	 * expands when upper cased or a non-ASCII character that reaches a
+	 * normalization step, is simplified step by step.
+	 * <p>
+	 * This class is thread-safe and immutable.
+	 */
+	static final class FusedSimplifier implements Simplifier {
+
+		private static final byte NORMALIZE = 0;
+		private static final byte TO_LOWER_CASE = 1;
+		private static final byte TO_UPPER_CASE = 2;
+		private static final byte REMOVE_DIACRITICS = 3;
+		private static final byte REPLACE_NON_WORD = 4;
+		private static final byte REPLACE_NON_WORD_RUN = 5;
+		private static final byte NOT_FUSABLE = -1;
+
+		// Run state of each step is kept in a single long
+		private static final int MAX_STEPS = Long.SIZE;
+
+		private static final char UNFUSABLE = '\uFFFF';
+
+		// Upper case expansions, e.g. sharp s to SS, are looked up below the
+		// end of Greek Extended. Above it only ligatures expand.
+		private static final char EXPANSIONS_END = '\u2000';
+		private static final char LIGATURES_START = '\uFB00';
+		private static final char LIGATURES_END = '\uFB4F';
+		private static final BitSet EXPANDS_TO_UPPER_CASE = new BitSet(
+				EXPANSIONS_END);
+
+		// Buffers larger than this are not kept between calls
+		private static final int MAX_RETAINED_CAPACITY = 1024;
+
+		private static final ThreadLocal<Pass> PASS = new ThreadLocal<Pass>() {
+			@Override
+			protected Pass initialValue() {
+				return new Pass();
+			}
+		};
+
+		static {
+			for (char c = 0x80; c < EXPANSIONS_END; c++) {
+				if (String.valueOf(c).toUpperCase(Locale.ROOT).length() != 1) {
+					EXPANDS_TO_UPPER_CASE.set(c);
+				}
+			}
+		}
+
+		/**
+		 * Replaces every run of two or more consecutive fusable simplifiers
+		 * with a fused simplifier.
+		 * 
+		 * @param simplifiers
+		 *            the simplifiers to fuse
+		 * @return the simplifiers to apply in order
+		 */
+		static Simplifier[] fuse(List<Simplifier> simplifiers) {
+			final List<Simplifier> steps = new ArrayList<>(simplifiers.size());
+			final int size = simplifiers.size();
+
+			int start = 0;
+			while (start < size) {
+				int end = start;
+				while (end < size && end - start < MAX_STEPS
+						&& kind(simplifiers.get(end)) != NOT_FUSABLE) {
+					end++;
+				}
+
+				if (end - start >= 2) {
+					steps.add(new FusedSimplifier(simplifiers.subList(start, end)));
+					start = end;
+				} else {
+					steps.add(simplifiers.get(start));
+					start++;
+				}
+			}
+
+			return steps.toArray(new Simplifier[steps.size()]);
+		}
+
+		private static byte kind(Simplifier simplifier) {
+			if (simplifier instanceof Normalize) {
+				// ASCII is invariant under all normalization forms
+				return NORMALIZE;
+			} else if (simplifier instanceof ToLowerCase) {
+				return hasAsciiCaseMapping(((ToLowerCase) simplifier).getLocale()) 
+						? TO_LOWER_CASE : NOT_FUSABLE;
+			} else if (simplifier instanceof ToUpperCase) {
+				return hasAsciiCaseMapping(((ToUpperCase) simplifier).getLocale()) 
+						? TO_UPPER_CASE : NOT_FUSABLE;
+			} else if (simplifier instanceof RemoveDiacritics) {
+				return REMOVE_DIACRITICS;
+			} else if (simplifier instanceof ReplaceAll) {
+				final ReplaceAll replaceAll = (ReplaceAll) simplifier;
+				final Pattern pattern = replaceAll.getPattern();
+				if (pattern.flags() != 0
+						|| !isAsciiLiteral(replaceAll.getReplacement())) {
+					return NOT_FUSABLE;
+				}
+				if (pattern.pattern().equals("\\W")) {
+					return REPLACE_NON_WORD;
+				}
+				if (pattern.pattern().equals("\\W+")) {
+					return REPLACE_NON_WORD_RUN;
+				}
+			}
+			return NOT_FUSABLE;
+		}
+
+		private static boolean hasAsciiCaseMapping(Locale locale) {
+			// Turkish, Azeri and Lithuanian have special casing rules for i
+			if (locale == null) {
+				return false;
+			}
+			final String language = locale.getLanguage();
+			return !(language.equals("tr") || language.equals("az") || language
+					.equals("lt"));
+		}
+
+		private static boolean isAsciiLiteral(String replacement) {
+			for (int i = 0; i < replacement.length(); i++) {
+				final char c = replacement.charAt(i);
+				// $ and \ have a special meaning in replacements
+				if (c > 0x7F || c == '$' || c == '\\') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean isWordCharacter(char c) {
+			return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z')
+					|| ('0' <= c && c <= '9') || c == '_';
+		}
+
+		private static char toLowerCase(char c) {
+			if (c <= 0x7F) {
+				return 'A' <= c && c <= 'Z' ? (char) (c + 'a' - 'A') : c;
+			}
+			// Capital sigma depends on its neighbors, dotted capital I expands
+			if (c == '\u03A3' || c == '\u0130') {
+				return UNFUSABLE;
+			}
+			return Character.toLowerCase(c);
+		}
+
+		private static char toUpperCase(char c) {
+			if (c <= 0x7F) {
+				return 'a' <= c && c <= 'z' ? (char) (c - 'a' + 'A') : c;
+			}
+			if (c < EXPANSIONS_END ? EXPANDS_TO_UPPER_CASE.get(c)
+					: LIGATURES_START <= c && c <= LIGATURES_END) {
+				return UNFUSABLE;
+			}
+			return Character.toUpperCase(c);
+		}
+
+		private static final class Pass {
+			StringBuilder output = new StringBuilder();
+			long runs;
+			boolean changed;
+
+			void reset() {
+				if (output.capacity() > MAX_RETAINED_CAPACITY) {
+					output = new StringBuilder();
+				} else {
+					output.setLength(0);
+				}
+				runs = 0;
+				changed = false;
+			}
+		}
+
+		private final List<Simplifier> simplifiers;
+		private final byte[] kinds;
+		private final String[] replacements;
+
+		FusedSimplifier(List<Simplifier> simplifiers) {
+			checkArgument(simplifiers.size() <= MAX_STEPS);
+			this.simplifiers = ImmutableList.copyOf(simplifiers);
+			this.kinds = new byte[simplifiers.size()];
+			this.replacements = new String[simplifiers.size()];
+
+			for (int i = 0; i < kinds.length; i++) {
+				final Simplifier simplifier = simplifiers.get(i);
+				kinds[i] = kind(simplifier);
+				checkArgument(kinds[i] != NOT_FUSABLE, "%s can not be fused",
+						simplifier);
+				if (simplifier instanceof ReplaceAll) {
+					replacements[i] = ((ReplaceAll) simplifier).getReplacement();
+				}
+			}
+		}
+
+		List<Simplifier> getSimplifiers() {
+			return simplifiers;
+		}
+
+		@Override
+		public String simplify(String input) {
+			checkNotNull(input);
+			final String output = simplifyFused(input);
+			return output != null ? output : simplifyStepwise(input);
+		}
+
+		/**
+		 * Simplifies the input in a single pass. Returns null when the input
+		 * contains a character that can not be fused.
+		 */
+		String simplifyFused(String input) {
+			final Pass pass = PASS.get();
+			pass.reset();
+
+			final int length = input.length();
+			for (int i = 0; i < length; i++) {
+				final char c = input.charAt(i);
+				// Supplementary characters are mapped as a whole code point
+				if (Character.isSurrogate(c) || !push(pass, c, 0)) {
+					return null;
+				}
+			}
+
+			return pass.changed ? pass.output.toString() : input;
+		}
+
+		private boolean push(Pass pass, char c, int step) {
+			for (int i = step; i < kinds.length; i++) {
+				switch (kinds[i]) {
+				case NORMALIZE:
+					// Only ASCII is invariant under all normalization forms
+					if (c > 0x7F) {
+						return false;
+					}
+					break;
+				case TO_LOWER_CASE:
+				case TO_UPPER_CASE:
+					final char mapped = kinds[i] == TO_LOWER_CASE
+							? toLowerCase(c) : toUpperCase(c);
+					if (mapped == UNFUSABLE) {
+						return false;
+					}
+					if (mapped != c) {
+						c = mapped;
+						pass.changed = true;
+					}
+					break;
+				case REMOVE_DIACRITICS:
+					final char folded = RemoveDiacritics.fold(c);
+					if (folded == RemoveDiacritics.UNSUPPORTED) {
+						return false;
+					}
+					if (folded == RemoveDiacritics.REMOVED) {
+						pass.changed = true;
+						return true;
+					}
+					if (folded == RemoveDiacritics.EXPANDED) {
+						pass.changed = true;
+						return pushAll(pass, RemoveDiacritics.expand(c), i + 1);
+					}
+					if (folded != c) {
+						c = folded;
+						pass.changed = true;
+					}
+					break;
+				case REPLACE_NON_WORD:
+				case REPLACE_NON_WORD_RUN:
+					final long bit = 1L << i;
+					if (isWordCharacter(c)) {
+						pass.runs &= ~bit;
+						break;
+					}
+
+					pass.changed = true;
+					if (kinds[i] == REPLACE_NON_WORD_RUN) {
+						if ((pass.runs & bit) != 0) {
+							return true;
+						}
+						pass.runs |= bit;
+					}
+
+					return pushAll(pass, replacements[i], i + 1);
+				default:
+					break;
+				}
+			}
+			pass.output.append(c);
+			return true;
+		}
+
+		private boolean pushAll(Pass pass, String chars, int step) {
+			for (int j = 0; j < chars.length(); j++) {
+				if (!push(pass, chars.charAt(j), step)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private String simplifyStepwise(String input) {
+			String output = input;
+			for (Simplifier s : simplifiers) {
+				output = s.simplify(output);
+			}
+			return output;
+		}
+
+		@Override
+		public String toString() {
+			return on(" -> ").join(simplifiers);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof FusedSimplifier)) {
+				return false;
+			}
+			final FusedSimplifier other = (FusedSimplifier) obj;
+			return simplifiers.equals(other.simplifiers);
+		}
+
+		@Override
+		public int hashCode() {
+			return simplifiers.hashCode();
+		}
+	}
+
 	
 	/**
 	 * A simplifier that normalizes a string into a composed or decomposed form.
@@ -106,6 +469,23 @@ public final class Simplifiers {
 			return "Normalize[" + form + "]";
 		}
 
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Normalize)) {
+				return false;
+			}
+			final Normalize other = (Normalize) obj;
+			return form == other.form;
+		}
+
+		@Override
+		public int hashCode() {
+			return form.hashCode();
+		}
+
 		Form getForm() {
 			return form;
 		}
@@ -114,6 +494,10 @@ public final class Simplifiers {
 	/**
 	 * A simplifier that removes diacritics.
 	 * <p>
+	 * Characters in the Latin, Greek and Cyrillic ranges are folded with a
+	 * precomputed table. Input that contains other characters is normalized
+	 * and filtered with a regex.
+	 * <p>
 	 * This class is thread-safe and immutable.
 	 */
 	static final class RemoveDiacritics implements Simplifier {
@@ -121,6 +505,86 @@ public final class Simplifiers {
 		private static final Pattern DIACRITICS_AND_FRIENDS = Pattern
 				.compile("[\\p{InCombiningDiacriticalMarks}\\p{IsLm}\\p{IsSk}]+");
 
+		static final char UNSUPPORTED = '\uFFFF';
+		static final char REMOVED = '\uFFFE';
+		static final char EXPANDED = '\uFFFD';
+
+		// Latin, IPA, modifiers, combining marks, Greek and Cyrillic
+		private static final char[][] RANGES = {
+			{ '\u0000', '\u052F' },
+			// Latin Extended Additional and Greek Extended
+			{ '\u1E00', '\u1FFF' } };
+
+		private static final char[] FOLDED = new char['\u1FFF' + 1];
+
+		private static final Map<Character, String> EXPANSIONS = new HashMap<>();
+
+		static {
+			Arrays.fill(FOLDED, UNSUPPORTED);
+			for (char[] range : RANGES) {
+				for (char c = range[0]; c <= range[1]; c++) {
+					final String folded = normalizeAndRemove(String.valueOf(c));
+					if (!isFoldable(folded)) {
+						continue;
+					}
+					if (folded.isEmpty()) {
+						FOLDED[c] = REMOVED;
+					} else if (folded.length() == 1) {
+						FOLDED[c] = folded.charAt(0);
+					} else {
+						FOLDED[c] = EXPANDED;
+						EXPANSIONS.put(c, folded);
+					}
+				}
+			}
+		}
+
+		/**
+		 * A character can be folded independently of its neighbors when its
+		 * decomposition does not retain any combining marks. Otherwise
+		 * canonical reordering may change the result.
+		 */
+		private static boolean isFoldable(String folded) {
+			for (int i = 0; i < folded.length(); i++) {
+				final char c = folded.charAt(i);
+				switch (Character.getType(c)) {
+				case Character.NON_SPACING_MARK:
+				case Character.ENCLOSING_MARK:
+				case Character.COMBINING_SPACING_MARK:
+				case Character.SURROGATE:
+					return false;
+				default:
+					if (c >= EXPANDED) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Returns the folded character, {@link #REMOVED} when the character
+		 * is removed, {@link #EXPANDED} when it is replaced by several
+		 * characters or {@link #UNSUPPORTED} when it can not be folded on its
+		 * own.
+		 */
+		static char fold(char c) {
+			return c < FOLDED.length ? FOLDED[c] : UNSUPPORTED;
+		}
+
+		/**
+		 * Returns the characters that replace an {@link #EXPANDED} character.
+		 */
+		static String expand(char c) {
+			return EXPANSIONS.get(c);
+		}
+
+		static String normalizeAndRemove(String input) {
+			return DIACRITICS_AND_FRIENDS.matcher(
+					Normalizer.normalize(input, Normalizer.Form.NFD))
+					.replaceAll("");
+		}
+
 		RemoveDiacritics() {
 		}
 
@@ -140,9 +604,35 @@ public final class Simplifiers {
 		 */
 		@Override
 		public String simplify(String input) {
-			return DIACRITICS_AND_FRIENDS.matcher(
-					Normalizer.normalize(input, Normalizer.Form.NFD))
-					.replaceAll("");
+			final int length = input.length();
+
+			// Quick check for input that does not change
+			int i = 0;
+			while (i < length && isUnchanged(input.charAt(i))) {
+				i++;
+			}
+			if (i == length) {
+				return input;
+			}
+
+			final StringBuilder output = new StringBuilder(length);
+			output.append(input, 0, i);
+			for (; i < length; i++) {
+				final char c = input.charAt(i);
+				final char folded = fold(c);
+				if (folded == UNSUPPORTED) {
+					return normalizeAndRemove(input);
+				} else if (folded == EXPANDED) {
+					output.append(expand(c));
+				} else if (folded != REMOVED) {
+					output.append(folded);
+				}
+			}
+			return output.toString();
+		}
+
+		private static boolean isUnchanged(char c) {
+			return c < FOLDED.length && FOLDED[c] == c;
 		}
 
 		@Override
@@ -150,6 +640,16 @@ public final class Simplifiers {
 			return "RemoveDiacritics";
 		}
 
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof RemoveDiacritics;
+		}
+
+		@Override
+		public int hashCode() {
+			return RemoveDiacritics.class.hashCode();
+		}
+
 	}
 
 	static final class ReplaceAll implements Simplifier {
@@ -169,10 +669,38 @@ public final class Simplifiers {
 			return pattern.matcher(input).replaceAll(repplacement);
 		}
 
+		Pattern getPattern() {
+			return pattern;
+		}
+
+		String getReplacement() {
+			return repplacement;
+		}
+
 		@Override
 		public String toString() {
 			return "Replace [" + pattern + " -> '" + repplacement + "' ]";
 		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ReplaceAll)) {
+				return false;
+			}
+			final ReplaceAll other = (ReplaceAll) obj;
+			return pattern.pattern().equals(other.pattern.pattern())
+					&& pattern.flags() == other.pattern.flags()
+					&& repplacement.equals(other.repplacement);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * pattern.pattern().hashCode() + pattern.flags())
+					+ repplacement.hashCode();
+		}
 	}
 
 	static final class ToLowerCase implements Simplifier {
@@ -192,6 +720,27 @@ public final class Simplifiers {
 		public String toString() {
 			return "ToLowerCase [locale=" + locale + "]";
 		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ToLowerCase)) {
+				return false;
+			}
+			final ToLowerCase other = (ToLowerCase) obj;
+			return Objects.equals(locale, other.locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(locale);
+		}
+
+		Locale getLocale() {
+			return locale;
+		}
 	}
 
 	static final class ToUpperCase implements Simplifier {
@@ -211,6 +760,27 @@ public final class Simplifiers {
 		public String toString() {
 			return "ToUpperCase [locale=" + locale + "]";
 		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ToUpperCase)) {
+				return false;
+			}
+			final ToUpperCase other = (ToUpperCase) obj;
+			return Objects.equals(locale, other.locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(locale);
+		}
+
+		Locale getLocale() {
+			return locale;
+		}
 	}
 
 	/**
@@ -226,7 +796,14 @@ public final class Simplifiers {
 		if (simplifiers.size() == 1) {
 			return simplifiers.get(0);
 		}
-		return new ChainSimplifier(flatten(simplifiers));
+
+		final List<Simplifier> flattened = flatten(simplifiers);
+		final Simplifier[] steps = FusedSimplifier.fuse(flattened);
+		if (steps.length == 1 && steps[0] instanceof FusedSimplifier) {
+			// The whole chain runs in a single pass, skip the chain
+			return steps[0];
+		}
+		return new ChainSimplifier(flattened);
 	}
 
 	/**
@@ -260,6 +837,10 @@ public final class Simplifiers {
 				// to flatten recursively
 				final ChainSimplifier c = (ChainSimplifier) s;
 				flattend.addAll(c.getSimplifiers());
+			} else if (s instanceof FusedSimplifier) {
+				// Unfuse so the steps can be fused with their new neighbors
+				final FusedSimplifier f = (FusedSimplifier) s;
+				flattend.addAll(f.getSimplifiers());
 			} else {
 				flattend.add(s);
 			}
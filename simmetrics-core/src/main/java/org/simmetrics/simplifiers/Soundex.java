@@ -28,6 +28,10 @@ import static org.apache.commons.codec.language.Soundex.US_ENGLISH;
  * similar names, but can also be used as a general purpose scheme to find word
  * with similar phonemes.
  * <p>
+ * ASCII input is encoded with a lookup table without intermediate strings.
+ * Input that contains other letters is encoded by
+ * {@link org.apache.commons.codec.language.Soundex}.
+ * <p>
  * This class is thread-safe and immutable.
  * 
  * @see org.apache.commons.codec.language.Soundex
@@ -37,6 +41,12 @@ import static org.apache.commons.codec.language.Soundex.US_ENGLISH;
 @Deprecated
 public final class Soundex implements Simplifier {
 
+	private static final int CODE_LENGTH = 4;
+
+	// Codes for A-Z
+	private static final char[] MAPPING = "01230120022455012623010202"
+			.toCharArray();
+
 	@Override
 	public String toString() {
 		return "Soundex";
@@ -44,8 +54,98 @@ public final class Soundex implements Simplifier {
 
 	@Override
 	public String simplify(String input) {
+		return decode(key(input));
+	}
+
+	/**
+	 * Returns the Soundex code of the input packed into a long. Two inputs
+	 * have the same key if and only if they have the same Soundex code. The
+	 * empty code has the key {@code 0}.
+	 * 
+	 * @param input
+	 *            the input to encode
+	 * @return the Soundex code of the input packed into a long
+	 */
+	public long key(String input) {
 		checkNotNull(input);
-		return US_ENGLISH.soundex(input);
+
+		long key = 0;
+		int count = 0;
+		char last = 0;
+
+		// Previous two letters, H and W are transparent between equal codes
+		char previous = 0;
+		char beforePrevious = 0;
+		int letters = 0;
+
+		for (int i = 0; i < input.length() && count < CODE_LENGTH; i++) {
+			char c = input.charAt(i);
+			if ('a' <= c && c <= 'z') {
+				c -= 'a' - 'A';
+			} else if (c < 'A' || 'Z' < c) {
+				if (c > 0x7F && Character.isLetter(c)) {
+					return pack(US_ENGLISH.soundex(input));
+				}
+				continue;
+			}
+
+			char mapped = map(c);
+			if (letters == 0) {
+				key = c;
+				count = 1;
+			} else {
+				if (letters > 1 && mapped != '0'
+						&& (previous == 'H' || previous == 'W')
+						&& (map(beforePrevious) == mapped
+								|| beforePrevious == 'H' || beforePrevious == 'W')) {
+					mapped = 0;
+				}
+
+				if (mapped != 0) {
+					if (mapped != '0' && mapped != last) {
+						key = key << 4 | (mapped - '0');
+						count++;
+					}
+				}
+			}
+			if (mapped != 0) {
+				last = mapped;
+			}
+
+			beforePrevious = previous;
+			previous = c;
+			letters++;
+		}
+
+		// Pad with zeros
+		return count == 0 ? 0 : key << 4 * (CODE_LENGTH - count);
 	}
-	
+
+	private static char map(char c) {
+		return MAPPING[c - 'A'];
+	}
+
+	private static long pack(String code) {
+		if (code.isEmpty()) {
+			return 0;
+		}
+		long key = code.charAt(0);
+		for (int i = 1; i < CODE_LENGTH; i++) {
+			key = key << 4 | (code.charAt(i) - '0');
+		}
+		return key;
+	}
+
+	private static String decode(long key) {
+		if (key == 0) {
+			return "";
+		}
+		final char[] code = new char[CODE_LENGTH];
+		code[0] = (char) (key >>> 4 * (CODE_LENGTH - 1));
+		for (int i = 1; i < CODE_LENGTH; i++) {
+			code[i] = (char) ('0' + (key >>> 4 * (CODE_LENGTH - 1 - i) & 0xF));
+		}
+		return new String(code);
+	}
+
 }
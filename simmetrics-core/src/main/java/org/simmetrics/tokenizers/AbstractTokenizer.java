@@ -21,25 +21,49 @@
 package org.simmetrics.tokenizers;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.simmetrics.tokenizers.TokenSinks.CollectingSink;
+
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
 
 /**
  * Convenience tokenizer. Provides default implementation to tokenize to set and
  * multiset by calling {@link Tokenizer#tokenizeToList(String)}.
+ * <p>
+ * Tokenizers that override {@link #tokenize(CharSequence, TokenSink)} to
+ * stream their tokens directly are tokenized to a set or multiset without
+ * creating an intermediate list.
  */
-public abstract class AbstractTokenizer implements Tokenizer {
+public abstract class AbstractTokenizer implements StreamingTokenizer {
 
 	@Override
 	public Set<String> tokenizeToSet(final String input) {
-		return new HashSet<>(tokenizeToList(input));
+		final Set<String> tokens = new HashSet<>();
+		tokenize(input, new CollectingSink(tokens));
+		return tokens;
 	}
 
 	@Override
 	public Multiset<String> tokenizeToMultiset(final String input) {
-		return HashMultiset.create(tokenizeToList(input));
+		final Multiset<String> tokens = HashMultiset.create();
+		tokenize(input, new CollectingSink(tokens));
+		return tokens;
+	}
+
+	/**
+	 * Tokenizes the input and passes each token to the sink. The default
+	 * implementation passes each token of
+	 * {@link Tokenizer#tokenizeToList(String)} to the sink.
+	 */
+	@Override
+	public void tokenize(CharSequence input, TokenSink sink) {
+		final List<String> tokens = tokenizeToList(input.toString());
+		for (String token : tokens) {
+			sink.accept(token, 0, token.length());
+		}
 	}
 
 }
@@ -0,0 +1,303 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.tokenizers;
+
+import static java.lang.Character.isSurrogate;
+
+import java.util.regex.Pattern;
+
+import com.google.common.base.CharMatcher;
+
+/**
+ * Single pass scanner that splits input around a character class. Replaces
+ * {@link Pattern#split(CharSequence, int)} with a limit of {@code -1} for
+ * patterns that consist of a single character class, optionally followed by
+ * {@code +}. E.g. {@code \s+}, {@code \W}, {@code [,;]} or
+ * {@code \p{Punct}+}.
+ * <p>
+ * Supported character classes are literal characters, the predefined classes
+ * {@code \s \S \d \D \w \W}, the POSIX classes {@code \p{Punct}},
+ * {@code \p{Space}} and {@code \p{Blank}}, and bracketed classes of these
+ * with ranges and negation. Other patterns are not compiled and must use the
+ * regular expression.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+final class CharClassSplitter {
+
+	/**
+	 * The characters matched by {@code \s}.
+	 */
+	static final CharMatcher WHITESPACE = CharMatcher.anyOf(" \t\n\u000B\f\r")
+			.precomputed();
+
+	private static final CharMatcher DIGIT = CharMatcher.inRange('0', '9');
+
+	private static final CharMatcher WORD = CharMatcher.inRange('a', 'z')
+			.or(CharMatcher.inRange('A', 'Z')).or(CharMatcher.is('_'))
+			.or(DIGIT);
+
+	private static final CharMatcher PUNCT = CharMatcher
+			.anyOf("!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~");
+
+	private static final CharMatcher BLANK = CharMatcher.anyOf(" \t");
+
+	private static final String META_CHARACTERS = "\\[](){}.*+?^$|";
+
+	/**
+	 * Compiles a pattern into a splitter.
+	 * 
+	 * @param pattern
+	 *            the pattern to compile
+	 * @return a splitter equivalent to the pattern or null when the pattern is
+	 *         not a simple character class
+	 */
+	static CharClassSplitter compile(Pattern pattern) {
+		if (pattern.flags() != 0) {
+			return null;
+		}
+
+		final Parser parser = new Parser(pattern.pattern());
+		final CharMatcher delimiter = parser.atom();
+		if (delimiter == null) {
+			return null;
+		}
+
+		final boolean repeated = parser.consume('+');
+		if (!parser.atEnd()) {
+			return null;
+		}
+
+		// The regular expression matches surrogate pairs as a single code
+		// point. A single character delimiter would split them differently.
+		if (!repeated && delimiter.matchesAnyOf("\uD800\uDC00")) {
+			return null;
+		}
+
+		return new CharClassSplitter(delimiter.precomputed(), repeated);
+	}
+
+	private final CharMatcher delimiter;
+	private final boolean repeated;
+
+	private CharClassSplitter(CharMatcher delimiter, boolean repeated) {
+		this.delimiter = delimiter;
+		this.repeated = repeated;
+	}
+
+	/**
+	 * Splits the input and passes each token to the sink. Produces the same
+	 * tokens as {@code pattern.split(input, -1)}.
+	 * 
+	 * @param input
+	 *            the input to split
+	 * @param sink
+	 *            the sink to pass tokens to
+	 */
+	void split(CharSequence input, TokenSink sink) {
+		final int length = input.length();
+		int start = 0;
+		int i = 0;
+		while (i < length) {
+			if (delimiter.matches(input.charAt(i))) {
+				final int end = i++;
+				if (repeated) {
+					while (i < length && delimiter.matches(input.charAt(i))) {
+						i++;
+					}
+				}
+				sink.accept(input, start, end - start);
+				start = i;
+			} else {
+				i++;
+			}
+		}
+		sink.accept(input, start, length - start);
+	}
+
+	@Override
+	public String toString() {
+		return "CharClassSplitter [delimiter=" + delimiter + ", repeated="
+				+ repeated + "]";
+	}
+
+	/**
+	 * Recursive descent parser for a single character class. Parse methods
+	 * return null for unsupported syntax.
+	 */
+	private static final class Parser {
+
+		private final String pattern;
+		private int index;
+
+		// The character matched by the last escape or -1 for classes
+		private int literal;
+
+		Parser(String pattern) {
+			this.pattern = pattern;
+		}
+
+		boolean atEnd() {
+			return index == pattern.length();
+		}
+
+		boolean consume(char c) {
+			if (!atEnd() && pattern.charAt(index) == c) {
+				index++;
+				return true;
+			}
+			return false;
+		}
+
+		CharMatcher atom() {
+			if (atEnd()) {
+				return null;
+			}
+
+			final char c = pattern.charAt(index++);
+			if (c == '\\') {
+				return escape();
+			} else if (c == '[') {
+				return bracket();
+			} else if (META_CHARACTERS.indexOf(c) >= 0 || isSurrogate(c)) {
+				return null;
+			}
+			return CharMatcher.is(c);
+		}
+
+		private CharMatcher escape() {
+			if (atEnd()) {
+				return null;
+			}
+
+			final char c = pattern.charAt(index++);
+			literal = -1;
+			switch (c) {
+			case 's':
+				return WHITESPACE;
+			case 'S':
+				return WHITESPACE.negate();
+			case 'd':
+				return DIGIT;
+			case 'D':
+				return DIGIT.negate();
+			case 'w':
+				return WORD;
+			case 'W':
+				return WORD.negate();
+			case 't':
+				return literal('\t');
+			case 'n':
+				return literal('\n');
+			case 'r':
+				return literal('\r');
+			case 'f':
+				return literal('\f');
+			case 'p':
+				return posix();
+			default:
+				// Escaped non-alphabetic characters are literals
+				if (c < 128 && !Character.isLetterOrDigit(c)) {
+					return literal(c);
+				}
+				return null;
+			}
+		}
+
+		private CharMatcher literal(char c) {
+			literal = c;
+			return CharMatcher.is(c);
+		}
+
+		private CharMatcher posix() {
+			final int end = pattern.indexOf('}', index);
+			if (!consume('{') || end < 0) {
+				return null;
+			}
+
+			final String name = pattern.substring(index, end);
+			index = end + 1;
+			switch (name) {
+			case "Punct":
+				return PUNCT;
+			case "Space":
+				return WHITESPACE;
+			case "Blank":
+				return BLANK;
+			default:
+				return null;
+			}
+		}
+
+		private CharMatcher bracket() {
+			final boolean negated = consume('^');
+			if (!atEnd() && pattern.charAt(index) == ']') {
+				// Leading ] is ambiguous between regex dialects
+				return null;
+			}
+
+			CharMatcher members = CharMatcher.none();
+			while (!consume(']')) {
+				if (atEnd()) {
+					return null;
+				}
+
+				final char c = pattern.charAt(index);
+				if (c == '[' || pattern.startsWith("&&", index)) {
+					return null;
+				}
+
+				final CharMatcher member = member();
+				if (member == null) {
+					return null;
+				}
+
+				// Ranges between two literal characters
+				if (pattern.startsWith("-", index)
+						&& index + 1 < pattern.length()
+						&& pattern.charAt(index + 1) != ']') {
+					final int from = literal;
+					index++;
+					if (from < 0 || member() == null || literal < from) {
+						return null;
+					}
+					members = members.or(CharMatcher.inRange((char) from,
+							(char) literal));
+				} else {
+					members = members.or(member);
+				}
+			}
+
+			return negated ? members.negate() : members;
+		}
+
+		private CharMatcher member() {
+			final char c = pattern.charAt(index++);
+			if (c == '\\') {
+				return escape();
+			} else if (c == '[' || isSurrogate(c)) {
+				return null;
+			}
+			return literal(c);
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.tokenizers;
+
+/**
+ * A tokenizer that can push its tokens into a {@link TokenSink} without
+ * materializing a collection of tokens.
+ * <p>
+ * Implementations must deliver the same tokens in the same order as
+ * {@link Tokenizer#tokenizeToList(String)}.
+ * 
+ * @see Tokenizers#tokenize(Tokenizer, CharSequence, TokenSink)
+ */
+public interface StreamingTokenizer extends Tokenizer {
+
+	/**
+	 * Tokenizes the input and passes each token to the sink.
+	 * 
+	 * @param input
+	 *            input to tokenize
+	 * @param sink
+	 *            sink that receives the tokens
+	 */
+	public void tokenize(CharSequence input, TokenSink sink);
+
+}
@@ -0,0 +1,45 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.tokenizers;
+
+/**
+ * Receives tokens from a {@link StreamingTokenizer}. Tokens are delivered as
+ * a range of characters in a source sequence rather then as strings so they
+ * can be consumed without creating intermediate strings or collections.
+ * <p>
+ * The source sequence is only valid for the duration of the call. Sinks that
+ * retain tokens should copy the range.
+ */
+public interface TokenSink {
+
+	/**
+	 * Accepts the token {@code source[offset, offset + length)}.
+	 * 
+	 * @param source
+	 *            the character sequence containing the token
+	 * @param offset
+	 *            the index of the first character of the token
+	 * @param length
+	 *            the number of characters in the token
+	 */
+	public void accept(CharSequence source, int offset, int length);
+
+}
@@ -0,0 +1,212 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.tokenizers;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Multiset;
+
+/**
+ * Token sinks that form the stages of a fused tokenizer pipeline. Each stage
+ * handles a token and pushes the result to the next stage, so tokens flow
+ * through all stages in a single pass without intermediate collections.
+ */
+final class TokenSinks {
+
+	/**
+	 * Returns the token {@code source[offset, offset + length)} as a string.
+	 * Tokens that span an entire string are returned without copying.
+	 */
+	static String token(CharSequence source, int offset, int length) {
+		if (offset == 0 && length == source.length()
+				&& source instanceof String) {
+			return (String) source;
+		}
+		return source.subSequence(offset, offset + length).toString();
+	}
+
+	/**
+	 * Collects tokens into a collection of strings.
+	 */
+	static final class CollectingSink implements TokenSink {
+
+		private final Collection<String> tokens;
+
+		CollectingSink(Collection<String> tokens) {
+			this.tokens = tokens;
+		}
+
+		@Override
+		public void accept(CharSequence source, int offset, int length) {
+			tokens.add(token(source, offset, length));
+		}
+	}
+
+	/**
+	 * Adds tokens to a multiset with the same number of occurrences.
+	 */
+	static final class CountingSink implements TokenSink {
+
+		private final Multiset<String> tokens;
+		private int count;
+
+		CountingSink(Multiset<String> tokens) {
+			this.tokens = tokens;
+		}
+
+		CountingSink reset(int count) {
+			this.count = count;
+			return this;
+		}
+
+		@Override
+		public void accept(CharSequence source, int offset, int length) {
+			tokens.add(token(source, offset, length), count);
+		}
+	}
+
+	/**
+	 * Passes tokens that match the predicate to the next stage.
+	 */
+	static final class FilterSink implements TokenSink {
+
+		private final Predicate<String> predicate;
+		private final TokenSink next;
+
+		FilterSink(Predicate<String> predicate, TokenSink next) {
+			this.predicate = predicate;
+			this.next = next;
+		}
+
+		@Override
+		public void accept(CharSequence source, int offset, int length) {
+			final String token = token(source, offset, length);
+			if (predicate.apply(token)) {
+				next.accept(token, 0, length);
+			}
+		}
+	}
+
+	/**
+	 * Passes transformed tokens to the next stage. The function may not return
+	 * null.
+	 */
+	static final class TransformSink implements TokenSink {
+
+		private final Function<String, String> function;
+		private final TokenSink next;
+
+		TransformSink(Function<String, String> function, TokenSink next) {
+			this.function = function;
+			this.next = next;
+		}
+
+		@Override
+		public void accept(CharSequence source, int offset, int length) {
+			final String token = checkNotNull(
+					function.apply(token(source, offset, length)),
+					"%s may not return null", function);
+			next.accept(token, 0, token.length());
+		}
+	}
+
+	/**
+	 * Tokenizes each token again and passes the results to the next stage.
+	 * Tokens are handed to the tokenizer as a view on their source rather then
+	 * as a copy.
+	 */
+	static final class TokenizingSink implements TokenSink {
+
+		private final Tokenizer tokenizer;
+		private final TokenSink next;
+		private final View view = new View();
+
+		TokenizingSink(Tokenizer tokenizer, TokenSink next) {
+			this.tokenizer = tokenizer;
+			this.next = next;
+		}
+
+		@Override
+		public void accept(CharSequence source, int offset, int length) {
+			Tokenizers.tokenize(tokenizer, view.reset(source, offset, length),
+					next);
+		}
+	}
+
+	/**
+	 * Mutable window on a character sequence. Views on views point directly
+	 * to the underlying sequence.
+	 */
+	static final class View implements CharSequence {
+
+		private CharSequence source;
+		private int offset;
+		private int length;
+
+		View reset(CharSequence source, int offset, int length) {
+			if (source instanceof View) {
+				final View view = (View) source;
+				this.source = view.source;
+				this.offset = view.offset + offset;
+			} else {
+				this.source = source;
+				this.offset = offset;
+			}
+			this.length = length;
+			return this;
+		}
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= length) {
+				throw new IndexOutOfBoundsException(String.valueOf(index));
+			}
+			return source.charAt(offset + index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (start < 0 || end > length || start > end) {
+				throw new IndexOutOfBoundsException(start + ", " + end);
+			}
+			return source.subSequence(offset + start, offset + end);
+		}
+
+		@Override
+		public String toString() {
+			return source.subSequence(offset, offset + length).toString();
+		}
+	}
+
+	private TokenSinks() {
+		// Utility class
+	}
+
+}
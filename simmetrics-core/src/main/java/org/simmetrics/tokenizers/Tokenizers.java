@@ -25,31 +25,30 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Predicates.and;
 import static com.google.common.base.Strings.repeat;
 import static com.google.common.collect.Lists.asList;
-import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Sets.newHashSet;
+import static java.lang.Character.offsetByCodePoints;
 import static java.util.Arrays.asList;
-import static java.util.Arrays.copyOfRange;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonList;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.simmetrics.tokenizers.TokenSinks.CollectingSink;
+import org.simmetrics.tokenizers.TokenSinks.CountingSink;
+import org.simmetrics.tokenizers.TokenSinks.FilterSink;
+import org.simmetrics.tokenizers.TokenSinks.TokenizingSink;
+import org.simmetrics.tokenizers.TokenSinks.TransformSink;
+
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
-import com.google.common.collect.Collections2;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Multiset;
-import com.google.common.collect.Multisets;
-import com.google.common.collect.Sets;
 
 /**
  * Construct simple tokenizers, chains multiple tokenizers into a single
@@ -188,7 +187,7 @@ public final class Tokenizers {
 	
 	/**
 	 * Constructs a new transforming tokenizer. After tokenization, all tokens
-	 * are transformed by the function.
+	 * are transformed by the function. The function may not return null.
 	 * 
 	 * @param tokenizer
 	 *            delegate tokenizer
@@ -293,7 +292,69 @@ public final class Tokenizers {
 		return new Filter(tokenizer, predicate);
 	}
 	
-	static class Filter implements Tokenizer {
+	/**
+	 * Tokenizes the input and passes each token to the sink. When the
+	 * tokenizer is a {@link StreamingTokenizer} tokens are streamed directly
+	 * otherwise each token of {@link Tokenizer#tokenizeToList(String)} is
+	 * passed to the sink.
+	 * 
+	 * @param tokenizer
+	 *            the tokenizer to use
+	 * @param input
+	 *            input to tokenize
+	 * @param sink
+	 *            sink that receives the tokens
+	 */
+	public static void tokenize(Tokenizer tokenizer, CharSequence input,
+			TokenSink sink) {
+		checkNotNull(sink);
+
+		if (tokenizer instanceof StreamingTokenizer) {
+			((StreamingTokenizer) tokenizer).tokenize(input, sink);
+			return;
+		}
+
+		for (String token : tokenizer.tokenizeToList(input.toString())) {
+			sink.accept(token, 0, token.length());
+		}
+	}
+
+	/**
+	 * Base class for tokenizers composed of other tokenizers. All tokens are
+	 * pushed through the stages of the composition in a single pass. The
+	 * collection methods collect the output of
+	 * {@link #tokenize(CharSequence, TokenSink)} without intermediate
+	 * collections.
+	 */
+	abstract static class FusedTokenizer implements StreamingTokenizer {
+
+		@Override
+		public List<String> tokenizeToList(String input) {
+			checkNotNull(input);
+			final List<String> tokens = new ArrayList<>();
+			tokenize(input, new CollectingSink(tokens));
+			return tokens;
+		}
+
+		@Override
+		public Multiset<String> tokenizeToMultiset(String input) {
+			checkNotNull(input);
+			final Multiset<String> tokens = HashMultiset.create();
+			tokenize(input, new CollectingSink(tokens));
+			return tokens;
+		}
+
+		@Override
+		public Set<String> tokenizeToSet(String input) {
+			checkNotNull(input);
+			final Set<String> tokens = new HashSet<>();
+			tokenize(input, new CollectingSink(tokens));
+			return tokens;
+		}
+
+	}
+
+	static class Filter extends FusedTokenizer {
 
 		static final class TransformFilter extends
 				Filter {
@@ -311,44 +372,6 @@ public final class Tokenizers {
 				return tokenizer;
 			}
 
-			@Override
-			Collection<String> tokenizeToFilteredList(String input) {
-				return Collections2.filter(
-						tokenizer.tokenizeToTransformedList(input), predicate);
-
-			}
-
-			@Override
-			Collection<String> tokenizeToFilteredMultiset(String input) {
-				return Collections2.filter(
-						tokenizer.tokenizeToTransformedMultiset(input),
-						predicate);
-			}
-
-			@Override
-			Collection<String> tokenizeToFilteredSet(String input) {
-				return Collections2.filter(
-						tokenizer.tokenizeToTransformedSet(input), predicate);
-			}
-
-			@Override
-			public List<String> tokenizeToList(String input) {
-				return newArrayList(Collections2.filter(
-						tokenizer.tokenizeToTransformedList(input), predicate));
-			}
-
-			@Override
-			public Multiset<String> tokenizeToMultiset(String input) {
-				return HashMultiset.create(Collections2.filter(
-						tokenizer.tokenizeToTransformedMultiset(input),
-						predicate));
-			}
-
-			@Override
-			public Set<String> tokenizeToSet(String input) {
-				return newHashSet(Collections2.filter(
-						tokenizer.tokenizeToTransformedSet(input), predicate));
-			}
 		}
 
 		static Tokenizer createCombined(Filter tokenizer,
@@ -388,36 +411,10 @@ public final class Tokenizers {
 			return tokenizer;
 		}
 
-		Collection<String> tokenizeToFilteredList(String input) {
-			return Collections2.filter(tokenizer.tokenizeToList(input),
-					predicate);
-		}
-
-		Collection<String> tokenizeToFilteredMultiset(String input) {
-			return Collections2.filter(tokenizer.tokenizeToMultiset(input),
-					predicate);
-		}
-
-		Collection<String> tokenizeToFilteredSet(String input) {
-			return Sets.filter(tokenizer.tokenizeToSet(input), predicate);
-		}
-
 		@Override
-		public List<String> tokenizeToList(String input) {
-			return new ArrayList<>(Collections2.filter(
-					tokenizer.tokenizeToList(input), predicate));
-		}
-
-		@Override
-		public Multiset<String> tokenizeToMultiset(String input) {
-			return HashMultiset.create(Multisets.filter(
-					tokenizer.tokenizeToMultiset(input), predicate));
-		}
-
-		@Override
-		public Set<String> tokenizeToSet(String input) {
-			return new HashSet<>(Collections2.filter(
-					tokenizer.tokenizeToSet(input), predicate));
+		public void tokenize(CharSequence input, TokenSink sink) {
+			Tokenizers.tokenize(getTokenizer(), input, new FilterSink(
+					predicate, sink));
 		}
 
 		@Override
@@ -427,7 +424,7 @@ public final class Tokenizers {
 
 	}
 
-	static final class Recursive implements Tokenizer {
+	static final class Recursive extends FusedTokenizer {
 
 		private final List<Tokenizer> tokenizers;
 
@@ -440,69 +437,57 @@ public final class Tokenizers {
 		}
 
 		@Override
-		public List<String> tokenizeToList(final String input) {
-			List<String> tokens = new ArrayList<>(input.length());
-			tokens.add(input);
-
-			List<String> newTokens = new ArrayList<>(input.length());
-			for (Tokenizer t : tokenizers) {
-				for (String token : tokens) {
-					newTokens.addAll(t.tokenizeToList(token));
-				}
-				List<String> swap = tokens;
-				tokens = newTokens;
-				newTokens = swap;
-				newTokens.clear();
+		public void tokenize(CharSequence input, TokenSink sink) {
+			// Each token of a stage is tokenized by the next stage right away
+			TokenSink stage = sink;
+			for (int i = tokenizers.size() - 1; i > 0; i--) {
+				stage = new TokenizingSink(tokenizers.get(i), stage);
 			}
-
-			return tokens;
+			Tokenizers.tokenize(tokenizers.get(0), input, stage);
 		}
 
 		@Override
 		public Multiset<String> tokenizeToMultiset(String input) {
+			checkNotNull(input);
 
-			// tokenizeToList is not reused here on purpose. Removing duplicate
-			// words early means these don't have to be tokenized multiple
-			// times. Increases performance.
+			// Tokens are collected after each stage on purpose. Duplicate
+			// tokens are tokenized once by the next stage and their results
+			// added as often as they occurred. Increases performance.
 
-			Multiset<String> tokens = HashMultiset.create(input.length());
+			Multiset<String> tokens = HashMultiset.create();
 			tokens.add(input);
 
-			Multiset<String> newTokens = HashMultiset.create(input.length());
 			for (Tokenizer t : tokenizers) {
-				for (String token : tokens) {
-					newTokens.addAll(t.tokenizeToList(token));
+				final Multiset<String> newTokens = HashMultiset.create();
+				final CountingSink sink = new CountingSink(newTokens);
+				for (Multiset.Entry<String> entry : tokens.entrySet()) {
+					Tokenizers.tokenize(t, entry.getElement(),
+							sink.reset(entry.getCount()));
 				}
-				Multiset<String> swap = tokens;
 				tokens = newTokens;
-				newTokens = swap;
-				newTokens.clear();
 			}
 
 			return tokens;
 		}
 
 		@Override
-		public Set<String> tokenizeToSet(final String input) {
+		public Set<String> tokenizeToSet(String input) {
+			checkNotNull(input);
 
-			// tokenizeToList is not reused here on purpose. Removing duplicate
-			// words early means these don't have to be tokenized multiple
-			// times. Increases performance.
+			// Tokens are collected after each stage on purpose. Removing
+			// duplicate tokens early means these don't have to be tokenized
+			// multiple times. Increases performance.
 
-			Set<String> tokens = new HashSet<>(input.length());
+			Set<String> tokens = new HashSet<>();
 			tokens.add(input);
 
-			Set<String> newTokens = new HashSet<>(input.length());
 			for (Tokenizer t : tokenizers) {
+				final Set<String> newTokens = new HashSet<>();
+				final TokenSink sink = new CollectingSink(newTokens);
 				for (String token : tokens) {
-					// Do use to list here, avoid intermediate
-					// adding of a list to to set to add it to newTokens
-					newTokens.addAll(t.tokenizeToList(token));
+					Tokenizers.tokenize(t, token, sink);
 				}
-				Set<String> swap = tokens;
 				tokens = newTokens;
-				newTokens = swap;
-				newTokens.clear();
 			}
 
 			return tokens;
@@ -513,19 +498,75 @@ public final class Tokenizers {
 			return Joiner.on(" -> ").join(tokenizers);
 		}
 
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Recursive)) {
+				return false;
+			}
+			final Recursive other = (Recursive) obj;
+			return tokenizers.equals(other.tokenizers);
+		}
+
+		@Override
+		public int hashCode() {
+			return tokenizers.hashCode();
+		}
+
 	}
 
 	static final class Split extends AbstractTokenizer {
 
 		private final Pattern pattern;
 
+		// Null when the pattern is too complex to compile
+		private final CharClassSplitter splitter;
+
 		public Split(Pattern pattern) {
 			this.pattern = pattern;
+			this.splitter = CharClassSplitter.compile(pattern);
 		}
 
 		@Override
 		public List<String> tokenizeToList(final String input) {
-			return asList(pattern.split(input, -1));
+			if (splitter == null) {
+				return asList(pattern.split(input, -1));
+			}
+
+			final List<String> tokens = new ArrayList<>();
+			splitter.split(input, new CollectingSink(tokens));
+			return tokens;
+		}
+
+		@Override
+		public void tokenize(CharSequence input, TokenSink sink) {
+			if (splitter != null) {
+				splitter.split(input, sink);
+				return;
+			}
+
+			// Streams the same tokens as pattern.split(input, -1)
+			final Matcher matcher = pattern.matcher(input);
+			int index = 0;
+			boolean matched = false;
+			while (matcher.find()) {
+				// A zero-width match at the beginning never produces an empty
+				// leading token
+				if (index == 0 && matcher.start() == 0 && matcher.end() == 0) {
+					continue;
+				}
+				sink.accept(input, index, matcher.start() - index);
+				index = matcher.end();
+				matched = true;
+			}
+
+			if (!matched) {
+				sink.accept(input, 0, input.length());
+				return;
+			}
+			sink.accept(input, index, input.length() - index);
 		}
 
 		@Override
@@ -533,13 +574,31 @@ public final class Tokenizers {
 			return "Split[" + pattern + "]";
 		}
 
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Split)) {
+				return false;
+			}
+			final Split other = (Split) obj;
+			return pattern.pattern().equals(other.pattern.pattern())
+					&& pattern.flags() == other.pattern.flags();
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * pattern.pattern().hashCode() + pattern.flags();
+		}
+
 		Pattern getPattern() {
 			return pattern;
 		}
 
 	}
 
-	static class Transform implements Tokenizer {
+	static class Transform extends FusedTokenizer {
 		
 		static final class FilterTransform extends
 				Transform {
@@ -557,41 +616,6 @@ public final class Tokenizers {
 				return tokenizer;
 			}
 
-			@Override
-			public List<String> tokenizeToList(String input) {
-				return newArrayList(Collections2.transform(
-						tokenizer.tokenizeToFilteredList(input), function));
-			}
-
-			@Override
-			public Multiset<String> tokenizeToMultiset(String input) {
-				return HashMultiset.create(Collections2.transform(
-						tokenizer.tokenizeToFilteredMultiset(input), function));
-			}
-
-			@Override
-			public Set<String> tokenizeToSet(String input) {
-				return newHashSet(Collections2.transform(
-						tokenizer.tokenizeToFilteredSet(input), function));
-			}
-
-			@Override
-			Collection<String> tokenizeToTransformedList(String input) {
-				return Collections2.transform(
-						tokenizer.tokenizeToFilteredList(input), function);
-			}
-
-			@Override
-			Collection<String> tokenizeToTransformedMultiset(String input) {
-				return Collections2.transform(
-						tokenizer.tokenizeToFilteredMultiset(input), function);
-			}
-
-			@Override
-			Collection<String> tokenizeToTransformedSet(String input) {
-				return Collections2.transform(
-						tokenizer.tokenizeToFilteredSet(input), function);
-			}
 		}
 
 		static Tokenizer createCombined(Filter tokenizer,
@@ -633,35 +657,9 @@ public final class Tokenizers {
 		}
 
 		@Override
-		public List<String> tokenizeToList(String input) {
-			return newArrayList(Collections2.transform(
-					tokenizer.tokenizeToList(input), function));
-		}
-
-		@Override
-		public Multiset<String> tokenizeToMultiset(String input) {
-			return HashMultiset.create(Collections2.transform(
-					tokenizer.tokenizeToMultiset(input), function));
-		}
-
-		@Override
-		public Set<String> tokenizeToSet(String input) {
-			return newHashSet(Collections2.transform(
-					tokenizer.tokenizeToSet(input), function));
-		}
-
-		Collection<String> tokenizeToTransformedList(String input) {
-			return Lists.transform(tokenizer.tokenizeToList(input), function);
-		}
-
-		Collection<String> tokenizeToTransformedMultiset(String input) {
-			return Collections2.transform(tokenizer.tokenizeToMultiset(input),
-					function);
-		}
-
-		Collection<String> tokenizeToTransformedSet(String input) {
-			return Collections2.transform(tokenizer.tokenizeToSet(input),
-					function);
+		public void tokenize(CharSequence input, TokenSink sink) {
+			Tokenizers.tokenize(getTokenizer(), input, new TransformSink(
+					function, sink));
 		}
 
 		@Override
@@ -673,8 +671,6 @@ public final class Tokenizers {
 
 	static final class Whitespace extends AbstractTokenizer {
 
-		private final Pattern pattern = Pattern.compile("\\s+");
-
 		Whitespace() {
 		}
 
@@ -684,14 +680,29 @@ public final class Tokenizers {
 				return emptyList();
 			}
 
-			String[] tokens = pattern.split(input);
+			final List<String> tokens = new ArrayList<>();
+			tokenize(input, new CollectingSink(tokens));
+			return tokens;
+		}
 
-			// Remove leading empty token if any
-			if (tokens.length > 0 && tokens[0].isEmpty()) {
-				tokens = copyOfRange(tokens, 1, tokens.length);
+		@Override
+		public void tokenize(CharSequence input, TokenSink sink) {
+			// Streams runs of non-whitespace, equivalent to splitting on \s+
+			final int length = input.length();
+			int start = -1;
+			for (int i = 0; i < length; i++) {
+				if (CharClassSplitter.WHITESPACE.matches(input.charAt(i))) {
+					if (start >= 0) {
+						sink.accept(input, start, i - start);
+						start = -1;
+					}
+				} else if (start < 0) {
+					start = i;
+				}
+			}
+			if (start >= 0) {
+				sink.accept(input, start, length - start);
 			}
-
-			return asList(tokens);
 		}
 
 		@Override
@@ -699,6 +710,16 @@ public final class Tokenizers {
 			return "Whitespace";
 		}
 
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Whitespace;
+		}
+
+		@Override
+		public int hashCode() {
+			return Whitespace.class.hashCode();
+		}
+
 	}
 
 	/**
@@ -743,13 +764,26 @@ public final class Tokenizers {
 				return emptyList();
 			}
 
+			final List<String> ret = new ArrayList<>(input.length());
+			tokenize(input, new CollectingSink(ret));
+			return ret;
+		}
+
+		@Override
+		public void tokenize(CharSequence input, TokenSink sink) {
+			final int length = input.length();
+			if (length == 0) {
+				return;
+			}
+
 			// Minor optimization. Because characters are either equal to or
 			// smaller then codepoints a string must contain at least q
 			// characters.
-			if (filter && input.length() < q) {
-				return new ArrayList<>();
-			} else if (input.length() < q) {
-				return singletonList(input);
+			if (length < q) {
+				if (!filter) {
+					sink.accept(input, 0, length);
+				}
+				return;
 			}
 
 			// To create a q-gram set of tokens we move a q-codepoints-wide
@@ -758,30 +792,45 @@ public final class Tokenizers {
 			// string
 			final int lastQGramStart;
 			try {
-				lastQGramStart = input.offsetByCodePoints(input.length(), -q);
+				lastQGramStart = offsetByCodePoints(input, length, -q);
 			} catch (IndexOutOfBoundsException e) {
 				// When the window doesn't fit act according to the filter
 				// setting.
-				if (filter) {
-					return new ArrayList<>();
+				if (!filter) {
+					sink.accept(input, 0, length);
 				}
-				return singletonList(input);
+				return;
 			}
 
-			final List<String> ret = new ArrayList<>(input.length());
 			for (int qGramStart = 0; 
 					 qGramStart <= lastQGramStart; 
-					 qGramStart = input.offsetByCodePoints(qGramStart,1)) {
-				ret.add(input.substring(qGramStart, input.offsetByCodePoints(qGramStart, q)));
+					 qGramStart = offsetByCodePoints(input, qGramStart, 1)) {
+				final int qGramEnd = offsetByCodePoints(input, qGramStart, q);
+				sink.accept(input, qGramStart, qGramEnd - qGramStart);
 			}
-
-			return ret;
 		}
 
 		@Override
 		public String toString() {
 			return "QGram [q=" + q + "]";
 		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof QGram)) {
+				return false;
+			}
+			final QGram other = (QGram) obj;
+			return q == other.q && filter == other.filter;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * q + (filter ? 1 : 0);
+		}
 	}
 
 	/**
@@ -848,6 +897,15 @@ public final class Tokenizers {
 			return tokenizer.tokenizeToList(startPadding + input + endPadding);
 		}
 
+		@Override
+		public void tokenize(CharSequence input, TokenSink sink) {
+			if (input.length() == 0) {
+				return;
+			}
+
+			tokenizer.tokenize(startPadding + input + endPadding, sink);
+		}
+
 		@Override
 		public String toString() {
 			return "QGramExtended [startPadding=" + startPadding
@@ -855,6 +913,26 @@ public final class Tokenizers {
 					+ "]";
 		}
 
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof QGramExtended)) {
+				return false;
+			}
+			final QGramExtended other = (QGramExtended) obj;
+			return tokenizer.getQ() == other.tokenizer.getQ()
+					&& startPadding.equals(other.startPadding)
+					&& endPadding.equals(other.endPadding);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * tokenizer.getQ() + startPadding.hashCode())
+					+ endPadding.hashCode();
+		}
+
 		 int getQ() {
 			return tokenizer.getQ();
 		}
@@ -0,0 +1,265 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.simmetrics.Capability.BOUNDED_EVALUATION;
+import static org.simmetrics.Capability.INTEGER_DISTANCE;
+import static org.simmetrics.Capability.SYMMETRIC;
+import static org.simmetrics.Capability.TRIANGLE_INEQUALITY;
+import static org.simmetrics.builders.StringMetricBuilder.with;
+import static org.simmetrics.simplifiers.Simplifiers.toLowerCase;
+import static org.simmetrics.tokenizers.Tokenizers.qGram;
+import static org.simmetrics.tokenizers.Tokenizers.whitespace;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.simmetrics.builders.StringDistanceBuilder;
+import org.simmetrics.metrics.BlockDistance;
+import org.simmetrics.metrics.CosineSimilarity;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Dice;
+import org.simmetrics.metrics.EuclideanDistance;
+import org.simmetrics.metrics.GeneralizedJaccard;
+import org.simmetrics.metrics.GeneralizedOverlapCoefficient;
+import org.simmetrics.metrics.HammingDistance;
+import org.simmetrics.metrics.Jaccard;
+import org.simmetrics.metrics.Jaro;
+import org.simmetrics.metrics.JaroWinkler;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.metrics.LongestCommonSubsequence;
+import org.simmetrics.metrics.LongestCommonSubstring;
+import org.simmetrics.metrics.MongeElkan;
+import org.simmetrics.metrics.NeedlemanWunch;
+import org.simmetrics.metrics.OverlapCoefficient;
+import org.simmetrics.metrics.SimonWhite;
+import org.simmetrics.metrics.StringMetrics;
+import org.simmetrics.metrics.TanimotoCoefficient;
+
+@SuppressWarnings("javadoc")
+public class CapabilityTest {
+
+	private static final float DELTA = 0.0001f;
+
+	private final List<String> strings = randomStrings(new Random(42), 40, 8);
+
+	@Test
+	public void shouldHoldForStringDistances() {
+		final List<StringDistance> distances = asList(
+				new Levenshtein(),
+				new Levenshtein(1.0f, 2.0f),
+				new Levenshtein(0.5f, 1.0f),
+				new DamerauLevenshtein(),
+				new Jaro(),
+				new JaroWinkler(),
+				new LongestCommonSubsequence(),
+				new LongestCommonSubstring(),
+				StringDistanceBuilder.with(new BlockDistance<String>())
+						.tokenize(qGram(2)).build(),
+				StringDistanceBuilder.with(new EuclideanDistance<String>())
+						.tokenize(qGram(2)).build(),
+				StringDistanceBuilder.with(new Jaccard<String>())
+						.tokenize(qGram(2)).build());
+
+		for (StringDistance distance : distances) {
+			verify(distance, strings);
+		}
+	}
+
+	@Test
+	public void shouldHoldForStringMetrics() {
+		final List<StringMetric> metrics = asList(
+				with(new Levenshtein()).build(),
+				with(new Jaro()).build(),
+				with(new Jaccard<String>()).tokenize(qGram(2)).build(),
+				with(new Dice<String>()).tokenize(qGram(2)).build(),
+				with(new OverlapCoefficient<String>()).tokenize(qGram(2)).build(),
+				with(new CosineSimilarity<String>()).tokenize(qGram(2)).build(),
+				with(new SimonWhite<String>()).tokenize(qGram(2)).build(),
+				with(new GeneralizedJaccard<String>()).tokenize(qGram(2)).build(),
+				with(new GeneralizedOverlapCoefficient<String>()).tokenize(qGram(2)).build(),
+				with(new TanimotoCoefficient<String>()).tokenize(qGram(2)).build(),
+				with(new MongeElkan(new Levenshtein())).tokenize(whitespace()).build(),
+				StringMetrics.qGramsDistance(),
+				StringMetrics.simonWhite());
+
+		for (StringMetric metric : metrics) {
+			verify(metric, strings);
+		}
+	}
+
+	@Test
+	public void shouldHoldForHammingDistance() {
+		final StringDistance hamming = HammingDistance.forString();
+		final List<String> codes = randomCodes(new Random(42), 40, 6);
+		verify(hamming, codes);
+
+		@SuppressWarnings("unchecked")
+		final BoundedDistance<String> bounded = (BoundedDistance<String>) hamming;
+		assertTrue(Capability.of(hamming).contains(BOUNDED_EVALUATION));
+		for (String a : codes) {
+			for (String b : codes) {
+				final float distance = hamming.distance(a, b);
+				for (int max = 0; max <= 6; max++) {
+					if (distance <= max) {
+						assertEquals(distance, bounded.distance(a, b, max), 0.0f);
+					} else {
+						assertTrue(bounded.distance(a, b, max) > max);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void shouldNotDeclareUnknownCapabilities() {
+		assertEquals(none(), Capability.of(new NeedlemanWunch()));
+		assertEquals(none(), Capability.of("not a metric"));
+		assertEquals(none(), Capability.of(new MongeElkan(new NeedlemanWunch())));
+	}
+
+	@Test
+	public void shouldDropTriangleInequalityOfUnnormalizedDistance() {
+		assertEquals(EnumSet.of(SYMMETRIC, TRIANGLE_INEQUALITY, INTEGER_DISTANCE,
+				BOUNDED_EVALUATION), Capability.of(new Levenshtein()));
+		assertEquals(EnumSet.of(SYMMETRIC),
+				Capability.ofMetric(with(new Levenshtein()).build()));
+		assertEquals(EnumSet.of(SYMMETRIC),
+				Capability.of(with(new Levenshtein()).cacheScores(100).build()));
+	}
+
+	@Test
+	public void shouldRetainTriangleInequalityOfNormalizedDistance() {
+		assertEquals(EnumSet.of(SYMMETRIC, TRIANGLE_INEQUALITY),
+				Capability.of(with(new Jaccard<String>())
+						.simplify(toLowerCase())
+						.tokenize(whitespace())
+						.tokenize(qGram(2))
+						.build()));
+	}
+
+	@Test
+	public void shouldRetainDistanceCapabilities() {
+		assertEquals(EnumSet.of(SYMMETRIC, TRIANGLE_INEQUALITY, INTEGER_DISTANCE),
+				Capability.of(StringDistanceBuilder.with(new BlockDistance<String>())
+						.tokenize(qGram(2))
+						.cacheScores(100)
+						.build()));
+		assertEquals(EnumSet.of(SYMMETRIC, INTEGER_DISTANCE),
+				Capability.of(StringDistanceBuilder.with(new DamerauLevenshtein())
+						.simplify(toLowerCase())
+						.build()));
+	}
+
+	@Test
+	public void shouldNotDeclareWeightedCapabilities() {
+		assertEquals(EnumSet.of(SYMMETRIC, TRIANGLE_INEQUALITY, BOUNDED_EVALUATION),
+				Capability.of(new Levenshtein(1.0f, 0.5f)));
+		assertEquals(EnumSet.of(SYMMETRIC, BOUNDED_EVALUATION),
+				Capability.of(new Levenshtein(0.5f, 1.0f)));
+		assertEquals(EnumSet.of(SYMMETRIC, BOUNDED_EVALUATION),
+				Capability.of(new DamerauLevenshtein(1.0f, 1.0f, 0.5f)));
+	}
+
+	private static void verify(StringDistance distance, List<String> strings) {
+		final Set<Capability> capabilities = Capability.of(distance);
+		for (String a : strings) {
+			for (String b : strings) {
+				final float ab = distance.distance(a, b);
+				if (capabilities.contains(SYMMETRIC)) {
+					assertEquals(distance + " " + a + ", " + b, ab,
+							distance.distance(b, a), DELTA);
+				}
+				if (capabilities.contains(INTEGER_DISTANCE)) {
+					assertEquals(distance + " " + a + ", " + b, Math.rint(ab),
+							ab, 0.0);
+				}
+				if (capabilities.contains(TRIANGLE_INEQUALITY)) {
+					for (String c : strings) {
+						assertTrue(distance + " " + a + ", " + b + ", " + c,
+								distance.distance(a, c) <= ab
+										+ distance.distance(b, c) + DELTA);
+					}
+				}
+			}
+		}
+	}
+
+	private static void verify(StringMetric metric, List<String> strings) {
+		final Set<Capability> capabilities = Capability.ofMetric(metric);
+		for (String a : strings) {
+			for (String b : strings) {
+				final float ab = 1.0f - metric.compare(a, b);
+				if (capabilities.contains(SYMMETRIC)) {
+					assertEquals(metric + " " + a + ", " + b, ab,
+							1.0f - metric.compare(b, a), DELTA);
+				}
+				if (capabilities.contains(TRIANGLE_INEQUALITY)) {
+					for (String c : strings) {
+						final float ac = 1.0f - metric.compare(a, c);
+						final float bc = 1.0f - metric.compare(b, c);
+						assertTrue(metric + " " + a + ", " + b + ", " + c,
+								ac <= ab + bc + DELTA);
+					}
+				}
+			}
+		}
+	}
+
+	private static List<String> randomStrings(Random random, int n, int maxLength) {
+		final List<String> strings = new ArrayList<>(n);
+		strings.add("");
+		for (int i = 1; i < n; i++) {
+			strings.add(randomString(random, random.nextInt(maxLength + 1)));
+		}
+		return strings;
+	}
+
+	private static List<String> randomCodes(Random random, int n, int length) {
+		final List<String> strings = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			strings.add(randomString(random, length));
+		}
+		return strings;
+	}
+
+	private static String randomString(Random random, int length) {
+		// Small alphabet so random strings share characters
+		final char[] alphabet = { 'a', 'b', 'c', ' ' };
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = alphabet[random.nextInt(alphabet.length)];
+		}
+		return new String(chars);
+	}
+
+	private static Set<Capability> none() {
+		return EnumSet.noneOf(Capability.class);
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.builders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.simmetrics.builders.ScoreCache.fingerprint;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ScoreCacheTest {
+
+	@Test
+	public void shouldReturnNaNForMissingPair() {
+		ScoreCache cache = new ScoreCache(16, true);
+		assertTrue(Float.isNaN(get(cache, "a", "b")));
+	}
+
+	@Test
+	public void shouldStoreSymmetricPair() {
+		ScoreCache cache = new ScoreCache(16, true);
+		put(cache, "a", "b", 0.5f);
+		assertEquals(0.5f, get(cache, "a", "b"), 0.0f);
+		assertEquals(0.5f, get(cache, "b", "a"), 0.0f);
+		assertTrue(Float.isNaN(get(cache, "a", "c")));
+	}
+
+	@Test
+	public void shouldStoreOrderedPair() {
+		ScoreCache cache = new ScoreCache(16, false);
+		put(cache, "a", "bbb", 0.25f);
+		assertEquals(0.25f, get(cache, "a", "bbb"), 0.0f);
+		assertTrue(Float.isNaN(get(cache, "bbb", "a")));
+
+		put(cache, "bbb", "a", 0.75f);
+		assertEquals(0.25f, get(cache, "a", "bbb"), 0.0f);
+		assertEquals(0.75f, get(cache, "bbb", "a"), 0.0f);
+	}
+
+	@Test
+	public void shouldNotReturnScoreOfCollidingPair() {
+		ScoreCache cache = new ScoreCache(16, true);
+		cache.put("a", 1, "b", 2, 0.5f);
+		assertTrue(Float.isNaN(cache.get("a", 1, "c", 2)));
+		assertTrue(Float.isNaN(cache.get("c", 1, "b", 2)));
+		assertEquals(0.5f, cache.get("a", 1, "b", 2), 0.0f);
+	}
+
+	@Test
+	public void shouldBoundCapacity() {
+		assertEquals(16, new ScoreCache(16, true).capacity());
+		assertEquals(16, new ScoreCache(31, true).capacity());
+		assertEquals(1, new ScoreCache(1, true).capacity());
+	}
+
+	@Test
+	public void shouldReplaceOnConflict() {
+		ScoreCache cache = new ScoreCache(1, true);
+		put(cache, "a", "b", 0.5f);
+		put(cache, "c", "d", 0.25f);
+		assertTrue(Float.isNaN(get(cache, "a", "b")));
+		assertEquals(0.25f, get(cache, "c", "d"), 0.0f);
+	}
+
+	@Test
+	public void shouldFingerprintDistinctStrings() {
+		Set<Long> fingerprints = new HashSet<>();
+		for (int i = 0; i < 100000; i++) {
+			fingerprints.add(fingerprint(Integer.toString(i, 36)));
+		}
+		assertEquals(100000, fingerprints.size());
+		assertNotEquals(fingerprint(""), fingerprint("\u0000"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForNonPositiveSize() {
+		new ScoreCache(0, true);
+	}
+
+	private static float get(ScoreCache cache, String a, String b) {
+		return cache.get(a, fingerprint(a), b, fingerprint(b));
+	}
+
+	private static void put(ScoreCache cache, String a, String b, float score) {
+		cache.put(a, fingerprint(a), b, fingerprint(b), score);
+	}
+
+}
@@ -20,8 +20,15 @@
 
 package org.simmetrics.builders;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.simmetrics.builders.StringDistanceBuilder.with;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -32,6 +39,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.ListDistance;
 import org.simmetrics.MultisetDistance;
 import org.simmetrics.SetDistance;
@@ -41,6 +50,7 @@ import org.simmetrics.builders.StringDistanceBuilder.CachingListTokenizer;
 import org.simmetrics.builders.StringDistanceBuilder.CachingMultisetTokenizer;
 import org.simmetrics.builders.StringDistanceBuilder.CachingSetTokenizer;
 import org.simmetrics.simplifiers.Simplifier;
+import org.simmetrics.simplifiers.Simplifiers;
 import org.simmetrics.tokenizers.Tokenizer;
 
 import com.google.common.base.Function;
@@ -485,4 +495,81 @@ public class StringDistanceBuilderTest {
 			return new CachingSimplifier(cache, innerSimplifier);
 		}
 	}
+	
+	public static class CacheScoresTest {
+
+		@Rule
+		public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+		@Mock(extraInterfaces = HasCapabilities.class)
+		private StringDistance distance;
+
+		private abstract static class SymmetricStringDistance implements StringDistance,
+				HasCapabilities {
+			@Override
+			public Set<Capability> getCapabilities() {
+				return immutableEnumSet(Capability.SYMMETRIC);
+			}
+		}
+
+		@Test
+		public void shouldCacheScoresOfPairs() {
+			when(((HasCapabilities) distance).getCapabilities()).thenReturn(
+					immutableEnumSet(Capability.SYMMETRIC));
+			when(distance.distance("a", "b")).thenReturn(3.0f);
+			when(distance.distance("b", "a")).thenReturn(3.0f);
+
+			StringDistance cached = with(distance).cacheScores(16).build();
+
+			assertEquals(3.0f, cached.distance("a", "b"), 0.0f);
+			assertEquals(3.0f, cached.distance("a", "b"), 0.0f);
+			assertEquals(3.0f, cached.distance("b", "a"), 0.0f);
+			verify(distance, times(1)).distance("a", "b");
+			verify(distance, times(0)).distance("b", "a");
+		}
+
+		@Test
+		public void shouldCacheScoresAfterSimplification() {
+			final List<String> calls = new ArrayList<>();
+			StringDistance cached = with(new SymmetricStringDistance() {
+				@Override
+				public float distance(String a, String b) {
+					calls.add(a + b);
+					return 0.5f;
+				}
+			})
+					.simplify(Simplifiers.toLowerCase())
+					.cacheScores(16)
+					.build();
+
+			cached.distance("A", "B");
+			cached.distance("B", "A");
+			assertEquals(asList("ab"), calls);
+		}
+
+		@Test
+		public void shouldCacheOrderedPairsOfAsymmetricDistance() {
+			final List<String> calls = new ArrayList<>();
+			StringDistance cached = with(new StringDistance() {
+				@Override
+				public float distance(String a, String b) {
+					calls.add(a + b);
+					return a.length() / (float) (a.length() + b.length());
+				}
+			})
+					.cacheScores(16)
+					.build();
+
+			assertEquals(0.25f, cached.distance("a", "bbb"), 0.0f);
+			assertEquals(0.75f, cached.distance("bbb", "a"), 0.0f);
+			assertEquals(0.25f, cached.distance("a", "bbb"), 0.0f);
+			assertEquals(0.75f, cached.distance("bbb", "a"), 0.0f);
+			assertEquals(asList("abbb", "bbba"), calls);
+		}
+
+		@Test(expected = IllegalArgumentException.class)
+		public void shouldThrowForNonPositiveSize() {
+			with(distance).cacheScores(0);
+		}
+	}
 }
@@ -20,32 +20,57 @@
 
 package org.simmetrics.builders;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 import static org.simmetrics.builders.StringMetricBuilder.with;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.simmetrics.Capability;
+import org.simmetrics.BoundedMetric;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.ListMetric;
 import org.simmetrics.MultisetMetric;
+import org.simmetrics.PreparableStringMetric;
+import org.simmetrics.PreparableStringMetric.Prepared;
 import org.simmetrics.SetMetric;
 import org.simmetrics.StringMetric;
 import org.simmetrics.builders.StringMetricBuilder.CachingSimplifier;
 import org.simmetrics.builders.StringMetricBuilder.CachingListTokenizer;
 import org.simmetrics.builders.StringMetricBuilder.CachingMultisetTokenizer;
 import org.simmetrics.builders.StringMetricBuilder.CachingSetTokenizer;
+import org.simmetrics.metrics.CosineSimilarity;
+import org.simmetrics.metrics.Jaccard;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.metrics.MongeElkan;
 import org.simmetrics.simplifiers.Simplifier;
+import org.simmetrics.simplifiers.Simplifiers;
 import org.simmetrics.tokenizers.Tokenizer;
+import org.simmetrics.tokenizers.Tokenizers;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.Multiset;
 
 @SuppressWarnings({"javadoc"})
@@ -119,6 +144,17 @@ public class StringMetricBuilderTest {
 					.build();
 		}
 		
+		@Test
+		public void cachedSimplifierHitShouldNotLoad() throws Exception {
+			when(stringCache.getIfPresent("a")).thenReturn("b");
+			CachingSimplifier caching = new CachingSimplifier(stringCache,
+					simplifier);
+			assertEquals("b", caching.simplify("a"));
+			verify(stringCache, never()).get(anyString(),
+					Matchers.<Callable<String>> any());
+			verifyZeroInteractions(simplifier);
+		}
+
 		@Test
 		public void testListMetric() {
 			with(listMetric)
@@ -484,4 +520,199 @@ public class StringMetricBuilderTest {
 			return new CachingSimplifier(cache, innerSimplifier);
 		}
 	}
+	
+	public static class CacheScoresTest {
+
+		@Rule
+		public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+		@Mock
+		private StringMetric metric;
+
+		private abstract static class SymmetricStringMetric implements StringMetric,
+				HasCapabilities {
+			@Override
+			public Set<Capability> getCapabilities() {
+				return immutableEnumSet(Capability.SYMMETRIC);
+			}
+		}
+
+		@Test
+		public void shouldCacheScoresOfPairs() {
+			final List<String> calls = new ArrayList<>();
+			StringMetric cached = with(new SymmetricStringMetric() {
+				@Override
+				public float compare(String a, String b) {
+					calls.add(a + b);
+					return 0.5f;
+				}
+			})
+					.cacheScores(16)
+					.build();
+
+			assertEquals(0.5f, cached.compare("a", "b"), 0.0f);
+			assertEquals(0.5f, cached.compare("a", "b"), 0.0f);
+			assertEquals(0.5f, cached.compare("b", "a"), 0.0f);
+			assertEquals(asList("ab"), calls);
+		}
+
+		@Test
+		public void shouldCacheScoresAfterSimplification() {
+			final List<String> calls = new ArrayList<>();
+			StringMetric cached = with(new SymmetricStringMetric() {
+				@Override
+				public float compare(String a, String b) {
+					calls.add(a + b);
+					return 0.5f;
+				}
+			})
+					.simplify(Simplifiers.toLowerCase())
+					.cacheScores(16)
+					.build();
+
+			cached.compare("A", "B");
+			cached.compare("B", "A");
+			assertEquals(asList("ab"), calls);
+		}
+
+		@Test
+		public void shouldCacheOrderedPairsOfAsymmetricMetric() {
+			final List<String> calls = new ArrayList<>();
+			StringMetric cached = with(new StringMetric() {
+				@Override
+				public float compare(String a, String b) {
+					calls.add(a + b);
+					return a.length() / (float) (a.length() + b.length());
+				}
+			})
+					.cacheScores(16)
+					.build();
+
+			assertEquals(0.25f, cached.compare("a", "bbb"), 0.0f);
+			assertEquals(0.75f, cached.compare("bbb", "a"), 0.0f);
+			assertEquals(0.25f, cached.compare("a", "bbb"), 0.0f);
+			assertEquals(0.75f, cached.compare("bbb", "a"), 0.0f);
+			assertEquals(asList("abbb", "bbba"), calls);
+		}
+
+		@Test(expected = IllegalArgumentException.class)
+		public void shouldThrowForNonPositiveSize() {
+			with(metric).cacheScores(0);
+		}
+	}
+
+	public static class PrepareTest {
+
+		private final List<String> strings = asList("", "a", "A b c",
+				"hello world", "Hello  World", "world hello hello");
+
+		private final List<PreparableStringMetric> metrics = asList(
+				with(new Levenshtein()).buildPreparable(),
+				with(new Levenshtein())
+						.simplify(Simplifiers.toLowerCase())
+						.buildPreparable(),
+				with(new CosineSimilarity<String>())
+						.tokenize(Tokenizers.whitespace())
+						.buildPreparable(),
+				with(new CosineSimilarity<String>())
+						.simplify(Simplifiers.toLowerCase())
+						.tokenize(Tokenizers.whitespace())
+						.buildPreparable(),
+				with(new Jaccard<String>())
+						.tokenize(Tokenizers.whitespace())
+						.buildPreparable(),
+				with(new Jaccard<String>())
+						.simplify(Simplifiers.toLowerCase())
+						.tokenize(Tokenizers.qGram(2))
+						.buildPreparable(),
+				with(new MongeElkan(new Levenshtein()))
+						.tokenize(Tokenizers.whitespace())
+						.buildPreparable(),
+				with(new MongeElkan(new Levenshtein()))
+						.simplify(Simplifiers.toLowerCase())
+						.tokenize(Tokenizers.whitespace())
+						.buildPreparable(),
+				with(new Jaccard<String>())
+						.simplify(Simplifiers.toLowerCase())
+						.tokenize(Tokenizers.whitespace())
+						.cacheScores(16)
+						.buildPreparable());
+
+		@Test
+		public void shouldCompareLikeUnprepared() {
+			for (PreparableStringMetric metric : metrics) {
+				for (String a : strings) {
+					Prepared preparedA = metric.prepare(a);
+					for (String b : strings) {
+						assertEquals(metric.toString(), metric.compare(a, b),
+								metric.compare(preparedA, metric.prepare(b)),
+								0.0f);
+					}
+				}
+			}
+		}
+
+		@Test
+		public void shouldPrepareImmutableTokens() {
+			Prepared prepared = with(new CosineSimilarity<String>())
+					.tokenize(Tokenizers.whitespace())
+					.buildPreparable()
+					.prepare("hello world hello");
+
+			assertEquals("hello world hello", prepared.getInput());
+			assertTrue(prepared.getValue() instanceof ImmutableMultiset);
+		}
+
+		@Test(expected = IllegalArgumentException.class)
+		public void shouldThrowForForeignPrepared() {
+			PreparableStringMetric a = with(new Jaccard<String>())
+					.tokenize(Tokenizers.whitespace())
+					.buildPreparable();
+			PreparableStringMetric b = with(new Jaccard<String>())
+					.tokenize(Tokenizers.whitespace())
+					.buildPreparable();
+
+			a.compare(a.prepare("hello"), b.prepare("hello"));
+		}
+
+		@Test(expected = IllegalArgumentException.class)
+		public void shouldThrowForForeignPreparedString() {
+			PreparableStringMetric a = with(new Levenshtein()).buildPreparable();
+			PreparableStringMetric b = with(new Levenshtein()).buildPreparable();
+
+			a.compare(a.prepare("hello"), b.prepare("hello"));
+		}
+
+		@Test(expected = IllegalArgumentException.class)
+		public void shouldThrowForForeignPreparedWithCachedScores() {
+			PreparableStringMetric a = with(new Jaccard<String>())
+					.tokenize(Tokenizers.whitespace())
+					.cacheScores(16)
+					.buildPreparable();
+			PreparableStringMetric b = with(new Jaccard<String>())
+					.tokenize(Tokenizers.whitespace())
+					.cacheScores(16)
+					.buildPreparable();
+
+			a.compare(a.prepare("hello"), b.prepare("hello"));
+		}
+
+		@Test
+		public void shouldReturnPreparableMetric() {
+			PreparableStringMetric metric = with(new Jaccard<String>())
+					.tokenize(Tokenizers.whitespace())
+					.buildPreparable();
+
+			assertSame(metric, with(metric).buildPreparable());
+		}
+
+		@Test
+		public void shouldNotWrapStringMetric() {
+			Levenshtein metric = new Levenshtein();
+			StringMetric built = with(metric).build();
+
+			assertSame(metric, built);
+			assertTrue(built instanceof BoundedMetric);
+		}
+	}
 }
@@ -0,0 +1,304 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.builders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.simmetrics.builders.StringMetricBuilder.with;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.simmetrics.StringMetric;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.metrics.OverlapCoefficient;
+import org.simmetrics.simplifiers.Simplifiers;
+import org.simmetrics.tokenizers.Tokenizers;
+
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+@SuppressWarnings("javadoc")
+public class TinyLfuCacheTest {
+
+	private static final Weigher<Integer, String> unit = new Weigher<Integer, String>() {
+		@Override
+		public int weigh(Integer key, String value) {
+			return 1;
+		}
+	};
+
+	@Test
+	public void shouldUnlinkReplacedEntries() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(1000, unit);
+		for (int i = 0; i < 100000; i++) {
+			cache.put(1, "a");
+		}
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.queuedNodes());
+		assertEquals(1, cache.weight());
+	}
+
+	@Test
+	public void shouldUnlinkInvalidatedEntries() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(1000, unit);
+		for (int i = 0; i < 100000; i++) {
+			cache.put(1, "a");
+			cache.invalidate(1);
+		}
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.queuedNodes());
+		assertEquals(0, cache.weight());
+	}
+
+	@Test
+	public void shouldUnlinkReplacedEntriesInMainRegion() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(1000, unit);
+		for (int i = 0; i < 500; i++) {
+			cache.put(i, "a");
+		}
+		for (int round = 0; round < 100; round++) {
+			for (int i = 0; i < 500; i++) {
+				cache.put(i, "b");
+			}
+		}
+		assertEquals(500, cache.size());
+		assertEquals(500, cache.queuedNodes());
+		assertEquals(500, cache.weight());
+	}
+
+	@Test
+	public void shouldCountMissOnce() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(10, unit);
+		assertNull(cache.getIfPresent(1));
+		cache.put(1, "a");
+		assertEquals(1, cache.frequency(1));
+		assertEquals("a", cache.getIfPresent(1));
+		assertEquals(2, cache.frequency(1));
+	}
+
+	@Test
+	public void shouldCountLoadedMissOnce() throws ExecutionException {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(10, unit);
+		cache.get(1, new Callable<String>() {
+			@Override
+			public String call() {
+				return "a";
+			}
+		});
+		assertEquals(1, cache.frequency(1));
+	}
+
+	@Test
+	public void shouldCountCheckedLoadedMissOnce() throws ExecutionException {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(10, unit);
+		assertNull(cache.getIfPresent(1));
+		cache.get(1, new Callable<String>() {
+			@Override
+			public String call() {
+				return "a";
+			}
+		});
+		assertEquals(1, cache.frequency(1));
+	}
+
+	@Test
+	public void shouldGetPutValue() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(10, unit);
+		assertNull(cache.getIfPresent(1));
+		cache.put(1, "one");
+		assertEquals("one", cache.getIfPresent(1));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void shouldReplaceValue() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(10, unit);
+		cache.put(1, "one");
+		cache.put(1, "uno");
+		assertEquals("uno", cache.getIfPresent(1));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void shouldInvalidate() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(10, unit);
+		cache.put(1, "one");
+		cache.put(2, "two");
+		cache.invalidate(1);
+		assertNull(cache.getIfPresent(1));
+		assertEquals(1, cache.size());
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void shouldNotExceedMaximumWeight() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(100, unit);
+		Random random = new Random(42);
+		for (int i = 0; i < 10000; i++) {
+			int key = random.nextInt(1000);
+			if (cache.getIfPresent(key) == null) {
+				cache.put(key, "value");
+			}
+			assertTrue(cache.size() <= 100);
+		}
+	}
+
+	@Test
+	public void shouldNotCacheHeavyEntries() {
+		TinyLfuCache<String, String> cache = TinyLfuCache.forStrings(100);
+		cache.put("a", "b");
+		assertNull(cache.getIfPresent("a"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void shouldKeepFrequentEntriesDuringScan() {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(100, unit);
+		for (int round = 0; round < 10; round++) {
+			for (int key = 0; key < 50; key++) {
+				if (cache.getIfPresent(key) == null) {
+					cache.put(key, "hot");
+				}
+			}
+		}
+
+		// A scan of keys seen once should not flush the hot keys
+		for (int key = 1000; key < 2000; key++) {
+			if (cache.getIfPresent(key) == null) {
+				cache.put(key, "cold");
+			}
+		}
+
+		int hits = 0;
+		for (int key = 0; key < 50; key++) {
+			if (cache.getIfPresent(key) != null) {
+				hits++;
+			}
+		}
+		assertTrue("hits: " + hits, hits >= 45);
+	}
+
+	@Test
+	public void shouldLoadOnce() throws ExecutionException {
+		TinyLfuCache<Integer, String> cache = TinyLfuCache.create(10, unit);
+		final AtomicInteger loads = new AtomicInteger();
+		Callable<String> loader = new Callable<String>() {
+			@Override
+			public String call() {
+				loads.incrementAndGet();
+				return "one";
+			}
+		};
+		assertEquals("one", cache.get(1, loader));
+		assertEquals("one", cache.get(1, loader));
+		assertEquals(1, loads.get());
+	}
+
+	@Test(expected = ExecutionException.class)
+	public void shouldWrapCheckedException() throws ExecutionException {
+		TinyLfuCache.create(10, unit).get(1, new Callable<String>() {
+			@Override
+			public String call() throws IOException {
+				throw new IOException();
+			}
+		});
+	}
+
+	@Test(expected = UncheckedExecutionException.class)
+	public void shouldWrapUncheckedException() throws ExecutionException {
+		TinyLfuCache.create(10, unit).get(1, new Callable<String>() {
+			@Override
+			public String call() {
+				throw new IllegalStateException();
+			}
+		});
+	}
+
+	@Test
+	public void shouldBeUsableConcurrently() throws InterruptedException {
+		final TinyLfuCache<Integer, String> cache = TinyLfuCache.create(500,
+				unit);
+		final List<Thread> threads = new ArrayList<>();
+		final AtomicInteger errors = new AtomicInteger();
+		for (int t = 0; t < 8; t++) {
+			final Random random = new Random(t);
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 20000; i++) {
+						int key = random.nextInt(2000);
+						String value = cache.getIfPresent(key);
+						if (value == null) {
+							cache.put(key, String.valueOf(key));
+						} else if (!value.equals(String.valueOf(key))) {
+							errors.incrementAndGet();
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, errors.get());
+		assertTrue(cache.size() <= 500);
+	}
+
+	@Test
+	public void shouldCacheInBuilder() {
+		TinyLfuCache<String, String> strings = TinyLfuCache.forStrings(1 << 16);
+		TinyLfuCache<String, Set<String>> tokens = TinyLfuCache.forTokens(1 << 16);
+		StringMetric metric = with(new OverlapCoefficient<String>())
+				.simplify(Simplifiers.toLowerCase())
+				.cacheStrings(strings)
+				.tokenize(Tokenizers.whitespace())
+				.cacheTokens(tokens)
+				.build();
+
+		assertEquals(1.0f, metric.compare("A B", "a b c"), 0.0f);
+		assertEquals(1.0f, metric.compare("A B", "a b c"), 0.0f);
+		assertEquals("a b", strings.getIfPresent("A B"));
+		assertEquals(2, tokens.getIfPresent("a b").size());
+
+		TinyLfuCache<String, String> distinct = TinyLfuCache.forStrings(1 << 16);
+		StringMetric levenshtein = with(new Levenshtein())
+				.simplify(Simplifiers.toLowerCase())
+				.cacheStrings(distinct)
+				.build();
+		assertEquals(1.0f, levenshtein.compare("ABC", "abc"), 0.0f);
+		assertSame(distinct.getIfPresent("abc"), distinct.getIfPresent("abc"));
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static java.lang.Math.log;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.simmetrics.tokenizers.Tokenizers.whitespace;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CorpusStatisticsTest {
+
+	private final CorpusStatistics statistics = CorpusStatistics.create(
+			asList("a b c", "a b", "a a a", "d"), whitespace());
+
+	@Test
+	public void documentCount() {
+		assertEquals(4, statistics.getDocumentCount());
+		assertEquals(4, statistics.size());
+	}
+
+	@Test
+	public void idf() {
+		assertEquals(idf(4, 3), statistics.idf("a"), 0.0001f);
+		assertEquals(idf(4, 2), statistics.idf("b"), 0.0001f);
+		assertEquals(idf(4, 1), statistics.idf("c"), 0.0001f);
+		assertEquals(idf(4, 1), statistics.idf("d"), 0.0001f);
+		assertEquals(idf(4, 0), statistics.idf("e"), 0.0001f);
+	}
+
+	@Test
+	public void ids() {
+		Set<Integer> ids = new HashSet<>();
+		for (String token : asList("a", "b", "c", "d")) {
+			int id = statistics.id(token);
+			assertTrue(0 <= id && id < statistics.size());
+			assertEquals(token, statistics.token(id));
+			assertEquals(statistics.idf(token), statistics.idf(id), 0.0f);
+			ids.add(id);
+		}
+		assertEquals(4, ids.size());
+		assertEquals(-1, statistics.id("e"));
+		assertEquals(-1, statistics.id(""));
+	}
+
+	@Test
+	public void empty() {
+		CorpusStatistics empty = CorpusStatistics.create(
+				asList(new String[0]), whitespace());
+		assertEquals(0, empty.size());
+		assertEquals(-1, empty.id("a"));
+		assertEquals(idf(0, 0), empty.idf("a"), 0.0001f);
+	}
+
+	@Test
+	public void shouldMapWrittenStatistics() throws IOException {
+		Path file = Files.createTempFile("corpus", ".idf");
+		try {
+			try (FileChannel channel = FileChannel.open(file,
+					StandardOpenOption.WRITE)) {
+				statistics.writeTo(channel);
+			}
+
+			CorpusStatistics mapped = CorpusStatistics.map(file);
+			assertEquals(statistics.getDocumentCount(),
+					mapped.getDocumentCount());
+			for (String token : asList("a", "b", "c", "d", "e")) {
+				assertEquals(statistics.id(token), mapped.id(token));
+				assertEquals(statistics.idf(token), mapped.idf(token), 0.0f);
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForInvalidBuffer() {
+		CorpusStatistics.wrap(ByteBuffer.allocate(64));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForTruncatedBuffer() throws IOException {
+		ByteBuffer buffer = write(statistics);
+		buffer.limit(buffer.limit() - 2);
+		CorpusStatistics.wrap(buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForCorruptSlotCount() throws IOException {
+		ByteBuffer buffer = write(statistics);
+		buffer.putInt(16, Integer.MAX_VALUE);
+		CorpusStatistics.wrap(buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForCorruptTokenCount() throws IOException {
+		ByteBuffer buffer = write(statistics);
+		buffer.putInt(12, Integer.MAX_VALUE);
+		CorpusStatistics.wrap(buffer);
+	}
+
+	private static ByteBuffer write(CorpusStatistics statistics)
+			throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		statistics.writeTo(Channels.newChannel(out));
+		return ByteBuffer.wrap(out.toByteArray());
+	}
+
+	private static float idf(int documents, int frequency) {
+		return (float) (log((documents + 1.0) / (frequency + 1.0)) + 1.0);
+	}
+
+}
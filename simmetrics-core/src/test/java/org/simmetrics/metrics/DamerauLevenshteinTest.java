@@ -20,6 +20,14 @@
 
 package org.simmetrics.metrics;
 
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
@@ -367,4 +375,70 @@ public class DamerauLevenshteinTest {
 			}
 		}
 	}
+
+	public static final class Bounded {
+
+		private static final float[] MAXIMA = { -1.0f, 0.0f, 0.5f, 1.0f, 2.0f,
+				3.0f, 5.0f, 100.0f };
+		private static final float[] MINIMA = { 0.0f, 0.3f, 0.5f, 0.7f, 0.9f,
+				1.0f };
+
+		private final List<DamerauLevenshtein> metrics = asList(
+				new DamerauLevenshtein(),
+				new DamerauLevenshtein(0.1f, 1.0f, 1.0f),
+				new DamerauLevenshtein(1.0f, 0.5f, 0.25f));
+
+		private final List<String> strings = randomStrings(new Random(7), 60);
+
+		@Test
+		public void shouldMatchDistanceWithinMaximum() {
+			for (DamerauLevenshtein metric : metrics) {
+				for (String a : strings) {
+					for (String b : strings) {
+						final float distance = metric.distance(a, b);
+						for (float max : MAXIMA) {
+							final float bounded = metric.distance(a, b, max);
+							if (distance <= max) {
+								assertEquals(distance, bounded, 0.0f);
+							} else {
+								assertTrue(bounded > max);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		@Test
+		public void shouldMatchSimilarityAboveMinimum() {
+			for (DamerauLevenshtein metric : metrics) {
+				for (String a : strings) {
+					for (String b : strings) {
+						final float similarity = metric.compare(a, b);
+						for (float minimum : MINIMA) {
+							final float bounded = metric.compare(a, b, minimum);
+							if (similarity >= minimum) {
+								assertEquals(similarity, bounded, 0.0f);
+							} else {
+								assertTrue(bounded < minimum);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		private static List<String> randomStrings(Random random, int n) {
+			final char[] alphabet = { 'a', 'b', 'c', 'd' };
+			final List<String> strings = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				final char[] chars = new char[random.nextInt(12)];
+				for (int j = 0; j < chars.length; j++) {
+					chars[j] = alphabet[random.nextInt(alphabet.length)];
+				}
+				strings.add(new String(chars));
+			}
+			return strings;
+		}
+	}
 }
@@ -20,6 +20,20 @@
 
 package org.simmetrics.metrics;
 
+import static com.google.common.collect.Sets.immutableEnumSet;
+import static java.lang.Math.max;
+import static java.lang.Math.sqrt;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.simmetrics.Capability;
+import org.simmetrics.HasCapabilities;
 import org.simmetrics.ListMetric;
 import org.simmetrics.ListMetricTest;
 import org.simmetrics.StringMetric;
@@ -70,4 +84,81 @@ public final class MongeElkanTest extends ListMetricTest {
 		};
 	}
 
+	@Test
+	public void shouldScoreEachDistinctPairOnce() {
+		final List<String> compared = new ArrayList<>();
+		final MongeElkan mongeElkan = new MongeElkan(new SymmetricMetric() {
+
+			@Override
+			public float compare(String a, String b) {
+				compared.add(a + "|" + b);
+				return 0.5f;
+			}
+		});
+
+		mongeElkan.compare(asList("a", "b", "b", "c"), asList("b", "c", "d", "d"));
+
+		// a×{b,c,d} and b×{c,d} and c×{b,d}, identical pairs are skipped
+		assertEquals(7, compared.size());
+		assertEquals(7, new HashSet<>(compared).size());
+	}
+
+	@Test
+	public void shouldMatchBothDirections() {
+		final StringMetric metric = new SmithWatermanGotoh();
+		final MongeElkan mongeElkan = new MongeElkan(metric);
+		final List<String> a = asList("Sam", "J", "Chapman", "Chap");
+		final List<String> b = asList("Samuel", "Johnny", "Chapman", "Sam");
+
+		final float expected = (float) sqrt(
+				mongeElkan(metric, a, b) * mongeElkan(metric, b, a));
+		assertEquals(expected, mongeElkan.compare(a, b), 0.0001f);
+	}
+
+	@Test
+	public void shouldScoreBothDirectionsOfAsymmetricMetric() {
+		final List<String> compared = new ArrayList<>();
+		final StringMetric metric = new StringMetric() {
+
+			@Override
+			public float compare(String a, String b) {
+				compared.add(a + "|" + b);
+				return a.length() / (float) (a.length() + b.length());
+			}
+		};
+		final MongeElkan mongeElkan = new MongeElkan(metric);
+		final List<String> a = asList("a", "bb");
+		final List<String> b = asList("cccc", "ddd");
+
+		final float actual = mongeElkan.compare(a, b);
+		assertEquals(8, compared.size());
+		assertEquals(8, new HashSet<>(compared).size());
+
+		final float expected = (float) sqrt(
+				mongeElkan(metric, a, b) * mongeElkan(metric, b, a));
+		assertEquals(expected, actual, 0.0001f);
+	}
+
+	private abstract static class SymmetricMetric implements StringMetric,
+			HasCapabilities {
+
+		@Override
+		public Set<Capability> getCapabilities() {
+			return immutableEnumSet(Capability.SYMMETRIC);
+		}
+	}
+
+	private static float mongeElkan(StringMetric metric, List<String> a,
+			List<String> b) {
+		float sum = 0.0f;
+		for (String s : a) {
+			float max = 0.0f;
+			for (String q : b) {
+				max = max(max, metric.compare(s, q));
+			}
+			sum += max;
+		}
+		return sum / a.size();
+	}
+
 }
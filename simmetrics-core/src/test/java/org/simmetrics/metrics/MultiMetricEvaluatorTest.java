@@ -0,0 +1,154 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.simmetrics.builders.StringMetricBuilder.with;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.simmetrics.StringMetric;
+import org.simmetrics.simplifiers.Simplifier;
+import org.simmetrics.simplifiers.Simplifiers;
+import org.simmetrics.tokenizers.Tokenizer;
+import org.simmetrics.tokenizers.Tokenizers;
+
+@SuppressWarnings("javadoc")
+public class MultiMetricEvaluatorTest {
+
+	private final Tokenizer whitespace = Tokenizers.whitespace();
+	private final Tokenizer qGram = Tokenizers.qGram(2);
+	private final Simplifier lowerCase = Simplifiers.toLowerCase();
+
+	private final MultiMetricEvaluator evaluator = MultiMetricEvaluator
+			.builder()
+			.add(new Jaccard<String>(), whitespace)
+			.add(new Dice<String>(), whitespace)
+			.add(new CosineSimilarity<String>(), whitespace)
+			.add(new OverlapCoefficient<String>(), whitespace)
+			.add(new BlockDistance<String>(), whitespace)
+			.add(new SimonWhite<String>(), lowerCase, qGram)
+			.add(new Jaccard<String>(), lowerCase, qGram)
+			.add(new GeneralizedJaccard<String>(), whitespace)
+			.add(new TanimotoCoefficient<String>(), whitespace)
+			.build();
+
+	private final List<StringMetric> metrics = new ArrayList<>();
+	{
+		metrics.add(with(new Jaccard<String>()).tokenize(whitespace).build());
+		metrics.add(with(new Dice<String>()).tokenize(whitespace).build());
+		metrics.add(with(new CosineSimilarity<String>()).tokenize(whitespace).build());
+		metrics.add(with(new OverlapCoefficient<String>()).tokenize(whitespace).build());
+		metrics.add(with(new BlockDistance<String>()).tokenize(whitespace).build());
+		metrics.add(with(new SimonWhite<String>()).simplify(lowerCase).tokenize(qGram).build());
+		metrics.add(with(new Jaccard<String>()).simplify(lowerCase).tokenize(qGram).build());
+		metrics.add(with(new GeneralizedJaccard<String>()).tokenize(whitespace).build());
+		metrics.add(with(new TanimotoCoefficient<String>()).tokenize(whitespace).build());
+	}
+
+	@Test
+	public void shouldGroupByTokenizer() {
+		assertEquals(9, evaluator.size());
+		assertEquals(2, evaluator.getGroupCount());
+	}
+
+	@Test
+	public void shouldGroupEqualTokenizers() {
+		MultiMetricEvaluator shared = MultiMetricEvaluator.builder()
+				.add(new Jaccard<String>(), Tokenizers.whitespace())
+				.add(new Dice<String>(), Tokenizers.whitespace())
+				.add(new Jaccard<String>(), Simplifiers.toLowerCase(),
+						Tokenizers.qGram(2))
+				.add(new Dice<String>(), Simplifiers.toLowerCase(),
+						Tokenizers.qGram(2))
+				.build();
+
+		assertEquals(2, shared.getGroupCount());
+	}
+
+	@Test
+	public void shouldNotGroupDifferentTokenizers() {
+		MultiMetricEvaluator separate = MultiMetricEvaluator.builder()
+				.add(new Jaccard<String>(), Tokenizers.qGram(2))
+				.add(new Dice<String>(), Tokenizers.qGram(3))
+				.add(new Jaccard<String>(), Tokenizers.qGramWithFilter(2))
+				.build();
+
+		assertEquals(3, separate.getGroupCount());
+	}
+
+	@Test
+	public void shouldScoreEmptyStrings() {
+		assertArrayEquals(scores("", ""), evaluator.compare("", ""), 0.0f);
+		assertArrayEquals(scores("", "a"), evaluator.compare("", "a"), 0.0f);
+		assertArrayEquals(scores("a", ""), evaluator.compare("a", ""), 0.0f);
+	}
+
+	@Test
+	public void shouldScoreLikeMetrics() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 1000; i++) {
+			final String a = randomString(random);
+			final String b = randomString(random);
+			assertArrayEquals(a + " | " + b, scores(a, b),
+					evaluator.compare(a, b), 0.0f);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldThrowForNoMetrics() {
+		MultiMetricEvaluator.builder().build();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void shouldThrowForNullString() {
+		evaluator.compare(null, "a");
+	}
+
+	private float[] scores(String a, String b) {
+		final float[] scores = new float[metrics.size()];
+		for (int i = 0; i < scores.length; i++) {
+			scores[i] = metrics.get(i).compare(a, b);
+		}
+		return scores;
+	}
+
+	private static String randomString(Random random) {
+		// Small alphabet of short words so tokens are shared often
+		final StringBuilder builder = new StringBuilder();
+		final int words = random.nextInt(6);
+		for (int i = 0; i < words; i++) {
+			if (i > 0) {
+				builder.append(' ');
+			}
+			final int length = 1 + random.nextInt(3);
+			for (int j = 0; j < length; j++) {
+				builder.append((char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(3)));
+			}
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Multiset;
+
+@SuppressWarnings("javadoc")
+public class MultisetStatisticsTest {
+
+	private final Multiset<String> a = ImmutableMultiset.of("a", "a", "b", "c");
+	private final Multiset<String> b = ImmutableMultiset.of("a", "b", "b", "b", "d", "e");
+
+	@Test
+	public void statistics() {
+		MultisetStatistics ab = MultisetStatistics.of(a, b);
+		assertEquals(4, ab.sizeA);
+		assertEquals(6, ab.sizeB);
+		assertEquals(3, ab.distinctSizeA);
+		assertEquals(4, ab.distinctSizeB);
+		assertEquals(2, ab.intersection);
+		assertEquals(2, ab.distinctIntersection);
+		assertEquals(5, ab.dotProduct);
+		assertEquals(6, ab.squaredNormA);
+		assertEquals(12, ab.squaredNormB);
+	}
+
+	@Test
+	public void statisticsSwapped() {
+		MultisetStatistics ba = MultisetStatistics.of(b, a);
+		assertEquals(6, ba.sizeA);
+		assertEquals(4, ba.sizeB);
+		assertEquals(4, ba.distinctSizeA);
+		assertEquals(3, ba.distinctSizeB);
+		assertEquals(2, ba.intersection);
+		assertEquals(2, ba.distinctIntersection);
+		assertEquals(5, ba.dotProduct);
+		assertEquals(12, ba.squaredNormA);
+		assertEquals(6, ba.squaredNormB);
+	}
+
+	@Test
+	public void blockDistance() {
+		assertEquals(6, MultisetStatistics.of(a, b).blockDistance());
+		assertEquals(6, MultisetStatistics.of(b, a).blockDistance());
+	}
+
+	@Test
+	public void squaredEuclideanDistance() {
+		assertEquals(8, MultisetStatistics.of(a, b).squaredEuclideanDistance());
+		assertEquals(8, MultisetStatistics.of(b, a).squaredEuclideanDistance());
+	}
+
+	@Test
+	public void intersectionSize() {
+		assertEquals(2, MultisetStatistics.intersectionSize(a, b));
+		assertEquals(2, MultisetStatistics.intersectionSize(b, a));
+		assertEquals(0, MultisetStatistics.intersectionSize(a,
+				HashMultiset.<String> create()));
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.simmetrics.builders.StringMetricBuilder.with;
+import static org.simmetrics.tokenizers.Tokenizers.qGram;
+import static org.simmetrics.tokenizers.Tokenizers.qGramWithPadding;
+import static org.simmetrics.tokenizers.Tokenizers.whitespace;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.simmetrics.StringMetric;
+import org.simmetrics.metrics.PackedQGrams.QGramBlockDistance;
+import org.simmetrics.metrics.PackedQGrams.QGramSimonWhite;
+
+@SuppressWarnings("javadoc")
+public class PackedQGramsTest {
+
+	private static final String[] ALPHABETS = {
+			"ab c",
+			"abcdefghij \t\n",
+			"aäöüÿ \u0000",
+			"aĀ中￿ ",
+			"a😀😁 b",
+	};
+
+	private final Random random = new Random(11);
+
+	@Test
+	public void bits() {
+		assertEquals(8, PackedQGrams.bits(8, 0x7F));
+		assertEquals(-1, PackedQGrams.bits(9, 0x7F));
+		assertEquals(9, PackedQGrams.bits(7, 0xFF));
+		assertEquals(17, PackedQGrams.bits(3, 0xFFFF));
+		assertEquals(21, PackedQGrams.bits(3, Character.MAX_CODE_POINT));
+		assertEquals(-1, PackedQGrams.bits(4, Character.MAX_CODE_POINT));
+	}
+
+	@Test
+	public void qGramBlockDistanceShouldMatchTokenized() {
+		for (int q = 1; q <= 8; q++) {
+			final StringMetric expected = with(new BlockDistance<String>())
+					.tokenize(qGramWithPadding(q, "#", "$"))
+					.build();
+			final StringMetric actual = new QGramBlockDistance(q, "#", "$",
+					expected);
+			assertMatches(expected, actual);
+		}
+	}
+
+	@Test
+	public void qGramSimonWhiteShouldMatchTokenized() {
+		for (int q = 1; q <= 8; q++) {
+			final StringMetric expected = with(new SimonWhite<String>())
+					.tokenize(whitespace())
+					.tokenize(qGram(q))
+					.build();
+			final StringMetric actual = new QGramSimonWhite(q, expected);
+			assertMatches(expected, actual);
+		}
+	}
+
+	private void assertMatches(StringMetric expected, StringMetric actual) {
+		for (String alphabet : ALPHABETS) {
+			for (int i = 0; i < 200; i++) {
+				final String a = randomString(alphabet);
+				final String b = randomString(alphabet);
+				assertEquals(a + " vs " + b, expected.compare(a, b),
+						actual.compare(a, b), 0.0f);
+			}
+		}
+	}
+
+	private String randomString(String alphabet) {
+		final int codePoints = alphabet.codePointCount(0, alphabet.length());
+		final StringBuilder builder = new StringBuilder();
+		final int length = random.nextInt(10);
+		for (int i = 0; i < length; i++) {
+			final int index = alphabet.offsetByCodePoints(0,
+					random.nextInt(codePoints));
+			builder.appendCodePoint(alphabet.codePointAt(index));
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.simmetrics.metrics.TfIdfTest.STATISTICS;
+import static org.simmetrics.tokenizers.Tokenizers.whitespace;
+
+import org.junit.Test;
+import org.simmetrics.tokenizers.Tokenizer;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Multiset;
+
+@SuppressWarnings("javadoc")
+public class SoftTfIdfTest {
+
+	private final Tokenizer tokenizer = whitespace();
+
+	private final SoftTfIdf softTfIdf = new SoftTfIdf(STATISTICS);
+
+	private final TfIdf tfIdf = new TfIdf(STATISTICS);
+
+	@Test
+	public void empty() {
+		Multiset<String> empty = HashMultiset.create();
+		assertEquals(1.0f, softTfIdf.compare(empty, empty), 0.0f);
+		assertEquals(0.0f, softTfIdf.compare(empty, ImmutableMultiset.of("a")), 0.0f);
+	}
+
+	@Test
+	public void reflexive() {
+		for (String document : TfIdfTest.CORPUS) {
+			Multiset<String> tokens = tokenizer.tokenizeToMultiset(document);
+			assertEquals(1.0f, softTfIdf.compare(tokens, tokens), 0.0001f);
+		}
+	}
+
+	@Test
+	public void shouldMatchTfIdfForIdenticalTokens() {
+		Multiset<String> a = tokenizer.tokenizeToMultiset("Sam Chapman");
+		Multiset<String> b = tokenizer.tokenizeToMultiset("S Chapman");
+		assertEquals(tfIdf.compare(a, b), softTfIdf.compare(a, b), 0.0001f);
+	}
+
+	@Test
+	public void shouldTolerateTypos() {
+		Multiset<String> a = tokenizer.tokenizeToMultiset("Web Databse Aplications");
+		Multiset<String> b = tokenizer.tokenizeToMultiset("Web Database Applications");
+		assertTrue(softTfIdf.compare(a, b) > 0.9f);
+		assertTrue(tfIdf.compare(a, b) < 0.5f);
+	}
+
+	@Test
+	public void shouldRespectThreshold() {
+		SoftTfIdf strict = new SoftTfIdf(STATISTICS, new JaroWinkler(), 1.0f);
+		Multiset<String> a = tokenizer.tokenizeToMultiset("Web Databse Aplications");
+		Multiset<String> b = tokenizer.tokenizeToMultiset("Web Database Applications");
+		assertEquals(tfIdf.compare(a, b), strict.compare(a, b), 0.0001f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForInvalidThreshold() {
+		new SoftTfIdf(STATISTICS, new JaroWinkler(), 1.1f);
+	}
+
+}
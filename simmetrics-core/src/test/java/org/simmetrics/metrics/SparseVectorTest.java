@@ -0,0 +1,172 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.base.Function;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Multiset;
+
+@SuppressWarnings("javadoc")
+public class SparseVectorTest {
+
+	private static final float DELTA = 0.0001f;
+
+	private final Map<String, Integer> vocabulary = new HashMap<>();
+
+	private final Function<String, Integer> ids = new Function<String, Integer>() {
+		@Override
+		public Integer apply(String token) {
+			Integer id = vocabulary.get(token);
+			if (id == null) {
+				// Spread ids so merges skip entries
+				id = vocabulary.size() * 7 % 101;
+				vocabulary.put(token, id);
+			}
+			return id;
+		}
+	};
+
+	@Test
+	public void shouldSortAndMergeDuplicates() {
+		SparseVector v = SparseVector.of(new int[] { 5, -1, 3, 5 },
+				new float[] { 1.0f, 2.0f, 3.0f, 4.0f });
+		assertEquals(3, v.size());
+		assertEquals(2.0f, v.weight(-1), 0.0f);
+		assertEquals(3.0f, v.weight(3), 0.0f);
+		assertEquals(5.0f, v.weight(5), 0.0f);
+		assertEquals(0.0f, v.weight(4), 0.0f);
+		assertEquals(38.0, v.squaredNorm(), DELTA);
+		assertEquals(java.lang.Math.sqrt(38.0), v.norm(), DELTA);
+	}
+
+	@Test
+	public void shouldBeEqualRegardlessOfOrder() {
+		SparseVector a = SparseVector.builder().add(1, 1.0f).add(2, 2.0f)
+				.build();
+		SparseVector b = SparseVector.builder().add(2, 2.0f).add(1, 1.0f)
+				.build();
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+
+	@Test
+	public void shouldBeEmpty() {
+		assertTrue(SparseVector.builder().build().isEmpty());
+		assertEquals(0.0, SparseVector.builder().build().norm(), 0.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForDifferentLengths() {
+		SparseVector.of(new int[] { 1, 2 }, new float[] { 1.0f });
+	}
+
+	@Test
+	public void dot() {
+		SparseVector a = SparseVector.of(new int[] { 1, 2, 3 },
+				new float[] { 1.0f, 2.0f, 3.0f });
+		SparseVector b = SparseVector.of(new int[] { 2, 3, 4 },
+				new float[] { 4.0f, 5.0f, 6.0f });
+		assertEquals(23.0, a.dot(b), DELTA);
+		assertEquals(23.0, b.dot(a), DELTA);
+	}
+
+	@Test
+	public void dotOfSmallAndLargeVector() {
+		SparseVector.Builder builder = SparseVector.builder();
+		for (int i = 0; i < 1000; i++) {
+			builder.add(i * 3, 1.0f);
+		}
+		SparseVector large = builder.build();
+		SparseVector small = SparseVector.of(new int[] { 0, 4, 2997, 3000 },
+				new float[] { 2.0f, 5.0f, 3.0f, 7.0f });
+		assertEquals(5.0, large.dot(small), DELTA);
+		assertEquals(5.0, small.dot(large), DELTA);
+	}
+
+	@Test
+	public void cosineSimilarityShouldMatchMultisets() {
+		CosineSimilarity<String> cosine = new CosineSimilarity<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 100; i++) {
+			Multiset<String> a = randomMultiset(random);
+			Multiset<String> b = randomMultiset(random);
+			assertEquals(cosine.compare(a, b), cosine.compare(
+					SparseVector.of(a, ids), SparseVector.of(b, ids)), DELTA);
+			assertEquals(cosine.distance(a, b), cosine.distance(
+					SparseVector.of(a, ids), SparseVector.of(b, ids)), DELTA);
+		}
+	}
+
+	@Test
+	public void euclideanDistanceShouldMatchMultisets() {
+		EuclideanDistance<String> euclidean = new EuclideanDistance<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 100; i++) {
+			Multiset<String> a = randomMultiset(random);
+			Multiset<String> b = randomMultiset(random);
+			assertEquals(euclidean.distance(a, b), euclidean.distance(
+					SparseVector.of(a, ids), SparseVector.of(b, ids)), DELTA);
+		}
+	}
+
+	@Test
+	public void cosineSimilarityOfZeroWeightVectors() {
+		CosineSimilarity<String> cosine = new CosineSimilarity<>();
+		SparseVector zero = SparseVector.of(new int[] { 1, 2 },
+				new float[] { 0.0f, 0.0f });
+		SparseVector a = SparseVector.of(new int[] { 1 }, new float[] { 1.0f });
+
+		assertEquals(0.0f, cosine.compare(zero, a), 0.0f);
+		assertEquals(0.0f, cosine.compare(a, zero), 0.0f);
+		assertEquals(0.0f, cosine.compare(zero, zero), 0.0f);
+		assertEquals(0.0f, cosine.compare(zero, SparseVector.of(new int[0],
+				new float[0])), 0.0f);
+		assertEquals(1.0f, cosine.distance(zero, a), 0.0f);
+	}
+
+	@Test
+	public void euclideanDistanceOfIdenticalVectors() {
+		SparseVector a = SparseVector.of(ImmutableMultiset.of("a", "b", "b"),
+				ids);
+		assertEquals(0.0f, new EuclideanDistance<String>().distance(a, a),
+				0.0f);
+	}
+
+	private static Multiset<String> randomMultiset(Random random) {
+		Multiset<String> multiset = HashMultiset.create();
+		int size = random.nextInt(12);
+		for (int i = 0; i < size; i++) {
+			multiset.add(String.valueOf((char) ('a' + random.nextInt(10))));
+		}
+		return multiset;
+	}
+
+}
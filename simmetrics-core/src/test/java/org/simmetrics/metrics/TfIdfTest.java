@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.metrics;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.simmetrics.tokenizers.Tokenizers.whitespace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.simmetrics.Metric;
+import org.simmetrics.MultisetMetricTest;
+import org.simmetrics.tokenizers.Tokenizer;
+
+import com.google.common.collect.Multiset;
+
+@SuppressWarnings("javadoc")
+public final class TfIdfTest extends MultisetMetricTest {
+
+	static final List<String> CORPUS = asList(
+			"Sam J Chapman",
+			"Samuel John Chapman",
+			"John Smith",
+			"Sam Chapman",
+			"S Chapman",
+			"Web Database Applications",
+			"Web Database Applications with PHP & MySQL",
+			"Creating Database Web Applications with PHP and ASP",
+			"Building Database Applications on the Web Using PHP3",
+			"Web Application Development With PHP");
+
+	static final CorpusStatistics STATISTICS = CorpusStatistics.create(
+			CORPUS, whitespace());
+
+	@Override
+	protected Metric<Multiset<String>> getMetric() {
+		return new TfIdf(STATISTICS);
+	}
+
+	@Override
+	protected boolean supportsNullValues() {
+		return false;
+	}
+
+	@Override
+	protected T[] getTests() {
+		return new T[] {
+				new T(0.0000f, "", "John Smith"),
+				new T(0.2024f, "Sam J Chapman", "Samuel John Chapman"),
+				new T(0.3386f, "Sam Chapman", "S Chapman"),
+				new T(0.3746f, "John Smith", "Samuel John Chapman"),
+				new T(0.0000f, "John Smith", "Sam Chapman"),
+				new T(0.5220f, "Web Database Applications",
+						"Web Database Applications with PHP & MySQL"),
+				new T(0.4722f, "Web Database Applications",
+						"Creating Database Web Applications with PHP and ASP"),
+				new T(0.1611f, "Web Database Applications",
+						"Web Application Development With PHP"),
+				new T(0.5000f, "unseen token", "unseen other"),
+		};
+	}
+
+	@Test
+	public void rareTokensShouldWeighMore() {
+		final Tokenizer tokenizer = whitespace();
+		// Chapman is common, Smith is rare
+		assertTrue(metric.compare(
+				tokenizer.tokenizeToMultiset("John Smith"),
+				tokenizer.tokenizeToMultiset("Joe Smith")) > metric.compare(
+				tokenizer.tokenizeToMultiset("Sam Chapman"),
+				tokenizer.tokenizeToMultiset("Sue Chapman")));
+	}
+
+	@Test
+	public void vectorsShouldMatchMultisets() {
+		final TfIdf tfIdf = new TfIdf(STATISTICS);
+		final Tokenizer tokenizer = whitespace();
+		final List<String> strings = new ArrayList<>(CORPUS);
+		strings.addAll(asList("x", "y", "x y", "x x", "Sam x", "Sam y",
+				"John Smith x", "Smith Sam y y"));
+		for (String a : strings) {
+			for (String b : strings) {
+				Multiset<String> ma = tokenizer.tokenizeToMultiset(a);
+				Multiset<String> mb = tokenizer.tokenizeToMultiset(b);
+				assertEquals(tfIdf.compare(ma, mb),
+						tfIdf.compare(tfIdf.vector(ma), tfIdf.vector(mb)),
+						0.0001f);
+				assertEquals(tfIdf.distance(ma, mb),
+						tfIdf.distance(tfIdf.vector(ma), tfIdf.vector(mb)),
+						0.0001f);
+			}
+		}
+	}
+
+	@Test
+	public void vectorsShouldBeNormalized() {
+		final TfIdf tfIdf = new TfIdf(STATISTICS);
+		SparseVector v = tfIdf.vector(whitespace().tokenizeToMultiset(
+				"Web Database Applications"));
+		assertEquals(1.0, v.norm(), 0.0001);
+	}
+
+}
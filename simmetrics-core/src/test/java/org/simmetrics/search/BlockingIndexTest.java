@@ -0,0 +1,201 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.simmetrics.StringMetric;
+import org.simmetrics.metrics.StringMetrics;
+import org.simmetrics.search.BlockingIndex.Match;
+import org.simmetrics.simplifiers.DaitchMokotoffSoundex;
+import org.simmetrics.simplifiers.DoubleMetaphone;
+import org.simmetrics.simplifiers.Simplifier;
+import org.simmetrics.simplifiers.Soundex;
+import org.simmetrics.tokenizers.Tokenizers;
+
+@SuppressWarnings({ "javadoc", "deprecation" })
+public class BlockingIndexTest {
+
+	private final StringMetric metric = StringMetrics.jaroWinkler();
+
+	private final List<String> names = asList("Smith", "Smyth", "Schmidt",
+			"Jones", "Johns", "Robert", "Rupert", "Smith", "Peters");
+
+	@Test
+	public void shouldMatchWithinBlocks() {
+		BlockingIndex index = BlockingIndex.builder().key(new Soundex())
+				.build(names);
+
+		assertEquals(asList(new Match(0, 1, metric.compare("Smith", "Smyth")),
+				new Match(0, 2, metric.compare("Smith", "Schmidt")),
+				new Match(0, 7, 1.0f),
+				new Match(1, 2, metric.compare("Smyth", "Schmidt")),
+				new Match(1, 7, metric.compare("Smyth", "Smith")),
+				new Match(2, 7, metric.compare("Schmidt", "Smith")),
+				new Match(3, 4, metric.compare("Jones", "Johns")),
+				new Match(5, 6, metric.compare("Robert", "Rupert"))),
+				index.match(metric, 0.0f));
+	}
+
+	@Test
+	public void shouldApplyThreshold() {
+		BlockingIndex index = BlockingIndex.builder().key(new Soundex())
+				.build(names);
+
+		assertEquals(asList(new Match(0, 7, 1.0f)), index.match(metric, 1.0f));
+	}
+
+	@Test
+	public void shouldGeneratePairSharingMultipleBlocksOnce() {
+		BlockingIndex index = BlockingIndex.builder()
+				.key(new Soundex())
+				.key(new DoubleMetaphone(4, false))
+				.key(new DoubleMetaphone(4, true))
+				.build(names);
+
+		List<Match> matches = index.match(metric, 0.0f);
+		assertEquals(new HashSet<>(matches).size(), matches.size());
+		assertEquals(index.getCandidateCount(), matches.size());
+	}
+
+	@Test
+	public void shouldBlockOnAllBranches() {
+		BlockingIndex index = BlockingIndex.builder()
+				.key(new DaitchMokotoffSoundex(true, true),
+						Tokenizers.pattern("\\|"))
+				.build(asList("Kowalski", "Chowalski", "Schwarz", "Szwarc",
+						"Haim", "Chaim"));
+
+		assertEquals(pairs(0, 1, 2, 3, 4, 5),
+				pairs(index.match(metric, 0.0f)));
+	}
+
+	@Test
+	public void shouldSkipLargeBlocks() {
+		BlockingIndex index = BlockingIndex.builder().key(new Soundex())
+				.maxBlockSize(2).build(names);
+
+		assertEquals(1, index.getSkippedBlockCount());
+		assertEquals(2, index.getBlockCount());
+		assertEquals(pairs(3, 4, 5, 6), pairs(index.match(metric, 0.0f)));
+	}
+
+	@Test
+	public void shouldMatchFullScan() throws InterruptedException {
+		final Random random = new Random(42);
+		final List<String> records = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			records.add(randomName(random));
+		}
+
+		final Simplifier first = firstLetters(2);
+		final Simplifier last = lastLetters(2);
+		BlockingIndex index = BlockingIndex.builder().key(first).key(last)
+				.build(records);
+
+		Set<List<Integer>> expected = new HashSet<>();
+		for (int i = 0; i < records.size(); i++) {
+			for (int j = i + 1; j < records.size(); j++) {
+				String a = records.get(i);
+				String b = records.get(j);
+				if (first.simplify(a).equals(first.simplify(b))
+						|| last.simplify(a).equals(last.simplify(b))) {
+					expected.add(asList(i, j));
+				}
+			}
+		}
+
+		List<Match> sequential = index.match(metric, 0.0f);
+		assertEquals(expected, pairs(sequential));
+		assertEquals(expected.size(), sequential.size());
+		assertEquals(expected.size(), index.getCandidateCount());
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			assertEquals(sequential, index.match(metric, 0.0f, executor));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldThrowWithoutKeys() {
+		BlockingIndex.builder().build(names);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForTooSmallBlockSize() {
+		BlockingIndex.builder().maxBlockSize(1);
+	}
+
+	private static Set<List<Integer>> pairs(int... ids) {
+		Set<List<Integer>> pairs = new HashSet<>();
+		for (int i = 0; i < ids.length; i += 2) {
+			pairs.add(asList(ids[i], ids[i + 1]));
+		}
+		return pairs;
+	}
+
+	private static Set<List<Integer>> pairs(List<Match> matches) {
+		Set<List<Integer>> pairs = new HashSet<>();
+		for (Match m : matches) {
+			pairs.add(asList(m.getFirst(), m.getSecond()));
+		}
+		return pairs;
+	}
+
+	private static Simplifier firstLetters(final int n) {
+		return new Simplifier() {
+			@Override
+			public String simplify(String input) {
+				return input.substring(0, n);
+			}
+		};
+	}
+
+	private static Simplifier lastLetters(final int n) {
+		return new Simplifier() {
+			@Override
+			public String simplify(String input) {
+				return input.substring(input.length() - n);
+			}
+		};
+	}
+
+	private static String randomName(Random random) {
+		char[] name = new char[4 + random.nextInt(4)];
+		for (int i = 0; i < name.length; i++) {
+			name[i] = (char) ('a' + random.nextInt(6));
+		}
+		return new String(name);
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.simmetrics.StringMetric;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Jaro;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.search.Cascade.Stage;
+import org.simmetrics.simplifiers.Simplifier;
+
+@SuppressWarnings("javadoc")
+public class CascadeTest {
+
+	private final Simplifier firstLetter = new Simplifier() {
+		@Override
+		public String simplify(String input) {
+			return input.isEmpty() ? input : input.substring(0, 1);
+		}
+	};
+
+	@Test
+	public void shouldMatch() {
+		Cascade cascade = Cascade.builder()
+				.bound(Cascade.lengthBound())
+				.bound(Cascade.bagDistanceBound())
+				.build(new Levenshtein(), 0.8f);
+
+		assertTrue(cascade.matches("Jonathan", "Jonathon"));
+		assertFalse(cascade.matches("Jonathan", "Jon"));
+		assertFalse(cascade.matches("Jonathan", "Nathanjo"));
+	}
+
+	@Test
+	public void shouldReturnNaNWhenRejectedEarly() {
+		Cascade cascade = Cascade.builder()
+				.bound(Cascade.lengthBound())
+				.build(new Levenshtein(), 0.8f);
+
+		assertTrue(Float.isNaN(cascade.compare("Jonathan", "Jon")));
+		assertEquals(new Levenshtein().compare("Jonathan", "Jonathon"),
+				cascade.compare("Jonathan", "Jonathon"), 0.0f);
+	}
+
+	@Test
+	public void shouldCountPassRates() {
+		Cascade cascade = Cascade.builder()
+				.key(firstLetter)
+				.bound(Cascade.lengthBound())
+				.build(new Levenshtein(), 0.8f);
+
+		cascade.matches("Jonathan", "Jonathon");
+		cascade.matches("Jonathan", "Jon");
+		cascade.matches("Jonathan", "Nathanjo");
+		cascade.matches("Jonathan", "Jonathan");
+
+		List<Stage> stages = cascade.getStages();
+		assertEquals(3, stages.size());
+		assertEquals(4, stages.get(0).getEvaluated());
+		assertEquals(3, stages.get(0).getPassed());
+		assertEquals(0.75f, stages.get(0).getPassRate(), 0.0f);
+		assertEquals(3, stages.get(1).getEvaluated());
+		assertEquals(2, stages.get(1).getPassed());
+		assertEquals(2, stages.get(2).getEvaluated());
+		assertEquals(2, stages.get(2).getPassed());
+
+		assertFalse(stages.get(0).isBound());
+		assertTrue(stages.get(1).isBound());
+		assertEquals(0.8f, stages.get(1).getThreshold(), 0.0f);
+		assertEquals(1.0f, stages.get(0).getThreshold(), 0.0f);
+	}
+
+	@Test
+	public void shouldHavePassRateOneWhenUnused() {
+		Cascade cascade = Cascade.builder().build(new Levenshtein(), 0.5f);
+		assertEquals(1.0f, cascade.getStages().get(0).getPassRate(), 0.0f);
+	}
+
+	@Test
+	public void boundsShouldBeSound() {
+		assertUpperBound(Cascade.lengthBound(), new Levenshtein());
+		assertUpperBound(Cascade.lengthBound(), new DamerauLevenshtein());
+		assertUpperBound(Cascade.bagDistanceBound(), new Levenshtein());
+		assertUpperBound(Cascade.bagDistanceBound(), new DamerauLevenshtein());
+		assertUpperBound(Cascade.jaroBound(), new Jaro());
+	}
+
+	@Test
+	public void shouldCountCommonCharacters() {
+		assertEquals(0, Cascade.commonCharacters("", "abc"));
+		assertEquals(2, Cascade.commonCharacters("aab", "abb"));
+		assertEquals(3, Cascade.commonCharacters("\u6771\u4eac\u90fd", "\u4eac\u90fd\u6771"));
+		assertEquals(2, Cascade.commonCharacters("ab\u6771", "bca"));
+		assertEquals(2, Cascade.commonCharacters("abc", "b\u6771a"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForInvalidThreshold() {
+		Cascade.builder().filter(new Jaro(), 1.5f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForInvalidFinalThreshold() {
+		Cascade.builder().build(new Jaro(), -0.5f);
+	}
+
+	private static void assertUpperBound(StringMetric bound, StringMetric metric) {
+		final Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			final String a = randomString(random);
+			final String b = randomString(random);
+			final float score = metric.compare(a, b);
+			assertTrue(bound + " " + a + " " + b,
+					bound.compare(a, b) >= score);
+		}
+	}
+
+	private static String randomString(Random random) {
+		// Small alphabet so strings are similar often
+		final char[] chars = new char[random.nextInt(10)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) ('a' + random.nextInt(4));
+		}
+		return new String(chars);
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.simmetrics.StringDistance;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Levenshtein;
+
+@SuppressWarnings("javadoc")
+public class DawgTest {
+
+	private final List<String> terms = asList("", "tap", "taps", "top",
+			"tops", "topss");
+
+	@Test
+	public void shouldContainTerms() {
+		Dawg dawg = Dawg.create(terms);
+		for (String term : terms) {
+			assertTrue(term, dawg.contains(term));
+		}
+		assertFalse(dawg.contains("t"));
+		assertFalse(dawg.contains("tapss"));
+		assertFalse(dawg.contains("tip"));
+		assertEquals(terms.size(), dawg.size());
+	}
+
+	@Test
+	public void shouldIgnoreDuplicates() {
+		Dawg dawg = Dawg.create(asList("a", "a", "b"));
+		assertEquals(2, dawg.size());
+	}
+
+	@Test
+	public void shouldShareSuffixes() {
+		// 0 -t-> 1 -a|o-> 2 -p-> 3 -s-> 4 (accepting 3 and 4)
+		Dawg dawg = Dawg.create(asList("tap", "taps", "top", "tops"));
+		assertEquals("Dawg [size=4, states=5]", dawg.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForUnsortedTerms() {
+		Dawg.create(asList("b", "a"));
+	}
+
+	@Test
+	public void shouldContainRandomTerms() {
+		final Random random = new Random(42);
+		final TreeSet<String> sorted = new TreeSet<>();
+		final List<String> absent = new ArrayList<>();
+		for (int i = 0; i < 4000; i++) {
+			final String term = randomString(random);
+			if (i % 4 == 0) {
+				absent.add(term);
+			} else {
+				sorted.add(term);
+			}
+		}
+
+		Dawg dawg = Dawg.create(sorted);
+		assertEquals(sorted.size(), dawg.size());
+		for (String term : sorted) {
+			assertTrue(term, dawg.contains(term));
+		}
+		for (String term : absent) {
+			assertEquals(term, sorted.contains(term), dawg.contains(term));
+		}
+	}
+
+	@Test
+	public void shouldFindTermsWithinWeightedDistance() {
+		Dawg dawg = Dawg.create(terms);
+		assertEquals(asList("tap", "taps", "top"),
+				dawg.within("tap", new Levenshtein(), 1.0f));
+		assertEquals(asList("tap", "top"),
+				dawg.within("tap", new Levenshtein(2.0f, 1.0f), 1.0f));
+		assertEquals(asList("tap", "taps"),
+				dawg.within("tpa", new DamerauLevenshtein(1.0f, 1.0f, 0.5f),
+						1.5f));
+	}
+
+	@Test
+	public void shouldMatchLevenshtein() {
+		for (final Levenshtein metric : asList(new Levenshtein(),
+				new Levenshtein(0.5f, 1.0f), new Levenshtein(2.0f, 1.5f))) {
+			assertLinearScan(metric, new Within() {
+				@Override
+				public List<String> within(Dawg dawg, String query, float max) {
+					return dawg.within(query, metric, max);
+				}
+			});
+		}
+	}
+
+	@Test
+	public void shouldMatchDamerauLevenshtein() {
+		for (final DamerauLevenshtein metric : asList(new DamerauLevenshtein(),
+				new DamerauLevenshtein(0.5f, 1.0f, 0.5f),
+				new DamerauLevenshtein(2.0f, 1.5f, 0.0f))) {
+			assertLinearScan(metric, new Within() {
+				@Override
+				public List<String> within(Dawg dawg, String query, float max) {
+					return dawg.within(query, metric, max);
+				}
+			});
+		}
+	}
+
+	private interface Within {
+		List<String> within(Dawg dawg, String query, float max);
+	}
+
+	private static void assertLinearScan(StringDistance distance,
+			Within within) {
+		final Random random = new Random(42);
+		final TreeSet<String> sorted = new TreeSet<>();
+		for (int i = 0; i < 3000; i++) {
+			sorted.add(randomString(random));
+		}
+		final Dawg dawg = Dawg.create(sorted);
+
+		for (int i = 0; i < 100; i++) {
+			final String query = randomString(random);
+			for (float max : new float[] { 0.0f, 1.0f, 1.5f, 2.0f, 3.0f }) {
+				final List<String> expected = new ArrayList<>();
+				for (String term : sorted) {
+					if (distance.distance(term, query) <= max) {
+						expected.add(term);
+					}
+				}
+				assertEquals(distance + " " + query + " " + max, expected,
+						within.within(dawg, query, max));
+			}
+		}
+	}
+
+	static String randomString(Random random) {
+		final char[] alphabet = { 'a', 'b', 'c', 'd' };
+		final char[] chars = new char[random.nextInt(9)];
+		for (int j = 0; j < chars.length; j++) {
+			chars[j] = alphabet[random.nextInt(alphabet.length)];
+		}
+		return new String(chars);
+	}
+
+}
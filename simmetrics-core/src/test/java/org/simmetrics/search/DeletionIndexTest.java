@@ -0,0 +1,188 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.search.DeletionIndex.Match;
+
+@SuppressWarnings("javadoc")
+public class DeletionIndexTest {
+
+	private final List<String> words = asList("chapman", "chapmen",
+			"chatman", "hcapman", "champ", "chipman", "chapman");
+
+	@Test
+	public void shouldFindTermsWithinDistance() {
+		DeletionIndex index = DeletionIndex.create(words, 2);
+		assertEquals(6, index.size());
+		assertEquals(asList(
+				new Match(0, "chapman", 0),
+				new Match(1, "chapmen", 1),
+				new Match(2, "chatman", 1),
+				new Match(3, "hcapman", 1),
+				new Match(5, "chipman", 1)),
+				index.within("chapman", 1));
+		assertEquals(asList(
+				new Match(1, "chapmen", 1),
+				new Match(0, "chapman", 2)),
+				index.within("chpamen", 2));
+	}
+
+	@Test
+	public void shouldHandleEmptyIndex() {
+		DeletionIndex index = DeletionIndex.create(new ArrayList<String>(), 2);
+		assertEquals(0, index.within("chapman", 2).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForDistanceAboveMaxDistance() {
+		DeletionIndex.create(words, 2).within("chapman", 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForShortPrefix() {
+		DeletionIndex.create(words, 2, 2);
+	}
+
+	@Test
+	public void shouldMatchLinearScan() {
+		final Random random = new Random(42);
+		final Set<String> terms = new LinkedHashSet<>();
+		for (int i = 0; i < 3000; i++) {
+			terms.add(randomString(random));
+		}
+		final List<String> queries = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			queries.add(randomString(random));
+		}
+
+		for (int maxDistance = 1; maxDistance <= 3; maxDistance++) {
+			for (int prefixLength : new int[] { maxDistance + 1, 5,
+					Integer.MAX_VALUE }) {
+				final DeletionIndex index = DeletionIndex.create(terms,
+						maxDistance, prefixLength);
+				for (String query : queries) {
+					for (int k = 0; k <= maxDistance; k++) {
+						assertEquals(index + " " + query + " " + k,
+								linearScan(terms, query, k),
+								index.within(query, k));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void shouldMapWrittenIndex() throws IOException {
+		final DeletionIndex index = DeletionIndex.create(words, 2, 4);
+		Path file = Files.createTempFile("dictionary", ".idx");
+		try {
+			try (FileChannel channel = FileChannel.open(file,
+					StandardOpenOption.WRITE)) {
+				index.writeTo(channel);
+			}
+
+			DeletionIndex mapped = DeletionIndex.map(file);
+			assertEquals(index.toString(), mapped.toString());
+			for (String query : words) {
+				assertEquals(index.within(query, 2), mapped.within(query, 2));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForInvalidBuffer() {
+		DeletionIndex.wrap(ByteBuffer.allocate(64));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForTruncatedBuffer() throws IOException {
+		final ByteBuffer buffer = write(DeletionIndex.create(words, 2, 4));
+		buffer.limit(buffer.limit() - 2);
+		DeletionIndex.wrap(buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForCorruptKeyCount() throws IOException {
+		final ByteBuffer buffer = write(DeletionIndex.create(words, 2, 4));
+		buffer.putInt(24, Integer.MAX_VALUE);
+		DeletionIndex.wrap(buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForCorruptPrefixLength() throws IOException {
+		final ByteBuffer buffer = write(DeletionIndex.create(words, 2, 4));
+		buffer.putInt(12, 2);
+		DeletionIndex.wrap(buffer);
+	}
+
+	private static ByteBuffer write(DeletionIndex index) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.writeTo(Channels.newChannel(out));
+		return ByteBuffer.wrap(out.toByteArray());
+	}
+
+	private static List<Match> linearScan(Set<String> terms, String query,
+			int k) {
+		final DamerauLevenshtein metric = new DamerauLevenshtein();
+		final List<Match> matches = new ArrayList<>();
+		for (int distance = 0; distance <= k; distance++) {
+			int id = 0;
+			for (String term : terms) {
+				if (metric.distance(query, term) == distance) {
+					matches.add(new Match(id, term, distance));
+				}
+				id++;
+			}
+		}
+		return matches;
+	}
+
+	private static String randomString(Random random) {
+		final char[] alphabet = { 'a', 'b', 'c', 'd', 'e', 'f' };
+		final char[] chars = new char[random.nextInt(10)];
+		for (int j = 0; j < chars.length; j++) {
+			chars[j] = alphabet[random.nextInt(alphabet.length)];
+		}
+		return new String(chars);
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.simmetrics.StringDistance;
+import org.simmetrics.metrics.HammingDistance;
+
+@SuppressWarnings("javadoc")
+public class HammingIndexTest {
+
+	private final StringDistance hamming = HammingDistance.forString();
+
+	private final List<String> codes = asList(
+			"AB1234", "AB1235", "AB1245", "XB1234", "ZZ9999", "AB1234");
+
+	@Test
+	public void shouldFindExactMatch() {
+		HammingIndex index = HammingIndex.create(codes, 3);
+		assertEquals(asList("AB1234"), index.within("AB1234", 0));
+	}
+
+	@Test
+	public void shouldFindWithinRadius() {
+		HammingIndex index = HammingIndex.create(codes, 3);
+		assertEquals(new HashSet<>(asList("AB1234", "AB1235", "XB1234")),
+				new HashSet<>(index.within("AB1234", 1)));
+	}
+
+	@Test
+	public void shouldNotReturnDuplicates() {
+		HammingIndex index = HammingIndex.create(codes, 2);
+		List<String> within = index.within("AB1234", 4);
+		assertEquals(new HashSet<>(within).size(), within.size());
+		assertEquals(4, within.size());
+	}
+
+	@Test
+	public void shouldStoreDistinctCodes() {
+		assertEquals(5, HammingIndex.create(codes, 3).size());
+	}
+
+	@Test
+	public void shouldAllowEmptyIndex() {
+		HammingIndex index = HammingIndex.create(new ArrayList<String>(), 3);
+		assertEquals(emptyList(), index.within("AB1234", 2));
+	}
+
+	@Test
+	public void shouldMatchFullScan() {
+		final Random random = new Random(42);
+		final List<String> corpus = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			corpus.add(randomCode(random, 12));
+		}
+		corpus.add("000000000000");
+
+		for (int substrings = 1; substrings <= 6; substrings++) {
+			HammingIndex index = HammingIndex.create(corpus, substrings);
+			for (int q = 0; q < 20; q++) {
+				String query = randomCode(random, 12);
+				for (int r = 0; r <= 12; r += 3) {
+					assertEquals(fullScan(corpus, query, r),
+							new HashSet<>(index.within(query, r)));
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForDifferentLength() {
+		HammingIndex.create(asList("AB12", "AB123"), 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForDifferentQueryLength() {
+		HammingIndex.create(codes, 2).within("AB12", 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForTooManySubstrings() {
+		HammingIndex.create(codes, 7);
+	}
+
+	private HashSet<String> fullScan(List<String> corpus, String query, int r) {
+		HashSet<String> expected = new HashSet<>();
+		for (String code : corpus) {
+			if (hamming.distance(code, query) <= r) {
+				expected.add(code);
+			}
+		}
+		return expected;
+	}
+
+	private static String randomCode(Random random, int length) {
+		// Small alphabet so random codes are close to each other
+		char[] code = new char[length];
+		for (int i = 0; i < length; i++) {
+			code[i] = (char) ('0' + random.nextInt(3));
+		}
+		return new String(code);
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.simmetrics.search.DawgTest.randomString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.simmetrics.StringDistance;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Levenshtein;
+
+@SuppressWarnings("javadoc")
+public class LevenshteinAutomatonTest {
+
+	private final Dawg dictionary = Dawg.create(asList("champ", "chapman",
+			"chapmen", "chatman", "chipman", "hcapman"));
+
+	@Test
+	public void shouldFindTermsWithinDistance() {
+		assertEquals(asList("chapman", "chapmen", "chatman", "chipman"),
+				dictionary.within("chapman", LevenshteinAutomaton.create(1)));
+		assertEquals(asList("chapman", "chapmen", "chatman", "chipman",
+				"hcapman"),
+				dictionary.within("chapman", LevenshteinAutomaton.create(2)));
+	}
+
+	@Test
+	public void shouldCountTranspositionAsSingleEdit() {
+		assertEquals(asList("chapman", "chapmen", "chatman", "chipman",
+				"hcapman"), dictionary.within("chapman",
+				LevenshteinAutomaton.withTranspositions(1)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForZeroDistance() {
+		LevenshteinAutomaton.create(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForLargeDistance() {
+		LevenshteinAutomaton.create(4);
+	}
+
+	@Test
+	public void shouldMatchLevenshtein() {
+		for (int k = 1; k <= 3; k++) {
+			assertLinearScan(LevenshteinAutomaton.create(k), new Levenshtein(),
+					k);
+		}
+	}
+
+	@Test
+	public void shouldMatchDamerauLevenshtein() {
+		for (int k = 1; k <= 3; k++) {
+			assertLinearScan(LevenshteinAutomaton.withTranspositions(k),
+					new DamerauLevenshtein(), k);
+		}
+	}
+
+	private static void assertLinearScan(LevenshteinAutomaton automaton,
+			StringDistance distance, int k) {
+		final Random random = new Random(42);
+		final TreeSet<String> terms = new TreeSet<>();
+		for (int i = 0; i < 3000; i++) {
+			terms.add(randomString(random));
+		}
+		final Dawg dictionary = Dawg.create(terms);
+
+		for (int i = 0; i < 100; i++) {
+			final String query = randomString(random);
+			final List<String> expected = new ArrayList<>();
+			for (String term : terms) {
+				if (distance.distance(query, term) <= k) {
+					expected.add(term);
+				}
+			}
+			assertEquals(automaton + " " + query, expected,
+					dictionary.within(query, automaton));
+		}
+	}
+
+}
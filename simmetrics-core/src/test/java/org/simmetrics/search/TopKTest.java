@@ -0,0 +1,159 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.simmetrics.builders.StringMetricBuilder.with;
+import static org.simmetrics.tokenizers.Tokenizers.qGram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.simmetrics.StringMetric;
+import org.simmetrics.metrics.DamerauLevenshtein;
+import org.simmetrics.metrics.Jaccard;
+import org.simmetrics.metrics.Jaro;
+import org.simmetrics.metrics.JaroWinkler;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.search.TopK.Match;
+
+@SuppressWarnings("javadoc")
+public class TopKTest {
+
+	private final List<String> names = asList("Jonathan", "Jonathon",
+			"Jon", "Nathan", "Johnathan", "Jonathan", "Joanna");
+
+	@Test
+	public void shouldReturnBestMatches() {
+		TopK topK = TopK.create(new Levenshtein(), 3);
+		assertEquals(asList(
+				new Match(0, "Jonathan", 1.0f),
+				new Match(5, "Jonathan", 1.0f),
+				new Match(4, "Johnathan", 1.0f - 1.0f / 9.0f)),
+				topK.search("Jonathan", names));
+	}
+
+	@Test
+	public void shouldReturnFewerMatchesForSmallCorpus() {
+		TopK topK = TopK.create(new Levenshtein(), 10);
+		assertEquals(names.size(), topK.search("Jonathan", names).size());
+		assertEquals(0, topK.search("Jonathan", new ArrayList<String>()).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForZeroK() {
+		TopK.create(new Levenshtein(), 0);
+	}
+
+	@Test
+	public void shouldMatchFullSort() {
+		final List<String> corpus = randomStrings(new Random(42), 3000);
+		final List<String> queries = randomStrings(new Random(7), 20);
+
+		final List<TopK> searches = new ArrayList<>();
+		for (int k : new int[] { 1, 5, 10, 50 }) {
+			searches.add(TopK.create(new Levenshtein(), k));
+			searches.add(TopK.builder()
+					.bound(Cascade.lengthBound())
+					.bound(Cascade.bagDistanceBound())
+					.build(new Levenshtein(), k));
+			searches.add(TopK.builder()
+					.bound(Cascade.lengthBound())
+					.build(new DamerauLevenshtein(), k));
+			searches.add(TopK.create(new Levenshtein(0.5f, 1.0f), k));
+			searches.add(TopK.builder()
+					.bound(Cascade.jaroBound())
+					.build(new Jaro(), k));
+			searches.add(TopK.create(new JaroWinkler(), k));
+			searches.add(TopK.create(with(new Jaccard<String>())
+					.tokenize(qGram(2)).build(), k));
+		}
+
+		for (TopK search : searches) {
+			for (String query : queries) {
+				assertEquals(search.toString(),
+						fullSort(search, query, corpus),
+						search.search(query, corpus));
+			}
+		}
+	}
+
+	@Test
+	public void shouldMatchSequentialSearchInParallel() throws Exception {
+		final List<String> corpus = randomStrings(new Random(42), 20000);
+		final List<String> queries = randomStrings(new Random(7), 10);
+		final TopK topK = TopK.builder()
+				.bound(Cascade.lengthBound())
+				.bound(Cascade.bagDistanceBound())
+				.build(new Levenshtein(), 10);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (String query : queries) {
+				assertEquals(topK.search(query, corpus),
+						topK.search(query, corpus, executor));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static List<Match> fullSort(TopK topK, String query,
+			List<String> corpus) {
+		final StringMetric metric = topK.getMetric();
+		final List<Match> matches = new ArrayList<>();
+		for (int i = 0; i < corpus.size(); i++) {
+			matches.add(new Match(i, corpus.get(i), metric.compare(query,
+					corpus.get(i))));
+		}
+		Collections.sort(matches, new Comparator<Match>() {
+			@Override
+			public int compare(Match o1, Match o2) {
+				final int c = Float.compare(o2.getSimilarity(),
+						o1.getSimilarity());
+				return c != 0 ? c : Integer.compare(o1.getId(), o2.getId());
+			}
+		});
+		return matches.subList(0, Math.min(topK.getK(), matches.size()));
+	}
+
+	private static List<String> randomStrings(Random random, int n) {
+		// Small alphabet and short strings so many candidates tie
+		final char[] alphabet = { 'a', 'b', 'c', 'd', 'e' };
+		final List<String> strings = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			final char[] chars = new char[1 + random.nextInt(10)];
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = alphabet[random.nextInt(alphabet.length)];
+			}
+			strings.add(new String(chars));
+		}
+		return strings;
+	}
+
+}
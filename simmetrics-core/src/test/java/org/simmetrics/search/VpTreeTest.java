@@ -0,0 +1,239 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.search;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.simmetrics.builders.StringDistanceBuilder.with;
+import static org.simmetrics.tokenizers.Tokenizers.qGram;
+import static org.simmetrics.tokenizers.Tokenizers.whitespace;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.simmetrics.StringDistance;
+import org.simmetrics.metrics.EuclideanDistance;
+import org.simmetrics.metrics.Jaccard;
+import org.simmetrics.metrics.Levenshtein;
+import org.simmetrics.search.VpTree.Match;
+
+@SuppressWarnings("javadoc")
+public class VpTreeTest {
+
+	private final List<String> names = asList("Jonathan", "Jonathon",
+			"Jon", "Nathan", "Johnathan", "Jonathan", "Joanna");
+
+	private final List<StringDistance> distances = asList(
+			new Levenshtein(),
+			with(new Jaccard<String>()).tokenize(qGram(2)).build(),
+			with(new EuclideanDistance<String>()).tokenize(qGram(2)).build(),
+			with(new EuclideanDistance<String>()).tokenize(whitespace())
+					.tokenize(qGram(1)).build());
+
+	@Test
+	public void shouldReturnMatchesWithinRadius() {
+		VpTree tree = VpTree.create(names, new Levenshtein());
+		assertEquals(asList(
+				new Match(0, "Jonathan", 0.0f),
+				new Match(5, "Jonathan", 0.0f),
+				new Match(1, "Jonathon", 1.0f),
+				new Match(4, "Johnathan", 1.0f)),
+				tree.within("Jonathan", 1.0f));
+	}
+
+	@Test
+	public void shouldReturnNearestMatches() {
+		VpTree tree = VpTree.create(names, new Levenshtein());
+		assertEquals(asList(
+				new Match(0, "Jonathan", 0.0f),
+				new Match(5, "Jonathan", 0.0f),
+				new Match(1, "Jonathon", 1.0f)),
+				tree.nearest("Jonathan", 3));
+		assertEquals(names.size(), tree.nearest("Jonathan", 10).size());
+	}
+
+	@Test
+	public void shouldHandleEmptyTree() {
+		VpTree tree = VpTree.create(new ArrayList<String>(), new Levenshtein());
+		assertEquals(0, tree.within("Jonathan", 5.0f).size());
+		assertEquals(0, tree.nearest("Jonathan", 5).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForZeroK() {
+		VpTree.create(names, new Levenshtein()).nearest("Jonathan", 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForNegativeRadius() {
+		VpTree.create(names, new Levenshtein()).within("Jonathan", -1.0f);
+	}
+
+	@Test
+	public void shouldMatchLinearScan() {
+		final List<String> corpus = randomStrings(new Random(42), 3000);
+		final List<String> queries = randomStrings(new Random(7), 20);
+
+		for (StringDistance distance : distances) {
+			final VpTree tree = VpTree.create(corpus, distance);
+			for (String query : queries) {
+				final List<Match> all = linearScan(distance, query, corpus);
+				for (float r : new float[] { 0.0f, 0.25f, 1.0f, 2.0f }) {
+					assertEquals(distance.toString(), within(all, r),
+							tree.within(query, r));
+				}
+				for (int k : new int[] { 1, 5, 10, 50 }) {
+					assertEquals(distance.toString(), all.subList(0, k),
+							tree.nearest(query, k));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void shouldMatchSequentialBuildInParallel() {
+		final List<String> corpus = randomStrings(new Random(42), 20000);
+		final List<String> queries = randomStrings(new Random(7), 10);
+
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (StringDistance distance : distances) {
+				final VpTree sequential = VpTree.create(corpus, distance);
+				final VpTree parallel = VpTree.create(corpus, distance, pool);
+				for (String query : queries) {
+					assertEquals(sequential.nearest(query, 10),
+							parallel.nearest(query, 10));
+					assertEquals(sequential.within(query, 1.0f),
+							parallel.within(query, 1.0f));
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldReadWrittenTree() throws Exception {
+		final List<String> corpus = randomStrings(new Random(42), 3000);
+		final List<String> queries = randomStrings(new Random(7), 10);
+		final StringDistance distance = distances.get(1);
+		final VpTree tree = VpTree.create(corpus, distance);
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		tree.writeTo(Channels.newChannel(out));
+		final VpTree read = VpTree.read(ByteBuffer.wrap(out.toByteArray()),
+				distance);
+
+		assertEquals(tree.size(), read.size());
+		for (String query : queries) {
+			assertEquals(tree.nearest(query, 10), read.nearest(query, 10));
+			assertEquals(tree.within(query, 0.5f), read.within(query, 0.5f));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForInvalidBuffer() {
+		VpTree.read(ByteBuffer.allocate(16), new Levenshtein());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForOverflowingSize() throws Exception {
+		final ByteBuffer buffer = write(VpTree.create(asList("a"),
+				new Levenshtein()));
+		final ByteBuffer corrupt = ByteBuffer.allocate(20);
+		corrupt.putInt(buffer.getInt(0)).putInt(buffer.getInt(4))
+				.putInt(1 << 28).putInt(0);
+		VpTree.read(corrupt, new Levenshtein());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForTruncatedTree() throws Exception {
+		final ByteBuffer buffer = write(VpTree.create(asList("a", "bb"),
+				new Levenshtein()));
+		buffer.limit(buffer.limit() - 2);
+		VpTree.read(buffer, new Levenshtein());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldThrowForCorruptOffsets() throws Exception {
+		final ByteBuffer buffer = write(VpTree.create(asList("a", "bb"),
+				new Levenshtein()));
+		// Offset of the second string, after the header and two ids
+		buffer.putInt(16 + 4 * 2 + 4, 4);
+		VpTree.read(buffer, new Levenshtein());
+	}
+
+	private static ByteBuffer write(VpTree tree) throws Exception {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		tree.writeTo(Channels.newChannel(out));
+		return ByteBuffer.wrap(out.toByteArray());
+	}
+
+	private static List<Match> linearScan(StringDistance distance,
+			String query, List<String> corpus) {
+		final List<Match> matches = new ArrayList<>();
+		for (int i = 0; i < corpus.size(); i++) {
+			matches.add(new Match(i, corpus.get(i), distance.distance(query,
+					corpus.get(i))));
+		}
+		Collections.sort(matches, new Comparator<Match>() {
+			@Override
+			public int compare(Match o1, Match o2) {
+				final int c = Float.compare(o1.getDistance(), o2.getDistance());
+				return c != 0 ? c : Integer.compare(o1.getId(), o2.getId());
+			}
+		});
+		return matches;
+	}
+
+	private static List<Match> within(List<Match> sorted, float r) {
+		final List<Match> matches = new ArrayList<>();
+		for (Match match : sorted) {
+			if (match.getDistance() <= r) {
+				matches.add(match);
+			}
+		}
+		return matches;
+	}
+
+	private static List<String> randomStrings(Random random, int n) {
+		// Small alphabet and short strings so many candidates tie
+		final char[] alphabet = { 'a', 'b', 'c', 'd', 'e', ' ' };
+		final List<String> strings = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			final char[] chars = new char[1 + random.nextInt(10)];
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = alphabet[random.nextInt(alphabet.length)];
+			}
+			strings.add(new String(chars));
+		}
+		return strings;
+	}
+
+}
@@ -19,6 +19,10 @@
  */
 package org.simmetrics.simplifiers;
 
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
 @SuppressWarnings("javadoc")
 @Deprecated
 public class DaitchMokotoffSoundexTest extends SimplifierTest {
@@ -44,4 +48,20 @@ public class DaitchMokotoffSoundexTest extends SimplifierTest {
 		};
 	}
 
+	@Test
+	public void shouldEncodeAllBranches() {
+		Simplifier branching = new DaitchMokotoffSoundex(true, true);
+		assertEquals("944744|944745|944754|944755|945744|945745|945754|945755",
+				branching.simplify("Rosochowaciec"));
+		assertEquals("944744", simplifier.simplify("Rosochowaciec"));
+		assertEquals("365490", branching.simplify("Tannhauser"));
+	}
+
+	@Test
+	public void shouldIncludeBranchingInToString() {
+		assertEquals("DaitchMokotoffSoundex", simplifier.toString());
+		assertEquals("DaitchMokotoffSoundex [branching=true]",
+				new DaitchMokotoffSoundex(true, true).toString());
+	}
+
 }
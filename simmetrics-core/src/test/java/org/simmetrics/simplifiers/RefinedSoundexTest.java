@@ -19,6 +19,12 @@
  */
 package org.simmetrics.simplifiers;
 
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
 @SuppressWarnings("javadoc")
 @Deprecated
 public class RefinedSoundexTest extends SimplifierTest {
@@ -45,4 +51,32 @@ public class RefinedSoundexTest extends SimplifierTest {
 		};
 	}
 
+	@Test
+	public void shouldMatchCommonsCodec() {
+		final String alphabet = "ABHWaeiouyhwbcdfgklmnpqrstvxz -'1\u00E9\u00DF\u0131";
+		final Random random = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			StringBuilder builder = new StringBuilder();
+			// Mostly ASCII, occasionally non-ASCII letters
+			int bound = random.nextInt(10) == 0 ? alphabet.length() : alphabet.length() - 3;
+			for (int j = random.nextInt(12); j > 0; j--) {
+				builder.append(alphabet.charAt(random.nextInt(bound)));
+			}
+			String input = builder.toString();
+			String expected;
+			try {
+				expected = org.apache.commons.codec.language.RefinedSoundex.US_ENGLISH.soundex(input);
+			} catch (RuntimeException e) {
+				expected = e.getClass().getName();
+			}
+			String actual;
+			try {
+				actual = simplifier.simplify(input);
+			} catch (RuntimeException e) {
+				actual = e.getClass().getName();
+			}
+			assertEquals(input, expected, actual);
+		}
+	}
+
 }
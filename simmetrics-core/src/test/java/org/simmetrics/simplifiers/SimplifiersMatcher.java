@@ -19,9 +19,12 @@
  */
 package org.simmetrics.simplifiers;
 
+import java.util.List;
+
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeMatcher;
 import org.simmetrics.simplifiers.Simplifiers.ChainSimplifier;
+import org.simmetrics.simplifiers.Simplifiers.FusedSimplifier;
 
 import com.google.common.collect.ImmutableList;
 import com.google.monitoring.runtime.instrumentation.common.com.google.common.collect.Lists;
@@ -40,13 +43,20 @@ public abstract class SimplifiersMatcher extends TypeSafeMatcher<Simplifier> {
 
 			@Override
 			protected boolean matchesSafely(Simplifier item) {
+				final List<Simplifier> expected = ImmutableList.copyOf(Lists.asList(simplifier, simplifiers));
+				
+				// Chains of built-in simplifiers are fused into a single step
+				if(item.getClass() == FusedSimplifier.class){
+					return expected.equals(((FusedSimplifier) item).getSimplifiers());
+				}
+				
 				if(item.getClass() != ChainSimplifier.class){
 					return false;
 				}
 				
 				ChainSimplifier s = (ChainSimplifier) item;
 				
-				return ImmutableList.copyOf(Lists.asList(simplifier, simplifiers)).equals(s.getSimplifiers());
+				return expected.equals(s.getSimplifiers());
 			}
 		};
 		
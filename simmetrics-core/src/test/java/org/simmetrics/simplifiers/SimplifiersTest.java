@@ -19,13 +19,18 @@
  */
 package org.simmetrics.simplifiers;
 
+import static java.lang.Math.min;
 import static java.text.Normalizer.normalize;
 import static java.text.Normalizer.Form.NFC;
 import static java.text.Normalizer.Form.NFD;
 import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.simmetrics.simplifiers.Simplifiers.chain;
@@ -38,11 +43,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 import org.simmetrics.simplifiers.Simplifiers.ChainSimplifier;
+import org.simmetrics.simplifiers.Simplifiers.FusedSimplifier;
 
 @SuppressWarnings({ "javadoc", "static-method" })
 @RunWith(Enclosed.class)
@@ -130,11 +138,51 @@ public class SimplifiersTest {
 			return new T[] {
 					new T("Chilpéric II son of Childeric II",
 							"Chilperic II son of Childeric II"),
-					new T("The 11th Hour", "The 11th Hour"), new T("", ""), };
+					new T("The 11th Hour", "The 11th Hour"), new T("", ""),
+					new T("Ἀθῆναι", "Αθηναι"),
+					new T("Йо́шкар-Ола́", "Иошкар-Ола"),
+					new T("Ǆ^ʰ", "Ǆ"),
+					new T("Crème 東京", "Creme 東京"),
+					new T("a\u0483\u0301", "a\u0483") };
 		}
 
 	}
 
+	public static final class RemoveDiacriticsFolding {
+
+		private static final Simplifier simplifier = Simplifiers.removeDiacritics();
+
+		@Test
+		public void shouldMatchNormalizerForEachCharacter() {
+			for (char c = 0; c < 0x3000; c++) {
+				String input = "a" + c + "\u0301b" + c;
+				assertEquals(Integer.toHexString(c),
+						Simplifiers.RemoveDiacritics.normalizeAndRemove(input),
+						simplifier.simplify(input));
+			}
+		}
+
+		@Test
+		public void shouldMatchNormalizerForMarkSequences() {
+			String alphabet = "aeÀἀЙ\u0301\u0308\u0327\u0345\u0483\u05B0\u02B0^";
+			Random random = new Random(42);
+			for (int i = 0; i < 10000; i++) {
+				StringBuilder input = new StringBuilder();
+				for (int j = random.nextInt(8); j > 0; j--) {
+					input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+				}
+				assertEquals(Simplifiers.RemoveDiacritics.normalizeAndRemove(input
+						.toString()), simplifier.simplify(input.toString()));
+			}
+		}
+
+		@Test
+		public void shouldReturnUnchangedInput() {
+			String input = "The 11th Hour";
+			assertSame(input, simplifier.simplify(input));
+		}
+	}
+
 	public static final class ToUpperCase extends SimplifierTest {
 
 		@Override
@@ -210,6 +258,210 @@ public class SimplifiersTest {
 
 	}
 
+	public static final class WithFusedChain extends SimplifierTest {
+
+		@Override
+		protected Simplifier getSimplifier() {
+			return chain(Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.removeDiacritics(), replaceNonWord());
+		}
+
+		@Override
+		protected T[] getTests() {
+			return new T[] { 
+					new T("Chilpéric II", "chilperic ii"),
+					new T("The ##th Hour", "the   th hour"),
+					new T("A^`B", "ab"),
+					new T("", "") };
+		}
+
+	}
+
+	public static final class Equality {
+
+		@Test
+		public void shouldEqualSimplifiersWithSameArguments() {
+			assertEquals(Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.toLowerCase(Locale.ENGLISH));
+			assertEquals(Simplifiers.toLowerCase(Locale.ENGLISH).hashCode(),
+					Simplifiers.toLowerCase(Locale.ENGLISH).hashCode());
+			assertEquals(Simplifiers.toUpperCase(Locale.ENGLISH),
+					Simplifiers.toUpperCase(Locale.ENGLISH));
+			assertEquals(Simplifiers.removeDiacritics(),
+					Simplifiers.removeDiacritics());
+			assertEquals(normalize(NFC), normalize(NFC));
+			assertEquals(replaceNonWord(), replaceNonWord());
+			assertEquals(chain(Simplifiers.toLowerCase(Locale.ENGLISH),
+					replaceNonWord()), chain(
+					Simplifiers.toLowerCase(Locale.ENGLISH), replaceNonWord()));
+
+			assertNotEquals(Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.toLowerCase(new Locale("tr")));
+			assertNotEquals(normalize(NFC), normalize(NFD));
+			assertNotEquals(replaceNonWord(), replaceNonWord("#"));
+			assertNotEquals(replaceNonWord(), removeNonWord());
+		}
+	}
+
+	public static final class FusedChain {
+
+		private static final Random random = new Random(42);
+
+		private static final String alphabet = "aAzZ09_ -#^`$\\Ii\u0131\u0130\u00E9\u00C9\u0301\u00DF\u00AA\u02B0\u03A3\u03C3\u01C5\u1F80\uFB00\u4E2D\uD83D\uDE00";
+
+		// The first characters of the alphabet are ASCII only
+		private static final int ASCII_ALPHABET_SIZE = 8;
+
+		private static final int FULL_ALPHABET_SIZE = alphabet.length();
+
+		@Test
+		public void shouldFuseBuiltInSimplifiers() {
+			List<Simplifier> simplifiers = Arrays.asList(
+					Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.removeDiacritics(), replaceNonWord(),
+					reverseCapitalized(), removeNonWord());
+			Simplifier[] steps = FusedSimplifier.fuse(simplifiers);
+
+			assertThat(steps.length, is(3));
+			assertThat(steps[0], instanceOf(FusedSimplifier.class));
+			assertSame(simplifiers.get(3), steps[1]);
+			assertSame(simplifiers.get(4), steps[2]);
+		}
+
+		@Test
+		public void shouldReturnFusedSimplifierForFullyFusedChain() {
+			Simplifier fused = chain(Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.removeDiacritics());
+			assertThat(fused, instanceOf(FusedSimplifier.class));
+
+			Simplifier refused = chain(fused, replaceNonWord());
+			assertThat(refused, instanceOf(FusedSimplifier.class));
+			assertThat(((FusedSimplifier) refused).getSimplifiers().size(), is(3));
+
+			Simplifier mixed = chain(fused, reverseCapitalized());
+			assertThat(mixed, instanceOf(ChainSimplifier.class));
+			assertThat(((ChainSimplifier) mixed).getSimplifiers().size(), is(3));
+		}
+
+		@Test
+		public void shouldNotFuseLocaleSensitiveCaseMapping() {
+			Simplifier[] steps = FusedSimplifier.fuse(Arrays.asList(
+					Simplifiers.toLowerCase(new Locale("tr")), removeNonWord()));
+
+			assertThat(steps.length, is(2));
+		}
+
+		@Test
+		public void shouldNotFuseReplacementWithGroupReference() {
+			Simplifier[] steps = FusedSimplifier.fuse(Arrays.asList(
+					Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.replaceAll("\\W", "$0$0")));
+
+			assertThat(steps.length, is(2));
+		}
+
+		@Test
+		public void shouldMatchStepwiseOnAscii() {
+			for (Simplifier step : steps()) {
+				for (char c = 0; c <= 0x7F; c++) {
+					String input = "a" + c + c + "B";
+					assertEquals(step.toString(), step.simplify(input),
+							new FusedSimplifier(Arrays.asList(step,
+									normalize(NFC))).simplify(input));
+				}
+			}
+		}
+
+		@Test
+		public void shouldMatchStepwiseOnBmp() {
+			for (Simplifier step : steps()) {
+				FusedSimplifier fused = new FusedSimplifier(Arrays.asList(step,
+						step));
+				for (char c = 0x80; c < 0xFFFF; c++) {
+					if (Character.isSurrogate(c)) {
+						continue;
+					}
+					String input = "a" + c + c + "B";
+					assertEquals(step + " " + (int) c,
+							step.simplify(step.simplify(input)),
+							fused.simplify(input));
+				}
+			}
+		}
+
+		@Test
+		public void shouldFuseNonAscii() {
+			FusedSimplifier fused = new FusedSimplifier(Arrays.asList(
+					Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.removeDiacritics(), replaceNonWord()));
+
+			assertEquals("chilperic ii", fused.simplifyFused("Chilp\u00E9ric II"));
+			assertEquals("stra e", fused.simplifyFused("Stra\u00DFe"));
+
+			FusedSimplifier greek = new FusedSimplifier(Arrays.asList(
+					Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.removeDiacritics()));
+			assertEquals("\u03B1\u03B8\u03B7\u03BD\u03B1",
+					greek.simplifyFused("\u0391\u03B8\u03AE\u03BD\u03B1"));
+		}
+
+		@Test
+		public void shouldNotFuseContextSensitiveCharacters() {
+			FusedSimplifier fused = new FusedSimplifier(Arrays.asList(
+					Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.removeDiacritics()));
+
+			assertNull(fused.simplifyFused("\u039F\u03A3"));
+			assertNull(fused.simplifyFused("\uD83D\uDE00"));
+			assertEquals("\u03BF\u03C2", fused.simplify("\u039F\u03A3"));
+		}
+
+		@Test
+		public void shouldMatchStepwise() {
+			List<Simplifier> steps = steps();
+			for (int i = 0; i < 500; i++) {
+				List<Simplifier> chain = new ArrayList<>();
+				for (int j = 2 + random.nextInt(4); j > 0; j--) {
+					chain.add(steps.get(random.nextInt(steps.size())));
+				}
+				FusedSimplifier fused = new FusedSimplifier(chain);
+
+				for (int k = 0; k < 20; k++) {
+					String input = randomString(random.nextBoolean()
+							? ASCII_ALPHABET_SIZE : FULL_ALPHABET_SIZE);
+					assertEquals(fused.toString(), stepwise(chain, input),
+							fused.simplify(input));
+				}
+			}
+		}
+
+		private static List<Simplifier> steps() {
+			return Arrays.asList(normalize(NFC), normalize(NFD),
+					Simplifiers.toLowerCase(Locale.ENGLISH),
+					Simplifiers.toUpperCase(Locale.ENGLISH),
+					Simplifiers.removeDiacritics(), replaceNonWord(),
+					replaceNonWord("#"), replaceNonWord(""), removeNonWord(),
+					Simplifiers.replaceAll("\\W+", "--"));
+		}
+
+		private static String stepwise(List<Simplifier> chain, String input) {
+			String output = input;
+			for (Simplifier s : chain) {
+				output = s.simplify(output);
+			}
+			return output;
+		}
+
+		private static String randomString(int alphabetSize) {
+			StringBuilder builder = new StringBuilder();
+			int bound = min(alphabetSize, alphabet.length());
+			for (int i = random.nextInt(12); i > 0; i--) {
+				builder.append(alphabet.charAt(random.nextInt(bound)));
+			}
+			return builder.toString();
+		}
+	}
+
 	static Simplifier reverseCapitalized() {
 		return new Simplifier() {
 
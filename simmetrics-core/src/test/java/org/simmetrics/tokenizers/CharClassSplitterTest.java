@@ -0,0 +1,96 @@
+/*
+ * #%L
+ * Simmetrics Core
+ * %%
+ * Copyright (C) 2014 - 2026 Simmetrics Authors
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package org.simmetrics.tokenizers;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CharClassSplitterTest {
+
+	private static final List<String> SIMPLE = asList(
+			"\\s", "\\s+", "\\S+", "\\d", "\\D+", "\\w", "\\W+", " ", ",",
+			"\\.", "\\t", "\\p{Punct}", "\\p{Punct}+", "\\p{Space}+",
+			"\\p{Blank}", "[,;]", "[,;]+", "[a-c]", "[^a-c]+", "[\\s,]+",
+			"[\\-\\]x]", "[a-]", "[\\W\\d]+", "[.$^]");
+
+	private static final List<String> COMPLEX = asList(
+			"", "a|b", "ab", "\\s*", "a?", "[a-c&&b]", "[[a]]", "[]a]",
+			"\\p{L}", "\\bfoo", "(a)", ".", "\\S", "[^a]", "\\W",
+			"\\uD83D\\uDE00");
+
+	private static final String ALPHABET = "ab cd,;.-_]$^9\t\n\u000B!é😀";
+
+	@Test
+	public void shouldCompileSimplePatterns() {
+		for (String regex : SIMPLE) {
+			assertNotNull(regex, CharClassSplitter.compile(Pattern.compile(regex)));
+		}
+	}
+
+	@Test
+	public void shouldNotCompileComplexPatterns() {
+		for (String regex : COMPLEX) {
+			assertNull(regex, CharClassSplitter.compile(Pattern.compile(regex)));
+		}
+		assertNull(CharClassSplitter.compile(Pattern.compile("a",
+				Pattern.CASE_INSENSITIVE)));
+	}
+
+	@Test
+	public void shouldSplitLikePattern() {
+		final Random random = new Random(3);
+		for (String regex : SIMPLE) {
+			final Pattern pattern = Pattern.compile(regex);
+			final CharClassSplitter splitter = CharClassSplitter.compile(pattern);
+			for (int i = 0; i < 500; i++) {
+				final String input = randomString(random);
+				assertEquals(regex + " on \"" + input + "\"",
+						asList(pattern.split(input, -1)), split(splitter, input));
+			}
+		}
+	}
+
+	private static List<String> split(CharClassSplitter splitter, String input) {
+		final List<String> tokens = new ArrayList<>();
+		splitter.split(input, new TokenSinks.CollectingSink(tokens));
+		return tokens;
+	}
+
+	private static String randomString(Random random) {
+		final StringBuilder builder = new StringBuilder();
+		final int length = random.nextInt(12);
+		for (int i = 0; i < length; i++) {
+			builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		return builder.toString();
+	}
+
+}
@@ -27,6 +27,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.simmetrics.matchers.ImplementsToString.implementsToString;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -192,5 +193,24 @@ public abstract class TokenizerTest {
 		}
 		tokenizer.tokenizeToMultiset(null);
 	}
-	
+
+	@Test
+	public final void shouldTokenizeToSink() {
+		if (!supportsTokenizeToList()) {
+			thrown.expect(UnsupportedOperationException.class);
+		}
+
+		for (T t : tests) {
+			final List<String> tokens = new ArrayList<>();
+			Tokenizers.tokenize(tokenizer, t.string(), new TokenSink() {
+				@Override
+				public void accept(CharSequence source, int offset, int length) {
+					tokens.add(source.subSequence(offset, offset + length)
+							.toString());
+				}
+			});
+			testTokens(t.string(), t.tokensAsList(), tokens);
+		}
+	}
+
 }
@@ -20,12 +20,18 @@
 package org.simmetrics.tokenizers;
 
 import static com.google.common.base.Predicates.and;
+import static com.google.common.collect.Collections2.filter;
+import static com.google.common.collect.Collections2.transform;
+import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.simmetrics.tokenizers.Tokenizers.chain;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -44,6 +50,7 @@ import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.collect.HashMultiset;
 
 @SuppressWarnings({ "javadoc" })
 public class TokenizersTest {
@@ -267,4 +274,99 @@ public class TokenizersTest {
 		
 	}
 
+
+	@Test
+	public void shouldEqualTokenizersWithSameArguments() {
+		assertEquals(Tokenizers.whitespace(), Tokenizers.whitespace());
+		assertEquals(Tokenizers.whitespace().hashCode(),
+				Tokenizers.whitespace().hashCode());
+		assertEquals(Tokenizers.qGram(2), Tokenizers.qGram(2));
+		assertEquals(Tokenizers.qGramWithPadding(2, "#", "$"),
+				Tokenizers.qGramWithPadding(2, "#", "$"));
+		assertEquals(Tokenizers.pattern("\\s+"), Tokenizers.pattern("\\s+"));
+		assertEquals(chain(Tokenizers.whitespace(), Tokenizers.qGram(2)),
+				chain(Tokenizers.whitespace(), Tokenizers.qGram(2)));
+
+		assertNotEquals(Tokenizers.qGram(2), Tokenizers.qGram(3));
+		assertNotEquals(Tokenizers.qGram(2), Tokenizers.qGramWithFilter(2));
+		assertNotEquals(Tokenizers.qGramWithPadding(2),
+				Tokenizers.qGramWithPadding(2, "#", "$"));
+		assertNotEquals(Tokenizers.pattern("\\s+"), Tokenizers.pattern("\\s"));
+	}
+
+	@Test
+	public void fusedPipelinesShouldMatchStepwiseTokenization() {
+		final Tokenizer qGram = Tokenizers.qGram(2);
+		final Predicate<String> noVowels = new Predicate<String>() {
+			@Override
+			public boolean apply(String input) {
+				return !input.matches(".*[aeiou].*");
+			}
+		};
+		final Predicate<String> notX = new Predicate<String>() {
+			@Override
+			public boolean apply(String input) {
+				return !input.contains("X");
+			}
+		};
+		final Function<String, String> upperCase = new Function<String, String>() {
+			@Override
+			public String apply(String input) {
+				return input.toUpperCase();
+			}
+		};
+
+		for (String input : asList("", "a", "hello world", "xylophone  rhythm",
+				"the quick brown fox jumps over the lazy dog the end")) {
+			final List<String> words = whitespace.tokenizeToList(input);
+			final List<String> grams = new ArrayList<>();
+			for (String word : words) {
+				grams.addAll(qGram.tokenizeToList(word));
+			}
+			final List<String> filtered = newArrayList(filter(grams, noVowels));
+			final List<String> transformed = newArrayList(transform(filtered,
+					upperCase));
+			final List<String> filteredAgain = newArrayList(filter(
+					transformed, notX));
+
+			final List<String> upperWords = newArrayList(transform(words,
+					upperCase));
+			final List<String> upperGrams = new ArrayList<>();
+			for (String word : upperWords) {
+				upperGrams.addAll(qGram.tokenizeToList(word));
+			}
+
+			assertTokens(grams, input, chain(whitespace, qGram));
+			assertTokens(filtered, input,
+					Tokenizers.filter(chain(whitespace, qGram), noVowels));
+			assertTokens(transformed, input, Tokenizers.transform(
+					Tokenizers.filter(chain(whitespace, qGram), noVowels),
+					upperCase));
+			assertTokens(filteredAgain, input, Tokenizers.filter(
+					Tokenizers.transform(Tokenizers.filter(
+							chain(whitespace, qGram), noVowels), upperCase),
+					notX));
+			assertTokens(upperGrams, input, chain(
+					Tokenizers.transform(whitespace, upperCase), qGram));
+		}
+	}
+
+	private static void assertTokens(List<String> expected, String input,
+			Tokenizer tokenizer) {
+		assertEquals(expected, tokenizer.tokenizeToList(input));
+		assertEquals(new HashSet<>(expected), tokenizer.tokenizeToSet(input));
+		assertEquals(HashMultiset.create(expected),
+				tokenizer.tokenizeToMultiset(input));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void shouldThrowForTransformReturningNull() {
+		Tokenizers.transform(whitespace, new Function<String, String>() {
+			@Override
+			public String apply(String input) {
+				return null;
+			}
+		}).tokenizeToList("hello world");
+	}
+
 }